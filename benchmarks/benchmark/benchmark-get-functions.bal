@@ -1,6 +1,8 @@
 import benchmarksprintf;
 import benchmarktypes;
 import benchmarkio;
+import benchmarkstrand;
+import benchmarkquery;
 import ballerina/io;
 
 map<function()> functions;
@@ -12,11 +14,16 @@ function getFunction(string name) returns (function()) {
 function addFunctions() {
     addJSONFunctions();
     addIntFunctions();
+    addRecordFunctions();
+    addTypeCheckFunctions();
+    addArithmeticFunctions();
     addFloatFunctions();
     addTimeFunctions();
     addSprintfFunctions();
     addIoFunctions();
     addStringFunctions();
+    addStrandFunctions();
+    addQueryFunctions();
 }
 
 function addJSONFunctions() {
@@ -48,6 +55,8 @@ function addJSONFunctions() {
     functions["benchmarkConstrainedJsonWithFunctions"] = benchmarktypes:benchmarkConstrainedJsonWithFunctions;
     functions["benchmarkConstrainedJsonWithFunctionGetKeys"] = benchmarktypes:
     benchmarkConstrainedJsonWithFunctionGetKeys;
+    functions["benchmarkJsonStringToRecords"] = benchmarktypes:benchmarkJsonStringToRecords;
+    functions["benchmarkJsonStringToJsonToRecords"] = benchmarktypes:benchmarkJsonStringToJsonToRecords;
 }
 
 function addIntFunctions() {
@@ -139,4 +148,43 @@ function addStringFunctions() {
     functions["benchmarkStringLength"] = benchmarktypes:benchmarkStringLength;
     functions["benchmarkStringSplit"] = benchmarktypes:benchmarkStringSplit;
     functions["benchmarkStringUnescape"] = benchmarktypes:benchmarkStringUnescape;
+    functions["benchmarkStringBuildingLoop"] = benchmarktypes:benchmarkStringBuildingLoop;
+    functions["benchmarkStringJoin"] = benchmarktypes:benchmarkStringJoin;
+}
+
+function addRecordFunctions() {
+    functions["benchmarkClosedRecordFieldAccess"] = benchmarktypes:benchmarkClosedRecordFieldAccess;
+    functions["benchmarkObjectFieldAccess"] = benchmarktypes:benchmarkObjectFieldAccess;
+}
+
+function addTypeCheckFunctions() {
+    functions["benchmarkStructuralCasts"] = benchmarktypes:benchmarkStructuralCasts;
+    functions["benchmarkStructuralTypeTests"] = benchmarktypes:benchmarkStructuralTypeTests;
+}
+
+function addArithmeticFunctions() {
+    functions["benchmarkSmallFunctionCalls"] = benchmarktypes:benchmarkSmallFunctionCalls;
+    functions["benchmarkConstantExpressions"] = benchmarktypes:benchmarkConstantExpressions;
+    functions["benchmarkUnionArithmetic"] = benchmarktypes:benchmarkUnionArithmetic;
+    functions["benchmarkAnyArithmetic"] = benchmarktypes:benchmarkAnyArithmetic;
+}
+
+function addStrandFunctions() {
+    functions["benchmarkBlockingExternFanOut"] = benchmarkstrand:benchmarkBlockingExternFanOut;
+    functions["benchmarkNonBlockingFanOut"] = benchmarkstrand:benchmarkNonBlockingFanOut;
+    functions["benchmarkStrandSpawn"] = benchmarkstrand:benchmarkStrandSpawn;
+    functions["benchmarkWorkerSpawn"] = benchmarkstrand:benchmarkWorkerSpawn;
+    functions["benchmarkWorkerAsyncSend"] = benchmarkstrand:benchmarkWorkerAsyncSend;
+    functions["benchmarkWorkerSyncSendAndFlush"] = benchmarkstrand:benchmarkWorkerSyncSendAndFlush;
+    functions["benchmarkIsolatedObjectLock"] = benchmarkstrand:benchmarkIsolatedObjectLock;
+    functions["benchmarkModuleVariableLock"] = benchmarkstrand:benchmarkModuleVariableLock;
+    functions["benchmarkContendedIsolatedObjectLock"] = benchmarkstrand:benchmarkContendedIsolatedObjectLock;
+}
+
+function addQueryFunctions() {
+    functions["benchmarkQueryJoin"] = benchmarkquery:benchmarkQueryJoin;
+    functions["benchmarkQueryOuterJoin"] = benchmarkquery:benchmarkQueryOuterJoin;
+    functions["benchmarkQueryFilterSelect"] = benchmarkquery:benchmarkQueryFilterSelect;
+    functions["benchmarkQueryLetWhereLimit"] = benchmarkquery:benchmarkQueryLetWhereLimit;
+    functions["benchmarkQueryNestedFrom"] = benchmarkquery:benchmarkQueryNestedFrom;
 }
@@ -0,0 +1,54 @@
+type Order record {|
+    int id;
+    int customerId;
+    decimal amount;
+|};
+
+type Customer record {|
+    int id;
+    string name;
+|};
+
+const int JOIN_SIZE = 1000000;
+
+public function benchmarkQueryJoin() {
+    stream<Order> orders = createOrders(JOIN_SIZE).toStream();
+    stream<Customer> customers = createCustomers(JOIN_SIZE).toStream();
+    stream<record {| int orderId; string name; |}> joined = stream from var o in orders
+        join var c in customers on o.customerId equals c.id
+        select {orderId: o.id, name: c.name};
+    consume(joined);
+}
+
+public function benchmarkQueryOuterJoin() {
+    stream<Order> orders = createOrders(JOIN_SIZE).toStream();
+    // only half of the orders have a matching customer
+    stream<Customer> customers = createCustomers(JOIN_SIZE / 2).toStream();
+    stream<record {| int orderId; string? name; |}> joined = stream from var o in orders
+        outer join var c in customers on o.customerId equals c.id
+        select {orderId: o.id, name: c.name};
+    consume(joined);
+}
+
+function createOrders(int count) returns Order[] {
+    Order[] orders = [];
+    foreach int i in 0 ..< count {
+        orders.push({id: i, customerId: (i * 7919) % count, amount: 10.5});
+    }
+    return orders;
+}
+
+function createCustomers(int count) returns Customer[] {
+    Customer[] customers = [];
+    foreach int i in 0 ..< count {
+        customers.push({id: i, name: "customer" + i.toString()});
+    }
+    return customers;
+}
+
+function consume(stream<record {| int orderId; string? name; |}> joined) {
+    record {| record {| int orderId; string? name; |} value; |}|error? next = joined.next();
+    while (next is record {| record {| int orderId; string? name; |} value; |}) {
+        next = joined.next();
+    }
+}
@@ -0,0 +1,39 @@
+type Reading record {|
+    int sensor;
+    float value;
+|};
+
+final Reading[] readings = createReadings(100000);
+
+public function benchmarkQueryFilterSelect() {
+    float[] values = from var r in readings
+        where r.sensor % 3 == 0
+        select r.value * 2.0;
+    _ = values.length();
+}
+
+public function benchmarkQueryLetWhereLimit() {
+    float[] values = from var r in readings
+        let float scaled = r.value * 10.0
+        where scaled > 500.0
+        limit 10000
+        select scaled;
+    _ = values.length();
+}
+
+public function benchmarkQueryNestedFrom() {
+    int[] sensors = [0, 1, 2];
+    int[] values = from var r in readings
+        from var s in sensors
+        where r.sensor == s
+        select r.sensor;
+    _ = values.length();
+}
+
+function createReadings(int count) returns Reading[] {
+    Reading[] result = [];
+    foreach int i in 0 ..< count {
+        result.push({sensor: i % 100, value: <float>(i % 1000) / 10.0});
+    }
+    return result;
+}
@@ -0,0 +1,62 @@
+isolated class Counter {
+    private int count = 0;
+    private int[] history = [];
+
+    isolated function increment() {
+        lock {
+            self.count += 1;
+        }
+    }
+
+    isolated function record(int value) {
+        lock {
+            self.history.push(value);
+            if self.history.length() > 100 {
+                _ = self.history.shift();
+            }
+        }
+    }
+
+    isolated function get() returns int {
+        lock {
+            return self.count;
+        }
+    }
+}
+
+isolated int lockedTotal = 0;
+
+final Counter sharedCounter = new;
+
+public function benchmarkIsolatedObjectLock() {
+    Counter counter = new;
+    foreach int i in 0 ..< 100 {
+        counter.increment();
+        counter.record(i);
+    }
+    _ = counter.get();
+}
+
+public function benchmarkModuleVariableLock() {
+    foreach int i in 0 ..< 100 {
+        lock {
+            lockedTotal += i;
+        }
+    }
+}
+
+public function benchmarkContendedIsolatedObjectLock() {
+    @strand{thread:"any"}
+    worker w1 {
+        foreach int i in 0 ..< 50 {
+            sharedCounter.increment();
+        }
+    }
+    @strand{thread:"any"}
+    worker w2 {
+        foreach int i in 0 ..< 50 {
+            sharedCounter.increment();
+        }
+    }
+    _ = wait {w1, w2};
+}
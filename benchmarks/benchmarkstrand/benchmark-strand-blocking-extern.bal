@@ -0,0 +1,50 @@
+import ballerina/jballerina.java;
+
+// Run with BALLERINA_STRAND_EXECUTOR=platform and BALLERINA_STRAND_EXECUTOR=virtual to compare the fixed strand
+// executor pool against virtual thread backed strand execution.
+
+const int BLOCKING_STRAND_COUNT = 100;
+const int BLOCKING_CALL_MILLIS = 10;
+
+public function benchmarkBlockingExternFanOut() {
+    future<()>[] futures = [];
+    int i = 0;
+    while (i < BLOCKING_STRAND_COUNT) {
+        futures[i] = @strand {thread: "any"} start blockingCall();
+        i = i + 1;
+    }
+    foreach var f in futures {
+        _ = wait f;
+    }
+}
+
+public function benchmarkNonBlockingFanOut() {
+    future<int>[] futures = [];
+    int i = 0;
+    while (i < BLOCKING_STRAND_COUNT) {
+        futures[i] = @strand {thread: "any"} start compute(i);
+        i = i + 1;
+    }
+    foreach var f in futures {
+        _ = wait f;
+    }
+}
+
+function blockingCall() {
+    checkpanic sleep(BLOCKING_CALL_MILLIS);
+}
+
+function compute(int n) returns int {
+    int sum = 0;
+    int i = 0;
+    while (i < 1000) {
+        sum = sum + i * n;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function sleep(int millis) returns error? = @java:Method {
+    'class: "java.lang.Thread",
+    paramTypes: ["long"]
+} external;
@@ -0,0 +1,27 @@
+const int SPAWN_COUNT = 1000;
+
+public function benchmarkStrandSpawn() {
+    future<int>[] futures = [];
+    int i = 0;
+    while (i < SPAWN_COUNT) {
+        futures[i] = start increment(i);
+        i = i + 1;
+    }
+    foreach var f in futures {
+        _ = wait f;
+    }
+}
+
+public function benchmarkWorkerSpawn() {
+    worker w1 returns int {
+        return increment(1);
+    }
+    worker w2 returns int {
+        return increment(2);
+    }
+    _ = wait {w1, w2};
+}
+
+function increment(int n) returns int {
+    return n + 1;
+}
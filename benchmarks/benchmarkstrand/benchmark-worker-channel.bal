@@ -0,0 +1,46 @@
+public function benchmarkWorkerAsyncSend() {
+    @strand{thread:"any"}
+    worker w1 {
+        int a = 10;
+        a -> w2;
+        a -> w2;
+        a -> w2;
+        a -> w2;
+        a -> w2;
+        a -> w2;
+        a -> w2;
+        a -> w2;
+    }
+    @strand{thread:"any"}
+    worker w2 returns int {
+        int b1 = <- w1;
+        int b2 = <- w1;
+        int b3 = <- w1;
+        int b4 = <- w1;
+        int b5 = <- w1;
+        int b6 = <- w1;
+        int b7 = <- w1;
+        int b8 = <- w1;
+        return b1 + b2 + b3 + b4 + b5 + b6 + b7 + b8;
+    }
+    _ = wait {w1, w2};
+}
+
+public function benchmarkWorkerSyncSendAndFlush() {
+    @strand{thread:"any"}
+    worker w1 returns error? {
+        int a = 10;
+        a ->> w2;
+        a -> w2;
+        a -> w2;
+        return flush w2;
+    }
+    @strand{thread:"any"}
+    worker w2 returns int {
+        int b1 = <- w1;
+        int b2 = <- w1;
+        int b3 = <- w1;
+        return b1 + b2 + b3;
+    }
+    _ = wait {w1, w2};
+}
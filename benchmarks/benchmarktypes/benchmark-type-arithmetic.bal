@@ -0,0 +1,58 @@
+const int SCALE = 3;
+const int OFFSET = 7;
+
+function square(int value) returns int {
+    return value * value;
+}
+
+function scaled(int value) returns int {
+    return value * SCALE + OFFSET;
+}
+
+function isEven(int value) returns boolean {
+    return value % 2 == 0;
+}
+
+public function benchmarkSmallFunctionCalls() {
+    int sum = 0;
+    foreach int i in 0 ..< 100 {
+        sum = sum + square(i % 10) + scaled(i);
+        if (isEven(i)) {
+            sum = sum - 1;
+        }
+    }
+}
+
+public function benchmarkConstantExpressions() {
+    int sum = 0;
+    foreach int i in 0 ..< 100 {
+        int limit = SCALE * 1000 + OFFSET;
+        int step = limit / SCALE - OFFSET * 2;
+        sum = sum + step + i;
+        if (limit > step) {
+            sum = sum + 1;
+        }
+    }
+}
+
+public function benchmarkUnionArithmetic() {
+    int|float sum = 0;
+    int|string value = 0;
+    foreach int i in 0 ..< 100 {
+        value = i;
+        if (value is int && sum is int) {
+            sum = sum + value * value - value;
+        }
+    }
+}
+
+public function benchmarkAnyArithmetic() {
+    any total = 0.0;
+    any count = 0;
+    foreach int i in 0 ..< 100 {
+        if (total is float && count is int) {
+            total = total + <float> i / 2.0;
+            count = count + 1;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+type Point record {|
+    int x;
+    int y;
+|};
+
+type Shape record {
+    string name;
+    Point[] points;
+};
+
+public function benchmarkStructuralCasts() {
+    any[] values = [<int[]> [1, 2, 3], <map<string>> {name: "square"}, <Point[]> [{x: 1, y: 2}],
+                    <map<int>[]> [{count: 1}]];
+    foreach int i in 0 ..< 100 {
+        any value = values[i % values.length()];
+        if (value is int[]) {
+            anydata[] items = <anydata[]> value;
+        } else if (value is map<string>) {
+            map<anydata> entries = <map<anydata>> value;
+        } else if (value is Point[]) {
+            json points = <json> value.cloneReadOnly();
+        } else {
+            anydata data = <anydata> value;
+        }
+    }
+}
+
+public function benchmarkStructuralTypeTests() {
+    anydata[] values = [[1, 2, 3], {name: "circle"}, [{x: 1, y: 2}], [[1], [2]]];
+    int matched = 0;
+    foreach int i in 0 ..< 100 {
+        anydata value = values[i % values.length()];
+        if (value is json[] || value is map<string> || value is Shape || value is int[][]) {
+            matched = matched + 1;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+type OrderItem record {|
+    string sku;
+    int quantity;
+    decimal price;
+|};
+
+type Order record {
+    int id;
+    string customer;
+    string? note;
+    boolean shipped;
+    OrderItem[] items;
+};
+
+type Orders Order[];
+
+final string ordersJson = createOrdersJson(100);
+
+function createOrdersJson(int count) returns string {
+    json[] orders = [];
+    foreach int i in 0 ..< count {
+        orders.push({
+            id: i,
+            customer: "customer-" + i.toString(),
+            note: i % 3 == 0 ? () : "leave at the door",
+            shipped: i % 2 == 0,
+            items: [
+                {sku: "sku-" + i.toString(), quantity: 2, price: 10.5},
+                {sku: "sku-" + (i + 1).toString(), quantity: 1, price: 99.99}
+            ]
+        });
+    }
+    return orders.toJsonString();
+}
+
+public function benchmarkJsonStringToRecords() {
+    Order[]|error orders = ordersJson.fromJsonStringWithType(Orders);
+}
+
+public function benchmarkJsonStringToJsonToRecords() {
+    json|error orders = ordersJson.fromJsonString();
+    if (orders is json) {
+        Order[]|error converted = orders.fromJsonWithType(Orders);
+    }
+}
@@ -0,0 +1,33 @@
+type Account record {|
+    int id;
+    float balance;
+    string owner;
+|};
+
+class Counter {
+    int count = 0;
+    float total = 0.0;
+
+    function add(float amount) {
+        self.count = self.count + 1;
+        self.total = self.total + amount;
+    }
+}
+
+public function benchmarkClosedRecordFieldAccess() {
+    Account account = {id: 1, balance: 0.0, owner: "alice"};
+    foreach int i in 0 ..< 100 {
+        account.balance = account.balance + 2.5;
+        account.id = account.id + i;
+    }
+    string owner = account.owner;
+}
+
+public function benchmarkObjectFieldAccess() {
+    Counter counter = new;
+    foreach int i in 0 ..< 100 {
+        counter.add(2.5);
+    }
+    int count = counter.count;
+    float total = counter.total;
+}
@@ -122,3 +122,19 @@ public function benchmarkStringSplit() {
     string split = "test";
     string[] splittedString = str.split(split);
 }
+
+public function benchmarkStringBuildingLoop() {
+    string s = "";
+    foreach int i in 0 ..< 10000 {
+        s = s + "item-" + i.toString() + ",";
+    }
+    int length = s.length();
+}
+
+public function benchmarkStringJoin() {
+    string[] parts = [];
+    foreach int i in 0 ..< 10000 {
+        parts.push("item-" + i.toString());
+    }
+    string s = string:'join(",", ...parts);
+}
@@ -35,6 +35,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 /**
@@ -67,6 +68,69 @@ public class JsonUtils {
         return JsonParser.parse(in, charsetName);
     }
 
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json.
+     *
+     * @param bytes byte array which contains the JSON content
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] bytes) throws BError {
+        return JsonParser.parse(bytes, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json.
+     *
+     * @param bytes byte array which contains the JSON content
+     * @param mode  the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] bytes, NonStringValueProcessingMode mode) throws BError {
+        return JsonParser.parse(bytes, mode);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json, whose objects and arrays are
+     * created only when they are accessed. Objects and arrays which are not accessed are serialized to bytes by copying
+     * their bytes as they are. The byte array must not be modified afterwards.
+     *
+     * @param bytes byte array which contains the JSON content
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parseLazy(byte[] bytes) throws BError {
+        return JsonParser.parseLazy(bytes, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json, whose objects and arrays are
+     * created only when they are accessed. Objects and arrays which are not accessed are serialized to bytes by copying
+     * their bytes as they are. The byte array must not be modified afterwards.
+     *
+     * @param bytes byte array which contains the JSON content
+     * @param mode  the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parseLazy(byte[] bytes, NonStringValueProcessingMode mode) throws BError {
+        return JsonParser.parseLazy(bytes, mode);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents remaining in the given {@link ByteBuffer} and returns a json. The position of
+     * the buffer is moved to its limit.
+     *
+     * @param buffer byte buffer which contains the JSON content
+     * @param mode   the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(ByteBuffer buffer, NonStringValueProcessingMode mode) throws BError {
+        return JsonParser.parse(buffer, mode);
+    }
+
     /**
      * Parses the contents in the given string and returns a json.
      *
@@ -241,6 +305,21 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Serialize the JSON constructs to a UTF-8 encoded byte array.
+     *
+     * @param json JSON construct
+     * @return UTF-8 encoded JSON string
+     * @throws BError If error occur while serialize json construct.
+     */
+    public static byte[] serializeToBytes(Object json) throws BError {
+        try {
+            return JsonGenerator.serializeToBytes(json);
+        } catch (IOException e) {
+            throw new ErrorValue(StringUtils.fromString(e.getMessage()), e);
+        }
+    }
+
     /**
      * Serialize the JSON constructs to be written out to a given {@link Writer}.
      *
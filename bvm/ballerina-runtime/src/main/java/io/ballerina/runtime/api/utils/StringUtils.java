@@ -47,8 +47,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.STRING_LANG_LIB;
@@ -114,27 +112,27 @@ public class StringUtils {
         if (s == null) {
             return null;
         }
-        List<Integer> highSurrogates = null;
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (Character.isHighSurrogate(c)) {
-                if (highSurrogates == null) {
-                    highSurrogates = new ArrayList<>();
-                }
-                highSurrogates.add(i - highSurrogates.size());
+        int length = s.length();
+        int highSurrogateCount = 0;
+        for (int i = 0; i < length; i++) {
+            if (Character.isHighSurrogate(s.charAt(i))) {
+                highSurrogateCount++;
             }
         }
-        if (highSurrogates == null) {
+        if (highSurrogateCount == 0) {
             return new BmpStringValue(s);
         }
 
-        int[] highSurrogatesArr = new int[highSurrogates.size()];
-
-        for (int i = 0; i < highSurrogates.size(); i++) {
-            Integer highSurrogate = highSurrogates.get(i);
-            highSurrogatesArr[i] = highSurrogate;
+        // index of each surrogate pair, in characters of the string
+        int[] highSurrogates = new int[highSurrogateCount];
+        int count = 0;
+        for (int i = 0; count < highSurrogateCount; i++) {
+            if (Character.isHighSurrogate(s.charAt(i))) {
+                highSurrogates[count] = i - count;
+                count++;
+            }
         }
-        return new NonBmpStringValue(s, highSurrogatesArr);
+        return new NonBmpStringValue(s, highSurrogates);
     }
 
     public static BArray fromStringArray(String[] s) {
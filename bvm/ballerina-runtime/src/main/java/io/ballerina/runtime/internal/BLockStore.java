@@ -26,6 +26,9 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Holds the locks inferred for the {@code lock} statements of a module.
+ * <p>
+ * Generated code keeps a direct reference to each of these locks, so the map is only used to resolve a lock by name.
  *
  * @since 1.2.0
  */
@@ -51,13 +54,9 @@ public class BLockStore {
     }
 
     public void panicIfInLock(String lockName, Strand strand) {
-        for (BLock lock : globalLockMap.values()) {
-            if (lock.isLockFree()) {
-                continue;
-            }
-            if (lock.lockedBySameContext(strand)) {
-                throw ErrorCreator.createError(BallerinaErrorReasons.ASYNC_CALL_INSIDE_LOCK);
-            }
+        // strands keep track of the locks they hold, so there is no need to go through the locks of the module
+        if (strand.isInLock()) {
+            throw ErrorCreator.createError(BallerinaErrorReasons.ASYNC_CALL_INSIDE_LOCK);
         }
     }
 }
@@ -21,6 +21,7 @@ import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.values.ArrayValue;
 import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.LazyJsonValue;
 import io.ballerina.runtime.internal.values.MapValueImpl;
 import io.ballerina.runtime.internal.values.RefValue;
 import io.ballerina.runtime.internal.values.StreamingJsonValue;
@@ -32,11 +33,18 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map.Entry;
 
 /**
  * This class represents the functionality to generate the JSON constructs to be written out
  * to a given {@link OutputStream}.
+ * <p>
+ * JSON content written to an {@link OutputStream} in UTF-8, or generated as a string or a byte array, is encoded by
+ * the generator itself into a byte buffer reused by the generators of the same thread. JSON content written in other
+ * charsets is written through a {@link Writer}. A lazy JSON value whose members are not yet created is written as UTF-8
+ * by copying its bytes as they are.
  * 
  * @since 0.995.0
  */
@@ -44,8 +52,28 @@ public class JsonGenerator {
 
     private static final int DEFAULT_DEPTH = 10;
 
+    private static final int BUFFER_SIZE = 8192;
+
+    // larger buffers, grown to generate a large value in memory, are not kept for reuse
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+
+    private static ThreadLocal<byte[]> tlBuffer = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private static final byte[] MIN_LONG_VALUE = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
     private Writer writer;
 
+    private OutputStream out;
+
+    private byte[] buffer;
+
+    private int position;
+
+    private boolean asciiOnly = true;
+
+    // whether the bytes of the lazy JSON values are copied, when the content is generated as UTF-8 bytes
+    private boolean copyLazyValues;
+
     private boolean[] levelInit = new boolean[DEFAULT_DEPTH];
 
     private int currentLevel;
@@ -68,13 +96,61 @@ public class JsonGenerator {
     }
 
     public JsonGenerator(OutputStream out, Charset charset) {
-        this(new BufferedWriter(new OutputStreamWriter(out, charset)));
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            this.out = out;
+            this.copyLazyValues = true;
+        } else {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+        }
     }
 
     public JsonGenerator(Writer writer) {
         this.writer = writer;
     }
 
+    private JsonGenerator() {
+        // generates the JSON content in the buffer only
+    }
+
+    /**
+     * Generates the JSON string of the given value.
+     *
+     * @param json JSON construct
+     * @return JSON string
+     * @throws IOException if an error occurs while serializing the value
+     */
+    public static String serializeToString(Object json) throws IOException {
+        JsonGenerator gen = new JsonGenerator();
+        try {
+            gen.serialize(json);
+            if (gen.buffer == null) {
+                return "";
+            }
+            return new String(gen.buffer, 0, gen.position,
+                              gen.asciiOnly ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        } finally {
+            gen.releaseBuffer();
+        }
+    }
+
+    /**
+     * Generates the UTF-8 encoded JSON string of the given value.
+     *
+     * @param json JSON construct
+     * @return UTF-8 encoded JSON string
+     * @throws IOException if an error occurs while serializing the value
+     */
+    public static byte[] serializeToBytes(Object json) throws IOException {
+        JsonGenerator gen = new JsonGenerator();
+        gen.copyLazyValues = true;
+        try {
+            gen.serialize(json);
+            return gen.buffer == null ? new byte[0] : Arrays.copyOf(gen.buffer, gen.position);
+        } finally {
+            gen.releaseBuffer();
+        }
+    }
+
     private void setLevelInit(int index, boolean init) {
         this.checkAndResizeLevels(index);
         this.levelInit[index] = init;
@@ -96,7 +172,7 @@ public class JsonGenerator {
     private void processStartLevel() throws IOException {
         if (!this.fieldActive) {
             if (this.getLevelInit(this.currentLevel)) {
-                this.writer.write(", ");
+                this.write(", ");
             } else {
                 this.setLevelInit(this.currentLevel, true);
             }
@@ -114,7 +190,7 @@ public class JsonGenerator {
 
     private void processFieldInit() throws IOException {
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.write(", ");
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -127,7 +203,7 @@ public class JsonGenerator {
             return;
         }
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.write(", ");
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -135,39 +211,38 @@ public class JsonGenerator {
 
     public void startObject() throws IOException {
         this.processStartLevel();
-        this.writer.write('{');
+        this.write('{');
     }
 
     public void endObject() throws IOException {
-        this.writer.write('}');
+        this.write('}');
         this.processEndLevel();
     }
 
     public void writeFieldName(String fieldName) throws IOException {
         this.processFieldInit();
         this.writeStringValue(fieldName);
-        this.writer.write(":");
+        this.write(':');
     }
 
     private void writeStringValue(String value) throws IOException {
-        this.writer.write("\"");
+        this.write('"');
         int count = value.length();
         char ch;
         boolean escaped = false;
-        char[] chs = value.toCharArray();
         for (int i = 0; i < count; i++) {
-            ch = chs[i];
+            ch = value.charAt(i);
             if (ch < escChars.length && escChars[ch]) {
                 escaped = true;
                 break;
             }
         }
         if (escaped) {
-            this.writeStringEsc(chs);
+            this.writeStringEsc(value);
         } else {
-            this.writer.write(chs);
+            this.writeChars(value, 0, count);
         }
-        this.writer.write("\"");
+        this.write('"');
     }
 
     public void writeString(String value) throws IOException {
@@ -176,50 +251,54 @@ public class JsonGenerator {
     }
 
     public void writeStringEsc(char[] chs) throws IOException {
-        int count = chs.length;
+        this.writeStringEsc(new String(chs));
+    }
+
+    private void writeStringEsc(String value) throws IOException {
+        int count = value.length();
         int index = 0;
         char ch;
         for (int i = 0; i < count; i++) {
-            ch = chs[i];
+            ch = value.charAt(i);
             switch (ch) {
                 case '"':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\\"");
+                    this.writeChars(value, index, i);
+                    this.write("\\\"");
                     index = i + 1;
                     break;
                 case '\\':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\\\");
+                    this.writeChars(value, index, i);
+                    this.write("\\\\");
                     index = i + 1;
                     break;
                 case '/':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\/");
+                    this.writeChars(value, index, i);
+                    this.write("\\/");
                     index = i + 1;
                     break;
                 case '\b':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\b");
+                    this.writeChars(value, index, i);
+                    this.write("\\b");
                     index = i + 1;
                     break;
                 case '\n':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\n");
+                    this.writeChars(value, index, i);
+                    this.write("\\n");
                     index = i + 1;
                     break;
                 case '\r':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\r");
+                    this.writeChars(value, index, i);
+                    this.write("\\r");
                     index = i + 1;
                     break;
                 case '\f':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\f");
+                    this.writeChars(value, index, i);
+                    this.write("\\f");
                     index = i + 1;
                     break;
                 case '\t':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\t");
+                    this.writeChars(value, index, i);
+                    this.write("\\t");
                     index = i + 1;
                     break;
                 default:
@@ -228,48 +307,237 @@ public class JsonGenerator {
         }
 
         if (count - index > 0) {
-            this.writer.write(chs, index, count - index);
+            this.writeChars(value, index, count);
         }
 
     }
 
     public void writeNumber(long value) throws IOException {
         this.processValueInit();
-        this.writer.write(Long.toString(value));
+        if (this.writer != null) {
+            this.writer.write(Long.toString(value));
+            return;
+        }
+        this.writeLong(value);
     }
 
     public void writeNumber(double value) throws IOException {
         this.processValueInit();
-        this.writer.write(Double.toString(value));
+        this.write(Double.toString(value));
     }
 
     public void writeNumber(BigDecimal value) throws IOException {
         this.processValueInit();
-        this.writer.write(value.toString());
+        this.write(value.toString());
     }
 
     public void writeBoolean(boolean value) throws IOException {
         this.processValueInit();
-        this.writer.write(Boolean.toString(value));
+        this.write(Boolean.toString(value));
     }
 
     public void writeNull() throws IOException {
         this.processValueInit();
-        this.writer.write("null");
+        this.write("null");
     }
 
     public void writeStartArray() throws IOException {
         this.processStartLevel();
-        this.writer.write("[");
+        this.write('[');
     }
 
     public void writeEndArray() throws IOException {
-        this.writer.write("]");
+        this.write(']');
         this.processEndLevel();
     }
 
     public void flush() throws IOException {
-        this.writer.flush();
+        if (this.writer != null) {
+            this.writer.flush();
+            return;
+        }
+        if (this.out == null) {
+            // the content is kept in the buffer, until it is taken by the caller
+            return;
+        }
+        if (this.buffer != null) {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+            this.releaseBuffer();
+        }
+        this.out.flush();
+    }
+
+    private void write(char ch) throws IOException {
+        if (this.writer != null) {
+            this.writer.write(ch);
+            return;
+        }
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = (byte) ch;
+    }
+
+    /**
+     * Writes the given ASCII string, e.g. a separator or a number.
+     *
+     * @param str ASCII string
+     * @throws IOException if an error occurs while writing the string
+     */
+    private void write(String str) throws IOException {
+        if (this.writer != null) {
+            this.writer.write(str);
+            return;
+        }
+        int length = str.length();
+        this.ensureCapacity(length);
+        byte[] buff = this.buffer;
+        int pos = this.position;
+        for (int i = 0; i < length; i++) {
+            buff[pos++] = (byte) str.charAt(i);
+        }
+        this.position = pos;
+    }
+
+    /**
+     * Writes the characters of the given string in the given range, encoding them in UTF-8 when writing to the
+     * buffer. As done by an {@link OutputStreamWriter}, an unpaired surrogate character is encoded as '?'.
+     *
+     * @param str   string to be written
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @throws IOException if an error occurs while writing the characters
+     */
+    private void writeChars(String str, int start, int end) throws IOException {
+        if (this.writer != null) {
+            this.writer.write(str, start, end - start);
+            return;
+        }
+        int i = start;
+        while (i < end) {
+            this.ensureCapacity(4);
+            byte[] buff = this.buffer;
+            int pos = this.position;
+            // fast path for ASCII characters, which are copied as they are
+            int limit = i + Math.min(end - i, buff.length - pos - 4);
+            char ch;
+            while (i < limit && (ch = str.charAt(i)) < 0x80) {
+                buff[pos++] = (byte) ch;
+                i++;
+            }
+            if (i == end) {
+                this.position = pos;
+                break;
+            }
+            // at least four bytes are left in the buffer for the next character
+            ch = str.charAt(i++);
+            if (ch < 0x80) {
+                buff[pos++] = (byte) ch;
+            } else if (ch < 0x800) {
+                this.asciiOnly = false;
+                buff[pos++] = (byte) (0xC0 | (ch >> 6));
+                buff[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (!Character.isSurrogate(ch)) {
+                this.asciiOnly = false;
+                buff[pos++] = (byte) (0xE0 | (ch >> 12));
+                buff[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                buff[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isHighSurrogate(ch) && i < end && Character.isLowSurrogate(str.charAt(i))) {
+                this.asciiOnly = false;
+                int codePoint = Character.toCodePoint(ch, str.charAt(i++));
+                buff[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buff[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buff[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buff[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                buff[pos++] = '?';
+            }
+            this.position = pos;
+        }
+    }
+
+    /**
+     * Writes the digits of the given number to the buffer, without creating a string for them.
+     *
+     * @param value number to be written
+     * @throws IOException if an error occurs while writing the number
+     */
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            this.ensureCapacity(MIN_LONG_VALUE.length);
+            System.arraycopy(MIN_LONG_VALUE, 0, this.buffer, this.position, MIN_LONG_VALUE.length);
+            this.position += MIN_LONG_VALUE.length;
+            return;
+        }
+        this.ensureCapacity(MIN_LONG_VALUE.length);
+        if (value < 0) {
+            this.buffer[this.position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+            digits++;
+        }
+        int pos = this.position + digits;
+        this.position = pos;
+        do {
+            this.buffer[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (this.buffer == null) {
+            this.acquireBuffer();
+        }
+        if (this.position + length <= this.buffer.length) {
+            return;
+        }
+        if (this.out != null) {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+        if (this.position + length > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.position + length));
+        }
+    }
+
+    private void writeIndexedValue(JsonIndex index, int position) throws IOException {
+        this.processValueInit();
+        int start = index.getStart(position);
+        int length = index.getEnd(position) - start;
+        if (this.out != null && length > BUFFER_SIZE) {
+            // large values are written directly, after the content generated so far
+            if (this.position > 0) {
+                this.out.write(this.buffer, 0, this.position);
+                this.position = 0;
+            }
+            this.out.write(index.getBytes(), start, length);
+            return;
+        }
+        this.ensureCapacity(length);
+        System.arraycopy(index.getBytes(), start, this.buffer, this.position, length);
+        this.position += length;
+    }
+
+    private void acquireBuffer() {
+        // the buffer of the thread is taken, so that a generator created while another one is in use gets a new buffer
+        byte[] buff = tlBuffer.get();
+        if (buff == null) {
+            buff = new byte[BUFFER_SIZE];
+        } else {
+            tlBuffer.set(null);
+        }
+        this.buffer = buff;
+    }
+
+    private void releaseBuffer() {
+        if (this.buffer == null) {
+            return;
+        }
+        if (this.buffer.length <= MAX_REUSED_BUFFER_SIZE) {
+            tlBuffer.set(this.buffer);
+        }
+        this.buffer = null;
     }
 
     @SuppressWarnings("unchecked")
@@ -278,6 +546,14 @@ public class JsonGenerator {
             this.writeNull();
             return;
         }
+        if (this.copyLazyValues && json instanceof LazyJsonValue) {
+            LazyJsonValue lazyValue = (LazyJsonValue) json;
+            JsonIndex index = lazyValue.getJsonIndex();
+            if (index != null) {
+                this.writeIndexedValue(index, lazyValue.getIndexPosition());
+                return;
+            }
+        }
 
         switch (TypeChecker.getType(json).getTag()) {
             case TypeTags.ARRAY_TAG:
@@ -0,0 +1,460 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.BmpStringValue;
+import io.ballerina.runtime.internal.values.LazyJsonArrayValue;
+import io.ballerina.runtime.internal.values.LazyJsonMapValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Structural index of a UTF-8 encoded JSON document, from which the values of the document are created on demand.
+ * <p>
+ * The index holds an entry for each value and field name of the document, in the order they appear in the document,
+ * with the range of bytes of the entry and, for an object or an array, the position of the entry following its last
+ * member. The index is built by a single pass over the bytes, which also validates the document. Only documents
+ * strictly following the JSON grammar, whose numbers are converted without errors in the given mode, are indexed.
+ * Other documents are parsed by {@link JsonParser}, which also reports the errors in them.
+ *
+ * @since 2.0.0
+ */
+public class JsonIndex {
+
+    private static final byte OBJECT = 0;
+    private static final byte ARRAY = 1;
+    // a string of ASCII characters without escaped characters, which is created directly from the bytes
+    private static final byte ASCII_STRING = 2;
+    private static final byte STRING = 3;
+    private static final byte NUMBER = 4;
+    private static final byte TRUE = 5;
+    private static final byte FALSE = 6;
+    private static final byte NULL = 7;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final int MAX_EXPONENT_DIGITS = 9;
+    private static final int KEY_CACHE_SIZE = 64;
+    private static final int MAX_CACHED_KEY_LENGTH = 32;
+
+    private final byte[] bytes;
+    private final JsonUtils.NonStringValueProcessingMode mode;
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    // position of the entry following an object or an array, including its members
+    private int[] nexts = new int[INITIAL_CAPACITY];
+    private int count;
+    // field names of ASCII characters created from the index, which are reused for the same field names in other
+    // objects, indexed by their hash codes
+    private final BString[] keyCache = new BString[KEY_CACHE_SIZE];
+
+    private JsonIndex(byte[] bytes, JsonUtils.NonStringValueProcessingMode mode) {
+        this.bytes = bytes;
+        this.mode = mode;
+    }
+
+    /**
+     * Builds the index of the JSON document in the given range of bytes.
+     *
+     * @param bytes  UTF-8 encoded content
+     * @param offset index of the first byte of the document
+     * @param length number of bytes in the document
+     * @param mode   the mode to use when processing numeric values
+     * @return index of the document, or null if the document is not indexed
+     */
+    static JsonIndex build(byte[] bytes, int offset, int length, JsonUtils.NonStringValueProcessingMode mode) {
+        JsonIndex index = new JsonIndex(bytes, mode);
+        return index.scan(offset, offset + length) ? index : null;
+    }
+
+    /**
+     * Returns the value at the given position. Objects and arrays are created as lazy values, whose members are
+     * created when they are first accessed.
+     *
+     * @param position position of the value in the index
+     * @return value at the position
+     */
+    public Object getValue(int position) {
+        switch (this.kinds[position]) {
+            case OBJECT:
+                return new LazyJsonMapValue(this, position);
+            case ARRAY:
+                return new LazyJsonArrayValue(this, position);
+            case ASCII_STRING:
+                return this.getString(position);
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case NULL:
+                return null;
+            default:
+                return JsonParser.parse(this.bytes, this.starts[position], this.ends[position] - this.starts[position],
+                                        this.mode);
+        }
+    }
+
+    /**
+     * Returns the field name at the given position.
+     *
+     * @param position position of the field name in the index
+     * @return field name
+     */
+    public BString getFieldName(int position) {
+        if (this.kinds[position] == ASCII_STRING) {
+            return this.getAsciiFieldName(position);
+        }
+        return (BString) JsonParser.parse(this.bytes, this.starts[position],
+                                          this.ends[position] - this.starts[position], this.mode);
+    }
+
+    /**
+     * Returns the position of the entry following the value at the given position. For an object or an array, the
+     * members of the value are skipped.
+     *
+     * @param position position of a value in the index
+     * @return position of the following entry
+     */
+    public int next(int position) {
+        byte kind = this.kinds[position];
+        return kind == OBJECT || kind == ARRAY ? this.nexts[position] : position + 1;
+    }
+
+    public byte[] getBytes() {
+        return this.bytes;
+    }
+
+    public int getStart(int position) {
+        return this.starts[position];
+    }
+
+    public int getEnd(int position) {
+        return this.ends[position];
+    }
+
+    private BString getString(int position) {
+        int start = this.starts[position] + 1;
+        return new BmpStringValue(new String(this.bytes, start, this.ends[position] - 1 - start,
+                                             StandardCharsets.ISO_8859_1));
+    }
+
+    private BString getAsciiFieldName(int position) {
+        int start = this.starts[position] + 1;
+        int length = this.ends[position] - 1 - start;
+        if (length > MAX_CACHED_KEY_LENGTH) {
+            return this.getString(position);
+        }
+
+        // same as the hash code of the string
+        int hash = 0;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + this.bytes[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+        BString fieldName = this.keyCache[slot];
+        if (fieldName != null && this.isSameString(fieldName.getValue(), hash, start, length)) {
+            return fieldName;
+        }
+        fieldName = this.getString(position);
+        this.keyCache[slot] = fieldName;
+        return fieldName;
+    }
+
+    private boolean isSameString(String str, int hash, int start, int length) {
+        if (str.length() != length || str.hashCode() != hash) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (str.charAt(i) != this.bytes[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int add(byte kind, int start, int end) {
+        if (this.count == this.kinds.length) {
+            int capacity = this.count * 2;
+            this.kinds = Arrays.copyOf(this.kinds, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.nexts = Arrays.copyOf(this.nexts, capacity);
+        }
+        this.kinds[this.count] = kind;
+        this.starts[this.count] = start;
+        this.ends[this.count] = end;
+        return this.count++;
+    }
+
+    private boolean scan(int from, int to) {
+        int[] containers = new int[16];
+        int depth = 0;
+        int i = skipWhitespace(from, to);
+        boolean fieldExpected = false;
+        while (true) {
+            if (fieldExpected) {
+                if (i == to || this.bytes[i] != '"') {
+                    return false;
+                }
+                i = this.scanString(i, to);
+                if (i < 0) {
+                    return false;
+                }
+                i = skipWhitespace(i, to);
+                if (i == to || this.bytes[i] != ':') {
+                    return false;
+                }
+                i = skipWhitespace(i + 1, to);
+                fieldExpected = false;
+            }
+
+            if (i == to) {
+                return false;
+            }
+            byte b = this.bytes[i];
+            if (b == '{' || b == '[') {
+                if (depth == containers.length) {
+                    containers = Arrays.copyOf(containers, depth * 2);
+                }
+                containers[depth++] = this.add(b == '{' ? OBJECT : ARRAY, i, -1);
+                i = skipWhitespace(i + 1, to);
+                if (i < to && this.bytes[i] == (b == '{' ? '}' : ']')) {
+                    i = this.close(containers[--depth], i);
+                } else {
+                    fieldExpected = b == '{';
+                    continue;
+                }
+            } else if (b == '"') {
+                i = this.scanString(i, to);
+            } else if (b == '-' || (b >= '0' && b <= '9')) {
+                i = this.scanNumber(i, to);
+            } else if (b == 't') {
+                i = this.scanLiteral(i, to, "true", TRUE);
+            } else if (b == 'f') {
+                i = this.scanLiteral(i, to, "false", FALSE);
+            } else if (b == 'n') {
+                i = this.scanLiteral(i, to, "null", NULL);
+            } else {
+                return false;
+            }
+
+            // a value has ended, which may be followed by the next member or the end of the enclosing containers
+            while (true) {
+                if (i < 0) {
+                    return false;
+                }
+                i = skipWhitespace(i, to);
+                if (depth == 0) {
+                    return i == to;
+                }
+                if (i == to) {
+                    return false;
+                }
+                int container = containers[depth - 1];
+                b = this.bytes[i];
+                if (b == ',') {
+                    i = skipWhitespace(i + 1, to);
+                    fieldExpected = this.kinds[container] == OBJECT;
+                    break;
+                }
+                if (b != (this.kinds[container] == OBJECT ? '}' : ']')) {
+                    return false;
+                }
+                depth--;
+                i = this.close(container, i);
+            }
+        }
+    }
+
+    private int close(int container, int i) {
+        this.ends[container] = i + 1;
+        this.nexts[container] = this.count;
+        return i + 1;
+    }
+
+    private int skipWhitespace(int i, int to) {
+        while (i < to) {
+            byte b = this.bytes[i];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int scanString(int start, int to) {
+        boolean ascii = true;
+        int i = start + 1;
+        while (i < to) {
+            byte b = this.bytes[i];
+            if (b == '"') {
+                this.add(ascii ? ASCII_STRING : STRING, start, i + 1);
+                return i + 1;
+            } else if (b == '\\') {
+                ascii = false;
+                i = this.scanEscapedChar(i + 1, to);
+            } else if (b >= 0 && b < 0x20) {
+                return -1;
+            } else if (b < 0) {
+                ascii = false;
+                i = this.scanUtf8Char(i, to);
+            } else {
+                i++;
+            }
+            if (i < 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private int scanEscapedChar(int i, int to) {
+        if (i == to) {
+            return -1;
+        }
+        switch (this.bytes[i]) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return i + 1;
+            case 'u':
+                if (i + 4 >= to) {
+                    return -1;
+                }
+                for (int j = i + 1; j <= i + 4; j++) {
+                    byte b = this.bytes[j];
+                    if (!((b >= '0' && b <= '9') || (b >= 'A' && b <= 'F') || (b >= 'a' && b <= 'f'))) {
+                        return -1;
+                    }
+                }
+                return i + 5;
+            default:
+                return -1;
+        }
+    }
+
+    private int scanUtf8Char(int i, int to) {
+        int b = this.bytes[i] & 0xFF;
+        int length;
+        int min;
+        if (b >= 0xC2 && b <= 0xDF) {
+            length = 2;
+            min = 0x80;
+        } else if (b >= 0xE0 && b <= 0xEF) {
+            length = 3;
+            min = 0x800;
+        } else if (b >= 0xF0 && b <= 0xF4) {
+            length = 4;
+            min = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+        } else {
+            return -1;
+        }
+        if (i + length > to) {
+            return -1;
+        }
+        int codePoint = b & (0xFF >> (length + 1));
+        for (int j = i + 1; j < i + length; j++) {
+            if ((this.bytes[j] & 0xC0) != 0x80) {
+                return -1;
+            }
+            codePoint = (codePoint << 6) | (this.bytes[j] & 0x3F);
+        }
+        if (codePoint < min || codePoint > Character.MAX_CODE_POINT ||
+                (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return -1;
+        }
+        return i + length;
+    }
+
+    /**
+     * Scans a number, which is also checked to be converted as done by {@link JsonParser}, without errors. An integer
+     * is converted to an int unless the numbers are converted to floats or decimals, hence it can neither have an
+     * exponent nor be out of the range of an int.
+     */
+    private int scanNumber(int start, int to) {
+        int i = start;
+        if (this.bytes[i] == '-') {
+            i++;
+        }
+        int integerStart = i;
+        i = this.scanDigits(i, to);
+        int integerDigits = i - integerStart;
+        if (integerDigits == 0 || (integerDigits > 1 && this.bytes[integerStart] == '0')) {
+            return -1;
+        }
+        boolean fraction = false;
+        if (i < to && this.bytes[i] == '.') {
+            int fractionStart = i + 1;
+            i = this.scanDigits(fractionStart, to);
+            if (i == fractionStart) {
+                return -1;
+            }
+            fraction = true;
+        }
+        boolean exponent = false;
+        if (i < to && (this.bytes[i] == 'e' || this.bytes[i] == 'E')) {
+            i++;
+            if (i < to && (this.bytes[i] == '+' || this.bytes[i] == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            i = this.scanDigits(exponentStart, to);
+            if (i == exponentStart || i - exponentStart > MAX_EXPONENT_DIGITS) {
+                return -1;
+            }
+            exponent = true;
+        }
+        if (this.mode == JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING && !fraction &&
+                (exponent || integerDigits > MAX_LONG_DIGITS)) {
+            return -1;
+        }
+        this.add(NUMBER, start, i);
+        return i;
+    }
+
+    private int scanDigits(int i, int to) {
+        while (i < to && this.bytes[i] >= '0' && this.bytes[i] <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    private int scanLiteral(int start, int to, String literal, byte kind) {
+        int end = start + literal.length();
+        if (end > to) {
+            return -1;
+        }
+        for (int i = 1; i < literal.length(); i++) {
+            if (this.bytes[start + i] != literal.charAt(i)) {
+                return -1;
+            }
+        }
+        this.add(kind, start, end);
+        return end;
+    }
+}
@@ -20,12 +20,21 @@ package io.ballerina.runtime.internal;
 import io.ballerina.runtime.api.PredefinedTypes;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.JsonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.types.BArrayType;
 import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.types.BUnionType;
+import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
+import io.ballerina.runtime.internal.util.exceptions.RuntimeErrors;
 import io.ballerina.runtime.internal.values.ArrayValue;
 import io.ballerina.runtime.internal.values.ArrayValueImpl;
 import io.ballerina.runtime.internal.values.DecimalValue;
@@ -37,10 +46,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This class represents a JSON parser.
@@ -70,7 +88,8 @@ public class JsonParser {
     }
 
     /**
-     * Parses the contents in the given {@link InputStream} and returns a json.
+     * Parses the contents in the given {@link InputStream} and returns a json. UTF-8 content is decoded by the
+     * parser itself, as the bytes are read.
      *
      * @param in          input stream which contains the JSON content
      * @param charsetName the character set name of the input stream
@@ -79,6 +98,14 @@ public class JsonParser {
      */
     public static Object parse(InputStream in, String charsetName) throws BError {
         try {
+            if (isUtf8(charsetName)) {
+                StateMachine sm = tlStateMachine.get();
+                try {
+                    return changeForBString(sm.execute(in));
+                } finally {
+                    sm.reset();
+                }
+            }
             Object jsonObj = parse(new InputStreamReader(new BufferedInputStream(in), charsetName),
                                    JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
             return changeForBString(jsonObj);
@@ -88,6 +115,80 @@ public class JsonParser {
         }
     }
 
+    private static boolean isUtf8(String charsetName) {
+        try {
+            return StandardCharsets.UTF_8.equals(Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
+            // an unknown charset is reported when the reader is created
+            return false;
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json.
+     *
+     * @param bytes byte array which contains the JSON content
+     * @param mode  the mode to use when processing numeric values
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] bytes, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        return parse(bytes, 0, bytes.length, mode);
+    }
+
+    static Object parse(byte[] bytes, int offset, int length, JsonUtils.NonStringValueProcessingMode mode)
+            throws BError {
+        StateMachine sm = tlStateMachine.get();
+        sm.mode = mode;
+        try {
+            return sm.execute(bytes, offset, length);
+        } finally {
+            sm.reset();
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json, whose objects and arrays are
+     * created only when they are accessed. The contents are indexed and validated upfront, and the values of an
+     * object or an array are created from the bytes when it is first accessed or modified. An object or an array
+     * which is not accessed is serialized to bytes by copying its bytes as they are. The byte array must not be
+     * modified afterwards.
+     * <p>
+     * Contents which do not strictly follow the JSON grammar (e.g. numbers with leading zeros) are parsed as done by
+     * {@link #parse(byte[], JsonUtils.NonStringValueProcessingMode)}.
+     *
+     * @param bytes byte array which contains the JSON content
+     * @param mode  the mode to use when processing numeric values
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parseLazy(byte[] bytes, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        JsonIndex index = JsonIndex.build(bytes, 0, bytes.length, mode);
+        if (index == null) {
+            return parse(bytes, mode);
+        }
+        return index.getValue(0);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents remaining in the given {@link ByteBuffer} and returns a json. The position of
+     * the buffer is moved to its limit.
+     *
+     * @param buffer byte buffer which contains the JSON content
+     * @param mode   the mode to use when processing numeric values
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(ByteBuffer buffer, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        StateMachine sm = tlStateMachine.get();
+        sm.mode = mode;
+        try {
+            return sm.execute(buffer);
+        } finally {
+            sm.reset();
+        }
+    }
+
     /**
      * Parses the contents in the given string and returns a json.
      *
@@ -96,7 +197,7 @@ public class JsonParser {
      * @throws BError for any parsing error
      */
     public static Object parse(String jsonStr) throws BError {
-        return parse(new StringReader(jsonStr), JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+        return parse(jsonStr, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
     }
 
     /**
@@ -108,7 +209,13 @@ public class JsonParser {
      * @throws BError for any parsing error
      */
     public static Object parse(String jsonStr, JsonUtils.NonStringValueProcessingMode mode) throws BError {
-        return parse(new StringReader(jsonStr), mode);
+        StateMachine sm = tlStateMachine.get();
+        sm.mode = mode;
+        try {
+            return sm.execute(jsonStr);
+        } finally {
+            sm.reset();
+        }
     }
 
     private static Object changeForBString(Object jsonObj) {
@@ -138,6 +245,150 @@ public class JsonParser {
         }
     }
 
+    /**
+     * Parses the contents in the given string directly into a value of the given type, without creating an
+     * intermediate json value. The target type has to be one supported by {@link #isParsableToType(Type)}.
+     * <p>
+     * The parsing stops at the first value which cannot be converted, and the error gives its location in the content.
+     * Hence the error differs from the one reported when converting the parsed json value to the type, and a caller
+     * which has to report the latter parses the content again once this fails.
+     *
+     * @param jsonStr    the string which contains the JSON content
+     * @param targetType the type of the value to be created
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the JSON content cannot be converted to the target type
+     */
+    public static Object parse(String jsonStr, Type targetType) throws BError {
+        StateMachine sm = tlStateMachine.get();
+        sm.targetType = targetType;
+        try {
+            return sm.execute(jsonStr);
+        } finally {
+            sm.reset();
+        }
+    }
+
+    /**
+     * Checks whether JSON content can be parsed directly into a value of the given type. The JSON objects and arrays
+     * within the content are mapped to records, maps and open arrays, and the json and anydata values within them are
+     * created as when parsing a json value. The other types (e.g. tables, tuples and read-only types) and the unions
+     * having more than one member to which an object or an array can be converted are not supported, as they require
+     * the whole value to be known for the conversion.
+     *
+     * @param targetType the type of the value to be created
+     * @return true if the JSON content can be parsed directly into the type
+     */
+    public static boolean isParsableToType(Type targetType) {
+        return isParsableToType(targetType, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static boolean isParsableToType(Type type, Set<Type> visitedTypes) {
+        switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.SIGNED32_INT_TAG:
+            case TypeTags.SIGNED16_INT_TAG:
+            case TypeTags.SIGNED8_INT_TAG:
+            case TypeTags.UNSIGNED32_INT_TAG:
+            case TypeTags.UNSIGNED16_INT_TAG:
+            case TypeTags.UNSIGNED8_INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.CHAR_STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.NULL_TAG:
+            case TypeTags.FINITE_TYPE_TAG:
+            case TypeTags.JSON_TAG:
+            case TypeTags.ANYDATA_TAG:
+                return true;
+            case TypeTags.MAP_TAG:
+                return isParsableToType(((BMapType) type).getConstrainedType(), visitedTypes);
+            case TypeTags.ARRAY_TAG:
+                BArrayType arrayType = (BArrayType) type;
+                return arrayType.getState() == ArrayType.ArrayState.OPEN &&
+                        isParsableToType(arrayType.getElementType(), visitedTypes);
+            case TypeTags.RECORD_TYPE_TAG:
+                if (!visitedTypes.add(type)) {
+                    return true;
+                }
+                BRecordType recordType = (BRecordType) type;
+                for (Field field : recordType.getFields().values()) {
+                    if (!isParsableToType(field.getFieldType(), visitedTypes)) {
+                        return false;
+                    }
+                }
+                return recordType.sealed || isParsableToType(recordType.restFieldType, visitedTypes);
+            case TypeTags.UNION_TAG:
+                if (!visitedTypes.add(type)) {
+                    return true;
+                }
+                int objectTypeCount = 0;
+                int arrayTypeCount = 0;
+                for (Type memberType : ((BUnionType) type).getMemberTypes()) {
+                    if (!isParsableToType(memberType, visitedTypes)) {
+                        return false;
+                    }
+                    objectTypeCount += getObjectType(memberType) != null ? 1 : 0;
+                    arrayTypeCount += getArrayType(memberType) != null ? 1 : 0;
+                }
+                return objectTypeCount <= 1 && arrayTypeCount <= 1;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the type of the value to be created for a JSON object, where a value of the given type is expected.
+     *
+     * @param type expected type
+     * @return record, map, json or anydata type, or null if an object cannot be converted to the type
+     */
+    private static Type getObjectType(Type type) {
+        switch (type.getTag()) {
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.JSON_TAG:
+            case TypeTags.ANYDATA_TAG:
+                return type;
+            case TypeTags.UNION_TAG:
+                for (Type memberType : ((BUnionType) type).getMemberTypes()) {
+                    Type objectType = getObjectType(memberType);
+                    if (objectType != null) {
+                        return objectType;
+                    }
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the type of the value to be created for a JSON array, where a value of the given type is expected.
+     *
+     * @param type expected type
+     * @return array, json or anydata type, or null if an array cannot be converted to the type
+     */
+    private static Type getArrayType(Type type) {
+        switch (type.getTag()) {
+            case TypeTags.ARRAY_TAG:
+            case TypeTags.JSON_TAG:
+            case TypeTags.ANYDATA_TAG:
+                return type;
+            case TypeTags.UNION_TAG:
+                for (Type memberType : ((BUnionType) type).getMemberTypes()) {
+                    Type arrayType = getArrayType(memberType);
+                    if (arrayType != null) {
+                        return arrayType;
+                    }
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
     /**
      * Represents a JSON parser related exception.
      */
@@ -167,6 +418,17 @@ public class JsonParser {
         private static final char REV_SOL = '\\';
         private static final char SOL = '/';
         private static final char EOF = (char) -1;
+        private static final char REPLACEMENT_CHAR = '\uFFFD';
+        private static final int CHUNK_SIZE = 4096;
+        private static final int KEY_CACHE_SIZE = 256;
+        private static final int MAX_CACHED_KEY_LENGTH = 32;
+        private static final int MAX_LONG_DIGITS = 18;
+        private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+        private static final int MAX_EXACT_POWER_OF_TEN = 22;
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
         private static final String NULL = "null";
         private static final String TRUE = "true";
         private static final String FALSE = "false";
@@ -202,15 +464,29 @@ public class JsonParser {
         private static final State STRING_VALUE_UNICODE_HEX_PROCESSING_STATE =
                 new StringValueUnicodeHexProcessingState();
         private JsonUtils.NonStringValueProcessingMode mode = JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING;
+        // the type of the parsed value, or null if a json value is parsed
+        private Type targetType;
 
         private Object currentJsonNode;
         private Deque<Object> nodesStack;
-        private Deque<String> fieldNames;
+        private Deque<BString> fieldNames;
+        // names of the fields parsed for each record being created, as the record values are created with the
+        // default values of their fields
+        private Deque<Set<String>> recordFieldNames;
 
         private StringBuilder hexBuilder = new StringBuilder(4);
         private char[] charBuff = new char[1024];
         private int charBuffIndex;
 
+        // the input read or decoded for the next transitions, reused across documents
+        private final char[] inputChars = new char[CHUNK_SIZE];
+        private final byte[] inputBytes = new byte[CHUNK_SIZE];
+        private State currentState;
+
+        // field names created by the state machine, which are reused for the same field names in the objects parsed
+        // afterwards, indexed by their hash codes
+        private final BString[] keyCache = new BString[KEY_CACHE_SIZE];
+
         private int index;
         private int line;
         private int column;
@@ -223,11 +499,15 @@ public class JsonParser {
         public void reset() {
             this.index = 0;
             this.currentJsonNode = null;
+            this.currentState = DOC_START_STATE;
+            this.charBuffIndex = 0;
             this.line = 1;
             this.column = 0;
             this.mode = JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING;
+            this.targetType = null;
             this.nodesStack = new ArrayDeque<>();
             this.fieldNames = new ArrayDeque<>();
+            this.recordFieldNames = new ArrayDeque<>();
         }
 
         private static boolean isWhitespace(char ch) {
@@ -248,27 +528,206 @@ public class JsonParser {
         }
 
         public Object execute(Reader reader) throws BError {
-            State currentState = DOC_START_STATE;
             try {
-                char[] buff = new char[1024];
+                char[] buff = this.inputChars;
                 int count;
                 while ((count = reader.read(buff)) > 0) {
-                    this.index = 0;
-                    while (this.index < count) {
-                        currentState = currentState.transition(this, buff, this.index, count);
-                    }
+                    this.process(buff, count);
+                }
+                return this.endDocument();
+            } catch (IOException e) {
+                throw createReadError(e);
+            } catch (JsonParserException e) {
+                throw this.createParserError(e);
+            }
+        }
+
+        public Object execute(String str) throws BError {
+            try {
+                char[] buff = this.inputChars;
+                int length = str.length();
+                for (int offset = 0; offset < length; offset += buff.length) {
+                    int count = Math.min(buff.length, length - offset);
+                    str.getChars(offset, offset + count, buff, 0);
+                    this.process(buff, count);
+                }
+                return this.endDocument();
+            } catch (JsonParserException e) {
+                throw this.createParserError(e);
+            }
+        }
+
+        public Object execute(byte[] bytes, int offset, int length) throws BError {
+            try {
+                this.decode(bytes, offset, offset + length, true);
+                return this.endDocument();
+            } catch (JsonParserException e) {
+                throw this.createParserError(e);
+            }
+        }
+
+        public Object execute(ByteBuffer buffer) throws BError {
+            if (buffer.hasArray()) {
+                int offset = buffer.arrayOffset() + buffer.position();
+                int length = buffer.remaining();
+                buffer.position(buffer.limit());
+                return this.execute(buffer.array(), offset, length);
+            }
+
+            try {
+                byte[] bytes = this.inputBytes;
+                int remaining = 0;
+                while (buffer.hasRemaining()) {
+                    int count = Math.min(buffer.remaining(), bytes.length - remaining);
+                    buffer.get(bytes, remaining, count);
+                    remaining = this.decodeChunk(remaining + count);
                 }
-                currentState = currentState.transition(this, new char[] { EOF }, 0, 1);
-                if (currentState != DOC_END_STATE) {
-                    throw ErrorCreator.createError(StringUtils.fromString("invalid JSON document"));
+                this.decode(bytes, 0, remaining, true);
+                return this.endDocument();
+            } catch (JsonParserException e) {
+                throw this.createParserError(e);
+            }
+        }
+
+        public Object execute(InputStream in) throws BError {
+            try {
+                byte[] bytes = this.inputBytes;
+                int remaining = 0;
+                int count;
+                while ((count = in.read(bytes, remaining, bytes.length - remaining)) > 0) {
+                    remaining = this.decodeChunk(remaining + count);
                 }
-                return this.currentJsonNode;
+                this.decode(bytes, 0, remaining, true);
+                return this.endDocument();
             } catch (IOException e) {
-                throw ErrorCreator.createError(StringUtils.fromString("Error reading JSON: " + e.getMessage()));
+                throw createReadError(e);
             } catch (JsonParserException e) {
-                throw ErrorCreator.createError(StringUtils.fromString(e.getMessage() + " at line: " + this.line + " " +
-                                                                              "column: " + this.column));
+                throw this.createParserError(e);
+            }
+        }
+
+        private void process(char[] buff, int count) throws JsonParserException {
+            this.index = 0;
+            while (this.index < count) {
+                this.currentState = this.currentState.transition(this, buff, this.index, count);
+            }
+        }
+
+        private Object endDocument() throws JsonParserException {
+            this.currentState = this.currentState.transition(this, new char[] { EOF }, 0, 1);
+            if (this.currentState != DOC_END_STATE) {
+                throw ErrorCreator.createError(StringUtils.fromString("invalid JSON document"));
+            }
+            return this.currentJsonNode;
+        }
+
+        private static BError createReadError(IOException e) {
+            return ErrorCreator.createError(StringUtils.fromString("Error reading JSON: " + e.getMessage()));
+        }
+
+        private BError createParserError(JsonParserException e) {
+            return ErrorCreator.createError(StringUtils.fromString(e.getMessage() + " at line: " + this.line + " " +
+                                                                           "column: " + this.column));
+        }
+
+        /**
+         * Decodes the first given number of bytes in the input byte buffer, and moves the bytes of a character which
+         * is not read completely yet to the start of the buffer.
+         *
+         * @param count number of bytes read into the input byte buffer
+         * @return number of bytes left at the start of the buffer
+         * @throws JsonParserException for any parsing error
+         */
+        private int decodeChunk(int count) throws JsonParserException {
+            int decoded = this.decode(this.inputBytes, 0, count, false);
+            int remaining = count - decoded;
+            System.arraycopy(this.inputBytes, decoded, this.inputBytes, 0, remaining);
+            return remaining;
+        }
+
+        /**
+         * Decodes the UTF-8 bytes in the given range and processes the decoded characters. Malformed bytes are
+         * decoded as the replacement character, as done by a {@link Reader}.
+         *
+         * @param bytes      UTF-8 encoded content
+         * @param from       index of the first byte to decode
+         * @param to         index after the last byte to decode
+         * @param endOfInput whether the range ends the content, else the bytes of an incomplete character at the end
+         *                   of the range are left to be decoded with the bytes to follow
+         * @return index after the last decoded byte
+         * @throws JsonParserException for any parsing error
+         */
+        private int decode(byte[] bytes, int from, int to, boolean endOfInput) throws JsonParserException {
+            char[] chars = this.inputChars;
+            int count = 0;
+            int i = from;
+            while (i < to) {
+                if (count >= chars.length - 1) {
+                    this.process(chars, count);
+                    count = 0;
+                }
+
+                int b = bytes[i];
+                if (b >= 0) {
+                    // fast path for ASCII characters, which are not decoded one by one
+                    int limit = i + Math.min(to - i, chars.length - count);
+                    do {
+                        chars[count++] = (char) b;
+                        i++;
+                    } while (i < limit && (b = bytes[i]) >= 0);
+                    continue;
+                }
+
+                int length = getUtf8Length(b);
+                if (i + length > to) {
+                    if (!endOfInput) {
+                        break;
+                    }
+                    length = 0;
+                }
+                int codePoint = length == 0 ? -1 : decodeCodePoint(bytes, i, length);
+                if (codePoint < 0) {
+                    chars[count++] = REPLACEMENT_CHAR;
+                    i++;
+                } else if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    chars[count++] = (char) codePoint;
+                    i += length;
+                } else {
+                    chars[count++] = Character.highSurrogate(codePoint);
+                    chars[count++] = Character.lowSurrogate(codePoint);
+                    i += length;
+                }
+            }
+            this.process(chars, count);
+            return i;
+        }
+
+        private static int getUtf8Length(int leadingByte) {
+            int b = leadingByte & 0xFF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                return 2;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                return 3;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                return 4;
             }
+            return 0;
+        }
+
+        private static int decodeCodePoint(byte[] bytes, int i, int length) {
+            int codePoint = bytes[i] & (0xFF >> (length + 1));
+            for (int j = i + 1; j < i + length; j++) {
+                if ((bytes[j] & 0xC0) != 0x80) {
+                    return -1;
+                }
+                codePoint = (codePoint << 6) | (bytes[j] & 0x3F);
+            }
+            if ((length == 3 && (codePoint < 0x800 || Character.isSurrogate((char) codePoint))) ||
+                    (length == 4 && (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT ||
+                            codePoint > Character.MAX_CODE_POINT))) {
+                return -1;
+            }
+            return codePoint;
         }
 
         private void append(char ch) {
@@ -282,20 +741,54 @@ public class JsonParser {
             }
         }
 
+        private void append(char[] buff, int offset, int length) {
+            while (this.charBuffIndex + length > this.charBuff.length) {
+                this.growCharBuff();
+            }
+            System.arraycopy(buff, offset, this.charBuff, this.charBuffIndex, length);
+            this.charBuffIndex += length;
+        }
+
+        /**
+         * Appends the characters of a string, up to the closing quote, an escaped character or the end of the
+         * document, at once.
+         *
+         * @param buff  the input characters
+         * @param i     the location of the first character of the string to be read
+         * @param count the number of characters in the buffer
+         * @return the location of the character which ends the appended characters
+         */
+        private int appendStringChars(char[] buff, int i, int count) {
+            int start = i;
+            char quoteChar = this.currentQuoteChar;
+            for (; i < count; i++) {
+                char ch = buff[i];
+                if (ch == quoteChar || ch == REV_SOL || ch == EOF) {
+                    break;
+                }
+                this.processLocation(ch);
+            }
+            this.append(buff, start, i - start);
+            return i;
+        }
+
         private void growCharBuff() {
             char[] newBuff = new char[charBuff.length * 2];
             System.arraycopy(this.charBuff, 0, newBuff, 0, this.charBuff.length);
             this.charBuff = newBuff;
         }
 
-        private State finalizeObject() {
+        private State finalizeObject() throws JsonParserException {
+            if (this.targetType != null && this.currentJsonNode instanceof MapValueImpl) {
+                this.checkRequiredFields((MapValueImpl<BString, Object>) this.currentJsonNode);
+            }
             if (this.nodesStack.isEmpty()) {
                 return DOC_END_STATE;
             }
 
             Object parentNode = this.nodesStack.pop();
-            if (TypeChecker.getType(parentNode).getTag() == TypeTags.MAP_TAG) {
-                ((MapValueImpl<BString, Object>) parentNode).put(StringUtils.fromString(fieldNames.pop()),
+            if (parentNode instanceof MapValueImpl) {
+                ((MapValueImpl<BString, Object>) parentNode).put(fieldNames.pop(),
                                                                  currentJsonNode);
                 currentJsonNode = parentNode;
                 return FIELD_END_STATE;
@@ -305,22 +798,156 @@ public class JsonParser {
             return ARRAY_ELEMENT_END_STATE;
         }
 
-        private State initNewObject() {
+        private State initNewObject() throws JsonParserException {
+            Type objectType = this.targetType == null ? PredefinedTypes.TYPE_JSON :
+                    getObjectType(this.getExpectedType());
+            if (objectType == null) {
+                throw new JsonParserException("a JSON object cannot be converted to '" + this.getExpectedType() + "'");
+            }
             if (currentJsonNode != null) {
                 this.nodesStack.push(currentJsonNode);
             }
-            currentJsonNode = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_JSON));
+            switch (objectType.getTag()) {
+                case TypeTags.RECORD_TYPE_TAG:
+                    currentJsonNode = ValueCreator.createRecordValue(objectType.getPackage(), objectType.getName());
+                    this.recordFieldNames.push(new HashSet<>());
+                    break;
+                case TypeTags.MAP_TAG:
+                    currentJsonNode = new MapValueImpl<>(objectType);
+                    break;
+                default:
+                    currentJsonNode = new MapValueImpl<>(new BMapType(objectType));
+                    break;
+            }
             return FIRST_FIELD_READY_STATE;
         }
 
-        private State initNewArray() {
+        private State initNewArray() throws JsonParserException {
+            Type arrayType = this.targetType == null ? PredefinedTypes.TYPE_JSON :
+                    getArrayType(this.getExpectedType());
+            if (arrayType == null) {
+                throw new JsonParserException("a JSON array cannot be converted to '" + this.getExpectedType() + "'");
+            }
             if (currentJsonNode != null) {
                 this.nodesStack.push(currentJsonNode);
             }
-            currentJsonNode = new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_JSON));
+            if (arrayType.getTag() == TypeTags.ARRAY_TAG) {
+                currentJsonNode = new ArrayValueImpl((BArrayType) arrayType);
+            } else {
+                currentJsonNode = new ArrayValueImpl(new BArrayType(arrayType));
+            }
             return FIRST_ARRAY_ELEMENT_READY_STATE;
         }
 
+        /**
+         * Returns the type of the value being parsed, i.e. the target type for the document value, the type of the
+         * current field for a field value and the element type of the current array for an array element.
+         *
+         * @return expected type of the value
+         * @throws JsonParserException if a field is not allowed in the current record
+         */
+        private Type getExpectedType() throws JsonParserException {
+            if (this.currentJsonNode == null) {
+                return this.targetType;
+            }
+            if (this.currentJsonNode instanceof MapValueImpl) {
+                return this.getFieldType((MapValueImpl<BString, Object>) this.currentJsonNode,
+                                         this.fieldNames.peek().getValue());
+            }
+            return ((BArrayType) ((ArrayValue) this.currentJsonNode).getType()).getElementType();
+        }
+
+        private Type getFieldType(MapValueImpl<BString, Object> mapValue, String fieldName)
+                throws JsonParserException {
+            Type mapType = mapValue.getType();
+            if (mapType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+                return ((BMapType) mapType).getConstrainedType();
+            }
+
+            BRecordType recordType = (BRecordType) mapType;
+            Field field = recordType.getFields().get(fieldName);
+            if (field != null) {
+                return field.getFieldType();
+            }
+            if (recordType.sealed) {
+                throw new JsonParserException("field '" + fieldName + "' cannot be added to the closed record '" +
+                                                      recordType + "'");
+            }
+            return recordType.restFieldType;
+        }
+
+        private void checkRequiredFields(MapValueImpl<BString, Object> mapValue) throws JsonParserException {
+            Type mapType = mapValue.getType();
+            if (mapType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+                return;
+            }
+            Set<String> fieldNames = this.recordFieldNames.pop();
+            for (Field field : ((BRecordType) mapType).getFields().values()) {
+                if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED) &&
+                        !fieldNames.contains(field.getFieldName())) {
+                    throw new JsonParserException("missing required field '" + field.getFieldName() + "' of type '" +
+                                                          field.getFieldType() + "' in record '" + mapType + "'");
+                }
+            }
+        }
+
+        /**
+         * Converts a simple value parsed where a value of the given type is expected, as a json value is converted by
+         * {@code value:fromJsonWithType}.
+         *
+         * @param value simple value
+         * @param type  expected type
+         * @return converted value
+         * @throws JsonParserException if the value cannot be converted to the type
+         */
+        private static Object convertValue(Object value, Type type) throws JsonParserException {
+            if (value == null) {
+                if (type.isNilable()) {
+                    return null;
+                }
+                throw new JsonParserException(BLangExceptionHelper.getErrorMessage(RuntimeErrors.CANNOT_CONVERT_NIL,
+                                                                                   type).getValue());
+            }
+
+            Type sourceType = TypeChecker.getType(value);
+            if (sourceType == type || type.getTag() == TypeTags.JSON_TAG || type.getTag() == TypeTags.ANYDATA_TAG) {
+                return value;
+            }
+            List<Type> convertibleTypes = TypeConverter.getConvertibleTypesFromJson(value, type, new ArrayList<>());
+            if (convertibleTypes.size() != 1) {
+                String message = BLangExceptionHelper.getErrorMessage(RuntimeErrors.INCOMPATIBLE_CONVERT_OPERATION,
+                                                                      sourceType, type).getValue();
+                throw new JsonParserException(convertibleTypes.isEmpty() ? message :
+                                                      message + ": ambiguous target type");
+            }
+            Type matchingType = convertibleTypes.get(0);
+            if (TypeChecker.checkIsType(value, matchingType)) {
+                return value;
+            }
+            return TypeConverter.convertValues(matchingType, value);
+        }
+
+        private void setDocumentValue(Object value) throws JsonParserException {
+            this.currentJsonNode = this.targetType == null ? value : convertValue(value, this.targetType);
+        }
+
+        private void putFieldValue(Object value) throws JsonParserException {
+            MapValueImpl<BString, Object> mapValue = (MapValueImpl<BString, Object>) this.currentJsonNode;
+            BString fieldName = this.fieldNames.pop();
+            if (this.targetType != null) {
+                value = convertValue(value, this.getFieldType(mapValue, fieldName.getValue()));
+            }
+            mapValue.put(fieldName, value);
+        }
+
+        private void appendArrayElement(Object value) throws JsonParserException {
+            ArrayValue arrayValue = (ArrayValue) this.currentJsonNode;
+            if (this.targetType != null) {
+                value = convertValue(value, ((BArrayType) arrayValue.getType()).getElementType());
+            }
+            arrayValue.append(value);
+        }
+
         /**
          * A specific state in the JSON parsing state machine.
          */
@@ -545,7 +1172,51 @@ public class JsonParser {
         }
 
         private void processFieldName() {
-            this.fieldNames.push(this.value());
+            BString fieldName = this.fieldName();
+            this.fieldNames.push(fieldName);
+            if (this.targetType != null && this.currentJsonNode instanceof MapValueImpl &&
+                    ((MapValueImpl<?, ?>) this.currentJsonNode).getType().getTag() == TypeTags.RECORD_TYPE_TAG) {
+                this.recordFieldNames.peek().add(fieldName.getValue());
+            }
+        }
+
+        /**
+         * Returns the field name in the char buffer. Short field names are cached, so that a field name repeated in
+         * many objects (e.g. in the objects of an array) is created and hashed once, and shared by the objects.
+         */
+        private BString fieldName() {
+            char[] chars = this.charBuff;
+            int length = this.charBuffIndex;
+            this.charBuffIndex = 0;
+            if (length > MAX_CACHED_KEY_LENGTH) {
+                return StringUtils.fromString(new String(chars, 0, length));
+            }
+
+            // same as the hash code of the string
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + chars[i];
+            }
+            int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+            BString fieldName = this.keyCache[slot];
+            if (fieldName != null && isSameString(fieldName.getValue(), hash, chars, length)) {
+                return fieldName;
+            }
+            fieldName = StringUtils.fromString(new String(chars, 0, length));
+            this.keyCache[slot] = fieldName;
+            return fieldName;
+        }
+
+        private static boolean isSameString(String str, int hash, char[] chars, int length) {
+            if (str.length() != length || str.hashCode() != hash) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (str.charAt(i) != chars[i]) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         /**
@@ -555,24 +1226,19 @@ public class JsonParser {
 
             @Override
             public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
-                char ch;
-                State state = null;
-                for (; i < count; i++) {
-                    ch = buff[i];
+                State state = this;
+                i = sm.appendStringChars(buff, i, count);
+                if (i < count) {
+                    char ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
                         sm.processFieldName();
                         state = END_FIELD_NAME_STATE;
                     } else if (ch == REV_SOL) {
                         state = FIELD_NAME_ESC_CHAR_PROCESSING_STATE;
-                    } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
                     } else {
-                        sm.append(ch);
-                        state = this;
-                        continue;
+                        throw new JsonParserException("unexpected end of JSON document");
                     }
-                    break;
                 }
                 sm.index = i + 1;
                 return state;
@@ -652,25 +1318,19 @@ public class JsonParser {
 
             @Override
             public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
-                State state = null;
-                char ch;
-                for (; i < count; i++) {
-                    ch = buff[i];
+                State state = this;
+                i = sm.appendStringChars(buff, i, count);
+                if (i < count) {
+                    char ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        ((MapValueImpl<BString, Object>) sm.currentJsonNode).put(
-                                StringUtils.fromString(sm.fieldNames.pop()), StringUtils.fromString(sm.value()));
+                        sm.putFieldValue(StringUtils.fromString(sm.value()));
                         state = FIELD_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_FIELD_ESC_CHAR_PROCESSING_STATE;
-                    } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
                     } else {
-                        sm.append(ch);
-                        state = this;
-                        continue;
+                        throw new JsonParserException("unexpected end of JSON document");
                     }
-                    break;
                 }
                 sm.index = i + 1;
                 return state;
@@ -685,24 +1345,19 @@ public class JsonParser {
 
             @Override
             public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
-                State state = null;
-                char ch;
-                for (; i < count; i++) {
-                    ch = buff[i];
+                State state = this;
+                i = sm.appendStringChars(buff, i, count);
+                if (i < count) {
+                    char ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        ((ArrayValue) sm.currentJsonNode).append(changeForBString(sm.value()));
+                        sm.appendArrayElement(changeForBString(sm.value()));
                         state = ARRAY_ELEMENT_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_AE_ESC_CHAR_PROCESSING_STATE;
-                    } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
                     } else {
-                        sm.append(ch);
-                        state = this;
-                        continue;
+                        throw new JsonParserException("unexpected end of JSON document");
                     }
-                    break;
                 }
                 sm.index = i + 1;
                 return state;
@@ -797,24 +1452,19 @@ public class JsonParser {
 
             @Override
             public State transition(StateMachine sm, char[] buff, int i, int count) throws JsonParserException {
-                State state = null;
-                char ch;
-                for (; i < count; i++) {
-                    ch = buff[i];
+                State state = this;
+                i = sm.appendStringChars(buff, i, count);
+                if (i < count) {
+                    char ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        sm.currentJsonNode = changeForBString(sm.value());
+                        sm.setDocumentValue(changeForBString(sm.value()));
                         state = DOC_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_VAL_ESC_CHAR_PROCESSING_STATE;
-                    } else if (ch == EOF) {
-                        throw new JsonParserException("unexpected end of JSON document");
                     } else {
-                        sm.append(ch);
-                        state = this;
-                        continue;
+                        throw new JsonParserException("unexpected end of JSON document");
                     }
-                    break;
                 }
                 sm.index = i + 1;
                 return state;
@@ -827,117 +1477,156 @@ public class JsonParser {
         }
 
         private void processNonStringValue(ValueType type) throws JsonParserException {
-            String str = value();
-            if (str.indexOf('.') >= 0) {
-                try {
-                    switch (mode) {
-                        case FROM_JSON_FLOAT_STRING:
-                            setValueToJsonType(type, Double.parseDouble(str));
-                            break;
-                        case FROM_JSON_DECIMAL_STRING:
-                            setValueToJsonType(type, new DecimalValue(str));
-                            break;
-                        default:
-                            if (isNegativeZero(str)) {
-                                setValueToJsonType(type, Double.parseDouble(str));
-                            } else {
-                                setValueToJsonType(type, new DecimalValue(str));
+            // the value is read from the character buffer, without creating a string for it
+            int length = this.charBuffIndex;
+            this.charBuffIndex = 0;
+            char ch = length == 0 ? EOF : this.charBuff[0];
+            if (ch == 't' && this.isToken(TRUE, length)) {
+                setValueToJsonType(type, Boolean.TRUE);
+            } else if (ch == 'f' && this.isToken(FALSE, length)) {
+                setValueToJsonType(type, Boolean.FALSE);
+            } else if (ch == 'n' && this.isToken(NULL, length)) {
+                setValueToJsonType(type, null);
+            } else {
+                setValueToJsonType(type, this.processNumber(length));
+            }
+        }
+
+        private boolean isToken(String token, int length) {
+            if (length != token.length()) {
+                return false;
+            }
+            for (int i = 1; i < length; i++) {
+                if (this.charBuff[i] != token.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Object processNumber(int length) throws JsonParserException {
+            char[] chars = this.charBuff;
+            try {
+                switch (mode) {
+                    case FROM_JSON_FLOAT_STRING:
+                        return parseDouble(chars, length);
+                    case FROM_JSON_DECIMAL_STRING:
+                        return parseDecimal(chars, length);
+                    default:
+                        if (isNegativeZero(chars, length)) {
+                            return parseDouble(chars, length);
+                        }
+                        for (int i = 0; i < length; i++) {
+                            if (chars[i] == '.') {
+                                return parseDecimal(chars, length);
                             }
-                            break;
-                    }
-                } catch (NumberFormatException ignore) {
-                    throw new JsonParserException("unrecognized token '" + str + "'");
+                        }
+                        return parseLong(chars, length);
                 }
-            } else {
-                char ch = str.charAt(0);
-                if (ch == 't' && TRUE.equals(str)) {
-                    switch (type) {
-                        case ARRAY_ELEMENT:
-                            ((ArrayValue) this.currentJsonNode).append(Boolean.TRUE);
-                            break;
-                        case FIELD:
-                            ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                                    StringUtils.fromString(this.fieldNames.pop()), Boolean.TRUE);
-                            break;
-                        case VALUE:
-                            currentJsonNode = Boolean.TRUE;
-                            break;
-                        default:
-                            break;
-                    }
-                } else if (ch == 'f' && FALSE.equals(str)) {
-                    switch (type) {
-                        case ARRAY_ELEMENT:
-                            ((ArrayValue) this.currentJsonNode).append(Boolean.FALSE);
-                            break;
-                        case FIELD:
-                            ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                                    StringUtils.fromString(this.fieldNames.pop()), Boolean.FALSE);
-                            break;
-                        case VALUE:
-                            currentJsonNode = Boolean.FALSE;
-                            break;
-                        default:
-                            break;
+            } catch (NumberFormatException ignore) {
+                throw new JsonParserException("unrecognized token '" + new String(chars, 0, length) + "'");
+            }
+        }
+
+        private static boolean isNegativeZero(char[] chars, int length) {
+            return length > 0 && '-' == chars[0] && 0 == parseDouble(chars, length);
+        }
+
+        private static long parseLong(char[] chars, int length) {
+            int start = length > 0 && chars[0] == '-' ? 1 : 0;
+            if (length == start || length - start > MAX_LONG_DIGITS) {
+                return Long.parseLong(new String(chars, 0, length));
+            }
+            long value = 0;
+            for (int i = start; i < length; i++) {
+                char ch = chars[i];
+                if (ch < '0' || ch > '9') {
+                    return Long.parseLong(new String(chars, 0, length));
+                }
+                value = value * 10 + (ch - '0');
+            }
+            return start == 0 ? value : -value;
+        }
+
+        /**
+         * Parses a float value. A value having a significand and a power of ten which are exactly representable as
+         * doubles is computed by a single multiplication or division, which rounds the result correctly. The other
+         * values are parsed by {@link Double#parseDouble(String)}.
+         */
+        private static double parseDouble(char[] chars, int length) {
+            int i = length > 0 && chars[0] == '-' ? 1 : 0;
+            long significand = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean fraction = false;
+            for (; i < length; i++) {
+                char ch = chars[i];
+                if (ch >= '0' && ch <= '9') {
+                    if (++digits > MAX_EXACT_DOUBLE_DIGITS) {
+                        break;
                     }
-                } else if (ch == 'n' && NULL.equals(str)) {
-                    switch (type) {
-                        case ARRAY_ELEMENT:
-                            ((ArrayValue) this.currentJsonNode).append(null);
-                            break;
-                        case FIELD:
-                            ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                                    StringUtils.fromString(this.fieldNames.pop()), null);
-                            break;
-                        case VALUE:
-                            currentJsonNode = null;
-                            break;
-                        default:
-                            break;
+                    significand = significand * 10 + (ch - '0');
+                    if (fraction) {
+                        exponent--;
                     }
+                } else if (ch == '.' && !fraction) {
+                    fraction = true;
                 } else {
-                    try {
-                        switch (mode) {
-                            case FROM_JSON_FLOAT_STRING:
-                                setValueToJsonType(type, Double.parseDouble(str));
-                                break;
-                            case FROM_JSON_DECIMAL_STRING:
-                                setValueToJsonType(type, new DecimalValue(str));
-                                break;
-                            default:
-                                if (isNegativeZero(str)) {
-                                    setValueToJsonType(type, Double.parseDouble(str));
-                                } else {
-                                    setValueToJsonType(type, Long.parseLong(str));
-                                }
-                                break;
-                        }
-                    } catch (NumberFormatException ignore) {
-                        throw new JsonParserException("unrecognized token '" + str + "'");
+                    break;
+                }
+            }
+            if (i < length && (chars[i] == 'e' || chars[i] == 'E') && i + 1 < length) {
+                int j = i + 1;
+                boolean negativeExponent = chars[j] == '-';
+                if (negativeExponent || chars[j] == '+') {
+                    j++;
+                }
+                int explicitExponent = 0;
+                for (; j < length && j - i <= 4; j++) {
+                    char ch = chars[j];
+                    if (ch < '0' || ch > '9') {
+                        break;
                     }
+                    explicitExponent = explicitExponent * 10 + (ch - '0');
+                }
+                if (j == length && chars[j - 1] >= '0' && chars[j - 1] <= '9') {
+                    exponent += negativeExponent ? -explicitExponent : explicitExponent;
+                    i = j;
+                }
+            }
+            if (i != length || digits == 0 || exponent < -MAX_EXACT_POWER_OF_TEN ||
+                    exponent > MAX_EXACT_POWER_OF_TEN) {
+                return Double.parseDouble(new String(chars, 0, length));
+            }
+            double value = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] :
+                    significand * POWERS_OF_TEN[exponent];
+            return chars[0] == '-' ? -value : value;
+        }
+
+        private static DecimalValue parseDecimal(char[] chars, int length) {
+            for (int i = 0; i < length; i++) {
+                if (chars[i] == 'x' || chars[i] == 'X') {
+                    // hexadecimal values are converted by the decimal value
+                    return new DecimalValue(new String(chars, 0, length));
                 }
             }
+            return new DecimalValue(new BigDecimal(chars, 0, length, MathContext.DECIMAL128));
         }
 
-        private void setValueToJsonType(ValueType type, Object value) {
+        private void setValueToJsonType(ValueType type, Object value) throws JsonParserException {
             switch (type) {
                 case ARRAY_ELEMENT:
-                    ((ArrayValue) this.currentJsonNode).append(value);
+                    this.appendArrayElement(value);
                     break;
                 case FIELD:
-                    ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                            StringUtils.fromString(this.fieldNames.pop()), value);
+                    this.putFieldValue(value);
                     break;
                 default:
-                    currentJsonNode = value;
+                    this.setDocumentValue(value);
                     break;
             }
         }
 
-        private boolean isNegativeZero(String str) {
-            return '-' == str.charAt(0) && 0 == Double.parseDouble(str);
-        }
-
         /**
          * Represents the state during a non-string value is defined.
          */
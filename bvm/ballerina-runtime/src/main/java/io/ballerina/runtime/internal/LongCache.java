@@ -0,0 +1,55 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal;
+
+/**
+ * Class @{@link LongCache} boxes {@code int} values stored in {@code any} and union typed variables. Unlike
+ * {@link Long#valueOf(long)}, which only caches the values from -128 to 127, the boxed values of a wider range of
+ * small integers, such as loop counters and array indexes, are shared.
+ *
+ * @since 2.0.0
+ */
+public class LongCache {
+
+    static final long LOW = -128;
+    static final long HIGH = 1023;
+
+    private static final Long[] CACHE = new Long[(int) (HIGH - LOW + 1)];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = LOW + i;
+        }
+    }
+
+    private LongCache() {
+    }
+
+    /**
+     * Returns the boxed value of the given {@code int} value.
+     *
+     * @param value {@code int} value
+     * @return boxed value, which is shared if the value is within the cached range
+     */
+    public static Long valueOf(long value) {
+        if (value >= LOW && value <= HIGH) {
+            return CACHE[(int) (value - LOW)];
+        }
+        return Long.valueOf(value);
+    }
+}
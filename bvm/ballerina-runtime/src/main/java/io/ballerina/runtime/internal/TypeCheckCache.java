@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.internal.types.BType;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Class @{@link TypeCheckCache} caches the results of the structural subtype checks done by {@link TypeChecker},
+ * which depend only on the source and the target types, and not on a value.
+ * <p>
+ * Each source type keeps the results of the checks against up to {@link #MAX_SIZE} target types, compared by
+ * identity. The members and the fields of a type are populated when the module defining it is initialized, and are
+ * not changed afterwards, hence a cached result never needs to be invalidated. Types created at run time (e.g. the
+ * types of list and mapping constructors, and the immutable types created when a value is made read-only) take their
+ * cached results with them when they are collected, rather than filling a cache shared by all types.
+ *
+ * @since 2.0.0
+ */
+public class TypeCheckCache {
+
+    static final int MAX_SIZE = 16;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final LongAdder HIT_COUNT = new LongAdder();
+    private static final LongAdder MISS_COUNT = new LongAdder();
+
+    // replaced rather than updated, so that a check reading the entries never sees a partially added entry, and
+    // null until the first result is added, as the cache may be published to another thread without synchronization
+    private volatile Entry[] entries;
+
+    public TypeCheckCache() {
+    }
+
+    /**
+     * Returns the number of checks answered from the cache.
+     *
+     * @return number of cache hits
+     */
+    public static long hitCount() {
+        return HIT_COUNT.sum();
+    }
+
+    /**
+     * Returns the number of checks computed, which are added to the cache unless the source type has reached the
+     * maximum number of cached results.
+     *
+     * @return number of cache misses
+     */
+    public static long missCount() {
+        return MISS_COUNT.sum();
+    }
+
+    static boolean checkIsType(Type sourceType, Type targetType, BiPredicate<Type, Type> typeCheck) {
+        if (!(sourceType instanceof BType)) {
+            MISS_COUNT.increment();
+            return typeCheck.test(sourceType, targetType);
+        }
+
+        TypeCheckCache cache = ((BType) sourceType).getTypeCheckCache();
+        Entry[] cachedEntries = cache.entries;
+        if (cachedEntries == null) {
+            cachedEntries = NO_ENTRIES;
+        }
+        for (Entry entry : cachedEntries) {
+            if (entry.targetType == targetType) {
+                HIT_COUNT.increment();
+                return entry.result;
+            }
+        }
+
+        MISS_COUNT.increment();
+        boolean result = typeCheck.test(sourceType, targetType);
+        if (cachedEntries.length < MAX_SIZE) {
+            // a result added concurrently by another check may be lost, which only means it is computed again
+            Entry[] newEntries = Arrays.copyOf(cachedEntries, cachedEntries.length + 1);
+            newEntries[cachedEntries.length] = new Entry(targetType, result);
+            cache.entries = newEntries;
+        }
+        return result;
+    }
+
+    private static final class Entry {
+
+        private final Type targetType;
+        private final boolean result;
+
+        private Entry(Type targetType, boolean result) {
+            this.targetType = targetType;
+            this.result = result;
+        }
+    }
+}
@@ -148,6 +148,10 @@ public class TypeChecker {
     }
 
     public static long anyToInt(Object sourceVal) {
+        // narrowed values are unboxed without creating the error supplier
+        if (sourceVal instanceof Long) {
+            return (Long) sourceVal;
+        }
         return TypeConverter.anyToIntCast(sourceVal,
                 () -> ErrorUtils.createTypeCastError(sourceVal, TYPE_INT));
     }
@@ -190,11 +194,17 @@ public class TypeChecker {
     }
 
     public static double anyToFloat(Object sourceVal) {
+        if (sourceVal instanceof Double) {
+            return (Double) sourceVal;
+        }
         return TypeConverter.anyToFloatCast(sourceVal, () -> ErrorUtils
                 .createTypeCastError(sourceVal, TYPE_FLOAT));
     }
 
     public static boolean anyToBoolean(Object sourceVal) {
+        if (sourceVal instanceof Boolean) {
+            return (Boolean) sourceVal;
+        }
         return TypeConverter.anyToBooleanCast(sourceVal, () -> ErrorUtils
                 .createTypeCastError(sourceVal, TYPE_BOOLEAN));
     }
@@ -690,8 +700,12 @@ public class TypeChecker {
             case TypeTags.XML_PI_TAG:
                 return targetTypeTag == sourceTypeTag;
             default:
-                return checkIsRecursiveType(sourceType, targetType,
-                        unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                if (unresolvedTypes != null) {
+                    return checkIsRecursiveType(sourceType, targetType, unresolvedTypes);
+                }
+                // only the outermost checks are cached, as the nested checks assume the unresolved types to match
+                return TypeCheckCache.checkIsType(sourceType, targetType,
+                        (source, target) -> checkIsRecursiveType(source, target, new ArrayList<>()));
         }
     }
 
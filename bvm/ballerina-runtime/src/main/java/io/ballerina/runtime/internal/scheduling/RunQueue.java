@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Holds the {@link ItemGroup}s that are ready to be picked by the strand executor threads of a {@link Scheduler}.
+ *
+ * @since 2.0.0
+ */
+interface RunQueue {
+
+    /**
+     * Adds a group that is ready for execution.
+     *
+     * @param group group to be executed
+     */
+    void add(ItemGroup group);
+
+    /**
+     * Retrieves the next group to be executed by the calling executor thread, waiting if none is available.
+     *
+     * @return next group to be executed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    ItemGroup take() throws InterruptedException;
+
+    /**
+     * Registers the calling thread as an executor thread of this queue. Called once by each executor thread before
+     * it starts taking groups.
+     */
+    default void registerWorker() {
+    }
+
+    /**
+     * @return the number of groups waiting to be executed
+     */
+    int size();
+}
@@ -31,15 +31,18 @@ import io.ballerina.runtime.internal.values.ChannelDetails;
 import io.ballerina.runtime.internal.values.FutureValue;
 
 import java.io.PrintStream;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -52,7 +55,7 @@ import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
  */
 public class Scheduler {
 
-    private PrintStream err = System.err;
+    private static final PrintStream err = System.err;
     /**
      * Scheduler does not get killed if the immortal value is true. Specific to services.
      */
@@ -61,7 +64,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
@@ -69,6 +72,28 @@ public class Scheduler {
 
     private static String poolSizeConf = System.getenv(RuntimeConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR);
 
+    /**
+     * This can be changed by setting the BALLERINA_SCHEDULER_POLICY system variable to either `shared` or
+     * `work-stealing`. Default is `shared`.
+     */
+    private static String schedulerPolicyConf = System.getenv(RuntimeConstants.BALLERINA_SCHEDULER_POLICY_ENV_VAR);
+
+    /**
+     * This can be changed by setting the BALLERINA_STRAND_EXECUTOR system variable to either `platform` or `virtual`.
+     * Default is `platform`. BALLERINA_MAX_POOL_SIZE does not apply to the `virtual` mode.
+     */
+    private static String strandExecutorConf = System.getenv(RuntimeConstants.BALLERINA_STRAND_EXECUTOR_ENV_VAR);
+
+    /**
+     * Executor which runs each picked {@link ItemGroup} on its own JDK virtual thread. This is null unless virtual
+     * strand execution is enabled and supported by the running JVM.
+     * <p>
+     * The executor is unbounded and cannot be configured: a virtual thread is started for every group that becomes
+     * runnable, hence the number of groups running at a time is limited only by the number of runnable groups. The
+     * carrier threads of the virtual threads are managed by the JVM.
+     */
+    private final ExecutorService virtualThreadExecutor;
+
     /**
      * This can be changed by setting the BALLERINA_MAX_POOL_SIZE system variable.
      * Default is 100.
@@ -81,6 +106,22 @@ public class Scheduler {
     private ListenerRegistry listenerRegistry;
 
     public Scheduler(boolean immortal) {
+        this(getPoolSize(), immortal);
+    }
+
+    public Scheduler(int numThreads, boolean immortal) {
+        this(numThreads, immortal, schedulerPolicyConf, strandExecutorConf);
+    }
+
+    Scheduler(int numThreads, boolean immortal, String schedulerPolicy, String strandExecutor) {
+        this.numThreads = numThreads;
+        this.immortal = immortal;
+        this.virtualThreadExecutor = createVirtualThreadExecutor(strandExecutor);
+        this.runnableList = createRunQueue(numThreads, schedulerPolicy);
+        listenerRegistry = new ListenerRegistry();
+    }
+
+    private static int getPoolSize() {
         try {
             if (poolSizeConf != null) {
                 poolSize = Integer.parseInt(poolSizeConf);
@@ -90,15 +131,50 @@ public class Scheduler {
             err.println("ballerina: error occurred in scheduler while reading system variable:" +
                                 RuntimeConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR + ", " + t.getMessage());
         }
-        this.numThreads = poolSize;
-        this.immortal = immortal;
-        listenerRegistry = new ListenerRegistry();
+        return poolSize;
     }
 
-    public Scheduler(int numThreads, boolean immortal) {
-        this.numThreads = numThreads;
-        this.immortal = immortal;
-        listenerRegistry = new ListenerRegistry();
+    private RunQueue createRunQueue(int numThreads, String schedulerPolicy) {
+        if (virtualThreadExecutor != null) {
+            // There is a single dispatcher thread taking from the queue, hence nothing to steal from.
+            return new SharedRunQueue();
+        }
+        if (schedulerPolicy == null ||
+                RuntimeConstants.SCHEDULER_POLICY_SHARED.equalsIgnoreCase(schedulerPolicy.trim())) {
+            return new SharedRunQueue();
+        }
+        if (RuntimeConstants.SCHEDULER_POLICY_WORK_STEALING.equalsIgnoreCase(schedulerPolicy.trim())) {
+            return new WorkStealingRunQueue(numThreads);
+        }
+        // Log and continue with default
+        err.println("ballerina: invalid value '" + schedulerPolicy + "' for system variable:" +
+                            RuntimeConstants.BALLERINA_SCHEDULER_POLICY_ENV_VAR + ", expected '" +
+                            RuntimeConstants.SCHEDULER_POLICY_SHARED + "' or '" +
+                            RuntimeConstants.SCHEDULER_POLICY_WORK_STEALING + "'");
+        return new SharedRunQueue();
+    }
+
+    private static ExecutorService createVirtualThreadExecutor(String strandExecutor) {
+        if (strandExecutor == null ||
+                RuntimeConstants.STRAND_EXECUTOR_PLATFORM.equalsIgnoreCase(strandExecutor.trim())) {
+            return null;
+        }
+        if (!RuntimeConstants.STRAND_EXECUTOR_VIRTUAL.equalsIgnoreCase(strandExecutor.trim())) {
+            err.println("ballerina: invalid value '" + strandExecutor + "' for system variable:" +
+                                RuntimeConstants.BALLERINA_STRAND_EXECUTOR_ENV_VAR + ", expected '" +
+                                RuntimeConstants.STRAND_EXECUTOR_PLATFORM + "' or '" +
+                                RuntimeConstants.STRAND_EXECUTOR_VIRTUAL + "'");
+            return null;
+        }
+        try {
+            // Looked up reflectively since virtual threads are only available from JDK 21 onwards.
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Log and continue with platform threads
+            err.println("ballerina: virtual threads are not supported by the current Java runtime, " +
+                                "ignoring system variable:" + RuntimeConstants.BALLERINA_STRAND_EXECUTOR_ENV_VAR);
+            return null;
+        }
     }
 
     public static Strand getStrand() {
@@ -249,6 +325,10 @@ public class Scheduler {
     }
 
     public void start() {
+        if (virtualThreadExecutor != null) {
+            startVirtual();
+            return;
+        }
         this.mainBlockSem = new Semaphore(-(numThreads - 1));
         for (int i = 0; i < numThreads - 1; i++) {
             new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
@@ -261,6 +341,26 @@ public class Scheduler {
         }
     }
 
+    /**
+     * Runs the dispatcher loop on the calling thread and waits for the virtual threads to finish once the scheduler
+     * gets poisoned.
+     */
+    private void startVirtual() {
+        try {
+            dispatch();
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        }
+        virtualThreadExecutor.shutdown();
+        try {
+            while (!virtualThreadExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting till the last group completes
+            }
+        } catch (InterruptedException e) {
+            RuntimeUtils.printCrashLog(e);
+        }
+    }
+
     /**
      * Defensive programming to prevent unforeseen errors.
      */
@@ -272,12 +372,39 @@ public class Scheduler {
         }
     }
 
+    private void runGroupSafely(ItemGroup group) {
+        try {
+            runGroup(group);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        }
+    }
+
+    /**
+     * Hands over each group that is submitted to the Scheduler to a new virtual thread.
+     */
+    private void dispatch() {
+        while (true) {
+            ItemGroup group;
+            try {
+                group = runnableList.take();
+            } catch (InterruptedException ignored) {
+                continue;
+            }
+
+            if (group == POISON_PILL) {
+                break;
+            }
+            virtualThreadExecutor.execute(() -> runGroupSafely(group));
+        }
+    }
+
     /**
      * Executes tasks that are submitted to the Scheduler.
      */
     private void run() {
+        runnableList.registerWorker();
         while (true) {
-            SchedulerItem item;
             ItemGroup group;
             try {
                 group = runnableList.take();
@@ -289,36 +416,47 @@ public class Scheduler {
                 this.mainBlockSem.release();
                 break;
             }
+            runGroup(group);
+        }
+    }
 
-            while (!group.items.empty()) {
-                Object result = null;
-                Throwable panic = null;
-
-                item = group.get();
-
-                try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
+    /**
+     * Executes the items of the given group, one after the other, on the current thread.
+     */
+    private void runGroup(ItemGroup group) {
+        while (true) {
+            SchedulerItem item = group.get();
+            if (item == null) {
+                group.scheduled.set(false);
+                // An item may have been added after the group was found empty but before it was marked as not
+                // scheduled. Continue with it, unless the group has been put back in the runnable list meanwhile.
+                if (group.isEmpty() || !group.scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            Object result = null;
+            Throwable panic = null;
 
-                    if (!(panic instanceof BError)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                } finally {
-                    strandHolder.get().strand = null;
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof BError)) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                postProcess(item, result, panic);
-                if (group.items.empty()) {
-                    group.scheduled.set(false);
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
+            } finally {
+                strandHolder.get().strand = null;
             }
+            postProcess(item, result, panic);
         }
     }
 
@@ -328,25 +466,16 @@ public class Scheduler {
     private void postProcess(SchedulerItem item, Object result, Throwable panic) {
         switch (item.getState()) {
             case BLOCK_AND_YIELD:
-                item.future.strand.lock();
-                // need to recheck due to concurrency, unblockStrand() may have changed state
-                if (item.getState().getStatus() == State.YIELD.getStatus()) {
+                // unblockStrand() may have been called before the item returned to the scheduler
+                if (!item.park()) {
                     reschedule(item);
-                    item.future.strand.unlock();
-                    break;
                 }
-                item.parked = true;
-                item.future.strand.unlock();
                 break;
             case BLOCK_ON_AND_YIELD:
                 WaitContext waitContext = item.future.strand.waitContext;
-                waitContext.lock();
-                waitContext.intermediate = false;
-                if (waitContext.runnable) {
-                    waitContext.completed = true;
+                if (waitContext.leaveIntermediate()) {
                     reschedule(item);
                 }
-                waitContext.unLock();
                 break;
             case YIELD:
                 reschedule(item);
@@ -373,20 +502,7 @@ public class Scheduler {
                 justCompleted.setState(State.DONE);
 
 
-                for (WaitContext ctx : justCompleted.waitingContexts) {
-                    ctx.lock();
-                    if (!ctx.completed) {
-                        if ((item.future.panic != null && ctx.handlePanic()) || ctx.waitCompleted(result)) {
-                            if (ctx.intermediate) {
-                                ctx.runnable = true;
-                            } else {
-                                ctx.completed = true;
-                                reschedule(ctx.schedulerItem);
-                            }
-                        }
-                    }
-                    ctx.unLock();
-                }
+                notifyWaitingContexts(justCompleted.completeWaitingContexts(), item.future.panic != null, result);
 
                 cleanUp(justCompleted);
 
@@ -405,6 +521,16 @@ public class Scheduler {
         }
     }
 
+    private void notifyWaitingContexts(Strand.WaitingContextNode waitingContexts, boolean panicked, Object result) {
+        for (Strand.WaitingContextNode node = waitingContexts; node != null; node = node.next) {
+            WaitContext ctx = node.ctx;
+            if (!ctx.isCompleted() && ((panicked && ctx.handlePanic()) || ctx.waitCompleted(result)) &&
+                    ctx.notifyCompleted()) {
+                reschedule(ctx.schedulerItem);
+            }
+        }
+    }
+
     public void setImmortal(boolean immortal) {
         this.immortal = immortal;
     }
@@ -419,35 +545,32 @@ public class Scheduler {
     }
 
     public void unblockStrand(Strand strand) {
-        strand.lock();
-        if (strand.schedulerItem.parked) {
-            strand.schedulerItem.parked = false;
+        // if the item is not returned to scheduler yet, scheduler will simply reschedule it since this is already
+        // unparked.
+        if (strand.schedulerItem.unpark()) {
             reschedule(strand.schedulerItem);
-        } else {
-            // item not returned to scheduler, yet.
-            // scheduler will simply reschedule since this is already unlocked.
-            strand.setState(State.YIELD);
         }
-        strand.unlock();
     }
 
     private void cleanUp(Strand justCompleted) {
         justCompleted.scheduler = null;
         justCompleted.frames = null;
-        justCompleted.waitingContexts = null;
         //TODO: more cleanup , eg channels
     }
 
     private void notifyChannels(SchedulerItem item, Throwable panic) {
         Set<ChannelDetails> channels = item.future.strand.channelDetails;
+        if (channels == null) {
+            return;
+        }
 
         for (ChannelDetails details: channels) {
             WorkerDataChannel wdChannel;
 
             if (details.channelInSameStrand) {
-                wdChannel = item.future.strand.wdChannels.getWorkerDataChannel(details.name);
+                wdChannel = item.future.strand.getWDChannels().getWorkerDataChannel(details.name);
             } else {
-                wdChannel = item.future.strand.parent.wdChannels.getWorkerDataChannel(details.name);
+                wdChannel = item.future.strand.parent.getWDChannels().getWorkerDataChannel(details.name);
             }
 
             if (details.send) {
@@ -488,13 +611,13 @@ public class Scheduler {
     }
 
     private FutureValue createFuture(Strand parent, Callback callback, Type constraint, Strand newStrand) {
-        FutureValue future = new FutureValue(newStrand, callback, constraint);
-        future.strand.frames = new Object[100];
-        return future;
+        return new FutureValue(newStrand, callback, constraint);
     }
 
     public void poison() {
-        for (int i = 0; i < numThreads; i++) {
+        // only the dispatcher thread takes from the runnable list when running on virtual threads
+        int numTakers = virtualThreadExecutor != null ? 1 : numThreads;
+        for (int i = 0; i < numTakers; i++) {
             runnableList.add(POISON_PILL);
         }
     }
@@ -546,10 +669,18 @@ public class Scheduler {
  * @since 0.995.0
  */
 class SchedulerItem {
+
+    private static final int RUNNING = 0;
+    private static final int PARKED = 1;
+    private static final int UNPARKED = 2;
+
+    private static final AtomicIntegerFieldUpdater<SchedulerItem> PARK_STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(SchedulerItem.class, "parkState");
+
     private Function function;
     private Object[] params;
     final FutureValue future;
-    boolean parked;
+    private volatile int parkState;
 
     public SchedulerItem(Function function, Object[] params, FutureValue future) {
         this.future = future;
@@ -571,6 +702,41 @@ class SchedulerItem {
         return this.function.apply(this.params);
     }
 
+    /**
+     * Parks a blocked item that has returned to the scheduler.
+     *
+     * @return false if the item has already been unparked, in which case it should be rescheduled
+     */
+    boolean park() {
+        if (PARK_STATE_UPDATER.compareAndSet(this, RUNNING, PARKED)) {
+            return true;
+        }
+        this.parkState = RUNNING;
+        return false;
+    }
+
+    /**
+     * Unparks a blocked item.
+     *
+     * @return true if the item was parked, in which case it should be rescheduled by the caller
+     */
+    boolean unpark() {
+        while (true) {
+            int current = this.parkState;
+            if (current == PARKED) {
+                if (PARK_STATE_UPDATER.compareAndSet(this, PARKED, RUNNING)) {
+                    return true;
+                }
+            } else if (current == UNPARKED || PARK_STATE_UPDATER.compareAndSet(this, RUNNING, UNPARKED)) {
+                return false;
+            }
+        }
+    }
+
+    void resetPark() {
+        this.parkState = RUNNING;
+    }
+
     public boolean isYielded() {
         return this.future.strand.isYielded();
     }
@@ -596,9 +762,9 @@ class ItemGroup {
 
     /**
      * Keep the list of items that should run on same thread.
-     * Using a stack to get advantage of the locality.
+     * Using a LIFO deque to get advantage of the locality.
      */
-    Stack<SchedulerItem> items = new Stack<>();
+    private final Deque<SchedulerItem> items;
 
     /**
      * Indicates this item is already in runnable list/executing or not.
@@ -608,6 +774,7 @@ class ItemGroup {
     public static final ItemGroup POISON_PILL = new ItemGroup();
 
     public ItemGroup(SchedulerItem item) {
+        items = new ConcurrentLinkedDeque<>();
         items.push(item);
     }
 
@@ -619,7 +786,14 @@ class ItemGroup {
         items.push(item);
     }
 
+    /**
+     * @return the most recently added item, or null if there is none
+     */
     public SchedulerItem get() {
-        return items.pop();
+        return items.poll();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
     }
 }
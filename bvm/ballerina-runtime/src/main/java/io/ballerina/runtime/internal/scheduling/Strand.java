@@ -28,7 +28,8 @@ import io.ballerina.runtime.internal.values.FutureValue;
 import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.transactions.TransactionLocalContext;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -37,22 +38,37 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static io.ballerina.runtime.internal.scheduling.State.BLOCK_AND_YIELD;
 import static io.ballerina.runtime.internal.scheduling.State.BLOCK_ON_AND_YIELD;
+import static io.ballerina.runtime.internal.scheduling.State.DONE;
 import static io.ballerina.runtime.internal.scheduling.State.RUNNABLE;
 import static io.ballerina.runtime.internal.scheduling.State.YIELD;
 
 /**
  * Strand base class used with jvm code generation for functions.
+ * <p>
+ * Most strands are short lived and never use workers, waits or transactions. Hence the collections required for
+ * those are allocated lazily, on first use.
  *
  * @since 0.955.0
  */
 
 public class Strand {
 
+    private static final int INITIAL_FRAMES_SIZE = 16;
+
+    private static final AtomicReferenceFieldUpdater<Strand, WaitingContextNode> WAITING_CONTEXTS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Strand.class, WaitingContextNode.class, "waitingContexts");
+
+    /**
+     * Marks the waiting context list of a completed strand, no more wait contexts can be added after that.
+     */
+    private static final WaitingContextNode COMPLETED_WAITING_CONTEXTS = new WaitingContextNode(null, null);
+
     private static AtomicInteger nextStrandId = new AtomicInteger(0);
 
     private int id;
@@ -65,7 +81,7 @@ public class Strand {
     public BError panic;
     public Scheduler scheduler;
     public Strand parent;
-    public WDChannels wdChannels;
+    private volatile WDChannels wdChannels;
     public FlushDetail flushDetail;
     public boolean blockedOnExtern;
     public Set<ChannelDetails> channelDetails;
@@ -73,38 +89,50 @@ public class Strand {
     public boolean cancel;
 
     SchedulerItem schedulerItem;
-    List<WaitContext> waitingContexts;
+    private volatile WaitingContextNode waitingContexts;
     WaitContext waitContext;
     ItemGroup strandGroup;
 
+    /**
+     * Strand local properties. The map is shared with the parent and the child strands and copied on write, unless
+     * {@code globalPropsOwned} is true. A map provided by the caller is always written in place, hence it is never
+     * shared with child strands.
+     */
     private Map<String, Object> globalProps;
+    private boolean globalPropsOwned;
+    private boolean globalPropsProvided;
     public TransactionLocalContext currentTrxContext;
     public Stack<TransactionLocalContext> trxContexts;
-    private State state;
-    private final ReentrantLock strandLock;
+    private volatile State state;
+
+    /**
+     * Number of {@code lock} statements currently held by this strand, including reentrant ones. It is only updated
+     * by the strand itself.
+     */
+    private int acquiredLockCount;
 
     public Strand(String name, StrandMetadata metadata, Scheduler scheduler, Strand parent,
                   Map<String, Object> properties) {
         this.id = nextStrandId.incrementAndGet();
         this.scheduler = scheduler;
-        this.wdChannels = new WDChannels();
-        this.channelDetails = new HashSet<>();
         this.state = RUNNABLE;
-        this.dependants = new HashSet<>();
-        this.strandLock = new ReentrantLock();
-        this.waitingContexts = new ArrayList<>();
         this.name = name;
         this.metadata = metadata;
-        this.trxContexts = new Stack<>();
         this.parent = parent;
 
-        //TODO: improve by using a copy on write map #26710
         if (properties != null) {
             this.globalProps = properties;
-        } else if (parent != null) {
+            this.globalPropsOwned = true;
+            this.globalPropsProvided = true;
+        } else if (parent != null && parent.globalPropsProvided) {
             this.globalProps = new HashMap<>(parent.globalProps);
+            this.globalPropsOwned = true;
+        } else if (parent != null) {
+            this.globalProps = parent.globalProps;
+            // parent has to copy the map on its next write as well
+            parent.globalPropsOwned = false;
         } else {
-            this.globalProps = new HashMap<>();
+            this.globalProps = Collections.emptyMap();
         }
     }
 
@@ -112,7 +140,7 @@ public class Strand {
                   Map<String, Object> properties, TransactionLocalContext currentTrxContext) {
         this(name, metadata, scheduler, parent, properties);
         if (currentTrxContext != null) {
-            this.trxContexts = parent.trxContexts;
+            this.trxContexts = parent.getTrxContexts();
             this.trxContexts.push(currentTrxContext);
             this.currentTrxContext = createTrxContextBranch(currentTrxContext, name);
         }
@@ -155,6 +183,10 @@ public class Strand {
      */
     @Deprecated
     public void setProperty(String key, Object value) {
+        if (!this.globalPropsOwned) {
+            this.globalProps = new HashMap<>(this.globalProps);
+            this.globalPropsOwned = true;
+        }
         this.globalProps.put(key, value);
     }
 
@@ -162,13 +194,25 @@ public class Strand {
         return this.currentTrxContext != null && this.currentTrxContext.isTransactional();
     }
 
+    public void onLockAcquired() {
+        this.acquiredLockCount++;
+    }
+
+    public void onLockReleased() {
+        this.acquiredLockCount--;
+    }
+
+    public boolean isInLock() {
+        return this.acquiredLockCount > 0;
+    }
+
     @Deprecated
     public void removeLocalTransactionContext() {
         this.currentTrxContext = null;
     }
 
     public void removeCurrentTrxContext() {
-        if (!this.trxContexts.isEmpty()) {
+        if (this.trxContexts != null && !this.trxContexts.isEmpty()) {
             this.currentTrxContext = this.trxContexts.pop();
             return;
         }
@@ -177,7 +221,7 @@ public class Strand {
 
     public void setCurrentTransactionContext(TransactionLocalContext ctx) {
         if (this.currentTrxContext != null) {
-            this.trxContexts.push(this.currentTrxContext);
+            getTrxContexts().push(this.currentTrxContext);
         }
         this.currentTrxContext = ctx;
     }
@@ -234,87 +278,81 @@ public class Strand {
     public void handleWaitMultiple(Map<String, FutureValue> keyValues, MapValue target) throws Throwable {
         WaitContext ctx = new WaitMultipleContext(this.schedulerItem);
         ctx.waitCount.set(keyValues.size());
-        ctx.lock();
+        boolean registered = false;
         for (Map.Entry<String, FutureValue> entry : keyValues.entrySet()) {
             FutureValue future = entry.getValue();
-            // need to lock the future's strand since we cannot have a parallel state change
-            future.strand.lock();
-            if (future.isDone) {
+            if (future.strand.isDone() || !future.strand.addWaitingContext(ctx)) {
                 if (future.panic != null) {
-                    ctx.completed = true;
+                    ctx.complete();
                     ctx.waitCount.set(0);
                     this.setState(RUNNABLE);
-                    future.strand.unlock();
-                    ctx.unLock();
                     throw future.panic;
                 }
-                ctx.waitCount.decrementAndGet();
+                if (ctx.waitCount.decrementAndGet() == 0) {
+                    // futures waited on have completed meanwhile, the strand gets rescheduled once it yields
+                    ctx.notifyCompleted();
+                }
                 target.put(StringUtils.fromString(entry.getKey()), future.result);
             } else {
                 this.setState(BLOCK_ON_AND_YIELD);
-                entry.getValue().strand.waitingContexts.add(ctx);
+                registered = true;
             }
-            future.strand.unlock();
         }
-        if (!this.isBlocked()) {
+        if (!registered) {
             ctx.waitCount.set(0);
-            ctx.completed = true;
+            ctx.complete();
         } else {
             this.waitContext = ctx;
-            ctx.intermediate = true;
         }
-        ctx.unLock();
     }
 
     public WaitResult handleWaitAny(List<FutureValue> futures) throws Throwable {
         WaitResult waitResult = new WaitResult(false, null);
         WaitContext ctx = new WaitAnyContext(this.schedulerItem);
-        ctx.lock();
         ctx.waitCount.set(futures.size());
+        boolean registered = false;
         Object error = null;
         for (FutureValue future : futures) {
-            // need to lock the future's strand since we cannot have a parallel state change
-            try {
-                future.strand.lock();
-                if (future.isDone) {
-                    if (future.panic != null) {
-                        ctx.completed = true;
-                        ctx.unLock();
-                        throw future.panic;
-                    }
+            if (future.strand.isDone() || !future.strand.addWaitingContext(ctx)) {
+                if (future.panic != null) {
+                    ctx.complete();
+                    throw future.panic;
+                }
 
-                    if (TypeChecker.checkIsType(future.result, PredefinedTypes.TYPE_ERROR)) {
-                        ctx.waitCount.decrementAndGet();
-                        // if error, should wait for other futures as well
-                        error = future.result;
-                        continue;
+                if (TypeChecker.checkIsType(future.result, PredefinedTypes.TYPE_ERROR)) {
+                    if (ctx.waitCount.decrementAndGet() == 0) {
+                        // futures waited on have completed meanwhile, the strand gets rescheduled once it yields
+                        ctx.notifyCompleted();
                     }
-                    waitResult = new WaitResult(true, future.result);
-                    break;
-                } else {
-                    future.strand.waitingContexts.add(ctx);
+                    // if error, should wait for other futures as well
+                    error = future.result;
+                    continue;
                 }
-            } finally {
-                future.strand.unlock();
+                waitResult = new WaitResult(true, future.result);
+                break;
+            } else {
+                registered = true;
             }
         }
 
         if (waitResult.done) {
-            ctx.completed = true;
-        } else if (ctx.waitCount.get() == 0) {
-            ctx.completed = true;
+            ctx.complete();
+        } else if (!registered) {
+            ctx.complete();
             // all futures have error result
             waitResult = new WaitResult(true, error);
         } else {
             this.waitContext = ctx;
             this.setState(BLOCK_ON_AND_YIELD);
         }
-        ctx.unLock();
 
         return waitResult;
     }
 
     public void updateChannelDetails(ChannelDetails[] channels) {
+        if (this.channelDetails == null) {
+            this.channelDetails = new HashSet<>();
+        }
         for (ChannelDetails channel: channels) {
             this.channelDetails.add(channel);
         }
@@ -323,17 +361,87 @@ public class Strand {
     private WorkerDataChannel getWorkerDataChannel(ChannelDetails channel) {
         WorkerDataChannel dataChannel;
         if (channel.channelInSameStrand) {
-            dataChannel = this.wdChannels.getWorkerDataChannel(channel.name);
+            dataChannel = this.getWDChannels().getWorkerDataChannel(channel.name);
         } else {
-            dataChannel = this.parent.wdChannels.getWorkerDataChannel(channel.name);
+            dataChannel = this.parent.getWDChannels().getWorkerDataChannel(channel.name);
         }
         return dataChannel;
     }
 
+    /**
+     * Returns the worker data channels of this strand. Channels may be accessed by child strands running on other
+     * threads, hence the lazy initialization is synchronized.
+     *
+     * @return worker data channels of this strand
+     */
+    public WDChannels getWDChannels() {
+        WDChannels channels = this.wdChannels;
+        if (channels == null) {
+            synchronized (this) {
+                channels = this.wdChannels;
+                if (channels == null) {
+                    channels = new WDChannels();
+                    this.wdChannels = channels;
+                }
+            }
+        }
+        return channels;
+    }
+
+    /**
+     * Saves the frame of a yielding function so that it can be restored when the strand is resumed.
+     *
+     * @param frame frame of the yielding function
+     */
+    public void pushFrame(Object frame) {
+        if (this.frames == null) {
+            this.frames = new Object[INITIAL_FRAMES_SIZE];
+        } else if (this.resumeIndex == this.frames.length) {
+            this.frames = Arrays.copyOf(this.frames, this.frames.length * 2);
+        }
+        this.frames[this.resumeIndex++] = frame;
+    }
+
+    /**
+     * Registers a wait context to be notified when this strand completes.
+     *
+     * @param ctx wait context
+     * @return false if the strand has already completed, in which case the context is not registered
+     */
+    boolean addWaitingContext(WaitContext ctx) {
+        while (true) {
+            WaitingContextNode head = this.waitingContexts;
+            if (head == COMPLETED_WAITING_CONTEXTS) {
+                return false;
+            }
+            if (WAITING_CONTEXTS_UPDATER.compareAndSet(this, head, new WaitingContextNode(ctx, head))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Closes the waiting context list of this strand. Should be called after publishing the result of the strand.
+     *
+     * @return the wait contexts registered so far, that needs to be notified
+     */
+    WaitingContextNode completeWaitingContexts() {
+        return WAITING_CONTEXTS_UPDATER.getAndSet(this, COMPLETED_WAITING_CONTEXTS);
+    }
+
+    private Stack<TransactionLocalContext> getTrxContexts() {
+        if (this.trxContexts == null) {
+            this.trxContexts = new Stack<>();
+        }
+        return this.trxContexts;
+    }
+
     public void setState(State state) {
-        this.lock();
+        if (state == BLOCK_AND_YIELD && this.schedulerItem != null) {
+            // starts a new blocking episode, any stale unpark belongs to a previous one
+            this.schedulerItem.resetPark();
+        }
         this.state = state;
-        this.unlock();
     }
 
     public State getState() {
@@ -352,16 +460,12 @@ public class Strand {
         return (this.state.getStatus() & YIELD.getStatus()) == YIELD.getStatus();
     }
 
-    public boolean isBlockedOnExtern() {
-        return blockedOnExtern;
-    }
-
-    public void lock() {
-        this.strandLock.lock();
+    public boolean isDone() {
+        return this.state == DONE;
     }
 
-    public void unlock() {
-        this.strandLock.unlock();
+    public boolean isBlockedOnExtern() {
+        return blockedOnExtern;
     }
 
     public int getId() {
@@ -409,6 +513,19 @@ public class Strand {
         }
     }
 
+    /**
+     * Node of the lock-free stack of wait contexts waiting on a strand.
+     */
+    static class WaitingContextNode {
+        final WaitContext ctx;
+        final WaitingContextNode next;
+
+        WaitingContextNode(WaitContext ctx, WaitingContextNode next) {
+            this.ctx = ctx;
+            this.next = next;
+        }
+    }
+
     /**
      * Holds both waiting state and result.
      *
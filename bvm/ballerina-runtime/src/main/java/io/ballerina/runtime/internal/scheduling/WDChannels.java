@@ -17,9 +17,13 @@
 */
 package io.ballerina.runtime.internal.scheduling;
 
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.lang.System.err;
+
 /**
  * This represents a worker data channel holder that is created for each strand to hold channels required.
  *
@@ -27,6 +31,13 @@ import java.util.Map;
  */
 public class WDChannels {
 
+    /**
+     * Number of messages that can wait to be received on a worker data channel before the sender gets blocked. This
+     * can be changed by setting the BALLERINA_WORKER_CHANNEL_CAPACITY system variable. Default is 0, which keeps the
+     * channels unbounded.
+     */
+    private static final int CHANNEL_CAPACITY = readChannelCapacity();
+
     private Map<String, WorkerDataChannel> wDChannels;
 
     //TODO try to generalize this to a normal data channel, in that case we won't need these classes.
@@ -39,9 +50,28 @@ public class WDChannels {
         }
         WorkerDataChannel channel = this.wDChannels.get(name);
         if (channel == null) {
-            channel = new WorkerDataChannel(name);
+            channel = new WorkerDataChannel(name, CHANNEL_CAPACITY);
             this.wDChannels.put(name, channel);
         }
         return channel;
     }
+
+    private static int readChannelCapacity() {
+        String capacityConf = System.getenv(RuntimeConstants.BALLERINA_WORKER_CHANNEL_CAPACITY_ENV_VAR);
+        if (capacityConf == null) {
+            return 0;
+        }
+        try {
+            int capacity = Integer.parseInt(capacityConf.trim());
+            if (capacity >= 0) {
+                return capacity;
+            }
+        } catch (NumberFormatException e) {
+            // Log and continue with default
+        }
+        err.println("ballerina: invalid value '" + capacityConf + "' for system variable:" +
+                            RuntimeConstants.BALLERINA_WORKER_CHANNEL_CAPACITY_ENV_VAR +
+                            ", expected a non-negative integer");
+        return 0;
+    }
 }
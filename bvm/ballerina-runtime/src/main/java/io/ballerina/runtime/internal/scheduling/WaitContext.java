@@ -18,38 +18,92 @@
  package io.ballerina.runtime.internal.scheduling;
 
  import java.util.concurrent.atomic.AtomicInteger;
- import java.util.concurrent.locks.ReentrantLock;
+ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
  /**
   * This context is shared among the strands to notify that a
   * certain strand is waiting on another strand.
+  * <p>
+  * The state of the context is changed only through CAS operations. A context is {@code INTERMEDIATE} until the
+  * waiting strand returns to the scheduler, and if the wait gets completed meanwhile, it is only marked
+  * {@code RUNNABLE} so that the scheduler reschedules the waiting strand once it returns. Once {@code COMPLETED},
+  * the context does not change anymore.
   *
   * @since 1.0.0
   */
  public abstract class WaitContext {
 
+     private static final int INTERMEDIATE = 1;
+     private static final int RUNNABLE = 1 << 1;
+     private static final int COMPLETED = 1 << 2;
+
+     private static final AtomicIntegerFieldUpdater<WaitContext> STATE_UPDATER =
+             AtomicIntegerFieldUpdater.newUpdater(WaitContext.class, "state");
+
      SchedulerItem schedulerItem;
-     boolean runnable;
-     boolean completed;
-     boolean intermediate;
-     private final ReentrantLock contextLock;
      AtomicInteger waitCount;
+     private volatile int state;
 
 
      WaitContext(SchedulerItem schedulerItem) {
          this.schedulerItem = schedulerItem;
-         this.contextLock = new ReentrantLock();
          this.waitCount = new AtomicInteger();
-         this.intermediate = true;
+         this.state = INTERMEDIATE;
+
+     }
+
+     boolean isCompleted() {
+         return (this.state & COMPLETED) == COMPLETED;
+     }
 
+     /**
+      * Marks the wait as completed by the waiting strand itself. No strand gets rescheduled afterwards.
+      */
+     void complete() {
+         this.state = COMPLETED;
      }
 
-     void lock() {
-         this.contextLock.lock();
+     /**
+      * Called when the awaited strands have completed the wait.
+      *
+      * @return true if the waiting strand has to be rescheduled by the caller
+      */
+     boolean notifyCompleted() {
+         while (true) {
+             int current = this.state;
+             if ((current & (COMPLETED | RUNNABLE)) != 0) {
+                 return false;
+             }
+             if ((current & INTERMEDIATE) == INTERMEDIATE) {
+                 // waiting strand has not returned to the scheduler yet, scheduler will reschedule it
+                 if (STATE_UPDATER.compareAndSet(this, current, current | RUNNABLE)) {
+                     return false;
+                 }
+             } else if (STATE_UPDATER.compareAndSet(this, current, COMPLETED)) {
+                 return true;
+             }
+         }
      }
 
-     void unLock() {
-         this.contextLock.unlock();
+     /**
+      * Called by the scheduler once the waiting strand has returned to it.
+      *
+      * @return true if the wait was completed meanwhile and the waiting strand has to be rescheduled
+      */
+     boolean leaveIntermediate() {
+         while (true) {
+             int current = this.state;
+             if ((current & COMPLETED) == COMPLETED) {
+                 return false;
+             }
+             if ((current & RUNNABLE) == RUNNABLE) {
+                 if (STATE_UPDATER.compareAndSet(this, current, COMPLETED)) {
+                     return true;
+                 }
+             } else if (STATE_UPDATER.compareAndSet(this, current, current & ~INTERMEDIATE)) {
+                 return false;
+             }
+         }
      }
 
      abstract boolean handlePanic();
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * {@link RunQueue} which keeps a separate deque per executor thread.
+ * <p>
+ * Groups added by an executor thread (i.e. strands spawned or rescheduled while running a strand) go to the local
+ * deque of that thread and are picked in LIFO order by the same thread. Groups added from any other thread, and the
+ * {@link ItemGroup#POISON_PILL}, go to a shared queue. An executor thread which runs out of local work takes from the
+ * shared queue and then steals from the tail of the other executor threads' deques.
+ * <p>
+ * A permit is released for every group that is added, and a permit is acquired before searching for a group. Since
+ * groups are removed only by permit holders, a thread holding a permit is guaranteed to find a group.
+ *
+ * @since 2.0.0
+ */
+class WorkStealingRunQueue implements RunQueue {
+
+    private final Deque<ItemGroup>[] localQueues;
+    private final Queue<ItemGroup> sharedQueue = new ConcurrentLinkedQueue<>();
+    private final Semaphore available = new Semaphore(0);
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final ThreadLocal<Deque<ItemGroup>> localQueue = new ThreadLocal<>();
+
+    @SuppressWarnings("unchecked")
+    WorkStealingRunQueue(int numWorkers) {
+        this.localQueues = new Deque[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            localQueues[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        Deque<ItemGroup> local;
+        if (group == POISON_PILL || (local = localQueue.get()) == null) {
+            sharedQueue.add(group);
+        } else {
+            local.addFirst(group);
+        }
+        available.release();
+    }
+
+    @Override
+    public ItemGroup take() throws InterruptedException {
+        if (!available.tryAcquire()) {
+            available.acquire();
+        }
+        Deque<ItemGroup> local = localQueue.get();
+        while (true) {
+            ItemGroup group = local != null ? local.pollFirst() : null;
+            if (group != null) {
+                return group;
+            }
+            group = sharedQueue.poll();
+            if (group != null) {
+                return group;
+            }
+            group = steal(local);
+            if (group != null) {
+                return group;
+            }
+            // Another thread is in the middle of taking the group we are entitled to, it will release the one we
+            // need shortly.
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = sharedQueue.size();
+        for (Deque<ItemGroup> queue : localQueues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    private ItemGroup steal(Deque<ItemGroup> local) {
+        int numWorkers = localQueues.length;
+        int start = ThreadLocalRandom.current().nextInt(numWorkers);
+        for (int i = 0; i < numWorkers; i++) {
+            Deque<ItemGroup> victim = localQueues[(start + i) % numWorkers];
+            if (victim == local) {
+                continue;
+            }
+            ItemGroup group = victim.pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void registerWorker() {
+        int index = nextWorker.getAndIncrement();
+        if (index < localQueues.length) {
+            localQueue.set(localQueues[index]);
+        }
+    }
+}
@@ -19,47 +19,75 @@ package io.ballerina.runtime.internal.scheduling;
 
 import io.ballerina.runtime.internal.values.ErrorValue;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static io.ballerina.runtime.internal.scheduling.State.BLOCK_AND_YIELD;
+import static io.ballerina.runtime.internal.scheduling.State.RUNNABLE;
 
 /**
  * This represents a worker data channel that is created for each worker to
  * worker interaction for each function call.
+ * <p>
+ * Messages are passed through a single producer, single consumer queue. Sending and receiving take the channel lock
+ * only to block a strand, or when the other side has failed. If the channel has a capacity, the sending strand gets
+ * blocked once that many messages are waiting to be received, until the receiver catches up.
  *
  * @since 0.995.0
  */
 public class WorkerDataChannel {
 
-    private Strand receiver;
-    private WaitingSender waitingSender;
-    private WaitingSender flushSender;
-    private ErrorValue error;
-    private Throwable panic;
-    private int senderCounter;
-    private int receiverCounter;
+    private static final AtomicReferenceFieldUpdater<WorkerDataChannel, Strand> RECEIVER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(WorkerDataChannel.class, Strand.class, "receiver");
+    private static final AtomicReferenceFieldUpdater<WorkerDataChannel, Strand> BLOCKED_SENDER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(WorkerDataChannel.class, Strand.class, "blockedSender");
+    private static final AtomicReferenceFieldUpdater<WorkerDataChannel, WaitingSender> FLUSH_SENDER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(WorkerDataChannel.class, WaitingSender.class, "flushSender");
+    private static final AtomicIntegerFieldUpdater<WorkerDataChannel> SENDER_COUNTER_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(WorkerDataChannel.class, "senderCounter");
+    private static final AtomicIntegerFieldUpdater<WorkerDataChannel> RECEIVER_COUNTER_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(WorkerDataChannel.class, "receiverCounter");
+
+    private static final Object NO_MESSAGE = new Object();
+
+    private volatile Strand receiver;
+    private volatile Strand blockedSender;
+    private volatile WaitingSender waitingSender;
+    private volatile WaitingSender flushSender;
+    private volatile ErrorValue error;
+    private volatile Throwable panic;
+    private volatile int senderCounter;
+    private volatile int receiverCounter;
     private boolean reschedule;
+    private boolean resumeBlockedSend;
+    private final int capacity;
 
     private Lock channelLock;
 
     public String chnlName;
 
-    @SuppressWarnings("rawtypes")
-    private Queue<WorkerResult> channel = new LinkedList<>();
+    private final WorkerMessageQueue channel = new WorkerMessageQueue();
 
     public WorkerDataChannel() {
-        this.channelLock = new ReentrantLock();
-        this.senderCounter = 0;
-        this.receiverCounter = 0;
+        this(null);
     }
+
     public WorkerDataChannel(String channelName) {
+        this(channelName, 0);
+    }
+
+    /**
+     * Creates a channel that blocks the sender once the given number of messages are waiting to be received.
+     *
+     * @param channelName name of the channel
+     * @param capacity    maximum number of messages waiting to be received, or 0 for an unbounded channel
+     */
+    public WorkerDataChannel(String channelName, int capacity) {
         this.channelLock = new ReentrantLock();
-        this.senderCounter = 0;
-        this.receiverCounter = 0;
         this.chnlName = channelName;
+        this.capacity = capacity;
     }
 
     public void acquireChannelLock() {
@@ -70,18 +98,17 @@ public class WorkerDataChannel {
         this.channelLock.unlock();
     }
 
-    @SuppressWarnings("rawtypes")
     public void sendData(Object data, Strand sender) {
-        try {
-            acquireChannelLock();
-            this.channel.add(new WorkerResult(data));
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
-                this.receiver = null;
-            }
-        } finally {
-            releaseChannelLock();
+        if (this.resumeBlockedSend) {
+            // the data was sent before the sender got blocked on a full channel
+            this.resumeBlockedSend = false;
+            return;
+        }
+        this.channel.offer(data);
+        SENDER_COUNTER_UPDATER.incrementAndGet(this);
+        unblockReceiver();
+        if (this.capacity > 0 && this.channel.size() >= this.capacity) {
+            blockSender(sender);
         }
     }
 
@@ -97,33 +124,34 @@ public class WorkerDataChannel {
             acquireChannelLock();
             if (!reschedule) {
                 // this is a new message, not a reschedule
-                this.channel.add(new WorkerResult(data, true));
-                this.senderCounter++;
                 this.waitingSender = new WaitingSender(strand, -1);
+                // blocked before the message is published, since the receiver may unblock the sender right away
+                strand.setState(BLOCK_AND_YIELD);
+                this.channel.offer(new WorkerResult(data, true));
+                SENDER_COUNTER_UPDATER.incrementAndGet(this);
 
-                if (this.receiver != null) {
-                    // multiple checks are added to make sure this is
-                    this.receiver.scheduler.unblockStrand(this.receiver);
-                    this.receiver = null;
+                if (unblockReceiver()) {
+                    reschedule = true;
+                    return null;
                 } else if (this.panic != null) {
+                    strand.setState(RUNNABLE);
                     Throwable panic = this.panic;
                     this.panic = null;
                     throw panic;
                 } else if (this.error != null) {
-                    ErrorValue ret = this.error;
-                    return ret;
+                    strand.setState(RUNNABLE);
+                    return this.error;
                 }
 
                 reschedule = true;
-                strand.setState(BLOCK_AND_YIELD);
                 return null;
             }
 
             reschedule = false;
-            if (this.panic != null && this.channel.peek() != null) {
+            if (this.panic != null && !this.channel.isEmpty()) {
                 Throwable e = this.panic;
                 throw e;
-            } else if (this.error != null && this.channel.peek() != null) {
+            } else if (this.error != null && !this.channel.isEmpty()) {
                 ErrorValue ret = this.error;
                 return ret;
             }
@@ -135,48 +163,116 @@ public class WorkerDataChannel {
         }
     }
 
-    @SuppressWarnings("rawtypes")
     public Object tryTakeData(Strand strand) throws Throwable {
+        Object data = this.channel.poll(NO_MESSAGE);
+        if (data != NO_MESSAGE) {
+            return onDataTaken(data);
+        }
         try {
             acquireChannelLock();
-            WorkerResult result = this.channel.peek();
-            if (result != null) {
-                this.receiverCounter++;
-                this.channel.remove();
-
-                if (result.isSync) {
-                    // sync sender will pick the this.error as result, which is null
-                    Strand waiting  = this.waitingSender.waitingStrand;
-                    waiting.scheduler.unblockStrand(waiting);
-                    this.waitingSender = null;
-                } else if (this.flushSender != null && this.flushSender.flushCount == this.receiverCounter) {
-                    this.flushSender.waitingStrand.flushDetail.flushLock.lock();
-                    this.flushSender.waitingStrand.flushDetail.flushedCount++;
-                    if (this.flushSender.waitingStrand.flushDetail.flushedCount
-                            == this.flushSender.waitingStrand.flushDetail.flushChannels.length &&
-                            this.flushSender.waitingStrand.isBlocked()) {
-                            //will continue if this is a sync wait, will try to flush again if blocked on flush
-                            this.flushSender.waitingStrand.scheduler.unblockStrand(this.flushSender.waitingStrand);
-
-                    }
-                    this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
-                    this.flushSender = null;
+            data = this.channel.poll(NO_MESSAGE);
+            if (data == NO_MESSAGE) {
+                if (this.panic != null && this.senderCounter == this.receiverCounter + 1) {
+                    RECEIVER_COUNTER_UPDATER.incrementAndGet(this);
+                    throw this.panic;
+                } else if (this.error != null && this.senderCounter == this.receiverCounter + 1) {
+                    RECEIVER_COUNTER_UPDATER.incrementAndGet(this);
+                    return error;
                 }
-                return result.value;
-            } else if (this.panic != null && this.senderCounter == this.receiverCounter + 1) {
-                this.receiverCounter++;
-                throw this.panic;
-            } else if (this.error != null && this.senderCounter == this.receiverCounter + 1) {
-                this.receiverCounter++;
-                return error;
-            } else {
-                this.receiver = strand;
+                // blocked before registering as the receiver, since the sender may unblock it right away
                 strand.setState(BLOCK_AND_YIELD);
-                return null;
+                this.receiver = strand;
+                // if the sender has unblocked the receiver meanwhile, the message is taken once it is rescheduled
+                if (this.channel.isEmpty() || !RECEIVER_UPDATER.compareAndSet(this, strand, null)) {
+                    return null;
+                }
+                strand.setState(RUNNABLE);
+                data = this.channel.poll(NO_MESSAGE);
             }
         } finally {
             releaseChannelLock();
         }
+        // completing a flush takes the lock of the flushing strand, hence done after releasing the channel lock
+        return onDataTaken(data);
+    }
+
+    private Object onDataTaken(Object data) {
+        int receivedCount = RECEIVER_COUNTER_UPDATER.incrementAndGet(this);
+        if (this.capacity > 0) {
+            unblockSender();
+        }
+        if (data instanceof WorkerResult) {
+            // sync sender will pick the this.error as result, which is null
+            Strand waiting = this.waitingSender.waitingStrand;
+            this.waitingSender = null;
+            waiting.scheduler.unblockStrand(waiting);
+            return ((WorkerResult) data).value;
+        }
+        WaitingSender flushWaiter = this.flushSender;
+        if (flushWaiter != null && flushWaiter.flushCount <= receivedCount) {
+            completeFlush(flushWaiter);
+        }
+        return data;
+    }
+
+    /**
+     * Unblocks the receiver, if it is blocked on this channel.
+     *
+     * @return true if the receiver was blocked
+     */
+    private boolean unblockReceiver() {
+        if (this.receiver == null) {
+            return false;
+        }
+        Strand waiting = RECEIVER_UPDATER.getAndSet(this, null);
+        if (waiting == null) {
+            return false;
+        }
+        waiting.scheduler.unblockStrand(waiting);
+        return true;
+    }
+
+    private void blockSender(Strand sender) {
+        // blocked before registering as the blocked sender, since the receiver may unblock it right away
+        sender.setState(BLOCK_AND_YIELD);
+        this.blockedSender = sender;
+        // receiver may have taken messages or failed meanwhile
+        if ((this.channel.size() < this.capacity || this.error != null || this.panic != null) &&
+                BLOCKED_SENDER_UPDATER.compareAndSet(this, sender, null)) {
+            sender.setState(RUNNABLE);
+            return;
+        }
+        this.resumeBlockedSend = true;
+    }
+
+    private void unblockSender() {
+        if (this.blockedSender == null || this.channel.size() >= this.capacity) {
+            return;
+        }
+        releaseBlockedSender();
+    }
+
+    private void releaseBlockedSender() {
+        Strand sender = BLOCKED_SENDER_UPDATER.getAndSet(this, null);
+        if (sender != null) {
+            sender.scheduler.unblockStrand(sender);
+        }
+    }
+
+    private void completeFlush(WaitingSender flushWaiter) {
+        // sender may have seen the messages taken, or stopped waiting for the flush, meanwhile
+        if (!FLUSH_SENDER_UPDATER.compareAndSet(this, flushWaiter, null)) {
+            return;
+        }
+        Strand flushStrand = flushWaiter.waitingStrand;
+        flushStrand.flushDetail.flushLock.lock();
+        flushStrand.flushDetail.flushedCount++;
+        if (flushStrand.flushDetail.flushedCount == flushStrand.flushDetail.flushChannels.length &&
+                flushStrand.isBlocked()) {
+            //will continue if this is a sync wait, will try to flush again if blocked on flush
+            flushStrand.scheduler.unblockStrand(flushStrand);
+        }
+        flushStrand.flushDetail.flushLock.unlock();
     }
 
     /**
@@ -186,11 +282,8 @@ public class WorkerDataChannel {
     public void setSendError(ErrorValue error) {
         acquireChannelLock();
         this.error = error;
-        this.senderCounter++;
-        if (this.receiver != null) {
-            this.receiver.scheduler.unblockStrand(this.receiver);
-            this.receiver = null;
-        }
+        SENDER_COUNTER_UPDATER.incrementAndGet(this);
+        unblockReceiver();
         releaseChannelLock();
     }
 
@@ -202,21 +295,22 @@ public class WorkerDataChannel {
     public void setReceiveError(ErrorValue error) {
         acquireChannelLock();
         this.error = error;
-        this.receiverCounter++;
-        if (this.flushSender != null) {
-            this.flushSender.waitingStrand.flushDetail.flushLock.lock();
-            Strand flushStrand = this.flushSender.waitingStrand;
+        RECEIVER_COUNTER_UPDATER.incrementAndGet(this);
+        WaitingSender flushWaiter = FLUSH_SENDER_UPDATER.getAndSet(this, null);
+        if (flushWaiter != null) {
+            Strand flushStrand = flushWaiter.waitingStrand;
+            flushStrand.flushDetail.flushLock.lock();
             if (flushStrand.isBlocked()) {
                 flushStrand.flushDetail.result = error;
                 flushStrand.scheduler.unblockStrand(flushStrand);
             }
-            this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
-            this.flushSender = null;
+            flushStrand.flushDetail.flushLock.unlock();
         } else if (this.waitingSender != null) {
             Strand waiting = this.waitingSender.waitingStrand;
             waiting.scheduler.unblockStrand(waiting);
             this.waitingSender = null;
         }
+        releaseBlockedSender();
         releaseChannelLock();
     }
 
@@ -234,13 +328,19 @@ public class WorkerDataChannel {
                 throw this.panic;
             } else if (this.error != null) {
                 return this.error;
-            } else if (this.receiverCounter == this.senderCounter) {
-                strand.flushDetail.flushLock.lock();
-                strand.flushDetail.flushedCount++;
-                strand.flushDetail.flushLock.unlock();
-                return null;
             }
-            this.flushSender = new WaitingSender(strand, this.senderCounter);
+            int sentCount = this.senderCounter;
+            if (this.receiverCounter < sentCount) {
+                WaitingSender flushWaiter = new WaitingSender(strand, sentCount);
+                this.flushSender = flushWaiter;
+                // receiver takes messages without the channel lock, so check again after registering
+                if (this.receiverCounter < sentCount || !FLUSH_SENDER_UPDATER.compareAndSet(this, flushWaiter, null)) {
+                    return null;
+                }
+            }
+            strand.flushDetail.flushLock.lock();
+            strand.flushDetail.flushedCount++;
+            strand.flushDetail.flushLock.unlock();
             return null;
         } finally {
             releaseChannelLock();
@@ -262,11 +362,8 @@ public class WorkerDataChannel {
         try {
             acquireChannelLock();
             this.panic  = panic;
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
-                this.receiver = null;
-            }
+            SENDER_COUNTER_UPDATER.incrementAndGet(this);
+            unblockReceiver();
         } finally {
             releaseChannelLock();
         }
@@ -280,30 +377,28 @@ public class WorkerDataChannel {
     public void setReceiverPanic(Throwable panic) {
         acquireChannelLock();
         this.panic  = panic;
-        this.receiverCounter++;
-        if (this.flushSender != null) {
-            this.flushSender.waitingStrand.flushDetail.flushLock.lock();
-            Strand flushStrand = this.flushSender.waitingStrand;
-            this.flushSender.waitingStrand.flushDetail.panic = panic;
+        RECEIVER_COUNTER_UPDATER.incrementAndGet(this);
+        WaitingSender flushWaiter = FLUSH_SENDER_UPDATER.getAndSet(this, null);
+        if (flushWaiter != null) {
+            Strand flushStrand = flushWaiter.waitingStrand;
+            flushStrand.flushDetail.flushLock.lock();
+            flushStrand.flushDetail.panic = panic;
             if (flushStrand.isBlocked()) {
                 flushStrand.scheduler.unblockStrand(flushStrand);
             }
-            this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
-            this.flushSender = null;
+            flushStrand.flushDetail.flushLock.unlock();
         } else if (this.waitingSender != null) {
             Strand waiting = this.waitingSender.waitingStrand;
             waiting.scheduler.unblockStrand(waiting);
             this.waitingSender = null;
         }
+        releaseBlockedSender();
         releaseChannelLock();
     }
 
     /**
-     * This represents a worker result value. This is done as a value to be used in the
-     * queues used for worker communication. In this way, the queue can distinguish the
-     * case of a value not there when the peek, by returning null, and then, if they
-     * return a WorkerResult, the value inside it can be either null or not to mention
-     * Ballerina null value and non-null value.
+     * This represents a worker result value of a sync send. A sync send is queued as a worker result, so that the
+     * sending strand can be resumed once the receiver takes it.
      */
     public static class WorkerResult {
 
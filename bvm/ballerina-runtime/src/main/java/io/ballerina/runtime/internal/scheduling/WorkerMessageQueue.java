@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Single producer, single consumer queue used by {@link WorkerDataChannel} to buffer worker messages.
+ * <p>
+ * Messages are stored in a chain of array chunks, which grow in size up to {@code MAX_CHUNK_SIZE}, so that a
+ * message does not need a node allocation. Only the sending strand may call {@link #offer(Object)} and only the
+ * receiving strand may call {@link #poll(Object)}. {@link #size()} and {@link #isEmpty()} can be called from either
+ * side.
+ *
+ * @since 2.0.0
+ */
+class WorkerMessageQueue {
+
+    private static final int INITIAL_CHUNK_SIZE = 8;
+    private static final int MAX_CHUNK_SIZE = 1024;
+
+    /**
+     * Stands for the Ballerina nil value, since null slots are used to identify consumed messages.
+     */
+    private static final Object NIL = new Object();
+
+    private volatile long producerIndex;
+    private volatile long consumerIndex;
+
+    // accessed by the producer only
+    private Chunk producerChunk;
+
+    // accessed by the consumer only, once the producer has published the first chunk
+    private Chunk consumerChunk;
+    private long availableIndex;
+
+    void offer(Object message) {
+        long index = this.producerIndex;
+        Chunk chunk = this.producerChunk;
+        if (chunk == null) {
+            chunk = new Chunk(index, INITIAL_CHUNK_SIZE);
+            this.producerChunk = chunk;
+            this.consumerChunk = chunk;
+        } else if (index - chunk.base == chunk.messages.length) {
+            Chunk next = new Chunk(index, Math.min(chunk.messages.length << 1, MAX_CHUNK_SIZE));
+            chunk.next = next;
+            this.producerChunk = next;
+            chunk = next;
+        }
+        chunk.messages[(int) (index - chunk.base)] = message == null ? NIL : message;
+        // publishes the message, and the chunk if it is a new one, to the consumer
+        this.producerIndex = index + 1;
+    }
+
+    /**
+     * Takes the next message.
+     *
+     * @param defaultValue value to be returned if the queue is empty
+     * @return the next message or the default value
+     */
+    Object poll(Object defaultValue) {
+        long index = this.consumerIndex;
+        if (index == this.availableIndex) {
+            // messages published so far are drained in a batch, before reading the producer index again
+            this.availableIndex = this.producerIndex;
+            if (index == this.availableIndex) {
+                return defaultValue;
+            }
+        }
+        Chunk chunk = this.consumerChunk;
+        if (index - chunk.base == chunk.messages.length) {
+            chunk = chunk.next;
+            this.consumerChunk = chunk;
+        }
+        int offset = (int) (index - chunk.base);
+        Object message = chunk.messages[offset];
+        chunk.messages[offset] = null;
+        this.consumerIndex = index + 1;
+        return message == NIL ? null : message;
+    }
+
+    int size() {
+        return (int) (this.producerIndex - this.consumerIndex);
+    }
+
+    boolean isEmpty() {
+        return this.producerIndex == this.consumerIndex;
+    }
+
+    private static class Chunk {
+
+        final long base;
+        final Object[] messages;
+        Chunk next;
+
+        Chunk(long base, int size) {
+            this.base = base;
+            this.messages = new Object[size];
+        }
+    }
+}
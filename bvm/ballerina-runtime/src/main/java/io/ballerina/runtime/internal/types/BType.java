@@ -22,6 +22,7 @@ import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.types.IntersectionType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.IdentifierUtils;
+import io.ballerina.runtime.internal.TypeCheckCache;
 import io.ballerina.runtime.internal.TypeChecker;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 
@@ -42,6 +43,7 @@ public abstract class BType implements Type {
     protected Module pkg;
     protected Class<? extends Object> valueClass;
     private int hashCode;
+    private TypeCheckCache typeCheckCache;
 
     protected BType(String typeName, Module pkg, Class<? extends Object> valueClass) {
         this.typeName = IdentifierUtils.decodeIdentifier(typeName);
@@ -185,4 +187,12 @@ public abstract class BType implements Type {
     public Module getPkg() {
         return pkg;
     }
+
+    public TypeCheckCache getTypeCheckCache() {
+        // created on the first structural check of this type, a cache created concurrently by another check is lost
+        if (typeCheckCache == null) {
+            typeCheckCache = new TypeCheckCache();
+        }
+        return typeCheckCache;
+    }
 }
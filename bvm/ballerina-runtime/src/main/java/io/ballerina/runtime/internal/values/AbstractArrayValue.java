@@ -29,7 +29,6 @@ import io.ballerina.runtime.internal.types.BUnionType;
 import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
@@ -282,15 +281,11 @@ public abstract class AbstractArrayValue implements ArrayValue {
 
     @Override
     public String getJSONString() {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-        JsonGenerator gen = new JsonGenerator(byteOut);
         try {
-            gen.serialize(this);
-            gen.flush();
+            return JsonGenerator.serializeToString(this);
         } catch (IOException e) {
             throw new BallerinaException("Error in converting JSON to a string: " + e.getMessage(), e);
         }
-        return new String(byteOut.toByteArray());
     }
 
     /**
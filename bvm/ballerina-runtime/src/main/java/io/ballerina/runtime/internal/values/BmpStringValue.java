@@ -51,12 +51,19 @@ package io.ballerina.runtime.internal.values;
 
      @Override
      public BString concat(BString str) {
+         if (this.value.length() + str.length() >= ConcatenatedStringValue.MIN_LENGTH) {
+             return ConcatenatedStringValue.concat(this, str);
+         }
          if (str instanceof BmpStringValue) {
              return new BmpStringValue(this.value + ((BmpStringValue) str).value);
          } else if (str instanceof NonBmpStringValue) {
-             return new NonBmpStringValue(this.value + str.getValue(), ((NonBmpStringValue) str).getSurrogates());
+             int[] surrogates = ((NonBmpStringValue) str).getSurrogates();
+             for (int i = 0; i < surrogates.length; i++) {
+                 surrogates[i] += this.value.length();
+             }
+             return new NonBmpStringValue(this.value + str.getValue(), surrogates);
          } else {
-             throw new RuntimeException("not impl yet");
+             return ConcatenatedStringValue.concat(this, str);
          }
      }
 
@@ -0,0 +1,177 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BLink;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Represent ballerina strings created by concatenating strings, whose characters are kept in a {@link StringBuilder}
+ * until the string is used.
+ * <p>
+ * A string is a prefix of the characters of its builder. Concatenating a string with the last string created from its
+ * builder appends to the builder in place, hence a string built by appending to it in a loop is not copied each time
+ * a string is appended. Other strings are copied to a new builder. A {@link BmpStringValue} or a
+ * {@link NonBmpStringValue} is created once, when the value, the hash code or a character of the string is needed,
+ * or when the string is searched.
+ *
+ * @since 2.0.0
+ */
+public class ConcatenatedStringValue implements StringValue {
+
+    // shorter strings are concatenated by creating a new string
+    static final int MIN_LENGTH = 64;
+
+    private final StringBuilder builder;
+    // number of chars of the builder, which are in this string
+    private final int charLength;
+    private final int surrogatePairCount;
+    private volatile BString flattenedValue;
+
+    private ConcatenatedStringValue(StringBuilder builder, int charLength, int surrogatePairCount) {
+        this.builder = builder;
+        this.charLength = charLength;
+        this.surrogatePairCount = surrogatePairCount;
+    }
+
+    static BString concat(BString left, BString right) {
+        String rightValue = right.getValue();
+        int charLength = getCharLength(left) + rightValue.length();
+        StringBuilder builder = new StringBuilder(charLength + (charLength >> 1));
+        if (left instanceof ConcatenatedStringValue) {
+            ((ConcatenatedStringValue) left).appendTo(builder);
+        } else {
+            builder.append(left.getValue());
+        }
+        builder.append(rightValue);
+        return new ConcatenatedStringValue(builder, charLength, charLength - left.length() - right.length());
+    }
+
+    private static int getCharLength(BString str) {
+        if (str instanceof ConcatenatedStringValue) {
+            return ((ConcatenatedStringValue) str).charLength;
+        }
+        return str.getValue().length();
+    }
+
+    private void appendTo(StringBuilder target) {
+        BString flattenedValue = this.flattenedValue;
+        if (flattenedValue != null) {
+            target.append(flattenedValue.getValue());
+            return;
+        }
+        synchronized (this.builder) {
+            target.append(this.builder, 0, this.charLength);
+        }
+    }
+
+    private BString flatten() {
+        BString flattenedValue = this.flattenedValue;
+        if (flattenedValue == null) {
+            String value;
+            synchronized (this.builder) {
+                value = this.builder.substring(0, this.charLength);
+            }
+            flattenedValue = this.surrogatePairCount == 0 ? new BmpStringValue(value) : StringUtils.fromString(value);
+            this.flattenedValue = flattenedValue;
+        }
+        return flattenedValue;
+    }
+
+    @Override
+    public String getValue() {
+        return flatten().getValue();
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        return flatten().getCodePoint(index);
+    }
+
+    @Override
+    public int length() {
+        return this.charLength - this.surrogatePairCount;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        // the value of the other string is taken first, so that the builders of two strings are never locked together
+        String value = str.getValue();
+        int charLength = this.charLength + value.length();
+        int surrogatePairCount = this.surrogatePairCount + value.length() - str.length();
+        synchronized (this.builder) {
+            if (this.builder.length() == this.charLength) {
+                this.builder.append(value);
+                return new ConcatenatedStringValue(this.builder, charLength, surrogatePairCount);
+            }
+        }
+        return concat(this, str);
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        return getValue();
+    }
+
+    @Override
+    public String informalStringValue(BLink parent) {
+        return "\"" + toString() + "\"";
+    }
+
+    @Override
+    public String expressionStringValue(BLink parent) {
+        return informalStringValue(parent);
+    }
+
+    @Override
+    public int hashCode() {
+        return flatten().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof BString) {
+            return ((BString) str).getValue().equals(getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return flatten().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return flatten().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        return flatten().substring(beginIndex, endIndex);
+    }
+}
@@ -0,0 +1,333 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.values.BLink;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonIndex;
+import io.ballerina.runtime.internal.types.BArrayType;
+
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * <p>
+ * {@link LazyJsonArrayValue} represents a JSON array whose members are created from the indexed bytes of a JSON
+ * document, when the array is first accessed or modified. The members which are objects or arrays are created as
+ * lazy values as well.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public class LazyJsonArrayValue extends ArrayValueImpl implements LazyJsonValue {
+
+    private volatile JsonIndex index;
+    private final int position;
+
+    public LazyJsonArrayValue(JsonIndex index, int position) {
+        super(new BArrayType(PredefinedTypes.TYPE_JSON));
+        this.index = index;
+        this.position = position;
+    }
+
+    @Override
+    public JsonIndex getJsonIndex() {
+        return this.index;
+    }
+
+    @Override
+    public int getIndexPosition() {
+        return this.position;
+    }
+
+    private void materialize() {
+        if (this.index == null) {
+            return;
+        }
+        synchronized (this) {
+            JsonIndex index = this.index;
+            if (index == null) {
+                return;
+            }
+            int end = index.next(this.position);
+            int count = 0;
+            for (int i = this.position + 1; i < end; i = index.next(i)) {
+                count++;
+            }
+            if (count > this.refValues.length) {
+                this.refValues = new Object[count];
+            }
+            for (int i = this.position + 1; i < end; i = index.next(i)) {
+                this.refValues[this.size++] = index.getValue(i);
+            }
+            // the other threads use the members without locking once the index is cleared
+            this.index = null;
+        }
+    }
+
+    @Override
+    public Object reverse() {
+        materialize();
+        return super.reverse();
+    }
+
+    @Override
+    public Object get(long index) {
+        materialize();
+        return super.get(index);
+    }
+
+    @Override
+    public Object getRefValue(long index) {
+        materialize();
+        return super.getRefValue(index);
+    }
+
+    @Override
+    public Object fillAndGetRefValue(long index) {
+        materialize();
+        return super.fillAndGetRefValue(index);
+    }
+
+    @Override
+    public long getInt(long index) {
+        materialize();
+        return super.getInt(index);
+    }
+
+    @Override
+    public boolean getBoolean(long index) {
+        materialize();
+        return super.getBoolean(index);
+    }
+
+    @Override
+    public byte getByte(long index) {
+        materialize();
+        return super.getByte(index);
+    }
+
+    @Override
+    public double getFloat(long index) {
+        materialize();
+        return super.getFloat(index);
+    }
+
+    @Override
+    public String getString(long index) {
+        materialize();
+        return super.getString(index);
+    }
+
+    @Override
+    public BString getBString(long index) {
+        materialize();
+        return super.getBString(index);
+    }
+
+    @Override
+    public void add(long index, Object value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, long value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, boolean value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, byte value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, double value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, String value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void add(long index, BString value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public void addRefValue(long index, Object value) {
+        materialize();
+        super.addRefValue(index, value);
+    }
+
+    @Override
+    public void addInt(long index, long value) {
+        materialize();
+        super.addInt(index, value);
+    }
+
+    @Override
+    public void append(Object value) {
+        materialize();
+        super.append(value);
+    }
+
+    @Override
+    public Object shift(long index) {
+        materialize();
+        return super.shift(index);
+    }
+
+    @Override
+    protected void unshift(long index, Object[] vals) {
+        materialize();
+        super.unshift(index, vals);
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        materialize();
+        return super.stringValue(parent);
+    }
+
+    @Override
+    public String expressionStringValue(BLink parent) {
+        materialize();
+        return super.expressionStringValue(parent);
+    }
+
+    @Override
+    public int size() {
+        materialize();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        materialize();
+        return super.isEmpty();
+    }
+
+    @Override
+    public Object copy(Map<Object, Object> refs) {
+        JsonIndex index = this.index;
+        if (index == null || isFrozen()) {
+            return super.copy(refs);
+        }
+        // the indexed bytes are not modified, hence an array which is not yet created is copied lazily
+        return refs.computeIfAbsent(this, value -> new LazyJsonArrayValue(index, this.position));
+    }
+
+    @Override
+    public ArrayValueImpl slice(long startIndex, long endIndex) {
+        materialize();
+        return super.slice(startIndex, endIndex);
+    }
+
+    @Override
+    public String toString() {
+        materialize();
+        return super.toString();
+    }
+
+    @Override
+    public Object[] getValues() {
+        materialize();
+        return super.getValues();
+    }
+
+    @Override
+    public byte[] getBytes() {
+        materialize();
+        return super.getBytes();
+    }
+
+    @Override
+    public String[] getStringArray() {
+        materialize();
+        return super.getStringArray();
+    }
+
+    @Override
+    public long[] getLongArray() {
+        materialize();
+        return super.getLongArray();
+    }
+
+    @Override
+    public long[] getIntArray() {
+        materialize();
+        return super.getIntArray();
+    }
+
+    @Override
+    public void serialize(OutputStream outputStream) {
+        materialize();
+        super.serialize(outputStream);
+    }
+
+    @Override
+    public void freezeDirect() {
+        materialize();
+        super.freezeDirect();
+    }
+
+    @Override
+    public void setLength(long length) {
+        materialize();
+        super.setLength(length);
+    }
+
+    @Override
+    public long getLength() {
+        materialize();
+        return super.getLength();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        materialize();
+        if (o instanceof LazyJsonArrayValue) {
+            ((LazyJsonArrayValue) o).materialize();
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        materialize();
+        return super.hashCode();
+    }
+}
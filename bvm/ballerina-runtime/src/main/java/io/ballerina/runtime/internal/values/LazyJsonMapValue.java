@@ -0,0 +1,260 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonIndex;
+import io.ballerina.runtime.internal.types.BMapType;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * {@link LazyJsonMapValue} represents a JSON object whose fields are created from the indexed bytes of a JSON
+ * document, when the object is first accessed or modified. The values of the fields which are objects or arrays are
+ * created as lazy values as well.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public class LazyJsonMapValue extends MapValueImpl<BString, Object> implements LazyJsonValue {
+
+    private volatile JsonIndex index;
+    private final int position;
+
+    public LazyJsonMapValue(JsonIndex index, int position) {
+        super(new BMapType(PredefinedTypes.TYPE_JSON));
+        this.index = index;
+        this.position = position;
+    }
+
+    @Override
+    public JsonIndex getJsonIndex() {
+        return this.index;
+    }
+
+    @Override
+    public int getIndexPosition() {
+        return this.position;
+    }
+
+    private void materialize() {
+        if (this.index == null) {
+            return;
+        }
+        synchronized (this) {
+            JsonIndex index = this.index;
+            if (index == null) {
+                return;
+            }
+            int end = index.next(this.position);
+            // each field name is followed by the value of the field
+            for (int i = this.position + 1; i < end; i = index.next(i + 1)) {
+                putValue(index.getFieldName(i), index.getValue(i + 1));
+            }
+            // the other threads use the fields without locking once the index is cleared
+            this.index = null;
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        materialize();
+        return super.get(key);
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        materialize();
+        return super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        materialize();
+        return super.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        materialize();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Object put(BString key, Object value) {
+        materialize();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends BString, ?> m) {
+        materialize();
+        super.putAll(m);
+    }
+
+    @Override
+    public Object putIfAbsent(BString key, Object value) {
+        materialize();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void populateInitialValue(BString key, Object value) {
+        materialize();
+        super.populateInitialValue(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        materialize();
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        materialize();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public Object replace(BString key, Object value) {
+        materialize();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public boolean replace(BString key, Object oldValue, Object newValue) {
+        materialize();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super BString, ? super Object, ?> function) {
+        materialize();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public Object computeIfAbsent(BString key, Function<? super BString, ?> mappingFunction) {
+        materialize();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(BString key, BiFunction<? super BString, ? super Object, ?> remappingFunction) {
+        materialize();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(BString key, BiFunction<? super BString, ? super Object, ?> remappingFunction) {
+        materialize();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(BString key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        materialize();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super BString, ? super Object> action) {
+        materialize();
+        super.forEach(action);
+    }
+
+    @Override
+    public void clear() {
+        materialize();
+        super.clear();
+    }
+
+    @Override
+    public Set<BString> keySet() {
+        materialize();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        materialize();
+        return super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<BString, Object>> entrySet() {
+        materialize();
+        return super.entrySet();
+    }
+
+    @Override
+    public BString[] getKeys() {
+        materialize();
+        return super.getKeys();
+    }
+
+    @Override
+    public int size() {
+        materialize();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        materialize();
+        return super.isEmpty();
+    }
+
+    @Override
+    public Object copy(Map<Object, Object> refs) {
+        JsonIndex index = this.index;
+        if (index == null || isFrozen()) {
+            return super.copy(refs);
+        }
+        // the indexed bytes are not modified, hence an object which is not yet created is copied lazily
+        return refs.computeIfAbsent(this, value -> new LazyJsonMapValue(index, this.position));
+    }
+
+    @Override
+    public void freezeDirect() {
+        materialize();
+        super.freezeDirect();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        materialize();
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.internal.JsonIndex;
+
+/**
+ * <p>
+ * {@link LazyJsonValue} represents a JSON object or array whose members are created from the indexed bytes of a JSON
+ * document, when the value is first accessed or modified.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public interface LazyJsonValue {
+
+    /**
+     * Returns the index of the JSON document from which the members of the value are yet to be created.
+     *
+     * @return index of the document, or null if the members of the value have been created
+     */
+    JsonIndex getJsonIndex();
+
+    /**
+     * Returns the position of the value in the index of the JSON document.
+     *
+     * @return position of the value
+     */
+    int getIndexPosition();
+}
@@ -50,15 +50,10 @@
             throw new StringIndexOutOfBoundsException(index);
         }
 
-        int offset = index;
-        for (int surrogate : surrogates) {
-            if (surrogate < index) {
-                offset++;
-            } else if (surrogate > index) {
-                break;
-            } else {
-                return Character.toCodePoint(value.charAt(offset), value.charAt(offset + 1));
-            }
+        int surrogateCount = getSurrogateCount(index);
+        int offset = index + surrogateCount;
+        if (surrogateCount < surrogates.length && surrogates[surrogateCount] == index) {
+            return Character.toCodePoint(value.charAt(offset), value.charAt(offset + 1));
         }
         return value.charAt(offset);
     }
@@ -70,16 +65,22 @@
 
     @Override
     public BString concat(BString str) {
+        if (this.value.length() + str.length() >= ConcatenatedStringValue.MIN_LENGTH) {
+            return ConcatenatedStringValue.concat(this, str);
+        }
         if (str instanceof NonBmpStringValue) {
             NonBmpStringValue other = (NonBmpStringValue) str;
             int[] both = Arrays.copyOf(surrogates, surrogates.length + other.surrogates.length);
-            System.arraycopy(other.surrogates, 0, both, surrogates.length, other.surrogates.length);
+            for (int i = 0; i < other.surrogates.length; i++) {
+                // the positions of the surrogate pairs of the other string follow the characters of this string
+                both[surrogates.length + i] = other.surrogates[i] + this.length();
+            }
             return new NonBmpStringValue(this.value + other.value, both);
         } else if (str instanceof BmpStringValue) {
             BmpStringValue other = (BmpStringValue) str;
             return new NonBmpStringValue(this.value + other.getValue(), surrogates);
         } else {
-            throw new RuntimeException("not impl yet");
+            return ConcatenatedStringValue.concat(this, str);
         }
     }
 
@@ -126,33 +127,21 @@
      @Override
      public Long indexOf(BString str, int fromIndex) {
          int offset = getOffset(fromIndex);
-         long index = value.indexOf(str.getValue(), offset);
+         int index = value.indexOf(str.getValue(), offset);
          if (index < 0) {
              return null;
          }
-         for (int i = 0; i < index; i++) {
-             char c = value.charAt(i);
-             if (Character.isHighSurrogate(c)) {
-                 index--;
-             }
-         }
-         return index;
+         return getIndex(index);
      }
 
      @Override
      public Long lastIndexOf(BString str, int fromIndex) {
          int offset = getOffset(fromIndex);
-         long index = value.lastIndexOf(str.getValue(), offset);
+         int index = value.lastIndexOf(str.getValue(), offset);
          if (index < 0) {
              return null;
          }
-         for (int i = 0; i < index; i++) {
-             char c = value.charAt(i);
-             if (Character.isHighSurrogate(c)) {
-                 index--;
-             }
-         }
-         return index;
+         return getIndex(index);
      }
      @Override
      public BString substring(int beginIndex, int endIndex) {
@@ -162,14 +151,33 @@
      }
 
      private int getOffset(int fromIndex) {
-         int offset = fromIndex;
-         for (int surrogate : surrogates) {
-             if (surrogate < fromIndex) {
-                 offset++;
+         return fromIndex + getSurrogateCount(fromIndex);
+     }
+
+     /**
+      * Returns the number of surrogate pairs before the character at the given index. The indices of the surrogate
+      * pairs are sorted, hence they are binary searched.
+      */
+     private int getSurrogateCount(int index) {
+         int position = Arrays.binarySearch(surrogates, index);
+         return position >= 0 ? position : -position - 1;
+     }
+
+     /**
+      * Returns the index of the character at the given offset of the value, i.e. the offset less the number of
+      * surrogate pairs before it. The offset of the surrogate pair at position i is {@code surrogates[i] + i}.
+      */
+     private long getIndex(int offset) {
+         int low = 0;
+         int high = surrogates.length;
+         while (low < high) {
+             int mid = (low + high) >>> 1;
+             if (surrogates[mid] + mid < offset) {
+                 low = mid + 1;
              } else {
-                 break;
+                 high = mid;
              }
          }
-         return offset;
+         return offset - low;
      }
  }
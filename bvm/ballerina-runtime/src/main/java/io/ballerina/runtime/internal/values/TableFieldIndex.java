@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Secondary index on a field of the rows of a table, which maps the field values to the rows having them.
+ * <p>
+ * A hash index supports equality lookups, while a sorted index supports range lookups as well. Rows are kept in
+ * ascending order for each field value, so that lookups return them in the insertion order of the table. Lookups may
+ * return more rows than the ones matching the given condition (e.g. rows with a NaN value for a {@code >} lookup),
+ * hence the condition still has to be checked on each of the returned rows.
+ *
+ * @since 2.0.0
+ */
+class TableFieldIndex {
+
+    static final String EQUAL = "==";
+    static final String LESS_THAN = "<";
+    static final String LESS_THAN_EQUAL = "<=";
+    static final String GREATER_THAN = ">";
+    static final String GREATER_THAN_EQUAL = ">=";
+
+    private static final Comparator<Object> KEY_COMPARATOR = TableFieldIndex::compareKeys;
+
+    private final String fieldName;
+    private final BString fieldKey;
+    private final boolean sorted;
+    private final Map<Object, RowList> index;
+
+    TableFieldIndex(String fieldName, boolean sorted) {
+        this.fieldName = fieldName;
+        this.fieldKey = StringUtils.fromString(fieldName);
+        this.sorted = sorted;
+        this.index = sorted ? new TreeMap<>(KEY_COMPARATOR) : new HashMap<>();
+    }
+
+    String getFieldName() {
+        return fieldName;
+    }
+
+    boolean isSorted() {
+        return sorted;
+    }
+
+    void add(Object data, int row) {
+        index.computeIfAbsent(getKey(data), key -> new RowList()).add(row);
+    }
+
+    void remove(Object data, int row) {
+        Object key = getKey(data);
+        RowList rows = index.get(key);
+        rows.remove(row);
+        if (rows.size == 0) {
+            index.remove(key);
+        }
+    }
+
+    void update(Object oldData, Object newData, int row) {
+        Object oldKey = getKey(oldData);
+        Object newKey = getKey(newData);
+        if (sorted ? KEY_COMPARATOR.compare(oldKey, newKey) != 0 : !oldKey.equals(newKey)) {
+            remove(oldData, row);
+            add(newData, row);
+        }
+    }
+
+    /**
+     * Updates the rows after the table moved them, without changing their order.
+     *
+     * @param newRows new row of each of the current rows
+     */
+    void moveRows(int[] newRows) {
+        for (RowList rows : index.values()) {
+            for (int i = 0; i < rows.size; i++) {
+                rows.rows[i] = newRows[rows.rows[i]];
+            }
+        }
+    }
+
+    void clear() {
+        index.clear();
+    }
+
+    /**
+     * Finds the rows, which may have a field value satisfying the given condition.
+     *
+     * @param operator comparison operator
+     * @param value    value to be compared with
+     * @return rows in ascending order, or null if the index does not support the lookup
+     */
+    int[] find(String operator, Object value) {
+        Object key = toKey(value);
+        if (EQUAL.equals(operator)) {
+            if (sorted && !isComparable(key)) {
+                return null;
+            }
+            RowList rows = index.get(key);
+            return rows == null ? new int[0] : Arrays.copyOf(rows.rows, rows.size);
+        }
+
+        if (!sorted || !isComparable(key)) {
+            return null;
+        }
+        NavigableMap<Object, RowList> sortedIndex = (NavigableMap<Object, RowList>) index;
+        switch (operator) {
+            case LESS_THAN:
+                return collectRows(sortedIndex.headMap(key, false).values());
+            case LESS_THAN_EQUAL:
+                return collectRows(sortedIndex.headMap(key, true).values());
+            case GREATER_THAN:
+                return collectRows(sortedIndex.tailMap(key, false).values());
+            case GREATER_THAN_EQUAL:
+                return collectRows(sortedIndex.tailMap(key, true).values());
+            default:
+                return null;
+        }
+    }
+
+    private boolean isComparable(Object key) {
+        // a sorted index only holds keys of the same type
+        if (key == null) {
+            return false;
+        }
+        return index.isEmpty() || ((TreeMap<Object, RowList>) index).firstKey().getClass() == key.getClass();
+    }
+
+    private Object getKey(Object data) {
+        return toKey(((MapValue<?, ?>) data).get(fieldKey));
+    }
+
+    private static int[] collectRows(Collection<RowList> rowLists) {
+        int size = 0;
+        for (RowList rows : rowLists) {
+            size += rows.size;
+        }
+        int[] result = new int[size];
+        int offset = 0;
+        for (RowList rows : rowLists) {
+            System.arraycopy(rows.rows, 0, result, offset, rows.size);
+            offset += rows.size;
+        }
+        // rows of different field values are merged back to the insertion order
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Maps the values which are equal with `==` to the same key
+    private static Object toKey(Object value) {
+        if (value instanceof BString) {
+            return ((BString) value).getValue();
+        }
+        if (value instanceof Double) {
+            double doubleValue = (Double) value;
+            return doubleValue == 0 ? 0.0 : value;
+        }
+        if (value instanceof DecimalValue) {
+            BigDecimal decimalValue = ((DecimalValue) value).value();
+            return decimalValue.signum() == 0 ? BigDecimal.ZERO : decimalValue.stripTrailingZeros();
+        }
+        return value;
+    }
+
+    private static int compareKeys(Object key1, Object key2) {
+        if (key1 instanceof String) {
+            return compareCodePoints((String) key1, (String) key2);
+        }
+        return ((Comparable<Object>) key1).compareTo(key2);
+    }
+
+    // Strings are ordered by code points in Ballerina, rather than by UTF-16 code units
+    private static int compareCodePoints(String s1, String s2) {
+        int i1 = 0;
+        int i2 = 0;
+        while (i1 < s1.length() && i2 < s2.length()) {
+            int c1 = s1.codePointAt(i1);
+            int c2 = s2.codePointAt(i2);
+            if (c1 != c2) {
+                return Integer.compare(c1, c2);
+            }
+            i1 += Character.charCount(c1);
+            i2 += Character.charCount(c2);
+        }
+        return Integer.compare(s1.length() - i1, s2.length() - i2);
+    }
+
+    /**
+     * Rows having the same field value, in ascending order.
+     */
+    private static class RowList {
+
+        int[] rows = new int[2];
+        int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size << 1);
+            }
+            // rows are mostly appended, but an updated row keeps its position in the table
+            int position = size == 0 || rows[size - 1] < row ? size : -Arrays.binarySearch(rows, 0, size, row) - 1;
+            System.arraycopy(rows, position, rows, position + 1, size - position);
+            rows[position] = row;
+            size++;
+        }
+
+        void remove(int row) {
+            int position = Arrays.binarySearch(rows, 0, size, row);
+            System.arraycopy(rows, position + 1, rows, position, size - position - 1);
+            size--;
+        }
+    }
+}
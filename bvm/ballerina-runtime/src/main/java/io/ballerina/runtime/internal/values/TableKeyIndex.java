@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.internal.TypeChecker;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing index from the key hashes of a table to the rows holding those keys.
+ * <p>
+ * Hashes and rows are kept in primitive arrays and collisions are resolved with linear probing. Since different keys
+ * can have the same {@link io.ballerina.runtime.internal.TableUtils#hash} value, a row is only matched when its key
+ * is also equal to the given key.
+ *
+ * @since 2.0.0
+ */
+class TableKeyIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NO_ROW = -1;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] hashes;
+    private int[] rows;
+    private int mask;
+    private int size;
+
+    TableKeyIndex() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Finds the row holding the given key.
+     *
+     * @param hash    hash of the key
+     * @param key     key to be found
+     * @param rowKeys keys of the table rows
+     * @return the row of the key or a negative value if the key is not in the index
+     */
+    int get(long hash, Object key, Object[] rowKeys) {
+        for (int bucket = bucket(hash); rows[bucket] != NO_ROW; bucket = (bucket + 1) & mask) {
+            if (hashes[bucket] == hash && TypeChecker.isEqual(rowKeys[rows[bucket]], key)) {
+                return rows[bucket];
+            }
+        }
+        return NO_ROW;
+    }
+
+    /**
+     * Adds a row to the index. The key of the row should not be in the index already.
+     *
+     * @param hash hash of the key of the row
+     * @param row  row to be added
+     */
+    void put(long hash, int row) {
+        if ((size + 1) << 1 > rows.length) {
+            resize(rows.length << 1);
+        }
+        insert(hash, row);
+        size++;
+    }
+
+    /**
+     * Removes a row from the index. The row should be in the index.
+     *
+     * @param hash hash of the key of the row
+     * @param row  row to be removed
+     */
+    void remove(long hash, int row) {
+        int hole = bucket(hash);
+        while (rows[hole] != row) {
+            hole = (hole + 1) & mask;
+        }
+
+        // shifts back the following entries of the probe sequence, so that lookups do not need tombstones
+        for (int bucket = (hole + 1) & mask; rows[bucket] != NO_ROW; bucket = (bucket + 1) & mask) {
+            int home = bucket(hashes[bucket]);
+            if (((bucket - home) & mask) >= ((bucket - hole) & mask)) {
+                hashes[hole] = hashes[bucket];
+                rows[hole] = rows[bucket];
+                hole = bucket;
+            }
+        }
+        rows[hole] = NO_ROW;
+        size--;
+    }
+
+    /**
+     * Updates the rows after the table moved them.
+     *
+     * @param newRows new row of each of the current rows
+     */
+    void moveRows(int[] newRows) {
+        for (int bucket = 0; bucket < rows.length; bucket++) {
+            if (rows[bucket] != NO_ROW) {
+                rows[bucket] = newRows[rows[bucket]];
+            }
+        }
+    }
+
+    void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHashes = hashes;
+        int[] oldRows = rows;
+        allocate(capacity);
+        for (int bucket = 0; bucket < oldRows.length; bucket++) {
+            if (oldRows[bucket] != NO_ROW) {
+                insert(oldHashes[bucket], oldRows[bucket]);
+            }
+        }
+    }
+
+    private void insert(long hash, int row) {
+        int bucket = bucket(hash);
+        while (rows[bucket] != NO_ROW) {
+            bucket = (bucket + 1) & mask;
+        }
+        hashes[bucket] = hash;
+        rows[bucket] = row;
+    }
+
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        rows = new int[capacity];
+        Arrays.fill(rows, NO_ROW);
+        mask = capacity - 1;
+    }
+
+    private int bucket(long hash) {
+        // key hashes are often small consecutive numbers, so they are spread over the buckets
+        long spread = hash * HASH_MULTIPLIER;
+        return (int) (spread ^ (spread >>> 32)) & mask;
+    }
+}
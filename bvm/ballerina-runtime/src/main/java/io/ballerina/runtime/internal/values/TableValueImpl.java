@@ -20,6 +20,7 @@ package io.ballerina.runtime.internal.values;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.TableType;
 import io.ballerina.runtime.api.types.Type;
@@ -44,16 +45,14 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.TABLE_LANG_LIB;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.INHERENT_TYPE_VIOLATION_ERROR_IDENTIFIER;
@@ -64,6 +63,14 @@ import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReason
 
 /**
  * The runtime representation of table.
+ * <p>
+ * Rows are stored in insertion order in dense arrays. Keyed tables find the row of a key through a
+ * {@link TableKeyIndex}. A removed row leaves a hole behind, and the holes are dropped once they take up half of the
+ * rows.
+ * <p>
+ * Secondary indexes can be declared on readonly fields of the row type, either with the {@code tableIndex} annotation
+ * of the row type or with {@link #addIndex(String, boolean)}. They are used by {@link #getIndexedRows} to find the
+ * rows of a query without iterating all of them.
  *
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of mapped values
@@ -72,19 +79,34 @@ import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReason
  */
 public class TableValueImpl<K, V> implements TableValue<K, V> {
 
+    private static final int INITIAL_ROW_CAPACITY = 8;
+    private static final String ANNOTATIONS_MODULE = "ballerina/lang.annotations";
+    private static final String TABLE_INDEX_ANNOTATION = ":tableIndex";
+    private static final String FIELD_ANNOTATION_PREFIX = "$field$.";
+    private static final BString INDEX_KIND = StringUtils.fromString("kind");
+    private static final String HASH_INDEX_KIND = "hash";
+    private static final String SORTED_INDEX_KIND = "sorted";
+
     private TableType type;
     private Type iteratorNextReturnType;
-    private ConcurrentHashMap<Long, Map.Entry<K, V>> entries;
-    private LinkedHashMap<Long, V> values;
-    private LinkedHashMap<Long, K> keys;
     private String[] fieldNames;
     private ValueHolder valueHolder;
     private long maxIntKey = 0;
 
-    //These are required to achieve the iterator behavior
-    private LinkedHashMap<Long, Long> indexToKeyMap;
-    private LinkedHashMap<Long, Long> keyToIndexMap;
-    private long noOfAddedEntries = 0;
+    // Rows of the table, a removed row is a null value. Keys are only stored for keyed tables.
+    private Object[] rowKeys;
+    private Object[] rowValues;
+    private int rowCount = 0;
+    private int size = 0;
+    private TableKeyIndex keyIndex;
+
+    //These are required to achieve the iterator behavior, iterators use the insertion sequence of the rows to find
+    //their position again once the rows are compacted
+    private long[] rowSequences;
+    private long nextSequence = 0;
+    private int compactions = 0;
+
+    private final List<TableFieldIndex> fieldIndexes = new ArrayList<>(0);
 
     private boolean nextKeySupported;
 
@@ -93,17 +115,13 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     public TableValueImpl(TableType type) {
         this.type = type;
 
-        this.entries = new ConcurrentHashMap<>();
-        this.keys = new LinkedHashMap<>();
-        this.values = new LinkedHashMap<>();
-        this.keyToIndexMap = new LinkedHashMap<>();
-        this.indexToKeyMap = new LinkedHashMap<>();
         this.fieldNames = type.getFieldNames();
         if (type.getFieldNames() != null) {
             this.valueHolder = new KeyHashValueHolder();
         } else {
             this.valueHolder = new ValueHolder();
         }
+        addAnnotatedIndexes();
     }
 
     public TableValueImpl(BTableType type, ArrayValue data, ArrayValue fieldNames) {
@@ -125,7 +143,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public IteratorValue getIterator() {
-        return new TableIterator<K, V>();
+        return new TableIterator();
     }
 
     @Override
@@ -142,6 +160,11 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         if (fieldNames != null) {
             clone.fieldNames = fieldNames;
         }
+        for (TableFieldIndex fieldIndex : fieldIndexes) {
+            if (clone.findIndex(fieldIndex.getFieldName(), fieldIndex.isSorted()) == null) {
+                clone.addIndex(fieldIndex.getFieldName(), fieldIndex.isSorted());
+            }
+        }
 
         IteratorValue itr = getIterator();
         while (itr.hasNext()) {
@@ -212,23 +235,30 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public Set<Map.Entry<K, V>> entrySet() {
-        return new LinkedHashSet<>(entries.values());
+        Set<Map.Entry<K, V>> entrySet = new LinkedHashSet<>(size);
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                entrySet.add(new AbstractMap.SimpleEntry<>(getRowKey(row), (V) rowValues[row]));
+            }
+        }
+        return entrySet;
     }
 
     @Override
     public Collection<V> values() {
-        return values.values();
+        List<V> values = new ArrayList<>(size);
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                values.add((V) rowValues[row]);
+            }
+        }
+        return values;
     }
 
     @Override
     public void clear() {
         handleFrozenTableValue();
-        entries.clear();
-        keys.clear();
-        values.clear();
-        keyToIndexMap.clear();
-        indexToKeyMap.clear();
-        noOfAddedEntries = 0;
+        clearRows();
     }
 
     @Override
@@ -257,13 +287,127 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                                         + "The key sequence should only have an " +
                                                                            "Integer field."));
         }
-        return keys.size() == 0 ? 0 : (this.maxIntKey + 1);
+        return size == 0 ? 0 : (this.maxIntKey + 1);
     }
 
     public Type getKeyType() {
         return this.valueHolder.getKeyType();
     }
 
+    /**
+     * Adds a secondary index on a field of the rows. The field should be a required readonly field of the record row
+     * type, and should be of a string, numeric or, for a hash index, boolean type.
+     *
+     * @param fieldName name of the field
+     * @param sorted    whether the index supports range lookups, in addition to equality lookups
+     */
+    public void addIndex(String fieldName, boolean sorted) {
+        Type constraintType = type.getConstrainedType();
+        Field field = constraintType.getTag() == TypeTags.RECORD_TYPE_TAG ?
+                ((BRecordType) constraintType).getFields().get(fieldName) : null;
+        if (field == null || !(constraintType.isReadOnly() ||
+                SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.READONLY))) {
+            throw ErrorCreator.createError(OPERATION_NOT_SUPPORTED_ERROR, StringUtils.fromString(
+                    "an index can only be defined on a readonly field of a record type, found '" + fieldName + "'"));
+        }
+        // every row should have a value for the field, to be looked up with it
+        if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.OPTIONAL)) {
+            throw ErrorCreator.createError(OPERATION_NOT_SUPPORTED_ERROR, StringUtils.fromString(
+                    "an index cannot be defined on the optional field '" + fieldName + "'"));
+        }
+        int fieldTypeTag = field.getFieldType().getTag();
+        if (!isOrderedType(fieldTypeTag) && (sorted || fieldTypeTag != TypeTags.BOOLEAN_TAG)) {
+            throw ErrorCreator.createError(OPERATION_NOT_SUPPORTED_ERROR, StringUtils.fromString(
+                    "an index of kind '" + (sorted ? SORTED_INDEX_KIND : HASH_INDEX_KIND) +
+                            "' cannot be defined on a field of type '" + field.getFieldType() + "'"));
+        }
+
+        TableFieldIndex fieldIndex = new TableFieldIndex(fieldName, sorted);
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                fieldIndex.add(rowValues[row], row);
+            }
+        }
+        fieldIndexes.add(fieldIndex);
+    }
+
+    /**
+     * Finds the rows, which may have a field value satisfying the given condition, by using an index of the field.
+     * The returned rows are in the insertion order, but the condition still needs to be checked on them.
+     *
+     * @param fieldName name of the field
+     * @param operator  one of {@code ==}, {@code <}, {@code <=}, {@code >} and {@code >=}
+     * @param value     value to be compared with the field value
+     * @return the rows or null if there is no index supporting the lookup
+     */
+    public List<V> getIndexedRows(String fieldName, String operator, Object value) {
+        if (TableFieldIndex.EQUAL.equals(operator) && value != null && keyIndex != null && fieldNames.length == 1 &&
+                fieldNames[0].equals(fieldName)) {
+            V data = valueHolder.getData((K) value);
+            return data == null ? Collections.emptyList() : Collections.singletonList(data);
+        }
+
+        // a sorted index is preferred for a range lookup, while either is fine for an equality lookup
+        boolean sorted = !TableFieldIndex.EQUAL.equals(operator);
+        TableFieldIndex fieldIndex = findIndex(fieldName, sorted);
+        if (fieldIndex == null && !sorted) {
+            fieldIndex = findIndex(fieldName, true);
+        }
+        int[] rows = fieldIndex == null ? null : fieldIndex.find(operator, value);
+        if (rows == null) {
+            return null;
+        }
+        List<V> data = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            data.add((V) rowValues[row]);
+        }
+        return data;
+    }
+
+    private TableFieldIndex findIndex(String fieldName, boolean sorted) {
+        for (TableFieldIndex fieldIndex : fieldIndexes) {
+            if (fieldIndex.isSorted() == sorted && fieldIndex.getFieldName().equals(fieldName)) {
+                return fieldIndex;
+            }
+        }
+        return null;
+    }
+
+    // Adds the indexes declared with the `tableIndex` annotation on the fields of the row type
+    private void addAnnotatedIndexes() {
+        Type constraintType = type.getConstrainedType();
+        if (constraintType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            return;
+        }
+        BRecordType recordType = (BRecordType) constraintType;
+        for (String fieldName : recordType.getFields().keySet()) {
+            Object fieldAnnotations =
+                    recordType.getAnnotation(StringUtils.fromString(FIELD_ANNOTATION_PREFIX + fieldName));
+            if (!(fieldAnnotations instanceof MapValue)) {
+                continue;
+            }
+            for (Map.Entry<?, ?> annotation : ((MapValue<?, ?>) fieldAnnotations).entrySet()) {
+                String annotationName = annotation.getKey().toString();
+                if (annotationName.startsWith(ANNOTATIONS_MODULE) && annotationName.endsWith(TABLE_INDEX_ANNOTATION)) {
+                    Object kind = ((MapValue<BString, Object>) annotation.getValue()).get(INDEX_KIND);
+                    addIndex(fieldName, kind != null && SORTED_INDEX_KIND.equals(kind.toString()));
+                }
+            }
+        }
+    }
+
+    private static boolean isOrderedType(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     @Override
     public V fillAndGet(Object key) {
         if (containsKey(key)) {
@@ -285,17 +429,27 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public K[] getKeys() {
-        return (K[]) keys.values().toArray(new Object[]{});
+        if (keyIndex == null) {
+            return (K[]) new Object[]{};
+        }
+        Object[] keys = new Object[size];
+        int i = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                keys[i++] = rowKeys[row];
+            }
+        }
+        return (K[]) keys;
     }
 
     @Override
     public int size() {
-        return entries.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return size == 0;
     }
 
     @Override
@@ -320,8 +474,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     public String stringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
-        return createStringValueDataEntry(itr, parent);
+        return createStringValueDataEntry(parent);
     }
 
     @Override
@@ -331,21 +484,20 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public String expressionStringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
-        return createExpressionStringValueDataEntry(itr, parent);
+        return createExpressionStringValueDataEntry(parent);
     }
 
-    private String createStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createStringValueDataEntry(BLink parent) {
         StringJoiner sj = new StringJoiner(",");
-        while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(StringUtils.getStringValue(struct.getValue(),
-                                              new CycleUtils.Node(this, parent)));
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                sj.add(StringUtils.getStringValue(rowValues[row], new CycleUtils.Node(this, parent)));
+            }
         }
         return "[" + sj.toString() + "]";
     }
 
-    private String createExpressionStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createExpressionStringValueDataEntry(BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         StringJoiner keyJoiner = new StringJoiner(",");
         if (type.getFieldNames() != null) {
@@ -354,10 +506,10 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                 keyJoiner.add(keysList[i]);
             }
         }
-        while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(StringUtils.getExpressionStringValue(struct.getValue(),
-                                                        new CycleUtils.Node(this, parent)));
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                sj.add(StringUtils.getExpressionStringValue(rowValues[row], new CycleUtils.Node(this, parent)));
+            }
         }
         return "table key(" + keyJoiner.toString() + ") [" + sj.toString() + "]";
     }
@@ -385,40 +537,54 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         return iteratorNextReturnType;
     }
 
-    private class TableIterator<K, V> implements IteratorValue {
-        private long cursor;
+    private class TableIterator implements IteratorValue {
+        private long cursorSequence;
+        private int cursorRow;
+        private int cursorCompactions;
 
         TableIterator() {
-            this.cursor = 0;
+            this.cursorSequence = 0;
+            this.cursorRow = 0;
+            this.cursorCompactions = compactions;
         }
 
         @Override
         public Object next() {
-            Long hash = indexToKeyMap.get(cursor);
-            if (hash != null) {
-                Map.Entry<K, V> next = (Map.Entry<K, V>) entries.get(hash);
-                V value = next.getValue();
-                K key = next.getKey();
-
-                List<Type> types = new ArrayList<>();
-                types.add(TypeChecker.getType(key));
-                types.add(TypeChecker.getType(value));
-                BTupleType tupleType = new BTupleType(types);
-
-                TupleValueImpl tuple = new TupleValueImpl(tupleType);
-                tuple.add(0, key);
-                tuple.add(1, value);
-                cursor++;
-                return tuple;
-            } else {
-                cursor++;
-                return next();
+            int row = seekRow();
+            if (row == rowCount) {
+                throw new NoSuchElementException();
             }
+            Object value = rowValues[row];
+            Object key = getRowKey(row);
+
+            List<Type> types = new ArrayList<>();
+            types.add(TypeChecker.getType(key));
+            types.add(TypeChecker.getType(value));
+            BTupleType tupleType = new BTupleType(types);
+
+            TupleValueImpl tuple = new TupleValueImpl(tupleType);
+            tuple.add(0, key);
+            tuple.add(1, value);
+            cursorSequence = rowSequences[row] + 1;
+            cursorRow = row + 1;
+            return tuple;
         }
 
         @Override
         public boolean hasNext() {
-           return cursor < noOfAddedEntries;
+           return seekRow() < rowCount;
+        }
+
+        // Moves the cursor to the next row which is not removed
+        private int seekRow() {
+            if (cursorCompactions != compactions) {
+                cursorRow = findFirstRow(cursorSequence);
+                cursorCompactions = compactions;
+            }
+            while (cursorRow < rowCount && rowValues[cursorRow] == null) {
+                cursorRow++;
+            }
+            return cursorRow;
         }
     }
 
@@ -440,11 +606,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         public V putData(V data) {
             checkInherentTypeViolation((MapValue) data, type);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(data, data);
-            UUID uuid = UUID.randomUUID();
-            entries.put((long) uuid.hashCode(), entry);
-            updateIndexKeyMappings((long) uuid.hashCode());
-            return values.put((long) uuid.hashCode(), data);
+            addRow(null, 0, data);
+            return null;
         }
 
         public V remove(K key) {
@@ -468,6 +631,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         public KeyHashValueHolder() {
             super();
+            keyIndex = new TableKeyIndex();
             if (fieldNames.length > 1) {
                 keyWrapper = new MultiKeyWrapper();
             } else {
@@ -479,69 +643,73 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, type);
             K key = this.keyWrapper.wrapKey(dataMap);
+            long hash = TableUtils.hash(key, null);
 
-            if (containsKey((K) key)) {
+            if (keyIndex.get(hash, key, rowKeys) >= 0) {
                 throw ErrorCreator.createError(TABLE_HAS_A_VALUE_FOR_KEY_ERROR,
                                                StringUtils.fromString("A value " + "found for key '" + key + "'"));
             }
 
-            if (nextKeySupported && (keys.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
+            if (nextKeySupported && (size == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
                 maxIntKey = ((Long) TypeChecker.anyToInt(key)).intValue();
             }
 
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
-            Long hash = TableUtils.hash(key, null);
-            putData(key, data, entry, hash);
+            addRow(key, hash, data);
         }
 
         public V getData(K key) {
-            return values.get(TableUtils.hash(key, null));
+            int row = keyIndex.get(TableUtils.hash(key, null), key, rowKeys);
+            return row < 0 ? null : (V) rowValues[row];
         }
 
         public V putData(K key, V data) {
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
             Object actualKey = this.keyWrapper.wrapKey((MapValue) data);
-            Long actualHash = TableUtils.hash(actualKey, null);
-            Long hash = TableUtils.hash(key, null);
+            long actualHash = TableUtils.hash(actualKey, null);
+            long hash = TableUtils.hash(key, null);
 
-            if (!hash.equals(actualHash)) {
+            if (hash != actualHash || !TypeChecker.isEqual(key, actualKey)) {
                 throw ErrorCreator.createError(TABLE_KEY_NOT_FOUND_ERROR, StringUtils.fromString("The key '" +
                         key + "' not found in value " + data.toString()));
             }
 
-            return putData(key, data, entry, hash);
+            return putData(key, data, hash);
         }
 
-        private V putData(K key, V data, Map.Entry<K, V> entry, Long hash) {
-            entries.put(hash, entry);
-            keys.put(hash, key);
-            updateIndexKeyMappings(hash);
-            return values.put(hash, data);
+        private V putData(K key, V data, long hash) {
+            int row = keyIndex.get(hash, key, rowKeys);
+            if (row < 0) {
+                addRow(key, hash, data);
+                return null;
+            }
+
+            V oldData = (V) rowValues[row];
+            rowKeys[row] = key;
+            rowValues[row] = data;
+            for (TableFieldIndex fieldIndex : fieldIndexes) {
+                fieldIndex.update(oldData, data, row);
+            }
+            return oldData;
         }
 
         public V putData(V data) {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, type);
             K key = this.keyWrapper.wrapKey(dataMap);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
-            Long hash = TableUtils.hash(key, null);
-            return putData((K) key, data, entry, hash);
+            return putData(key, data, TableUtils.hash(key, null));
         }
 
         public V remove(K key) {
-            Long hash = TableUtils.hash(key, null);
-            entries.remove(hash);
-            keys.remove(hash);
-            Long index = keyToIndexMap.remove(hash);
-            indexToKeyMap.remove(index);
-            if (index != null && index == noOfAddedEntries - 1) {
-                noOfAddedEntries--;
+            long hash = TableUtils.hash(key, null);
+            int row = keyIndex.get(hash, key, rowKeys);
+            if (row < 0) {
+                return null;
             }
-            return values.remove(hash);
+            keyIndex.remove(hash, row);
+            return removeRow(row);
         }
 
         public boolean containsKey(K key) {
-            return keys.containsKey(TableUtils.hash(key, null));
+            return keyIndex.get(TableUtils.hash(key, null), key, rowKeys) >= 0;
         }
 
         public Type getKeyType() {
@@ -592,13 +760,120 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         }
     }
 
-    // This method updates the indexes and the order required by the iterators
-    private void updateIndexKeyMappings(Long hash) {
-        if (!keyToIndexMap.containsKey(hash)) {
-            keyToIndexMap.put(hash, noOfAddedEntries);
-            indexToKeyMap.put(noOfAddedEntries, hash);
-            noOfAddedEntries++;
+    // Appends a row, the key is only used by keyed tables
+    private void addRow(Object key, long hash, V data) {
+        if (rowValues == null) {
+            rowValues = new Object[INITIAL_ROW_CAPACITY];
+            rowSequences = new long[INITIAL_ROW_CAPACITY];
+            if (keyIndex != null) {
+                rowKeys = new Object[INITIAL_ROW_CAPACITY];
+            }
+        } else if (rowCount == rowValues.length) {
+            if (rowCount - size >= rowCount >> 1) {
+                compactRows();
+            } else {
+                int capacity = rowCount + (rowCount >> 1);
+                rowValues = Arrays.copyOf(rowValues, capacity);
+                rowSequences = Arrays.copyOf(rowSequences, capacity);
+                if (keyIndex != null) {
+                    rowKeys = Arrays.copyOf(rowKeys, capacity);
+                }
+            }
+        }
+
+        int row = rowCount++;
+        rowValues[row] = data;
+        rowSequences[row] = nextSequence++;
+        if (keyIndex != null) {
+            rowKeys[row] = key;
+            keyIndex.put(hash, row);
+        }
+        for (TableFieldIndex fieldIndex : fieldIndexes) {
+            fieldIndex.add(data, row);
+        }
+        size++;
+    }
+
+    // Removes a row which is already removed from the key index
+    private V removeRow(int row) {
+        V data = (V) rowValues[row];
+        for (TableFieldIndex fieldIndex : fieldIndexes) {
+            fieldIndex.remove(data, row);
+        }
+        rowValues[row] = null;
+        if (keyIndex != null) {
+            rowKeys[row] = null;
+        }
+        size--;
+        if (size == 0) {
+            clearRows();
+        }
+        return data;
+    }
+
+    // Drops the removed rows, while keeping the insertion order of the rest
+    private void compactRows() {
+        int[] newRows = keyIndex != null || !fieldIndexes.isEmpty() ? new int[rowCount] : null;
+        int liveRows = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] == null) {
+                continue;
+            }
+            rowValues[liveRows] = rowValues[row];
+            rowSequences[liveRows] = rowSequences[row];
+            if (keyIndex != null) {
+                rowKeys[liveRows] = rowKeys[row];
+            }
+            if (newRows != null) {
+                newRows[row] = liveRows;
+            }
+            liveRows++;
+        }
+        Arrays.fill(rowValues, liveRows, rowCount, null);
+        if (keyIndex != null) {
+            Arrays.fill(rowKeys, liveRows, rowCount, null);
+            keyIndex.moveRows(newRows);
+        }
+        for (TableFieldIndex fieldIndex : fieldIndexes) {
+            fieldIndex.moveRows(newRows);
+        }
+        rowCount = liveRows;
+        compactions++;
+    }
+
+    private void clearRows() {
+        rowKeys = null;
+        rowValues = null;
+        rowSequences = null;
+        rowCount = 0;
+        size = 0;
+        if (keyIndex != null) {
+            keyIndex.clear();
+        }
+        for (TableFieldIndex fieldIndex : fieldIndexes) {
+            fieldIndex.clear();
+        }
+        compactions++;
+    }
+
+    private K getRowKey(int row) {
+        // rows of a keyless table are keyed by the value itself
+        return (K) (keyIndex != null ? rowKeys[row] : rowValues[row]);
+    }
+
+    // Finds the first row, which was added after the given insertion sequence
+    private int findFirstRow(long sequence) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rowSequences[mid] < sequence) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
         }
+        return low;
     }
 
     // This method checks for inherent table type violation
@@ -25,6 +25,7 @@ import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BLink;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.CycleUtils;
+import io.ballerina.runtime.internal.LongCache;
 import io.ballerina.runtime.internal.TypeChecker;
 import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons;
@@ -294,7 +295,7 @@ public class TupleValueImpl extends AbstractArrayValue {
      */
     @Override
     public void add(long index, long value) {
-        add(index, Long.valueOf(value));
+        add(index, LongCache.valueOf(value));
     }
 
     /**
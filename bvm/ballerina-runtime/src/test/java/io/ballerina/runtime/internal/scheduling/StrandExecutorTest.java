@@ -0,0 +1,157 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.api.values.BError;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Test cases for running strands on platform threads and on JDK virtual threads.
+ *
+ * @since 2.0.0
+ */
+public class StrandExecutorTest {
+
+    private static final int THREADS = 4;
+    private static final int CHILDREN = 200;
+
+    @Test(timeOut = 60000)
+    public void testPlatformThreads() {
+        Set<Thread> threads = runStrands(RuntimeConstants.STRAND_EXECUTOR_PLATFORM);
+        assertPlatformThreads(threads);
+    }
+
+    @Test(timeOut = 60000)
+    public void testInvalidStrandExecutorFallsBackToPlatformThreads() {
+        Set<Thread> threads = runStrands("carrier");
+        assertPlatformThreads(threads);
+    }
+
+    @Test(timeOut = 60000)
+    public void testVirtualThreads() {
+        if (!isVirtualThreadSupported()) {
+            throw new SkipException("virtual threads are not supported by the current Java runtime");
+        }
+        Set<Thread> threads = runStrands(RuntimeConstants.STRAND_EXECUTOR_VIRTUAL);
+        Assert.assertFalse(threads.isEmpty());
+        for (Thread thread : threads) {
+            Assert.assertTrue(isVirtual(thread), thread + " is not a virtual thread");
+        }
+    }
+
+    @Test(timeOut = 60000)
+    public void testFallbackWithoutVirtualThreads() {
+        if (isVirtualThreadSupported()) {
+            throw new SkipException("virtual threads are supported by the current Java runtime");
+        }
+        // the executor cannot be looked up, hence the strands run on the pool of platform threads instead
+        Set<Thread> threads = runStrands(RuntimeConstants.STRAND_EXECUTOR_VIRTUAL);
+        assertPlatformThreads(threads);
+    }
+
+    /**
+     * Runs a strand which spawns children that block and yield, and returns the threads the children ran on.
+     */
+    private static Set<Thread> runStrands(String strandExecutor) {
+        Scheduler scheduler = new Scheduler(THREADS, false, RuntimeConstants.SCHEDULER_POLICY_SHARED, strandExecutor);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicReference<BError> error = new AtomicReference<>();
+        Function<Object[], Object> root = params -> {
+            Strand strand = (Strand) params[0];
+            for (int i = 0; i < CHILDREN; i++) {
+                AtomicInteger calls = new AtomicInteger();
+                Function<Object[], Object> child = childParams -> {
+                    Strand childStrand = (Strand) childParams[0];
+                    threads.add(Thread.currentThread());
+                    if (calls.getAndIncrement() == 0) {
+                        // yield once, the strand gets rescheduled
+                        childStrand.setState(State.YIELD);
+                        return null;
+                    }
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    completed.incrementAndGet();
+                    return null;
+                };
+                scheduler.schedule(new Object[1], child, strand, null, "child-" + i, null);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], root, null, new Callback() {
+            @Override
+            public void notifySuccess(Object result) {
+            }
+
+            @Override
+            public void notifyFailure(BError e) {
+                error.set(e);
+            }
+        }, "root", null);
+        scheduler.start();
+
+        Assert.assertNull(error.get());
+        Assert.assertEquals(completed.get(), CHILDREN);
+        return threads;
+    }
+
+    private static void assertPlatformThreads(Set<Thread> threads) {
+        Thread caller = Thread.currentThread();
+        Assert.assertFalse(threads.isEmpty());
+        for (Thread thread : threads) {
+            Assert.assertFalse(isVirtual(thread), thread + " is a virtual thread");
+            Assert.assertTrue(thread == caller || thread.getName().startsWith("jbal-strand-exec-"),
+                              thread + " is not a strand executor thread");
+        }
+    }
+
+    private static boolean isVirtualThreadSupported() {
+        try {
+            ExecutorService executor =
+                    (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            executor.shutdown();
+            return true;
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.api.values.BError;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * Test cases for the {@link WorkStealingRunQueue} and the {@link Scheduler} running on it.
+ *
+ * @since 2.0.0
+ */
+public class WorkStealingRunQueueTest {
+
+    private static final int WORKERS = 4;
+
+    @Test(timeOut = 60000)
+    public void testConcurrentAddTakeAndSteal() throws InterruptedException {
+        // Item `i` of the tree is added by the worker which ran its parent, hence most items are added to and popped
+        // from local deques, and idle workers have to steal them. The rest of the items are added from a thread
+        // which is not a worker, hence go to the shared queue.
+        int treeSize = 20000;
+        int externalItems = 5000;
+        int total = treeSize + externalItems;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(WORKERS);
+        AtomicIntegerArray runs = new AtomicIntegerArray(total);
+        AtomicInteger completed = new AtomicInteger();
+        List<Thread> workers = startWorkers(queue, id -> {
+            runs.incrementAndGet(id);
+            if (id < treeSize) {
+                for (int child = 2 * id + 1; child <= 2 * id + 2 && child < treeSize; child++) {
+                    queue.add(item(child));
+                }
+            }
+            if (completed.incrementAndGet() == total) {
+                poison(queue);
+            }
+        });
+
+        queue.add(item(0));
+        for (int i = treeSize; i < total; i++) {
+            queue.add(item(i));
+        }
+        join(workers);
+
+        for (int i = 0; i < total; i++) {
+            Assert.assertEquals(runs.get(i), 1, "item " + i + " was not taken exactly once");
+        }
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test(timeOut = 60000)
+    public void testLocalQueueGrowsWithoutLimit() throws InterruptedException {
+        // The local deques are not bounded, a worker can keep adding groups far beyond the number of workers
+        // without blocking or dropping any of them.
+        int total = 100000;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(WORKERS);
+        AtomicIntegerArray runs = new AtomicIntegerArray(total);
+        AtomicInteger completed = new AtomicInteger();
+        List<Thread> workers = startWorkers(queue, id -> {
+            if (id == 0) {
+                for (int i = 1; i < total; i++) {
+                    queue.add(item(i));
+                }
+            }
+            runs.incrementAndGet(id);
+            if (completed.incrementAndGet() == total) {
+                poison(queue);
+            }
+        });
+
+        queue.add(item(0));
+        join(workers);
+
+        for (int i = 0; i < total; i++) {
+            Assert.assertEquals(runs.get(i), 1, "item " + i + " was not taken exactly once");
+        }
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test(timeOut = 60000)
+    public void testShutdownWhileStealing() throws InterruptedException {
+        int total = 2000;
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(WORKERS);
+        AtomicIntegerArray runs = new AtomicIntegerArray(total);
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch stealing = new CountDownLatch(1);
+        List<Thread> workers = startWorkers(queue, id -> {
+            if (id == 0) {
+                // fill the local deque of the first worker, the others can only steal from it
+                for (int i = 1; i < total; i++) {
+                    queue.add(item(i));
+                }
+            }
+            runs.incrementAndGet(id);
+            if (completed.incrementAndGet() == total / 4) {
+                stealing.countDown();
+            }
+            busyWait();
+        });
+
+        queue.add(item(0));
+        stealing.await();
+        poison(queue);
+        join(workers);
+
+        // every worker exits on its poison pill, the groups that are not taken by then must still be in the queue
+        int taken = 0;
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(runs.get(i) <= 1, "item " + i + " was taken more than once");
+            taken += runs.get(i);
+        }
+        Assert.assertEquals(taken + queue.size(), total);
+    }
+
+    @Test(timeOut = 60000)
+    public void testSchedulerWithWorkStealingPolicy() {
+        int children = 2000;
+        Scheduler scheduler = new Scheduler(WORKERS, false, RuntimeConstants.SCHEDULER_POLICY_WORK_STEALING,
+                                            RuntimeConstants.STRAND_EXECUTOR_PLATFORM);
+        AtomicIntegerArray runs = new AtomicIntegerArray(children);
+        AtomicReference<BError> error = new AtomicReference<>();
+        Function<Object[], Object> root = params -> {
+            Strand strand = (Strand) params[0];
+            for (int i = 0; i < children; i++) {
+                int id = i;
+                Function<Object[], Object> child = childParams -> runs.incrementAndGet(id);
+                scheduler.schedule(new Object[1], child, strand, null, "child-" + i, null);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], root, null, new Callback() {
+            @Override
+            public void notifySuccess(Object result) {
+            }
+
+            @Override
+            public void notifyFailure(BError e) {
+                error.set(e);
+            }
+        }, "root", null);
+        scheduler.start();
+
+        Assert.assertNull(error.get());
+        for (int i = 0; i < children; i++) {
+            Assert.assertEquals(runs.get(i), 1, "strand " + i + " did not run exactly once");
+        }
+    }
+
+    private static List<Thread> startWorkers(WorkStealingRunQueue queue, IntConsumer task)
+            throws InterruptedException {
+        CountDownLatch registered = new CountDownLatch(WORKERS);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < WORKERS; i++) {
+            Thread worker = new Thread(() -> {
+                queue.registerWorker();
+                registered.countDown();
+                while (true) {
+                    ItemGroup group;
+                    try {
+                        group = queue.take();
+                    } catch (InterruptedException e) {
+                        continue;
+                    }
+                    if (group == POISON_PILL) {
+                        return;
+                    }
+                    task.accept((Integer) group.get().execute());
+                }
+            }, "test-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        registered.await();
+        return workers;
+    }
+
+    private static ItemGroup item(int id) {
+        return new ItemGroup(new SchedulerItem(params -> id, new Object[0], null));
+    }
+
+    private static void poison(WorkStealingRunQueue queue) {
+        for (int i = 0; i < WORKERS; i++) {
+            queue.add(POISON_PILL);
+        }
+    }
+
+    private static void busyWait() {
+        long end = System.nanoTime() + 10000;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void join(List<Thread> workers) throws InterruptedException {
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.BLock;
+import io.ballerina.runtime.internal.BLockStore;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link BLock} and {@link BLockStore}.
+ */
+public class BLockTest {
+
+    private static final int THREADS = 4;
+    private static final int STRANDS = 100;
+    private static final int INCREMENTS = 100;
+
+    @Test
+    public void testPanicIfInLock() {
+        BLockStore lockStore = new BLockStore();
+        BLock outer = lockStore.getLockFromMap("lock0");
+        BLock inner = lockStore.getLockFromMap("lock1");
+        Strand strand = new Strand("s1", null, new Scheduler(false), null, null);
+
+        lockStore.panicIfInLock("lock", strand);
+        Assert.assertTrue(outer.lock(strand));
+        Assert.assertTrue(outer.lock(strand));
+        Assert.assertTrue(inner.lock(strand));
+        assertPanics(lockStore, strand);
+        inner.unlock();
+        outer.unlock();
+        assertPanics(lockStore, strand);
+        outer.unlock();
+        lockStore.panicIfInLock("lock", strand);
+        Assert.assertSame(lockStore.getLockFromMap("lock0"), outer);
+    }
+
+    @Test(timeOut = 60000)
+    public void testContendedLock() {
+        Scheduler scheduler = new Scheduler(THREADS, false);
+        BLock lock = new BLock();
+        long[] counter = new long[1];
+        for (int i = 0; i < STRANDS; i++) {
+            int[] done = new int[1];
+            // follows the generated code, which calls lock again when the strand is resumed
+            Function<Object[], Object> func = params -> {
+                Strand strand = (Strand) params[0];
+                for (; done[0] < INCREMENTS; done[0]++) {
+                    lock.lock(strand);
+                    if (strand.isYielded()) {
+                        return null;
+                    }
+                    counter[0]++;
+                    lock.unlock();
+                    Assert.assertFalse(strand.isInLock());
+                }
+                return null;
+            };
+            scheduler.schedule(new Object[1], func, null, null, "s" + i, null);
+        }
+        scheduler.start();
+        Assert.assertEquals(counter[0], STRANDS * INCREMENTS);
+        Assert.assertTrue(lock.isLockFree());
+    }
+
+    private static void assertPanics(BLockStore lockStore, Strand strand) {
+        try {
+            lockStore.panicIfInLock("lock", strand);
+            Assert.fail("async call inside a lock should panic");
+        } catch (BError e) {
+            Assert.assertEquals(e.getMessage(), "{ballerina}AsyncCallInsideLockError");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.internal.JsonGenerator;
+import io.ballerina.runtime.internal.JsonParser;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for generating JSON content as UTF-8 bytes and strings.
+ *
+ * @since 2.0.0
+ */
+public class JsonGeneratorTest {
+
+    @Test
+    public void testGenerateString() throws IOException {
+        Object json = JsonParser.parse("{\"name\": \"caf\\u00e9 \\u4e2d\\u6587 \\ud83d\\ude00\", " +
+                                               "\"escaped\": \"a\\\"b\\\\c/d\\te\", \"plain\": \"a/b\", " +
+                                               "\"values\": [1, -20, 3.5, 1.0E-7, -0.0, true, null, {}, []]}");
+        String expected = "{\"name\":\"café 中文 😀\", \"escaped\":\"a\\\"b\\\\c\\/d\\te\", " +
+                "\"plain\":\"a/b\", \"values\":[1, -20, 3.5, 1.0E-7, -0.0, true, null, {}, []]}";
+        Assert.assertEquals(JsonGenerator.serializeToString(json), expected);
+        Assert.assertEquals(StringUtils.getJsonString(json), expected);
+        Assert.assertEquals(JsonUtils.serializeToBytes(json), expected.getBytes(StandardCharsets.UTF_8));
+
+        StringWriter writer = new StringWriter();
+        JsonUtils.serialize(json, writer);
+        Assert.assertEquals(writer.toString(), expected);
+    }
+
+    @Test
+    public void testGenerateNumbers() throws IOException {
+        Object json = JsonParser.parse("[0, 7, -7, 1234567890123, -9223372036854775808, 9223372036854775807]");
+        Assert.assertEquals(JsonGenerator.serializeToString(json),
+                            "[0, 7, -7, 1234567890123, -9223372036854775808, 9223372036854775807]");
+    }
+
+    @Test
+    public void testUnpairedSurrogates() throws IOException {
+        // unpaired surrogates are encoded as '?', as done when writing through an OutputStreamWriter
+        Object json = StringUtils.fromString("a\ud83db\ude00");
+        Assert.assertEquals(JsonGenerator.serializeToString(JsonParser.parse("[\"a\\ud83db\\ude00\"]")),
+                            "[\"a?b?\"]");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtils.serialize(json, out, StandardCharsets.UTF_8);
+        Assert.assertEquals(out.toString(StandardCharsets.UTF_8), "\"a?b?\"");
+    }
+
+    @Test
+    public void testGenerateLargeContent() throws IOException {
+        // the content is larger than the buffer of the generator, which is flushed to the stream when full
+        StringBuilder jsonStr = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            jsonStr.append(i == 0 ? "" : ", ").append("\"é").append(i).append("😀\"");
+        }
+        jsonStr.append("]");
+        Object json = JsonParser.parse(jsonStr.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtils.serialize(json, out, StandardCharsets.UTF_8);
+        Assert.assertEquals(out.toString(StandardCharsets.UTF_8), jsonStr.toString());
+        Assert.assertEquals(JsonGenerator.serializeToString(json), jsonStr.toString());
+
+        ByteArrayOutputStream otherCharsetOut = new ByteArrayOutputStream();
+        JsonUtils.serialize(json, otherCharsetOut, StandardCharsets.UTF_16);
+        Assert.assertEquals(otherCharsetOut.toString(StandardCharsets.UTF_16), jsonStr.toString());
+    }
+}
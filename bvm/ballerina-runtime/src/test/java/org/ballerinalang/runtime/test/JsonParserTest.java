@@ -0,0 +1,210 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonParser;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Test cases for parsing JSON content from bytes and strings, and directly into values of a given type.
+ *
+ * @since 2.0.0
+ */
+public class JsonParserTest {
+
+    @Test
+    public void testParseToMapAndArray() {
+        Type targetType = TypeCreator.createMapType(TypeCreator.createArrayType(PredefinedTypes.TYPE_INT));
+        BMap<BString, Object> map = (BMap<BString, Object>) JsonParser.parse("{\"a\": [1, 2], \"b\": []}", targetType);
+
+        Assert.assertSame(map.getType(), targetType);
+        BArray array = (BArray) map.get(StringUtils.fromString("a"));
+        Assert.assertEquals(array.getElementType().getTag(), PredefinedTypes.TYPE_INT.getTag());
+        Assert.assertEquals(array.getInt(1), 2L);
+        Assert.assertEquals(((BArray) map.get(StringUtils.fromString("b"))).size(), 0);
+    }
+
+    @Test
+    public void testNumericConversion() {
+        Type targetType = TypeCreator.createArrayType(PredefinedTypes.TYPE_FLOAT);
+        BArray array = (BArray) JsonParser.parse("[1.5, 2, -0.0]", targetType);
+        Assert.assertEquals(array.getFloat(0), 1.5d);
+        Assert.assertEquals(array.getFloat(1), 2.0d);
+        Assert.assertEquals(array.getFloat(2), -0.0d);
+    }
+
+    @Test
+    public void testParseToNilableType() {
+        Type targetType = TypeCreator.createMapType(
+                TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_STRING, PredefinedTypes.TYPE_NULL)));
+        BMap<BString, Object> map = (BMap<BString, Object>) JsonParser.parse("{\"a\": \"x\", \"b\": null}",
+                                                                                 targetType);
+        Assert.assertEquals(map.get(StringUtils.fromString("a")).toString(), "x");
+        Assert.assertTrue(map.containsKey(StringUtils.fromString("b")));
+        Assert.assertNull(map.get(StringUtils.fromString("b")));
+    }
+
+    @Test
+    public void testParseToJsonAndAnydata() {
+        String jsonStr = "{\"a\": [1, \"x\", {\"b\": true}], \"c\": 1.5}";
+        Object jsonValue = JsonParser.parse(jsonStr, PredefinedTypes.TYPE_JSON);
+        Assert.assertEquals(jsonValue.toString(), JsonParser.parse(jsonStr).toString());
+        Assert.assertTrue(TypeChecker.checkIsType(jsonValue, PredefinedTypes.TYPE_JSON));
+
+        BMap<?, ?> anydataValue = (BMap<?, ?>) JsonParser.parse(jsonStr, PredefinedTypes.TYPE_ANYDATA);
+        Assert.assertEquals(anydataValue.toString(), jsonValue.toString());
+        BArray array = (BArray) anydataValue.get(StringUtils.fromString("a"));
+        Assert.assertSame(array.getElementType(), PredefinedTypes.TYPE_ANYDATA);
+    }
+
+    @Test
+    public void testIncompatibleValues() {
+        Type targetType = TypeCreator.createMapType(PredefinedTypes.TYPE_INT);
+        assertParseError("{\"a\": 1,\n \"b\": \"x\"}", targetType, "'string' value cannot be converted to 'int'");
+        assertParseError("{\"a\": null}", targetType, "cannot convert '()' to type 'int'");
+        assertParseError("{\"a\": {}}", targetType, "a JSON object cannot be converted to 'int'");
+        assertParseError("[1]", targetType, "a JSON array cannot be converted to 'map<int>'");
+    }
+
+    @Test
+    public void testUnsupportedTypes() {
+        Assert.assertTrue(JsonParser.isParsableToType(PredefinedTypes.TYPE_JSON));
+        Assert.assertTrue(JsonParser.isParsableToType(TypeCreator.createUnionType(
+                List.of(TypeCreator.createMapType(PredefinedTypes.TYPE_INT), PredefinedTypes.TYPE_STRING))));
+        Assert.assertFalse(JsonParser.isParsableToType(TypeCreator.createUnionType(
+                List.of(TypeCreator.createMapType(PredefinedTypes.TYPE_INT), PredefinedTypes.TYPE_JSON))));
+        Assert.assertFalse(JsonParser.isParsableToType(TypeCreator.createArrayType(PredefinedTypes.TYPE_INT, 2)));
+        Assert.assertFalse(JsonParser.isParsableToType(
+                TypeCreator.createTupleType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING))));
+        Assert.assertFalse(JsonParser.isParsableToType(PredefinedTypes.TYPE_XML));
+    }
+
+    @Test
+    public void testParseUtf8Bytes() {
+        String jsonStr = "{\"name\": \"caf\u00e9 \u4e2d\u6587 \ud83d\ude00\", \"escaped\": \"a\\tb\\u00e9\", " +
+                "\"values\": [1, -2, 3.5, -0, true, false, null]}";
+        byte[] bytes = jsonStr.getBytes(StandardCharsets.UTF_8);
+        String expected = JsonParser.parse(jsonStr).toString();
+
+        Assert.assertEquals(JsonUtils.parse(bytes).toString(), expected);
+        Assert.assertEquals(JsonUtils.parse(new ByteArrayInputStream(bytes), "UTF-8").toString(), expected);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+        Assert.assertEquals(JsonUtils.parse(directBuffer, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING)
+                                    .toString(), expected);
+        Assert.assertFalse(directBuffer.hasRemaining());
+    }
+
+    @Test
+    public void testParseLargeUtf8Content() {
+        // characters of multiple bytes are split across the chunks in which the content is decoded
+        StringBuilder jsonStr = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            jsonStr.append(i == 0 ? "" : ", ").append("\"\u00e9").append(i).append("\ud83d\ude00\"");
+        }
+        jsonStr.append("]");
+        byte[] bytes = jsonStr.toString().getBytes(StandardCharsets.UTF_8);
+
+        BArray array = (BArray) JsonUtils.parse(new ByteArrayInputStream(bytes), "UTF-8");
+        Assert.assertEquals(array.size(), 2000);
+        Assert.assertEquals(array.getRefValue(1999).toString(), "\u00e91999\ud83d\ude00");
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+        Assert.assertEquals(JsonUtils.parse(directBuffer, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING)
+                                    .toString(), array.toString());
+    }
+
+    @Test
+    public void testParseMalformedUtf8Bytes() {
+        byte[] bytes = {'"', 'a', (byte) 0xC3, 'b', (byte) 0xE4, (byte) 0xB8, '"'};
+        Assert.assertEquals(JsonUtils.parse(bytes).toString(), "a\ufffdb\ufffd\ufffd");
+    }
+
+    @Test
+    public void testParseNumbers() {
+        String[] numbers = {"0", "-1", "123456789012345678", "1234567890123456789", "0.1", "-0.0", "1e22", "1.5e-5",
+                "2.5E+3", "0.30000000000000004", "123456789.123456789", "4.9e-324", "1.7976931348623157e308"};
+        for (String number : numbers) {
+            Assert.assertEquals(JsonUtils.parse(number, JsonUtils.NonStringValueProcessingMode.FROM_JSON_FLOAT_STRING),
+                                Double.parseDouble(number), number);
+            Assert.assertEquals(((DecimalValue) JsonUtils.parse(
+                    number, JsonUtils.NonStringValueProcessingMode.FROM_JSON_DECIMAL_STRING)).value(),
+                                new BigDecimal(number, MathContext.DECIMAL128), number);
+        }
+        Assert.assertEquals(JsonParser.parse("-9223372036854775808"), Long.MIN_VALUE);
+        Assert.assertEquals(JsonParser.parse("[007, -0]").toString(), "[7,-0.0]");
+        Assert.assertEquals(JsonParser.parse("1.50").toString(), "1.50");
+        assertParseError("9223372036854775808", "unrecognized token '9223372036854775808'");
+        assertParseError("[1, 1e5]", "unrecognized token '1e5'");
+        assertParseError("{\"a\": tru}", "unrecognized token 'tru'");
+        assertParseError("{\"a\": ,}", "unrecognized token ''");
+    }
+
+    @Test
+    public void testSharedFieldNames() {
+        String jsonStr = "[{\"id\": 1, \"\u00e9\": 2}, {\"\u00e9\": 3, \"id\": 4}]";
+        BArray array = (BArray) JsonParser.parse(jsonStr);
+        BString[] first = ((BMap<BString, ?>) array.get(0)).getKeys();
+        BString[] second = ((BMap<BString, ?>) array.get(1)).getKeys();
+        Assert.assertSame(first[0], second[1]);
+        Assert.assertSame(first[1], second[0]);
+        Assert.assertEquals(((BMap<BString, ?>) array.get(1)).get(StringUtils.fromString("id")), 4L);
+
+        BArray lazyArray = (BArray) JsonUtils.parseLazy(jsonStr.getBytes(StandardCharsets.UTF_8));
+        Assert.assertSame(((BMap<BString, ?>) lazyArray.get(0)).getKeys()[0],
+                          ((BMap<BString, ?>) lazyArray.get(1)).getKeys()[1]);
+    }
+
+    private void assertParseError(String jsonStr, String message) {
+        try {
+            JsonParser.parse(jsonStr);
+            Assert.fail("expected a parsing error for " + jsonStr);
+        } catch (BError e) {
+            Assert.assertTrue(e.getMessage().startsWith(message), e.getMessage());
+        }
+    }
+
+    private void assertParseError(String jsonStr, Type targetType, String message) {
+        try {
+            JsonParser.parse(jsonStr, targetType);
+            Assert.fail("expected a parsing error for " + jsonStr);
+        } catch (BError e) {
+            Assert.assertTrue(e.getMessage().startsWith(message), e.getMessage());
+        }
+    }
+}
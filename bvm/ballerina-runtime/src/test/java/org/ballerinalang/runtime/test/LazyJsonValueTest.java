@@ -0,0 +1,212 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.JsonGenerator;
+import io.ballerina.runtime.internal.values.LazyJsonValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for JSON values created lazily from the bytes of a JSON document.
+ *
+ * @since 2.0.0
+ */
+public class LazyJsonValueTest {
+
+    private static final String JSON_STR = "{\"id\": 1, \"name\": \"caf\\u00e9 \u4e2d\", \"tags\": [\"a\", 2.5, -0, " +
+            "true, null, {}], \"nested\" : { \"b\" : [ 1 , 2 ] }, \"empty\": []}";
+
+    @Test
+    public void testPartialAccess() {
+        BMap<BString, Object> map = parseLazy(JSON_STR);
+        Assert.assertNotNull(((LazyJsonValue) map).getJsonIndex());
+
+        Assert.assertEquals(map.get(StringUtils.fromString("id")), 1L);
+        Assert.assertNull(((LazyJsonValue) map).getJsonIndex());
+        Assert.assertEquals(map.get(StringUtils.fromString("name")).toString(), "caf\u00e9 \u4e2d");
+        BArray tags = (BArray) map.get(StringUtils.fromString("tags"));
+        BMap<?, ?> nested = (BMap<?, ?>) map.get(StringUtils.fromString("nested"));
+        Assert.assertNotNull(((LazyJsonValue) tags).getJsonIndex());
+        Assert.assertNotNull(((LazyJsonValue) nested).getJsonIndex());
+
+        Assert.assertEquals(tags.size(), 6);
+        Assert.assertNull(((LazyJsonValue) tags).getJsonIndex());
+        Assert.assertEquals(tags.get(1).toString(), "2.5");
+        Assert.assertEquals(tags.get(2), -0.0d);
+        Assert.assertNull(tags.get(4));
+        Assert.assertNotNull(((LazyJsonValue) nested).getJsonIndex());
+    }
+
+    @Test
+    public void testSameValuesAsEagerParsing() {
+        byte[] bytes = JSON_STR.getBytes(StandardCharsets.UTF_8);
+        Object eagerValue = JsonUtils.parse(bytes);
+        Object lazyValue = JsonUtils.parseLazy(bytes);
+        Assert.assertEquals(StringUtils.getJsonString(lazyValue), StringUtils.getJsonString(eagerValue));
+        Assert.assertEquals(lazyValue.toString(), eagerValue.toString());
+
+        for (JsonUtils.NonStringValueProcessingMode mode : JsonUtils.NonStringValueProcessingMode.values()) {
+            String numbers = "[0, -1, 1.50, 1.0e2, -2.5E-3, 123456789012345678]";
+            Assert.assertEquals(JsonUtils.parseLazy(numbers.getBytes(StandardCharsets.UTF_8), mode).toString(),
+                                JsonUtils.parse(numbers, mode).toString(), mode.name());
+        }
+        Assert.assertEquals(JsonUtils.parseLazy("\"a\\tb\"".getBytes(StandardCharsets.UTF_8)).toString(), "a\tb");
+        Assert.assertEquals(JsonUtils.parseLazy(" 12 ".getBytes(StandardCharsets.UTF_8)), 12L);
+    }
+
+    @Test
+    public void testCopyUntouchedValues() throws IOException {
+        BMap<BString, Object> map = parseLazy(JSON_STR);
+        map.put(StringUtils.fromString("id"), 2L);
+        String expected = "{\"id\":2, \"name\":\"caf\u00e9 \u4e2d\", \"tags\":[\"a\", 2.5, -0, true, null, {}], " +
+                "\"nested\":{ \"b\" : [ 1 , 2 ] }, \"empty\":[]}";
+
+        byte[] bytes = JsonUtils.serializeToBytes(map);
+        Assert.assertEquals(new String(bytes, StandardCharsets.UTF_8), expected);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonGenerator gen = new JsonGenerator(out, StandardCharsets.UTF_8);
+        gen.serialize(map);
+        gen.flush();
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), expected);
+        // strings are generated from the values, which creates the members of the values
+        Assert.assertEquals(map.toString(), JsonUtils.parse(expected).toString());
+    }
+
+    @Test
+    public void testCopyLargeValue() {
+        StringBuilder jsonStr = new StringBuilder("{\"a\": 1, \"values\": [");
+        for (int i = 0; i < 5000; i++) {
+            jsonStr.append(i == 0 ? "" : ",").append("{\"v\": \"\u00e9").append(i).append("\"}");
+        }
+        jsonStr.append("]}");
+        BMap<BString, Object> map = parseLazy(jsonStr.toString());
+        map.remove(StringUtils.fromString("a"));
+        String serialized = new String(JsonUtils.serializeToBytes(map), StandardCharsets.UTF_8);
+        Assert.assertEquals(serialized, "{\"values\":" + jsonStr.substring(jsonStr.indexOf("[")));
+    }
+
+    @Test
+    public void testMutation() {
+        BMap<BString, Object> map = parseLazy(JSON_STR);
+        BArray tags = (BArray) map.get(StringUtils.fromString("tags"));
+        tags.append(StringUtils.fromString("b"));
+        BMap<BString, Object> nested = (BMap<BString, Object>) map.get(StringUtils.fromString("nested"));
+        nested.put(StringUtils.fromString("c"), null);
+
+        Assert.assertEquals(new String(JsonUtils.serializeToBytes(map), StandardCharsets.UTF_8),
+                            "{\"id\":1, \"name\":\"caf\u00e9 \u4e2d\", \"tags\":[\"a\", 2.5, -0.0, true, null, {}, " +
+                                    "\"b\"], \"nested\":{\"b\":[ 1 , 2 ], \"c\":null}, \"empty\":[]}");
+    }
+
+    @Test
+    public void testCopyAndFreeze() {
+        BMap<BString, Object> map = parseLazy(JSON_STR);
+        BMap<BString, Object> copy = (BMap<BString, Object>) map.copy(new HashMap<>());
+        Assert.assertNotNull(((LazyJsonValue) copy).getJsonIndex());
+        copy.put(StringUtils.fromString("id"), 2L);
+        Assert.assertNotNull(((LazyJsonValue) map).getJsonIndex());
+        Assert.assertEquals(map.get(StringUtils.fromString("id")), 1L);
+
+        map.freezeDirect();
+        Assert.assertTrue(map.isFrozen());
+        Assert.assertTrue(((BArray) map.get(StringUtils.fromString("tags"))).isFrozen());
+        try {
+            map.put(StringUtils.fromString("id"), 3L);
+            Assert.fail("expected an error when updating a read-only value");
+        } catch (BError e) {
+            Assert.assertEquals(e.getMessage(), "{ballerina/lang.map}InvalidUpdate");
+        }
+    }
+
+    @Test
+    public void testNonStrictContent() {
+        // content not indexed is parsed eagerly, which reports the same errors
+        Assert.assertEquals(JsonUtils.parseLazy("[007, 1]".getBytes(StandardCharsets.UTF_8)).toString(), "[7,1]");
+        Assert.assertFalse(JsonUtils.parseLazy("[007, 1]".getBytes(StandardCharsets.UTF_8)) instanceof LazyJsonValue);
+        String[] invalidContent = {"", "{\"a\": tru}", "[1, 1e5]", "{\"a\" 1}", "[1,]", "{\"a\": 1} x", "\"\\x\""};
+        for (String content : invalidContent) {
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            try {
+                JsonUtils.parseLazy(bytes);
+                Assert.fail("expected a parsing error for " + content);
+            } catch (BError e) {
+                try {
+                    JsonUtils.parse(bytes);
+                    Assert.fail("expected a parsing error for " + content);
+                } catch (BError expected) {
+                    Assert.assertEquals(e.getMessage(), expected.getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        StringBuilder jsonStr = new StringBuilder("{");
+        for (int i = 0; i < 2000; i++) {
+            jsonStr.append(i == 0 ? "" : ",").append("\"f").append(i).append("\": [").append(i).append(", 0]");
+        }
+        jsonStr.append("}");
+        BString lastField = StringUtils.fromString("f1999");
+        int threadCount = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (int iteration = 0; iteration < 50; iteration++) {
+                BMap<BString, Object> map = parseLazy(jsonStr.toString());
+                CyclicBarrier barrier = new CyclicBarrier(threadCount);
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < threadCount; i++) {
+                    // the threads materialize the object and its last array at the same time
+                    results.add(executor.submit(() -> {
+                        barrier.await();
+                        BArray last = (BArray) map.get(lastField);
+                        return map.size() + ":" + last.size() + ":" + last.get(0);
+                    }));
+                }
+                for (Future<String> result : results) {
+                    Assert.assertEquals(result.get(), "2000:2:1999");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static BMap<BString, Object> parseLazy(String jsonStr) {
+        return (BMap<BString, Object>) JsonUtils.parseLazy(jsonStr.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.internal.LongCache;
+import io.ballerina.runtime.internal.TypeChecker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for boxing and unboxing {@code int} values.
+ *
+ * @since 2.0.0
+ */
+public class LongCacheTest {
+
+    @Test
+    public void testCachedValuesAreShared() {
+        Assert.assertSame(LongCache.valueOf(-128), LongCache.valueOf(-128));
+        Assert.assertSame(LongCache.valueOf(0), LongCache.valueOf(0));
+        Assert.assertSame(LongCache.valueOf(1000), LongCache.valueOf(1000));
+        Assert.assertSame(LongCache.valueOf(1023), LongCache.valueOf(1023));
+    }
+
+    @Test
+    public void testValuesOutOfRange() {
+        long[] values = {-129, 1024, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long value : values) {
+            Assert.assertEquals(LongCache.valueOf(value).longValue(), value);
+        }
+    }
+
+    @Test
+    public void testUnboxing() {
+        Assert.assertEquals(TypeChecker.anyToInt(LongCache.valueOf(512)), 512L);
+        Assert.assertEquals(TypeChecker.anyToFloat(2.5d), 2.5d);
+        Assert.assertTrue(TypeChecker.anyToBoolean(Boolean.TRUE));
+        // values of other types are still converted
+        Assert.assertEquals(TypeChecker.anyToInt(2.0d), 2L);
+        Assert.assertEquals(TypeChecker.anyToFloat(LongCache.valueOf(3)), 3.0d);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.scheduling.AsyncUtils;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.State;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import io.ballerina.runtime.internal.values.FutureValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Stress tests for the wait and notify paths of the {@link Scheduler}.
+ */
+public class SchedulerStressTest {
+
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 20;
+    private static final int CHILDREN = 200;
+
+    @Test(timeOut = 60000)
+    public void testFanInWithWaitAny() {
+        for (int round = 0; round < ROUNDS; round++) {
+            Scheduler scheduler = new Scheduler(THREADS, false);
+            AtomicInteger completed = new AtomicInteger();
+            List<FutureValue> futures = new ArrayList<>();
+            Function<Object[], Object> root = params -> {
+                Strand strand = (Strand) params[0];
+                if (futures.isEmpty()) {
+                    spawnYieldingChildren(scheduler, strand, futures);
+                }
+                while (true) {
+                    futures.removeIf(future -> {
+                        boolean done = future.isDone;
+                        if (done) {
+                            completed.incrementAndGet();
+                        }
+                        return done;
+                    });
+                    if (futures.isEmpty()) {
+                        return null;
+                    }
+                    try {
+                        if (!strand.handleWaitAny(futures).done) {
+                            // yield until one of the futures completes
+                            return null;
+                        }
+                    } catch (Throwable e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            };
+            AtomicReference<Object> error = runToCompletion(scheduler, root);
+            Assert.assertNull(error.get());
+            Assert.assertEquals(completed.get(), CHILDREN);
+        }
+    }
+
+    @Test(timeOut = 60000)
+    public void testFanInWithWaitMultiple() {
+        for (int round = 0; round < ROUNDS; round++) {
+            Scheduler scheduler = new Scheduler(THREADS, false);
+            Map<String, FutureValue> futures = new HashMap<>();
+            MapValueImpl<Object, Object> target = new MapValueImpl<>();
+            AtomicInteger resumed = new AtomicInteger();
+            Function<Object[], Object> root = params -> {
+                Strand strand = (Strand) params[0];
+                if (futures.isEmpty()) {
+                    List<FutureValue> children = new ArrayList<>();
+                    spawnYieldingChildren(scheduler, strand, children);
+                    for (int i = 0; i < children.size(); i++) {
+                        futures.put("f" + i, children.get(i));
+                    }
+                } else {
+                    resumed.incrementAndGet();
+                }
+                try {
+                    strand.handleWaitMultiple(futures, target);
+                } catch (Throwable e) {
+                    throw new AssertionError(e);
+                }
+                return null;
+            };
+            AtomicReference<Object> error = runToCompletion(scheduler, root);
+            Assert.assertNull(error.get());
+            Assert.assertTrue(resumed.get() <= 1, "waiting strand got rescheduled more than once");
+            Assert.assertEquals(target.size(), CHILDREN);
+            futures.values().forEach(future -> Assert.assertTrue(future.isDone));
+        }
+    }
+
+    @Test(timeOut = 60000)
+    public void testUnblockRacingWithYield() {
+        ExecutorService unblockers = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Scheduler scheduler = new Scheduler(THREADS, false);
+                AtomicInteger resumed = new AtomicInteger();
+                Function<Object[], Object> root = params -> {
+                    Strand strand = (Strand) params[0];
+                    for (int i = 0; i < CHILDREN; i++) {
+                        boolean unblockInline = i % 2 == 0;
+                        AtomicInteger calls = new AtomicInteger();
+                        Function<Object[], Object> blocking = childParams -> {
+                            Strand child = (Strand) childParams[0];
+                            if (calls.getAndIncrement() > 0) {
+                                child.blockedOnExtern = false;
+                                resumed.incrementAndGet();
+                                return null;
+                            }
+                            AsyncUtils.blockStrand(child);
+                            if (unblockInline) {
+                                // unblocked before the strand returns to the scheduler
+                                scheduler.unblockStrand(child);
+                            } else {
+                                unblockers.submit(() -> scheduler.unblockStrand(child));
+                            }
+                            return null;
+                        };
+                        scheduler.schedule(new Object[1], blocking, strand, null, "child-" + i, null);
+                    }
+                    return null;
+                };
+                AtomicReference<Object> error = runToCompletion(scheduler, root);
+                Assert.assertNull(error.get());
+                Assert.assertEquals(resumed.get(), CHILDREN);
+            }
+        } finally {
+            unblockers.shutdownNow();
+        }
+    }
+
+    private static void spawnYieldingChildren(Scheduler scheduler, Strand parent, List<FutureValue> futures) {
+        for (int i = 0; i < CHILDREN; i++) {
+            long value = i;
+            AtomicInteger calls = new AtomicInteger();
+            Function<Object[], Object> child = params -> {
+                Strand strand = (Strand) params[0];
+                if (value % 3 == 0 && calls.getAndIncrement() == 0) {
+                    strand.setState(State.YIELD);
+                    return null;
+                }
+                return value;
+            };
+            futures.add(scheduler.schedule(new Object[1], child, parent, null, "child-" + i, null));
+        }
+    }
+
+    private static AtomicReference<Object> runToCompletion(Scheduler scheduler, Function<Object[], Object> root) {
+        AtomicReference<Object> error = new AtomicReference<>();
+        scheduler.schedule(new Object[1], root, null, new Callback() {
+            @Override
+            public void notifySuccess(Object result) {
+            }
+
+            @Override
+            public void notifyFailure(BError e) {
+                error.set(e);
+            }
+        }, "root", null);
+        scheduler.start();
+        return error;
+    }
+}
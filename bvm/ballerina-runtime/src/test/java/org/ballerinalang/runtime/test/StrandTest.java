@@ -0,0 +1,76 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test cases for lazily initialized state of {@link Strand}.
+ */
+@SuppressWarnings("deprecation")
+public class StrandTest {
+
+    @Test
+    public void testChildStrandPropertiesAreCopiedOnWrite() {
+        Strand parent = new Strand("parent", null, null, null, null);
+        parent.setProperty("a", 1L);
+        Strand child = new Strand("child", null, null, parent, null);
+        Assert.assertEquals(child.getProperty("a"), 1L);
+
+        child.setProperty("b", 2L);
+        parent.setProperty("a", 3L);
+        Assert.assertNull(parent.getProperty("b"));
+        Assert.assertEquals(child.getProperty("a"), 1L);
+        Assert.assertEquals(parent.getProperty("a"), 3L);
+    }
+
+    @Test
+    public void testProvidedPropertiesAreWrittenInPlace() {
+        Map<String, Object> properties = new HashMap<>();
+        Strand strand = new Strand("strand", null, null, null, properties);
+        Strand child = new Strand("child", null, null, strand, null);
+        strand.setProperty("a", 1L);
+        child.setProperty("b", 2L);
+        Assert.assertEquals(properties.get("a"), 1L);
+        Assert.assertNull(properties.get("b"));
+        Assert.assertNull(child.getProperty("a"));
+    }
+
+    @Test
+    public void testPushFrameBeyondInitialCapacity() {
+        Strand strand = new Strand("strand", null, null, null, null);
+        Assert.assertNull(strand.frames);
+        for (int i = 0; i < 150; i++) {
+            strand.pushFrame(i);
+        }
+        Assert.assertEquals(strand.resumeIndex, 150);
+        Assert.assertEquals(strand.frames[149], 149);
+    }
+
+    @Test
+    public void testWorkerDataChannelsAreCreatedOnce() {
+        Strand strand = new Strand("strand", null, null, null, null);
+        Assert.assertSame(strand.getWDChannels(), strand.getWDChannels());
+    }
+}
@@ -1,5 +1,8 @@
 package org.ballerinalang.runtime.test;
 
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.ConcatenatedStringValue;
 import io.ballerina.runtime.internal.values.NonBmpStringValue;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -40,4 +43,68 @@ public class StringValueTests {
         Assert.assertEquals(SUBJECT.length(), 16);
     }
 
+    @Test
+    void testManySurrogatePairs() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            builder.append(i % 3 == 0 ? "\uD83D\uDC7D" : "a").append(i % 7 == 0 ? "\uD83D\uDEF8b" : "c");
+        }
+        String value = builder.toString();
+        int[] codePoints = value.codePoints().toArray();
+        BString str = StringUtils.fromString(value);
+        Assert.assertEquals(str.length(), codePoints.length);
+        for (int i = 0; i < codePoints.length; i++) {
+            Assert.assertEquals(str.getCodePoint(i), codePoints[i]);
+        }
+        BString part = StringUtils.fromString("\uD83D\uDEF8b");
+        int offset = value.indexOf(part.getValue(), value.offsetByCodePoints(0, 10));
+        Assert.assertEquals(str.indexOf(part, 10), (Long) (long) value.codePointCount(0, offset));
+        offset = value.lastIndexOf(part.getValue(), value.offsetByCodePoints(0, codePoints.length - 3));
+        Assert.assertEquals(str.lastIndexOf(part, codePoints.length - 3),
+                            (Long) (long) value.codePointCount(0, offset));
+        Assert.assertEquals(str.substring(3, 9).getValue(), new String(codePoints, 3, 6));
+    }
+
+    @Test
+    void testConcatenationInLoop() {
+        BString str = StringUtils.fromString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String part = i % 10 == 0 ? "\uD83D\uDEF8" + i : "a" + i;
+            str = str.concat(StringUtils.fromString(part));
+            expected.append(part);
+        }
+        Assert.assertTrue(str instanceof ConcatenatedStringValue);
+        BString expectedStr = StringUtils.fromString(expected.toString());
+        Assert.assertEquals(str.length(), expectedStr.length());
+        Assert.assertEquals(str.getValue(), expected.toString());
+        Assert.assertEquals(str.hashCode(), expectedStr.hashCode());
+        Assert.assertEquals(str, expectedStr);
+        Assert.assertEquals(str.getCodePoint(1302), expectedStr.getCodePoint(1302));
+        BString part = StringUtils.fromString("a999");
+        Assert.assertEquals(str.indexOf(part, 0), expectedStr.indexOf(part, 0));
+        Assert.assertEquals(str.substring(5, 400).getValue(), expectedStr.substring(5, 400).getValue());
+    }
+
+    @Test
+    void testConcatenationOfSharedPrefix() {
+        BString prefix = StringUtils.fromString("x".repeat(100)).concat(StringUtils.fromString("y"));
+        BString first = prefix.concat(StringUtils.fromString("\uD83D\uDC7D"));
+        BString second = prefix.concat(StringUtils.fromString("z"));
+        Assert.assertEquals(prefix.getValue(), "x".repeat(100) + "y");
+        Assert.assertEquals(first.getValue(), "x".repeat(100) + "y\uD83D\uDC7D");
+        Assert.assertEquals(first.length(), 102);
+        Assert.assertEquals(first.getCodePoint(101), 0x1F47D);
+        Assert.assertEquals(second.getValue(), "x".repeat(100) + "yz");
+        Assert.assertEquals(prefix.concat(prefix).length(), 202);
+    }
+
+    @Test
+    void testShortConcatenation() {
+        BString str = StringUtils.fromString("ab").concat(SUBJECT).concat(SUBJECT);
+        Assert.assertEquals(str.length(), 34);
+        Assert.assertEquals(str.getCodePoint(3), 0x1F6F8);
+        Assert.assertEquals(str.getCodePoint(33), 'r');
+        Assert.assertEquals(str.getCodePoint(32), 0x1F47D);
+    }
 }
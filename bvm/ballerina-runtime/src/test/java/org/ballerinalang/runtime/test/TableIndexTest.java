@@ -0,0 +1,207 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BField;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.types.BTableType;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for the secondary indexes of {@link TableValueImpl}.
+ */
+public class TableIndexTest {
+
+    private static final BString ID = StringUtils.fromString("id");
+    private static final BString AGE = StringUtils.fromString("age");
+    private static final BString NAME = StringUtils.fromString("name");
+    private static final BString MESSAGE = StringUtils.fromString("message");
+
+    @Test
+    public void testHashIndex() {
+        BRecordType rowType = createRowType();
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = createTable(rowType);
+        for (long i = 0; i < 100; i++) {
+            table.add(row(rowType, i, i % 10, "name" + (i % 3)));
+        }
+        table.addIndex("name", false);
+        // rows added after the index is defined are indexed as well
+        for (long i = 100; i < 200; i++) {
+            table.add(row(rowType, i, i % 10, "name" + (i % 3)));
+        }
+        for (long i = 0; i < 200; i += 2) {
+            table.remove(i);
+        }
+
+        List<Object> expected = new ArrayList<>();
+        for (long i = 1; i < 200; i += 2) {
+            if (i % 3 == 1) {
+                expected.add(i);
+            }
+        }
+        Assert.assertEquals(getIds(table.getIndexedRows("name", "==", StringUtils.fromString("name1"))), expected);
+        Assert.assertTrue(table.getIndexedRows("name", "==", StringUtils.fromString("name3")).isEmpty());
+
+        // replacing a row moves it to the rows of its new field value
+        table.put(1L, row(rowType, 1L, 1L, "name3"));
+        expected.remove(1L);
+        Assert.assertEquals(getIds(table.getIndexedRows("name", "==", StringUtils.fromString("name1"))), expected);
+        Assert.assertEquals(getIds(table.getIndexedRows("name", "==", StringUtils.fromString("name3"))),
+                            Arrays.asList(1L));
+        // a hash index does not support range lookups
+        Assert.assertNull(table.getIndexedRows("name", "<", StringUtils.fromString("name1")));
+        Assert.assertNull(table.getIndexedRows("age", "==", 1L));
+
+        table.clear();
+        Assert.assertTrue(table.getIndexedRows("name", "==", StringUtils.fromString("name1")).isEmpty());
+    }
+
+    @Test
+    public void testSortedIndex() {
+        BRecordType rowType = createRowType();
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = createTable(rowType);
+        table.addIndex("age", true);
+        for (long i = 0; i < 300; i++) {
+            table.add(row(rowType, i, (i * 7) % 50, "name"));
+        }
+        // removes most of the rows, so that the index is updated when the rows are compacted
+        for (long i = 0; i < 300; i++) {
+            if (i % 5 != 0) {
+                table.remove(i);
+            }
+        }
+        for (long i = 300; i < 400; i++) {
+            table.add(row(rowType, i, (i * 7) % 50, "name"));
+        }
+        // replacing a row updates its field value in the index
+        table.put(0L, row(rowType, 0L, 49L, "name"));
+
+        List<Object> lessThan = new ArrayList<>();
+        List<Object> greaterThanEqual = new ArrayList<>();
+        List<Object> equal = new ArrayList<>();
+        for (long i = 0; i < 400; i++) {
+            if (i < 300 && i % 5 != 0) {
+                continue;
+            }
+            long age = i == 0 ? 49 : (i * 7) % 50;
+            if (age < 10) {
+                lessThan.add(i);
+            }
+            if (age >= 40) {
+                greaterThanEqual.add(i);
+            }
+            if (age == 49) {
+                equal.add(i);
+            }
+        }
+        Assert.assertEquals(getIds(table.getIndexedRows("age", "<", 10L)), lessThan);
+        Assert.assertEquals(getIds(table.getIndexedRows("age", ">=", 40L)), greaterThanEqual);
+        Assert.assertEquals(getIds(table.getIndexedRows("age", "==", 49L)), equal);
+        // a value of a different type can not be looked up
+        Assert.assertNull(table.getIndexedRows("age", "<", StringUtils.fromString("10")));
+    }
+
+    @Test
+    public void testAnnotatedIndex() {
+        BRecordType rowType = createRowType();
+        MapValueImpl<BString, Object> indexData = new MapValueImpl<>();
+        indexData.put(StringUtils.fromString("kind"), StringUtils.fromString("sorted"));
+        MapValueImpl<BString, Object> fieldAnnotations = new MapValueImpl<>();
+        fieldAnnotations.put(StringUtils.fromString("ballerina/lang.annotations:0.0.0:tableIndex"), indexData);
+        MapValueImpl<BString, Object> annotations = new MapValueImpl<>();
+        annotations.put(StringUtils.fromString("$field$.age"), fieldAnnotations);
+        rowType.setAnnotations(annotations);
+
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = createTable(rowType);
+        for (long i = 0; i < 10; i++) {
+            table.add(row(rowType, i, 10 - i, "name"));
+        }
+        Assert.assertEquals(getIds(table.getIndexedRows("age", ">", 7L)), Arrays.asList(0L, 1L, 2L));
+        // the primary key is used for an equality lookup on the key field
+        Assert.assertEquals(getIds(table.getIndexedRows("id", "==", 5L)), Arrays.asList(5L));
+
+        TableValueImpl<?, ?> copy = (TableValueImpl<?, ?>) table.copy(new LinkedHashMap<>());
+        Assert.assertEquals(getIds(copy.getIndexedRows("age", "<=", 2L)), Arrays.asList(8L, 9L));
+    }
+
+    @Test(expectedExceptions = BError.class)
+    public void testIndexOnMutableField() {
+        createTable(createRowType()).addIndex("name", false);
+        createTable(createRowType()).addIndex("mutable", false);
+    }
+
+    @Test
+    public void testIndexOnOptionalField() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = createTable(createRowType());
+        try {
+            table.addIndex("nickname", true);
+            Assert.fail("an index is defined on an optional field");
+        } catch (BError e) {
+            Assert.assertEquals(((MapValueImpl<?, ?>) e.getDetails()).get(MESSAGE).toString(),
+                                "an index cannot be defined on the optional field 'nickname'");
+        }
+    }
+
+    private static BRecordType createRowType() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(PredefinedTypes.TYPE_INT, "id", SymbolFlags.READONLY + SymbolFlags.REQUIRED));
+        fields.put("age", new BField(PredefinedTypes.TYPE_INT, "age", SymbolFlags.READONLY + SymbolFlags.REQUIRED));
+        fields.put("name", new BField(PredefinedTypes.TYPE_STRING, "name",
+                SymbolFlags.READONLY + SymbolFlags.REQUIRED));
+        fields.put("mutable", new BField(PredefinedTypes.TYPE_INT, "mutable", SymbolFlags.OPTIONAL));
+        fields.put("nickname", new BField(PredefinedTypes.TYPE_STRING, "nickname",
+                SymbolFlags.READONLY + SymbolFlags.OPTIONAL));
+        return new BRecordType("Person", null, 0, fields, null, true, 0);
+    }
+
+    private static TableValueImpl<Object, MapValueImpl<BString, Object>> createTable(BRecordType rowType) {
+        return new TableValueImpl<>(new BTableType(rowType, new String[]{"id"}, false));
+    }
+
+    private static MapValueImpl<BString, Object> row(BRecordType rowType, long id, long age, String name) {
+        MapValueImpl<BString, Object> row = new MapValueImpl<>(rowType);
+        row.put(ID, id);
+        row.put(AGE, age);
+        row.put(NAME, StringUtils.fromString(name));
+        return row;
+    }
+
+    private static List<Object> getIds(List<?> rows) {
+        List<Object> ids = new ArrayList<>();
+        for (Object row : rows) {
+            ids.add(((MapValueImpl<?, ?>) row).get(ID));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TableUtils;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BTableType;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+import io.ballerina.runtime.internal.values.TupleValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for the row storage of {@link TableValueImpl}.
+ */
+public class TableValueTest {
+
+    private static final BString ID = StringUtils.fromString("id");
+    private static final BMapType ROW_TYPE = new BMapType(PredefinedTypes.TYPE_INT);
+
+    @Test
+    public void testCollidingKeys() {
+        // both keys have the same hash
+        long key1 = 0L;
+        long key2 = 0x100000001L;
+        Assert.assertEquals(TableUtils.hash(key1, null), TableUtils.hash(key2, null));
+
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = keyedTable();
+        table.add(row(key1));
+        Assert.assertFalse(table.containsKey(key2));
+        table.add(row(key2));
+        Assert.assertEquals(table.size(), 2);
+        Assert.assertEquals(table.get(key1).get(ID), key1);
+        Assert.assertEquals(table.get(key2).get(ID), key2);
+
+        table.remove(key1);
+        Assert.assertFalse(table.containsKey(key1));
+        Assert.assertEquals(table.get(key2).get(ID), key2);
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = keyedTable();
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            table.add(row(i * 7919 % 1000));
+            expected.add(i * 7919 % 1000);
+        }
+        // removes most of the rows, so that they get compacted on the following additions
+        for (long i = 0; i < 1000; i++) {
+            if (i % 10 != 0) {
+                table.remove(i);
+                expected.remove(i);
+            }
+        }
+        for (long i = 1000; i < 2000; i++) {
+            table.add(row(i));
+            expected.add(i);
+        }
+        // updating a row keeps its position
+        table.put(500L, row(500L));
+
+        Assert.assertEquals(table.size(), expected.size());
+        Assert.assertEquals(getIteratedKeys(table.getIterator()), expected);
+        Object[] keys = table.getKeys();
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(keys[i], expected.get(i));
+            Assert.assertEquals(table.get(keys[i]).get(ID), keys[i]);
+        }
+    }
+
+    @Test
+    public void testIteratorAcrossCompaction() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = keyedTable();
+        for (long i = 0; i < 64; i++) {
+            table.add(row(i));
+        }
+        IteratorValue iterator = table.getIterator();
+        List<Object> iterated = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            iterated.add(((TupleValueImpl) iterator.next()).get(0));
+        }
+        // removes most of the rows, including the next one of the iterator, and compacts them by adding more
+        for (long i = 0; i < 60; i++) {
+            table.remove(i);
+        }
+        for (long i = 64; i < 200; i++) {
+            table.add(row(i));
+        }
+        iterated.addAll(getIteratedKeys(iterator));
+
+        List<Object> expected = new ArrayList<>();
+        for (long i = 0; i < 200; i++) {
+            if (i < 40 || i >= 60) {
+                expected.add(i);
+            }
+        }
+        Assert.assertEquals(iterated, expected);
+    }
+
+    @Test
+    public void testKeylessTable() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table =
+                new TableValueImpl<>(new BTableType(ROW_TYPE, false));
+        for (long i = 0; i < 100; i++) {
+            table.add(row(i % 10));
+        }
+        Assert.assertEquals(table.size(), 100);
+        Assert.assertEquals(table.getKeys().length, 0);
+        IteratorValue iterator = table.getIterator();
+        for (long i = 0; i < 100; i++) {
+            TupleValueImpl entry = (TupleValueImpl) iterator.next();
+            Assert.assertSame(entry.get(0), entry.get(1));
+            Assert.assertEquals(((MapValueImpl<?, ?>) entry.get(1)).get(ID), i % 10);
+        }
+        Assert.assertFalse(iterator.hasNext());
+
+        table.clear();
+        Assert.assertTrue(table.isEmpty());
+        Assert.assertFalse(table.getIterator().hasNext());
+    }
+
+    private static TableValueImpl<Object, MapValueImpl<BString, Object>> keyedTable() {
+        return new TableValueImpl<>(new BTableType(ROW_TYPE, new String[]{"id"}, false));
+    }
+
+    private static MapValueImpl<BString, Object> row(long id) {
+        MapValueImpl<BString, Object> row = new MapValueImpl<>(ROW_TYPE);
+        row.put(ID, id);
+        return row;
+    }
+
+    private static List<Object> getIteratedKeys(IteratorValue iterator) {
+        List<Object> keys = new ArrayList<>();
+        while (iterator.hasNext()) {
+            keys.add(((TupleValueImpl) iterator.next()).get(0));
+        }
+        return keys;
+    }
+}
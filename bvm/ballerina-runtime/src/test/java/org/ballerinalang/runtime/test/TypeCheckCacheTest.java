@@ -0,0 +1,64 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.internal.TypeCheckCache;
+import io.ballerina.runtime.internal.TypeChecker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for caching the results of type checks.
+ *
+ * @since 2.0.0
+ */
+public class TypeCheckCacheTest {
+
+    @Test
+    public void testCachedResults() {
+        Type intArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_INT);
+        Type anydataArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA);
+        Type stringMapType = TypeCreator.createMapType(PredefinedTypes.TYPE_STRING);
+
+        long missCount = TypeCheckCache.missCount();
+        Assert.assertTrue(TypeChecker.checkIsType(intArrayType, anydataArrayType));
+        Assert.assertFalse(TypeChecker.checkIsType(anydataArrayType, intArrayType));
+        Assert.assertFalse(TypeChecker.checkIsType(stringMapType, anydataArrayType));
+        Assert.assertTrue(TypeCheckCache.missCount() >= missCount + 3);
+
+        long hitCount = TypeCheckCache.hitCount();
+        Assert.assertTrue(TypeChecker.checkIsType(intArrayType, anydataArrayType));
+        Assert.assertFalse(TypeChecker.checkIsType(anydataArrayType, intArrayType));
+        Assert.assertFalse(TypeChecker.checkIsType(stringMapType, anydataArrayType));
+        Assert.assertTrue(TypeCheckCache.hitCount() >= hitCount + 3);
+    }
+
+    @Test
+    public void testStructurallyEqualTypes() {
+        // types are cached by identity, hence a type equal to a cached type is checked again
+        Type intArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_INT);
+        Type otherIntArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_INT);
+        Type jsonArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_JSON);
+        Assert.assertTrue(TypeChecker.checkIsType(intArrayType, jsonArrayType));
+        Assert.assertTrue(TypeChecker.checkIsType(otherIntArrayType, jsonArrayType));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+*  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import io.ballerina.runtime.internal.scheduling.WorkerDataChannel;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Test cases for message passing through {@link WorkerDataChannel}.
+ */
+public class WorkerDataChannelTest {
+
+    private static final int THREADS = 4;
+    private static final int MESSAGES = 20000;
+
+    @Test(timeOut = 60000)
+    public void testUnboundedChannel() {
+        assertMessagesReceivedInOrder(new WorkerDataChannel("w1->w2"));
+    }
+
+    @Test(timeOut = 60000)
+    public void testBoundedChannel() {
+        assertMessagesReceivedInOrder(new WorkerDataChannel("w1->w2", 1));
+        assertMessagesReceivedInOrder(new WorkerDataChannel("w1->w2", 16));
+    }
+
+    private static void assertMessagesReceivedInOrder(WorkerDataChannel channel) {
+        Scheduler scheduler = new Scheduler(THREADS, false);
+        List<Object> received = new ArrayList<>();
+        int[] next = new int[2];
+        // follows the generated code, which calls the send or receive again when the strand is resumed
+        Function<Object[], Object> sender = params -> {
+            Strand strand = (Strand) params[0];
+            for (; next[0] < MESSAGES; next[0]++) {
+                try {
+                    if (next[0] % 100 == 0) {
+                        channel.syncSendData(message(next[0]), strand);
+                    } else {
+                        channel.sendData(message(next[0]), strand);
+                    }
+                } catch (Throwable e) {
+                    throw new AssertionError(e);
+                }
+                if (strand.isYielded()) {
+                    return null;
+                }
+            }
+            return null;
+        };
+        Function<Object[], Object> receiver = params -> {
+            Strand strand = (Strand) params[0];
+            for (; next[1] < MESSAGES; next[1]++) {
+                Object message;
+                try {
+                    message = channel.tryTakeData(strand);
+                } catch (Throwable e) {
+                    throw new AssertionError(e);
+                }
+                if (strand.isYielded()) {
+                    return null;
+                }
+                received.add(message);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], sender, null, null, "w1", null);
+        scheduler.schedule(new Object[1], receiver, null, null, "w2", null);
+        scheduler.start();
+
+        Assert.assertEquals(received.size(), MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            Assert.assertEquals(received.get(i), message(i));
+        }
+    }
+
+    private static Object message(int i) {
+        // nil messages are sent as null
+        return i % 7 == 0 ? null : (long) i;
+    }
+}
@@ -152,6 +152,15 @@ public class BuildCommand implements BLauncherCmd {
     @CommandLine.Option(names = "--taint-check", description = "perform taint flow analysis")
     private Boolean taintCheck;
 
+    @CommandLine.Option(names = "--optimize", description = "BIR optimization level: 0 disables the " +
+            "optimizations, 2 enables constant folding, copy propagation, dead code elimination and inlining " +
+            "(default: 1)")
+    private Integer optimizationLevel;
+
+    @CommandLine.Option(names = "--incremental", description = "reuse the BIR and the jars of the modules, which " +
+            "have not changed since the previous build")
+    private Boolean incrementalBuild;
+
     public void execute() {
         if (this.helpFlag) {
             String commandUsageInfo = BLauncherCmd.getCommandUsageInfo(BUILD_COMMAND);
@@ -179,6 +188,13 @@ public class BuildCommand implements BLauncherCmd {
             return;
         }
 
+        if (this.optimizationLevel != null && (this.optimizationLevel < 0 || this.optimizationLevel > 2)) {
+            CommandUtil.printError(this.errStream, "invalid optimization level '" + this.optimizationLevel +
+                    "'. '--optimize' accepts 0, 1 or 2.", buildCmd, false);
+            CommandUtil.exitError(this.exitWhenFinish);
+            return;
+        }
+
         // load project
         Project project;
 
@@ -261,6 +277,8 @@ public class BuildCommand implements BLauncherCmd {
                 .observabilityIncluded(observabilityIncluded)
                 .cloud(cloud)
                 .taintCheck(taintCheck)
+                .optimizationLevel(optimizationLevel)
+                .incrementalBuild(incrementalBuild)
                 .dumpBir(dumpBIR)
                 .dumpBirFile(dumpBIRFile)
                 .build();
@@ -82,6 +82,15 @@ public class RunCommand implements BLauncherCmd {
     @CommandLine.Option(names = "--taint-check", description = "perform taint flow analysis")
     private Boolean taintCheck;
 
+    @CommandLine.Option(names = "--optimize", description = "BIR optimization level: 0 disables the " +
+            "optimizations, 2 enables constant folding, copy propagation, dead code elimination and inlining " +
+            "(default: 1)")
+    private Integer optimizationLevel;
+
+    @CommandLine.Option(names = "--incremental", description = "reuse the BIR and the jars of the modules, which " +
+            "have not changed since the previous build")
+    private Boolean incrementalBuild;
+
     private static final String runCmd = "ballerina run [--experimental] [--offline] [--taint-check]\n" +
             "                  <executable-jar | ballerina-file | . | package-path> [program-args] [(--key=value)...]";
 
@@ -120,6 +129,13 @@ public class RunCommand implements BLauncherCmd {
             this.projectPath = Paths.get(argList.get(0)).toAbsolutePath().normalize();
         }
 
+        if (this.optimizationLevel != null && (this.optimizationLevel < 0 || this.optimizationLevel > 2)) {
+            CommandUtil.printError(this.errStream, "invalid optimization level '" + this.optimizationLevel +
+                    "'. '--optimize' accepts 0, 1 or 2.", runCmd, false);
+            CommandUtil.exitError(this.exitWhenFinish);
+            return;
+        }
+
         // load project
         Project project;
         BuildOptions buildOptions = constructBuildOptions();
@@ -192,6 +208,8 @@ public class RunCommand implements BLauncherCmd {
                 .testReport(false)
                 .observabilityIncluded(observabilityIncluded)
                 .taintCheck(taintCheck)
+                .optimizationLevel(optimizationLevel)
+                .incrementalBuild(incrementalBuild)
                 .build();
     }
 }
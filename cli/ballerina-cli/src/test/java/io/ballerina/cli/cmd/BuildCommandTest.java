@@ -168,6 +168,27 @@ public class BuildCommandTest extends BaseCommandTest {
                 .contains("Invalid Ballerina source file(.bal): " + nonBalFilePath.toString()));
     }
 
+    @Test(description = "Build a ballerina file with an invalid optimization level")
+    public void testBuildBalFileWithInvalidOptimizationLevel() throws IOException {
+        Path validBalFilePath = this.testResources.resolve("valid-bal-file").resolve("hello_world.bal");
+        BuildCommand buildCommand = new BuildCommand(validBalFilePath, printStream, printStream, false, true);
+        new CommandLine(buildCommand).parse("--optimize=3", validBalFilePath.toString());
+        buildCommand.execute();
+
+        String buildLog = readOutput(true);
+        Assert.assertTrue(buildLog.replaceAll("\r", "")
+                .contains("invalid optimization level '3'. '--optimize' accepts 0, 1 or 2."));
+        Assert.assertFalse(Files.exists(this.testResources.resolve("valid-bal-file").resolve("hello_world.jar")));
+
+        buildCommand = new BuildCommand(validBalFilePath, printStream, printStream, false, true);
+        new CommandLine(buildCommand).parse("--optimize=-1", validBalFilePath.toString());
+        buildCommand.execute();
+
+        buildLog = readOutput(true);
+        Assert.assertTrue(buildLog.replaceAll("\r", "")
+                .contains("invalid optimization level '-1'. '--optimize' accepts 0, 1 or 2."));
+    }
+
     @Test(description = "Build non existing bal file")
     public void testNonExistingBalFile() throws IOException {
         // valid source root path
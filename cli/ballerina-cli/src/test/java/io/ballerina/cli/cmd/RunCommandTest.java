@@ -74,6 +74,20 @@ public class RunCommandTest extends BaseCommandTest {
 
     }
 
+    @Test(description = "Run a ballerina file with an invalid optimization level")
+    public void testRunBalFileWithInvalidOptimizationLevel() throws IOException {
+        Path validBalFilePath = this.testResources.resolve("valid-run-bal-file").resolve("file_create.bal");
+        Path tempFile = this.testResources.resolve("valid-run-bal-file").resolve("temp.txt");
+        RunCommand runCommand = new RunCommand(validBalFilePath, printStream, false);
+        new CommandLine(runCommand).parse("--optimize=5", validBalFilePath.toString(), tempFile.toString());
+        runCommand.execute();
+
+        String buildLog = readOutput(true);
+        Assert.assertTrue(buildLog.replaceAll("\r", "")
+                .contains("invalid optimization level '5'. '--optimize' accepts 0, 1 or 2."));
+        Assert.assertFalse(tempFile.toFile().exists());
+    }
+
     @Test(description = "Run bal file containing syntax error")
     public void testRunBalFileWithSyntaxError() {
         // valid source root path
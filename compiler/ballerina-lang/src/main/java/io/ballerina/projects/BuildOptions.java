@@ -59,6 +59,10 @@ public class BuildOptions {
         return this.compilationOptions.observabilityIncluded();
     }
 
+    public boolean incrementalBuild() {
+        return this.compilationOptions.incrementalBuild();
+    }
+
     CompilationOptions compilationOptions() {
         return compilationOptions;
     }
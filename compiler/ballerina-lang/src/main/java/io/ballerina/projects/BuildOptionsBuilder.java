@@ -83,6 +83,16 @@ public class BuildOptionsBuilder {
         return this;
     }
 
+    public BuildOptionsBuilder optimizationLevel(Integer value) {
+        compilationOptionsBuilder.optimizationLevel(value);
+        return this;
+    }
+
+    public BuildOptionsBuilder incrementalBuild(Boolean value) {
+        compilationOptionsBuilder.incrementalBuild(value);
+        return this;
+    }
+
     public BuildOptions build() {
         CompilationOptions compilationOptions = compilationOptionsBuilder.build();
         return new BuildOptions(testReport, codeCoverage, compilationOptions);
@@ -42,4 +42,49 @@ public abstract class CompilationCache {
     public abstract void cachePlatformSpecificLibrary(CompilerBackend compilerBackend,
                                                       String libraryName,
                                                       ByteArrayOutputStream libraryContent);
+
+    /**
+     * Returns the path, at which a platform-specific library assembled by the compiler backend out of other
+     * libraries (e.g. the merged dependencies of an executable) is kept across builds. The library may not exist yet,
+     * and it is written by the compiler backend itself, as it is not held in memory.
+     *
+     * @param compilerBackend compiler backend that assembles the library
+     * @param libraryName     name of the library
+     * @return path of the library, or empty if such libraries are not kept across builds
+     */
+    public Optional<Path> getPlatformSpecificLibraryPath(CompilerBackend compilerBackend, String libraryName) {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the BIR of a module cached by a previous build with the given module hash. The module hash identifies
+     * the sources and the dependencies of the module, hence the cached BIR can be used in place of compiling them.
+     * <p>
+     * The BIR of a module is cached after its platform-specific libraries, hence they are also available if the BIR
+     * is found. This cache does not keep modules across builds by default.
+     *
+     * @param moduleName name of the module
+     * @param moduleHash hash of the sources and the dependencies of the module
+     * @return the cached BIR, or empty if the module has not been cached with the given hash
+     */
+    public Optional<byte[]> getBir(ModuleName moduleName, String moduleHash) {
+        return Optional.empty();
+    }
+
+    public void cacheBir(ModuleName moduleName, String moduleHash, ByteArrayOutputStream birContent) {
+    }
+
+    public Optional<Path> getPlatformSpecificLibrary(CompilerBackend compilerBackend,
+                                                     ModuleName moduleName,
+                                                     String moduleHash,
+                                                     String libraryName) {
+        return Optional.empty();
+    }
+
+    public void cachePlatformSpecificLibrary(CompilerBackend compilerBackend,
+                                             ModuleName moduleName,
+                                             String moduleHash,
+                                             String libraryName,
+                                             ByteArrayOutputStream libraryContent) {
+    }
 }
@@ -25,6 +25,8 @@ import java.util.Objects;
  * @since 2.0.0
  */
 class CompilationOptions {
+    static final int DEFAULT_OPTIMIZATION_LEVEL = 1;
+
     private Boolean skipTests;
     private Boolean offlineBuild;
     private Boolean experimental;
@@ -33,10 +35,13 @@ class CompilationOptions {
     private String dumpBirFile;
     private String cloud;
     private Boolean taintCheck;
+    private Integer optimizationLevel;
+    private Boolean incrementalBuild;
 
     public CompilationOptions(Boolean skipTests, Boolean offlineBuild, Boolean experimental,
                               Boolean observabilityIncluded, Boolean dumpBir, String dumpBirFile,
-                              String cloud, Boolean taintCheck) {
+                              String cloud, Boolean taintCheck, Integer optimizationLevel,
+                              Boolean incrementalBuild) {
         this.skipTests = skipTests;
         this.offlineBuild = offlineBuild;
         this.experimental = experimental;
@@ -45,6 +50,8 @@ class CompilationOptions {
         this.dumpBirFile = dumpBirFile;
         this.cloud = cloud;
         this.taintCheck = taintCheck;
+        this.optimizationLevel = optimizationLevel;
+        this.incrementalBuild = incrementalBuild;
     }
 
     boolean skipTests() {
@@ -79,6 +86,14 @@ class CompilationOptions {
         return toBooleanDefaultIfNull(taintCheck);
     }
 
+    public int getOptimizationLevel() {
+        return toIntDefaultIfNull(optimizationLevel);
+    }
+
+    boolean incrementalBuild() {
+        return toBooleanDefaultIfNull(incrementalBuild);
+    }
+
     /**
      * Merge the given compilation options by favoring theirs if there are conflicts.
      *
@@ -99,6 +114,10 @@ class CompilationOptions {
         this.cloud = Objects.requireNonNullElse(this.cloud, toStringDefaultIfNull(this.cloud));
         this.dumpBirFile = theirOptions.dumpBirFile;
         this.taintCheck = Objects.requireNonNullElseGet(this.taintCheck, () -> toBooleanDefaultIfNull(this.dumpBir));
+        this.optimizationLevel = Objects.requireNonNullElseGet(
+                theirOptions.optimizationLevel, () -> toIntDefaultIfNull(this.optimizationLevel));
+        this.incrementalBuild = Objects.requireNonNullElseGet(
+                theirOptions.incrementalBuild, () -> toBooleanDefaultIfNull(this.incrementalBuild));
         return this;
     }
 
@@ -109,6 +128,13 @@ class CompilationOptions {
         return bool;
     }
 
+    private int toIntDefaultIfNull(Integer value) {
+        if (value == null) {
+            return DEFAULT_OPTIMIZATION_LEVEL;
+        }
+        return value;
+    }
+
     private String toStringDefaultIfNull(String value) {
         if (value == null) {
             return "";
@@ -25,6 +25,7 @@ import io.ballerina.projects.internal.jballerina.JarWriter;
 import io.ballerina.projects.util.ProjectUtils;
 import io.ballerina.tools.diagnostics.Diagnostic;
 import org.apache.commons.compress.archivers.jar.JarArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntryPredicate;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipFile;
@@ -38,28 +39,35 @@ import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.util.Lists;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static io.ballerina.projects.util.FileUtils.getFileNameWithoutExtension;
 import static io.ballerina.projects.util.ProjectUtils.checkWritePermission;
@@ -76,6 +84,9 @@ public class JBallerinaBackend extends CompilerBackend {
     private static final String JAR_FILE_EXTENSION = ".jar";
     private static final String TEST_JAR_FILE_NAME_SUFFIX = "-testable";
     private static final String JAR_FILE_NAME_SUFFIX = "";
+    private static final String DEPENDENCIES_JAR_NAME = "executable-dependencies";
+    private static final String SERVICES_DIR_NAME = "META-INF/services";
+    private static final String LIBRARY_WRITER_THREAD_NAME = "jballerina-library-writer";
     private static final HashSet<String> excludeExtensions = new HashSet<>(Lists.of("DSA", "SF"));
 
     private final PackageResolution pkgResolution;
@@ -89,6 +100,8 @@ public class JBallerinaBackend extends CompilerBackend {
     private final CompilerOptions compilerOptions;
     private DiagnosticResult diagnosticResult;
     private boolean codeGenCompleted;
+    private ExecutorService libraryWriterPool;
+    private final List<Future<?>> pendingLibraryWrites = new ArrayList<>();
 
     public static JBallerinaBackend from(PackageCompilation packageCompilation, JvmTarget jdkVersion) {
         // Check if the project has write permissions
@@ -131,10 +144,25 @@ public class JBallerinaBackend extends CompilerBackend {
         }
 
         List<Diagnostic> diagnostics = new ArrayList<>();
-        for (ModuleContext moduleContext : pkgResolution.topologicallySortedModuleList()) {
-            moduleContext.generatePlatformSpecificCode(compilerContext, this);
-            moduleContext.diagnostics().forEach(diagnostic ->
-                    diagnostics.add(new PackageDiagnostic(diagnostic, moduleContext.moduleName())));
+        // The compiler phases and the class generation share the state of the compiler context, hence the modules
+        // are compiled one at a time in the topological order. Compressing the generated jars and writing them to
+        // the compilation cache is independent for each module, and is done by a pool of workers while the modules
+        // that follow are compiled.
+        libraryWriterPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, LIBRARY_WRITER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (ModuleContext moduleContext : pkgResolution.topologicallySortedModuleList()) {
+                moduleContext.generatePlatformSpecificCode(compilerContext, this);
+                moduleContext.diagnostics().forEach(diagnostic ->
+                        diagnostics.add(new PackageDiagnostic(diagnostic, moduleContext.moduleName())));
+            }
+            awaitLibraryWrites();
+        } finally {
+            libraryWriterPool.shutdownNow();
+            libraryWriterPool = null;
         }
 
         // add ballerina toml diagnostics
@@ -246,25 +274,52 @@ public class JBallerinaBackend extends CompilerBackend {
             return;
         }
         CompiledJarFile compiledJarFile = jvmCodeGenerator.generate(bLangPackage);
+
+        // skip generation of the test jar if --skip-tests option is set to true
+        CompiledJarFile compiledTestJarFile = null;
+        if (!Boolean.parseBoolean(compilerOptions.get(SKIP_TESTS)) && bLangPackage.hasTestablePackage()) {
+            compiledTestJarFile = jvmCodeGenerator.generateTestModule(bLangPackage.testablePkgs.get(0));
+        }
+
+        // The BIR is cached by the module hash only after the libraries, as it marks a complete entry for later builds
+        Optional<String> moduleHash = Diagnostics.hasErrors(moduleContext.diagnostics()) ?
+                Optional.empty() : moduleContext.moduleHash();
+        CompiledJarFile testJarFile = compiledTestJarFile;
+        Runnable libraryWrite = () -> {
+            cacheLibraries(moduleContext, compilationCache, compiledJarFile, testJarFile, moduleHash);
+            if (moduleHash.isPresent()) {
+                ByteArrayOutputStream birContent = new ByteArrayOutputStream();
+                birContent.writeBytes(moduleContext.birBytes());
+                compilationCache.cacheBir(moduleContext.moduleName(), moduleHash.get(), birContent);
+            }
+        };
+        if (libraryWriterPool != null) {
+            pendingLibraryWrites.add(libraryWriterPool.submit(libraryWrite));
+        } else {
+            libraryWrite.run();
+        }
+    }
+
+    private void cacheLibraries(ModuleContext moduleContext, CompilationCache compilationCache,
+                                CompiledJarFile compiledJarFile, CompiledJarFile compiledTestJarFile,
+                                Optional<String> moduleHash) {
         String jarFileName = getJarFileName(moduleContext) + JAR_FILE_NAME_SUFFIX;
         try {
             ByteArrayOutputStream byteStream = JarWriter.write(compiledJarFile);
             compilationCache.cachePlatformSpecificLibrary(this, jarFileName, byteStream);
+            if (moduleHash.isPresent()) {
+                compilationCache.cachePlatformSpecificLibrary(this, moduleContext.moduleName(), moduleHash.get(),
+                        jarFileName, byteStream);
+            }
         } catch (IOException e) {
             throw new ProjectException("Failed to cache generated jar, module: " + moduleContext.moduleName());
         }
 
-        // skip generation of the test jar if --skip-tests option is set to true
-        if (Boolean.parseBoolean(compilerOptions.get(SKIP_TESTS))) {
-            return;
-        }
-
-        if (!bLangPackage.hasTestablePackage()) {
+        if (compiledTestJarFile == null) {
             return;
         }
 
         String testJarFileName = jarFileName + TEST_JAR_FILE_NAME_SUFFIX;
-        CompiledJarFile compiledTestJarFile = jvmCodeGenerator.generateTestModule(bLangPackage.testablePkgs.get(0));
         try {
             ByteArrayOutputStream byteStream = JarWriter.write(compiledTestJarFile);
             compilationCache.cachePlatformSpecificLibrary(this, testJarFileName, byteStream);
@@ -273,6 +328,24 @@ public class JBallerinaBackend extends CompilerBackend {
         }
     }
 
+    private void awaitLibraryWrites() {
+        try {
+            for (Future<?> libraryWrite : pendingLibraryWrites) {
+                libraryWrite.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProjectException("Interrupted while caching the generated jars", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ProjectException(e.getCause());
+        } finally {
+            pendingLibraryWrites.clear();
+        }
+    }
+
     @Override
     public String libraryFileExtension() {
         return JAR_FILE_EXTENSION;
@@ -299,31 +372,172 @@ public class JBallerinaBackend extends CompilerBackend {
     private void assembleExecutableJar(Path executableFilePath,
                                        Manifest manifest,
                                        Collection<Path> jarFilePaths) throws IOException {
+        // The libraries of the dependencies rarely change from one build to another, hence they are merged into a
+        // single jar kept in the compilation cache, which is reused while the same libraries are required.
+        List<Path> rootModuleJarPaths = new ArrayList<>();
+        for (ModuleId moduleId : packageContext.moduleIds()) {
+            rootModuleJarPaths.add(codeGeneratedLibrary(packageContext.packageId(),
+                    packageContext.moduleContext(moduleId).moduleName()).path());
+        }
+        List<Path> dependencyJarPaths = new ArrayList<>(jarFilePaths);
+        dependencyJarPaths.removeAll(rootModuleJarPaths);
+
+        List<Path> mergedJarPaths = new ArrayList<>(rootModuleJarPaths);
+        Optional<Path> dependenciesJarPath = getDependenciesJar(dependencyJarPaths);
+        if (dependenciesJarPath.isPresent()) {
+            mergedJarPaths.add(dependenciesJarPath.get());
+        } else {
+            mergedJarPaths.addAll(dependencyJarPaths);
+        }
+        mergeJars(executableFilePath, manifest, mergedJarPaths, null);
+    }
+
+    /**
+     * Returns the jar, which merges the given libraries of the dependencies of the executable. The jar is identified
+     * by the paths, the sizes and the modification times of the libraries, and is merged again if any of them changes.
+     *
+     * @param dependencyJarPaths paths of the libraries of the dependencies
+     * @return path of the merged jar, or empty if the compilation cache does not keep it across builds
+     * @throws IOException if the libraries cannot be read or the merged jar cannot be written
+     */
+    private Optional<Path> getDependenciesJar(List<Path> dependencyJarPaths) throws IOException {
+        CompilationCache compilationCache =
+                packageContext.project().projectEnvironmentContext().getService(CompilationCache.class);
+        Optional<Path> dependenciesJarPath =
+                compilationCache.getPlatformSpecificLibraryPath(this, DEPENDENCIES_JAR_NAME);
+        if (dependenciesJarPath.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path jarPath = dependenciesJarPath.get();
+        String jarHash = getJarHash(dependencyJarPaths);
+        if (Files.exists(jarPath)) {
+            try (JarFile jarFile = new JarFile(jarPath.toFile())) {
+                if (jarHash.equals(jarFile.getComment())) {
+                    return dependenciesJarPath;
+                }
+            } catch (IOException e) {
+                // A jar left incomplete is merged again
+            }
+        }
+
+        Path tempJarPath = Files.createTempFile(jarPath.getParent(), DEPENDENCIES_JAR_NAME, null);
+        try {
+            mergeJars(tempJarPath, null, dependencyJarPaths, jarHash);
+            Files.move(tempJarPath, jarPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempJarPath);
+        }
+        return dependenciesJarPath;
+    }
+
+    private static String getJarHash(List<Path> jarFilePaths) throws IOException {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Path jarFilePath : jarFilePaths) {
+            String jarId = jarFilePath.toAbsolutePath() + ":" + Files.size(jarFilePath) + ":" +
+                    Files.getLastModifiedTime(jarFilePath).toMillis() + "\n";
+            messageDigest.update(jarId.getBytes(StandardCharsets.UTF_8));
+        }
+        StringBuilder jarHash = new StringBuilder();
+        for (byte b : messageDigest.digest()) {
+            jarHash.append(String.format("%02x", b));
+        }
+        return jarHash.toString();
+    }
+
+    /**
+     * Merges the given jars into a single jar. The compressed entries are copied as they are, and the SPI service
+     * files of the same name are concatenated. If more than one jar has an entry with the same name, the entry of the
+     * first of those jars is kept.
+     * <p>
+     * The jars are opened and their service files are read in parallel, while the entries are copied in the order of
+     * the jars.
+     *
+     * @param targetJarPath path of the merged jar
+     * @param manifest      manifest of the merged jar, or null if it does not have one
+     * @param jarFilePaths  paths of the jars to be merged
+     * @param comment       comment of the merged jar, or null if it does not have one
+     * @throws IOException if the jars cannot be read or the merged jar cannot be written
+     */
+    private void mergeJars(Path targetJarPath, Manifest manifest, List<Path> jarFilePaths, String comment)
+            throws IOException {
+        SourceJar[] sourceJars = new SourceJar[jarFilePaths.size()];
+        IOException[] readErrors = new IOException[sourceJars.length];
+        IntStream.range(0, sourceJars.length).parallel().forEach(i -> {
+            try {
+                sourceJars[i] = new SourceJar(new ZipFile(jarFilePaths.get(i).toFile()));
+                sourceJars[i].readServices();
+            } catch (IOException e) {
+                readErrors[i] = e;
+            }
+        });
+        for (IOException readError : readErrors) {
+            if (readError != null) {
+                closeJars(sourceJars);
+                throw readError;
+            }
+        }
+
         // Used to prevent adding duplicated entries during the final jar creation.
         HashSet<String> copiedEntries = new HashSet<>();
-
         // Used to process SPI related metadata entries separately. The reason is unlike the other entry types,
         // service loader related information should be merged together in the final executable jar creation.
-        HashMap<String, StringBuilder> serviceEntries = new HashMap<>();
+        Map<String, ByteArrayOutputStream> serviceEntries = new LinkedHashMap<>();
+        ZipArchiveEntryPredicate predicate = entry -> {
+            String entryName = entry.getName();
+            // SPIs will be merged first and then put into jar separately.
+            if (entryName.equals(JarFile.MANIFEST_NAME) || entryName.startsWith(SERVICES_DIR_NAME) ||
+                    isCopiedOrExcludedEntry(entryName, copiedEntries)) {
+                return false;
+            }
+            copiedEntries.add(entryName);
+            return true;
+        };
 
         try (ZipArchiveOutputStream outStream = new ZipArchiveOutputStream(
-                new BufferedOutputStream(new FileOutputStream(executableFilePath.toString())))) {
-            writeManifest(manifest, outStream);
+                new BufferedOutputStream(Files.newOutputStream(targetJarPath)))) {
+            if (comment != null) {
+                outStream.setComment(comment);
+            }
+            if (manifest != null) {
+                writeManifest(manifest, outStream);
+            }
 
-            // Copy all the jars
-            for (Path jarFilePath : jarFilePaths) {
-                copyJar(outStream, jarFilePath, copiedEntries, serviceEntries);
+            for (SourceJar sourceJar : sourceJars) {
+                sourceJar.services.forEach((serviceName, service) -> {
+                    ByteArrayOutputStream mergedService =
+                            serviceEntries.computeIfAbsent(serviceName, name -> new ByteArrayOutputStream());
+                    mergedService.writeBytes(service);
+                    if (service.length > 0 && service[service.length - 1] != '\n') {
+                        mergedService.write('\n');
+                    }
+                });
+                // Transfers selected entries from the jar to the output stream, while preserving their compression
+                // and all the other original attributes.
+                sourceJar.zipFile.copyRawEntries(outStream, predicate);
             }
 
             // Copy merged spi services.
-            for (Map.Entry<String, StringBuilder> entry : serviceEntries.entrySet()) {
-                String s = entry.getKey();
-                StringBuilder service = entry.getValue();
-                JarArchiveEntry e = new JarArchiveEntry(s);
-                outStream.putArchiveEntry(e);
-                outStream.write(service.toString().getBytes(StandardCharsets.UTF_8));
+            for (Map.Entry<String, ByteArrayOutputStream> serviceEntry : serviceEntries.entrySet()) {
+                outStream.putArchiveEntry(new JarArchiveEntry(serviceEntry.getKey()));
+                serviceEntry.getValue().writeTo(outStream);
                 outStream.closeArchiveEntry();
             }
+        } finally {
+            closeJars(sourceJars);
+        }
+    }
+
+    private static void closeJars(SourceJar[] sourceJars) {
+        for (SourceJar sourceJar : sourceJars) {
+            if (sourceJar != null) {
+                ZipFile.closeQuietly(sourceJar.zipFile);
+            }
         }
     }
 
@@ -355,66 +569,6 @@ public class JBallerinaBackend extends CompilerBackend {
         return manifest;
     }
 
-    /**
-     * Copies a given jar file into the executable fat jar.
-     *
-     * @param outStream     Output stream of the final uber jar.
-     * @param jarFilePath   Path of the source jar file.
-     * @param copiedEntries Entries set will be used to ignore duplicate files.
-     * @param services      Services will be used to temporary hold merged spi files.
-     * @throws IOException If jar file copying is failed.
-     */
-    private void copyJar(ZipArchiveOutputStream outStream, Path jarFilePath, HashSet<String> copiedEntries,
-                         HashMap<String, StringBuilder> services) throws IOException {
-
-        ZipFile zipFile = new ZipFile(jarFilePath.toFile());
-        ZipArchiveEntryPredicate predicate = entry -> {
-            String entryName = entry.getName();
-            if (entryName.equals("META-INF/MANIFEST.MF")) {
-                return false;
-            }
-
-            if (entryName.startsWith("META-INF/services")) {
-                StringBuilder s = services.get(entryName);
-                if (s == null) {
-                    s = new StringBuilder();
-                    services.put(entryName, s);
-                }
-                char c = '\n';
-
-                int len;
-                try (BufferedInputStream inStream = new BufferedInputStream(zipFile.getInputStream(entry))) {
-                    while ((len = inStream.read()) != -1) {
-                        c = (char) len;
-                        s.append(c);
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-                if (c != '\n') {
-                    s.append('\n');
-                }
-
-                // Its not required to copy SPI entries in here as we'll be adding merged SPI related entries
-                // separately. Therefore the predicate should be set as false.
-                return false;
-            }
-
-            // Skip already copied files or excluded extensions.
-            if (isCopiedOrExcludedEntry(entryName, copiedEntries)) {
-                return false;
-            }
-            // SPIs will be merged first and then put into jar separately.
-            copiedEntries.add(entryName);
-            return true;
-        };
-
-        // Transfers selected entries from this zip file to the output stream, while preserving its compression and
-        // all the other original attributes.
-        zipFile.copyRawEntries(outStream, predicate);
-        zipFile.close();
-    }
-
     private static boolean isCopiedOrExcludedEntry(String entryName, HashSet<String> copiedEntries) {
         return copiedEntries.contains(entryName) ||
                 excludeExtensions.contains(entryName.substring(entryName.lastIndexOf(".") + 1));
@@ -427,9 +581,13 @@ public class JBallerinaBackend extends CompilerBackend {
         Package pkg = packageCache.getPackageOrThrow(packageId);
         ProjectEnvironment projectEnvironment = pkg.project().projectEnvironmentContext();
         CompilationCache compilationCache = projectEnvironment.getService(CompilationCache.class);
-        String jarFileName = getJarFileName(pkg.packageContext().moduleContext(moduleName)) + fileNameSuffix;
-        Optional<Path> platformSpecificLibrary = compilationCache.getPlatformSpecificLibrary(
-                this, jarFileName);
+        ModuleContext moduleContext = pkg.packageContext().moduleContext(moduleName);
+        String jarFileName = getJarFileName(moduleContext) + fileNameSuffix;
+        // the library of a module reused by an incremental build is only found by the module hash
+        Optional<Path> platformSpecificLibrary = moduleContext.moduleHash()
+                .flatMap(moduleHash -> compilationCache.getPlatformSpecificLibrary(
+                        this, moduleName, moduleHash, jarFileName))
+                .or(() -> compilationCache.getPlatformSpecificLibrary(this, jarFileName));
         return new JarLibrary(platformSpecificLibrary.orElseThrow(
                 () -> new IllegalStateException("Cannot find the generated jar library for module: " + moduleName)),
                 scope);
@@ -488,4 +646,28 @@ public class JBallerinaBackend extends CompilerBackend {
     JvmTarget jdkVersion() {
         return jdkVersion;
     }
+
+    /**
+     * A jar to be merged, along with its SPI service files.
+     */
+    private static class SourceJar {
+        private final ZipFile zipFile;
+        // key - name of the service file, value - content of the service file
+        private final Map<String, byte[]> services = new LinkedHashMap<>();
+
+        private SourceJar(ZipFile zipFile) {
+            this.zipFile = zipFile;
+        }
+
+        private void readServices() throws IOException {
+            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntriesInPhysicalOrder())) {
+                if (!entry.getName().startsWith(SERVICES_DIR_NAME)) {
+                    continue;
+                }
+                try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                    services.put(entry.getName(), inputStream.readAllBytes());
+                }
+            }
+        }
+    }
 }
@@ -42,8 +42,7 @@ enum ModuleCompilationState {
         @Override
         void compile(ModuleContext moduleContext, CompilerContext compilerContext) {
             resolveDependencies(moduleContext);
-            ModuleContext.compileInternal(moduleContext, compilerContext);
-            moduleContext.setCompilationState(COMPILED);
+            compileOrLoadCachedBir(moduleContext, compilerContext);
         }
 
         @Override
@@ -51,8 +50,9 @@ enum ModuleCompilationState {
                                           CompilerContext compilerContext,
                                           CompilerBackend compilerBackend) {
             compile(moduleContext, compilerContext);
-            ModuleContext.generateCodeInternal(moduleContext, compilerBackend, compilerContext);
-            moduleContext.setCompilationState(PLATFORM_LIBRARY_GENERATED);
+            // the module is either compiled or loaded from the compilation cache at this point
+            moduleContext.compilationState().generatePlatformSpecificCode(
+                    moduleContext, compilerContext, compilerBackend);
         }
     },
     PARSED {
@@ -71,8 +71,7 @@ enum ModuleCompilationState {
         @Override
         void compile(ModuleContext moduleContext, CompilerContext compilerContext) {
             resolveDependencies(moduleContext);
-            ModuleContext.compileInternal(moduleContext, compilerContext);
-            moduleContext.setCompilationState(COMPILED);
+            compileOrLoadCachedBir(moduleContext, compilerContext);
         }
 
         @Override
@@ -80,8 +79,9 @@ enum ModuleCompilationState {
                                           CompilerContext compilerContext,
                                           CompilerBackend compilerBackend) {
             compile(moduleContext, compilerContext);
-            ModuleContext.generateCodeInternal(moduleContext, compilerBackend, compilerContext);
-            moduleContext.setCompilationState(PLATFORM_LIBRARY_GENERATED);
+            // the module is either compiled or loaded from the compilation cache at this point
+            moduleContext.compilationState().generatePlatformSpecificCode(
+                    moduleContext, compilerContext, compilerBackend);
         }
     },
     DEPENDENCIES_RESOLVED_FROM_SOURCES {
@@ -97,8 +97,7 @@ enum ModuleCompilationState {
 
         @Override
         void compile(ModuleContext moduleContext, CompilerContext compilerContext) {
-            ModuleContext.compileInternal(moduleContext, compilerContext);
-            moduleContext.setCompilationState(COMPILED);
+            compileOrLoadCachedBir(moduleContext, compilerContext);
         }
 
         @Override
@@ -106,8 +105,9 @@ enum ModuleCompilationState {
                                           CompilerContext compilerContext,
                                           CompilerBackend compilerBackend) {
             compile(moduleContext, compilerContext);
-            ModuleContext.generateCodeInternal(moduleContext, compilerBackend, compilerContext);
-            moduleContext.setCompilationState(PLATFORM_LIBRARY_GENERATED);
+            // the module is either compiled or loaded from the compilation cache at this point
+            moduleContext.compilationState().generatePlatformSpecificCode(
+                    moduleContext, compilerContext, compilerBackend);
         }
     },
     COMPILED {
@@ -290,6 +290,24 @@ enum ModuleCompilationState {
         }
     };
 
+    /**
+     * Compiles the module from its sources, unless a previous incremental build has cached the module with the same
+     * sources and dependencies. A cached module is loaded from its BIR, and its platform-specific libraries are
+     * reused.
+     *
+     * @param moduleContext   module to be compiled
+     * @param compilerContext compiler context
+     */
+    private static void compileOrLoadCachedBir(ModuleContext moduleContext, CompilerContext compilerContext) {
+        if (ModuleContext.loadCachedBirInternal(moduleContext)) {
+            ModuleContext.loadPackageSymbolInternal(moduleContext, compilerContext);
+            moduleContext.setCompilationState(MODULE_SYMBOL_LOADED);
+            return;
+        }
+        ModuleContext.compileInternal(moduleContext, compilerContext);
+        moduleContext.setCompilationState(COMPILED);
+    }
+
     abstract void parse(ModuleContext moduleContext);
 
     abstract void resolveDependencies(ModuleContext moduleContext);
@@ -35,11 +35,20 @@ import org.wso2.ballerinalang.compiler.tree.BLangTestablePackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.programfile.PackageFileWriter;
+import org.wso2.ballerinalang.util.RepoUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -47,6 +56,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 
 import static org.ballerinalang.compiler.CompilerOptionName.SKIP_TESTS;
 import static org.ballerinalang.model.tree.SourceKind.REGULAR_SOURCE;
@@ -73,6 +83,9 @@ class ModuleContext {
     private final List<ModuleDescriptor> moduleDescDependencies;
 
     private Set<ModuleDependency> moduleDependencies;
+    private Set<ModuleContext> moduleDependencyContexts = Collections.emptySet();
+    private Optional<String> sourceHash;
+    private Optional<String> birHash;
     private BLangPackage bLangPackage;
     private BPackageSymbol bPackageSymbol;
     private byte[] birBytes = new byte[0];
@@ -193,6 +206,10 @@ class ModuleContext {
         return moduleCompState;
     }
 
+    byte[] birBytes() {
+        return birBytes;
+    }
+
     private BLangPackage getBLangPackageOrThrow() {
         if (bLangPackage == null) {
             throw new IllegalStateException("Compile the module first!");
@@ -236,7 +253,8 @@ class ModuleContext {
         }
 
         // TODO This logic needs to be updated. We need a proper way to decide on the initial state
-        if (compilationCache.getBir(moduleDescriptor.name()).length == 0) {
+        // An incremental build looks up the BIR cached by the module hash instead, which changes with the module
+        if (isReusedAcrossBuilds() || compilationCache.getBir(moduleDescriptor.name()).length == 0) {
             moduleCompState = ModuleCompilationState.LOADED_FROM_SOURCES;
         } else {
             moduleCompState = ModuleCompilationState.LOADED_FROM_CACHE;
@@ -254,12 +272,13 @@ class ModuleContext {
 
     void resolveDependencies(DependencyResolution dependencyResolution) {
         Set<ModuleDependency> moduleDependencies = new HashSet<>();
+        Set<ModuleContext> moduleDependencyContexts = new HashSet<>();
         if (this.project.kind() == ProjectKind.BALR_PROJECT) {
             for (ModuleDescriptor dependencyModDesc : moduleDescDependencies) {
                 // Dependencies loaded from cache should not contain test dependencies
                 addModuleDependency(dependencyModDesc.org(), dependencyModDesc.packageName(),
                         dependencyModDesc.name(), PackageDependencyScope.DEFAULT,
-                        moduleDependencies, dependencyResolution);
+                        moduleDependencies, moduleDependencyContexts, dependencyResolution);
             }
         } else {
             Set<ModuleLoadRequest> moduleLoadRequests = this.allModuleLoadRequests;
@@ -276,17 +295,19 @@ class ModuleContext {
                 }
 
                 addModuleDependency(packageOrg, modLoadRequest.moduleName(),
-                        modLoadRequest.scope(), moduleDependencies, dependencyResolution);
+                        modLoadRequest.scope(), moduleDependencies, moduleDependencyContexts, dependencyResolution);
             }
         }
 
         this.moduleDependencies = Collections.unmodifiableSet(moduleDependencies);
+        this.moduleDependencyContexts = Collections.unmodifiableSet(moduleDependencyContexts);
     }
 
     private void addModuleDependency(PackageOrg org,
                                      ModuleName moduleName,
                                      PackageDependencyScope scope,
                                      Set<ModuleDependency> moduleDependencies,
+                                     Set<ModuleContext> moduleDependencyContexts,
                                      DependencyResolution dependencyResolution) {
         Optional<ModuleContext> resolvedModuleOptional = dependencyResolution.getModule(org, moduleName.toString());
         if (resolvedModuleOptional.isEmpty()) {
@@ -298,6 +319,7 @@ class ModuleContext {
                 new PackageDependency(resolvedModule.moduleId().packageId(), scope),
                 resolvedModule.moduleId());
         moduleDependencies.add(moduleDependency);
+        moduleDependencyContexts.add(resolvedModule);
     }
 
     private void addModuleDependency(PackageOrg org,
@@ -305,6 +327,7 @@ class ModuleContext {
                                      ModuleName moduleName,
                                      PackageDependencyScope scope,
                                      Set<ModuleDependency> moduleDependencies,
+                                     Set<ModuleContext> moduleDependencyContexts,
                                      DependencyResolution dependencyResolution) {
         Optional<Module> resolvedModuleOptional = dependencyResolution.getModule(org, packageName, moduleName);
         if (resolvedModuleOptional.isEmpty()) {
@@ -316,6 +339,148 @@ class ModuleContext {
                 new PackageDependency(resolvedModule.packageInstance().packageId(), scope),
                 resolvedModule.moduleId());
         moduleDependencies.add(moduleDependency);
+        moduleDependencyContexts.add(resolvedModule.moduleContext());
+    }
+
+    /**
+     * Returns the hash, which identifies this module in an incremental build.
+     * <p>
+     * The hash covers the compiler version, the compilation options, the documents of the module, the platform
+     * libraries of its package and the hashes of the modules it imports. A module imported from another package is
+     * identified by the hash of its BIR instead of its sources. Hence the hash changes whenever the module or any
+     * module it depends on changes.
+     *
+     * @return hash of the module, or empty if the compiled module is not reused across builds
+     */
+    Optional<String> moduleHash() {
+        return isReusedAcrossBuilds() ? sourceHash() : Optional.empty();
+    }
+
+    private Optional<String> sourceHash() {
+        if (sourceHash == null) {
+            sourceHash = computeHash(true);
+        }
+        return sourceHash;
+    }
+
+    private Optional<String> dependencyHash() {
+        if (isIncrementalBuild()) {
+            return sourceHash();
+        }
+        if (birHash == null) {
+            birHash = birBytes.length > 0 ? computeHash(false) : Optional.empty();
+        }
+        return birHash;
+    }
+
+    private Optional<String> computeHash(boolean fromSources) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return Optional.empty();
+        }
+
+        if (fromSources) {
+            CompilationOptions options = project.buildOptions().compilationOptions();
+            updateDigest(messageDigest, RepoUtils.getBallerinaVersion());
+            updateDigest(messageDigest, moduleDescriptor.moduleCompilationId().toString());
+            updateDigest(messageDigest, options.getOptimizationLevel() + ":" + options.experimental() + ":" +
+                    options.getTaintCheck() + ":" + options.skipTests());
+            List<DocumentContext> documentContexts = new ArrayList<>(srcDocContextMap.values());
+            documentContexts.addAll(testDocContextMap.values());
+            documentContexts.sort(Comparator.comparing(DocumentContext::name));
+            for (DocumentContext documentContext : documentContexts) {
+                updateDigest(messageDigest, documentContext.name());
+                updateDigest(messageDigest, documentContext.content());
+            }
+            if (!updateDigestWithPlatformLibraries(messageDigest)) {
+                return Optional.empty();
+            }
+        } else {
+            messageDigest.update(birBytes);
+        }
+
+        List<String> dependencyHashes = new ArrayList<>();
+        for (ModuleContext dependency : moduleDependencyContexts) {
+            Optional<String> dependencyHash = dependency.dependencyHash();
+            if (dependencyHash.isEmpty()) {
+                return Optional.empty();
+            }
+            dependencyHashes.add(dependencyHash.get());
+        }
+        Collections.sort(dependencyHashes);
+        dependencyHashes.forEach(dependencyHash -> updateDigest(messageDigest, dependencyHash));
+
+        StringBuilder hash = new StringBuilder();
+        for (byte b : messageDigest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return Optional.of(hash.toString());
+    }
+
+    /**
+     * Updates the digest with the platform libraries declared in the Ballerina.toml of the package, as the code
+     * generated for the interop functions of the module depends on their classes. Each library is identified by its
+     * entries in the Ballerina.toml and the content of its jar.
+     *
+     * @param messageDigest digest to be updated
+     * @return whether the jars of the libraries could be read
+     */
+    private boolean updateDigestWithPlatformLibraries(MessageDigest messageDigest) {
+        PackageManifest manifest = project.currentPackage().manifest();
+        for (JvmTarget jvmTarget : JvmTarget.values()) {
+            PackageManifest.Platform platform = manifest.platform(jvmTarget.code());
+            if (platform == null) {
+                continue;
+            }
+            updateDigest(messageDigest, jvmTarget.code());
+            for (Map<String, Object> dependency : platform.dependencies()) {
+                for (Map.Entry<String, Object> entry : new TreeMap<>(dependency).entrySet()) {
+                    updateDigest(messageDigest, entry.getKey() + "=" + entry.getValue());
+                }
+                Object path = dependency.get(JarLibrary.KEY_PATH);
+                if (path == null) {
+                    continue;
+                }
+                Path jarPath = project.sourceRoot().resolve(path.toString());
+                try (InputStream inputStream = Files.newInputStream(jarPath)) {
+                    byte[] buffer = new byte[8192];
+                    int count;
+                    while ((count = inputStream.read(buffer)) != -1) {
+                        messageDigest.update(buffer, 0, count);
+                    }
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void updateDigest(MessageDigest messageDigest, String value) {
+        messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) 0);
+    }
+
+    private boolean isIncrementalBuild() {
+        return project.kind() == ProjectKind.BUILD_PROJECT &&
+                project.buildOptions().compilationOptions().incrementalBuild() &&
+                System.getProperty("BOOTSTRAP_LANG_LIB") == null;
+    }
+
+    /**
+     * Checks whether the compiled module can be reused by later builds. The modules of a package with observability
+     * or cloud artifacts, and the modules with tests to be run, are always compiled from the sources, as their syntax
+     * trees and semantic models are needed.
+     *
+     * @return whether the compiled module is cached for later builds
+     */
+    private boolean isReusedAcrossBuilds() {
+        CompilationOptions options = project.buildOptions().compilationOptions();
+        return isIncrementalBuild() && !options.observabilityIncluded() &&
+                (options.getCloud() == null || options.getCloud().isEmpty()) &&
+                (options.skipTests() || testDocContextMap.isEmpty());
     }
 
     void compile(CompilerContext compilerContext) {
@@ -327,9 +492,28 @@ class ModuleContext {
     }
 
     static void parseInternal(ModuleContext moduleContext) {
-        for (DocumentContext docContext : moduleContext.srcDocContextMap.values()) {
-            docContext.parse();
+        parseDocuments(Collections.singleton(moduleContext), false);
+    }
+
+    /**
+     * Parses the source documents, and the test source documents if required, of the given modules.
+     * <p>
+     * The syntax trees of the documents are independent of each other, hence the documents are parsed in parallel.
+     * They are transformed to compilation units later, one after another in their order, as the names generated for
+     * anonymous types and functions during the transformation depend on that order.
+     *
+     * @param moduleContexts modules to be parsed
+     * @param includeTests   whether to parse the test source documents as well
+     */
+    static void parseDocuments(Collection<ModuleContext> moduleContexts, boolean includeTests) {
+        List<DocumentContext> documentContexts = new ArrayList<>();
+        for (ModuleContext moduleContext : moduleContexts) {
+            documentContexts.addAll(moduleContext.srcDocContextMap.values());
+            if (includeTests) {
+                documentContexts.addAll(moduleContext.testDocContextMap.values());
+            }
         }
+        documentContexts.parallelStream().forEach(DocumentContext::parse);
     }
 
     static void resolveDependenciesInternal(ModuleContext moduleContext) {
@@ -410,6 +594,7 @@ class ModuleContext {
                     moduleContext.bLangPackage.symbol.birPackageFile);
             birContent.writeBytes(pkgBirBinaryContent);
             moduleContext.compilationCache.cacheBir(moduleContext.moduleName(), birContent);
+            moduleContext.birBytes = pkgBirBinaryContent;
         } catch (IOException e) {
             // This path may never be executed
             throw new RuntimeException("Failed to convert BIR model to a byte array", e);
@@ -420,6 +605,27 @@ class ModuleContext {
         moduleContext.birBytes = moduleContext.compilationCache.getBir(moduleContext.moduleName());
     }
 
+    /**
+     * Loads the BIR cached by a previous build for the module hash, which is computed once the dependencies of the
+     * module are compiled.
+     *
+     * @param moduleContext module to be loaded
+     * @return whether the BIR of the module is found in the compilation cache
+     */
+    static boolean loadCachedBirInternal(ModuleContext moduleContext) {
+        Optional<String> moduleHash = moduleContext.moduleHash();
+        if (moduleHash.isEmpty()) {
+            return false;
+        }
+        Optional<byte[]> cachedBir = moduleContext.compilationCache.getBir(moduleContext.moduleName(),
+                moduleHash.get());
+        if (cachedBir.isEmpty()) {
+            return false;
+        }
+        moduleContext.birBytes = cachedBir.get();
+        return true;
+    }
+
     static void resolveDependenciesFromBALOInternal(ModuleContext moduleContext) {
         // TODO implement
     }
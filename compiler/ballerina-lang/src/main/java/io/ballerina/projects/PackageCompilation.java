@@ -42,6 +42,7 @@ import static org.ballerinalang.compiler.CompilerOptionName.DUMP_BIR_FILE;
 import static org.ballerinalang.compiler.CompilerOptionName.EXPERIMENTAL_FEATURES_ENABLED;
 import static org.ballerinalang.compiler.CompilerOptionName.OBSERVABILITY_INCLUDED;
 import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
 import static org.ballerinalang.compiler.CompilerOptionName.SKIP_TESTS;
 import static org.ballerinalang.compiler.CompilerOptionName.TAINT_CHECK;
 
@@ -84,6 +85,7 @@ public class PackageCompilation {
         options.put(DUMP_BIR_FILE, compilationOptions.getBirDumpFile());
         options.put(CLOUD, compilationOptions.getCloud());
         options.put(TAINT_CHECK, Boolean.toString(compilationOptions.getTaintCheck()));
+        options.put(OPTIMIZATION_LEVEL, Integer.toString(compilationOptions.getOptimizationLevel()));
     }
 
     static PackageCompilation from(PackageContext rootPackageContext) {
@@ -138,6 +140,10 @@ public class PackageCompilation {
 
     private void compile() {
         List<Diagnostic> diagnostics = new ArrayList<>();
+        // The modules are compiled one at a time in the topological order, even if they do not depend on each other.
+        // The compiler phases are singletons of the compiler context, which keep the module being compiled in their
+        // fields (e.g. the environments of SymbolEnter, TypeChecker and Desugar, and the current module of the
+        // diagnostic log), and the maps of the PackageCache and the SymbolTable are not synchronized.
         for (ModuleContext moduleContext : packageResolution.topologicallySortedModuleList()) {
             moduleContext.compile(compilerContext);
             moduleContext.diagnostics().forEach(diagnostic ->
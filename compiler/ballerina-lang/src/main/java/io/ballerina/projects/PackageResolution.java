@@ -155,8 +155,14 @@ public class PackageResolution {
 
     private LinkedHashSet<ModuleLoadRequest> getModuleLoadRequestsOfDirectDependencies() {
         LinkedHashSet<ModuleLoadRequest> allModuleLoadRequests = new LinkedHashSet<>();
+        // Parse the documents of all the modules at once, before reading their imports
+        List<ModuleContext> moduleContexts = new ArrayList<>();
         for (ModuleId moduleId : rootPackageContext.moduleIds()) {
-            ModuleContext moduleContext = rootPackageContext.moduleContext(moduleId);
+            moduleContexts.add(rootPackageContext.moduleContext(moduleId));
+        }
+        ModuleContext.parseDocuments(moduleContexts, !compilationOptions.skipTests());
+
+        for (ModuleContext moduleContext : moduleContexts) {
             allModuleLoadRequests.addAll(moduleContext.populateModuleLoadRequests());
         }
 
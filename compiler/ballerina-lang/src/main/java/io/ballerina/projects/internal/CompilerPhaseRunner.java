@@ -33,6 +33,7 @@ import org.wso2.ballerinalang.compiler.semantics.analyzer.SemanticAnalyzer;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolEnter;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolResolver;
 import org.wso2.ballerinalang.compiler.semantics.analyzer.TaintAnalyzer;
+import org.wso2.ballerinalang.compiler.semantics.analyzer.TypeRelationCache;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.spi.ObservabilitySymbolCollector;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
@@ -71,6 +72,7 @@ public class CompilerPhaseRunner {
     private final CompilerPhase compilerPhase;
     private final DataflowAnalyzer dataflowAnalyzer;
     private final IsolationAnalyzer isolationAnalyzer;
+    private final TypeRelationCache typeRelationCache;
     private boolean isToolingCompilation;
 
 
@@ -103,6 +105,7 @@ public class CompilerPhaseRunner {
         this.compilerPhase = this.options.getCompilerPhase();
         this.dataflowAnalyzer = DataflowAnalyzer.getInstance(context);
         this.isolationAnalyzer = IsolationAnalyzer.getInstance(context);
+        this.typeRelationCache = TypeRelationCache.getInstance(context);
         this.isToolingCompilation = this.options.isSet(TOOLING_COMPILATION)
                 && Boolean.parseBoolean(this.options.get(TOOLING_COMPILATION));
     }
@@ -214,7 +217,13 @@ public class CompilerPhaseRunner {
     }
 
     private BLangPackage typeCheck(BLangPackage pkgNode) {
-        return this.semAnalyzer.analyze(pkgNode);
+        // The types of the module have all been defined by now, hence the relations between them are memoized
+        this.typeRelationCache.enable();
+        try {
+            return this.semAnalyzer.analyze(pkgNode);
+        } finally {
+            this.typeRelationCache.disable();
+        }
     }
 
     private BLangPackage documentationAnalyze(BLangPackage pkgNode) {
@@ -31,7 +31,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * An implementation of the {@code PackageCompilationCache} that is aware of the file system structure.
@@ -46,6 +48,15 @@ import java.util.Optional;
  * - mod2.bir
  * - jar
  * - org-package-name-version.jar
+ * - modules
+ * - mod1
+ * - module-hash
+ * - mod1.bir
+ * - platform
+ * - mod1.jar
+ * <p>
+ * The modules directory keeps the BIR and the libraries of each module by the hash of its sources and dependencies,
+ * for incremental builds. Only the entry of the latest hash of a module is kept.
  *
  * @since 2.0.0
  */
@@ -115,6 +126,93 @@ public class FileSystemCache extends CompilationCache {
         }
     }
 
+    @Override
+    public Optional<Path> getPlatformSpecificLibraryPath(CompilerBackend compilerBackend, String libraryName) {
+        Path targetPlatformCacheDirPath = getTargetPlatformCacheDirPath(compilerBackend);
+        createDirectories(targetPlatformCacheDirPath);
+        return Optional.of(targetPlatformCacheDirPath.resolve(libraryName + compilerBackend.libraryFileExtension()));
+    }
+
+    @Override
+    public Optional<byte[]> getBir(ModuleName moduleName, String moduleHash) {
+        Path birFilePath = getModuleCacheDirPath(moduleName, moduleHash)
+                .resolve(moduleName.toString() + ProjectConstants.BLANG_COMPILED_PKG_BIR_EXT);
+        if (!Files.exists(birFilePath)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readAllBytes(birFilePath));
+        } catch (IOException e) {
+            // A module that cannot be read from the cache is compiled from its sources
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void cacheBir(ModuleName moduleName, String moduleHash, ByteArrayOutputStream birContent) {
+        Path moduleCacheDirPath = getModuleCacheDirPath(moduleName, moduleHash);
+        createDirectories(moduleCacheDirPath);
+        Path birFilePath = moduleCacheDirPath.resolve(moduleName.toString()
+                + ProjectConstants.BLANG_COMPILED_PKG_BIR_EXT);
+        try {
+            // The BIR marks a complete entry, hence it is moved into place only after it is fully written
+            Path tempBirFilePath = Files.createTempFile(moduleCacheDirPath, moduleName.toString(), null);
+            Files.write(tempBirFilePath, birContent.toByteArray());
+            Files.move(tempBirFilePath, birFilePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // TODO proper error handling
+            throw new RuntimeException("Failed to cache the bir of module: " + moduleName, e);
+        }
+        deleteStaleModuleCacheDirs(moduleCacheDirPath);
+    }
+
+    @Override
+    public Optional<Path> getPlatformSpecificLibrary(CompilerBackend compilerBackend,
+                                                     ModuleName moduleName,
+                                                     String moduleHash,
+                                                     String libraryName) {
+        Path jarFilePath = getModuleCacheDirPath(moduleName, moduleHash)
+                .resolve(compilerBackend.targetPlatform().code())
+                .resolve(libraryName + compilerBackend.libraryFileExtension());
+        return Files.exists(jarFilePath) ? Optional.of(jarFilePath) : Optional.empty();
+    }
+
+    @Override
+    public void cachePlatformSpecificLibrary(CompilerBackend compilerBackend,
+                                             ModuleName moduleName,
+                                             String moduleHash,
+                                             String libraryName,
+                                             ByteArrayOutputStream libraryContent) {
+        Path targetPlatformCacheDirPath = getModuleCacheDirPath(moduleName, moduleHash)
+                .resolve(compilerBackend.targetPlatform().code());
+        createDirectories(targetPlatformCacheDirPath);
+        Path jarFilePath = targetPlatformCacheDirPath.resolve(libraryName + compilerBackend.libraryFileExtension());
+        try {
+            FileUtils.writeByteArrayToFile(jarFilePath.toFile(), libraryContent.toByteArray());
+        } catch (IOException e) {
+            // TODO improve the error handling
+            throw new RuntimeException("Failed to write library: " + jarFilePath, e);
+        }
+    }
+
+    private Path getModuleCacheDirPath(ModuleName moduleName, String moduleHash) {
+        return packageCacheDirPath().resolve(ProjectConstants.REPO_MODULE_CACHE_NAME)
+                .resolve(moduleName.toString()).resolve(moduleHash);
+    }
+
+    private void deleteStaleModuleCacheDirs(Path moduleCacheDirPath) {
+        try (Stream<Path> moduleCacheDirs = Files.list(moduleCacheDirPath.getParent())) {
+            for (Path staleDirPath : (Iterable<Path>) moduleCacheDirs::iterator) {
+                if (!staleDirPath.equals(moduleCacheDirPath)) {
+                    FileUtils.deleteDirectory(staleDirPath.toFile());
+                }
+            }
+        } catch (IOException e) {
+            // Stale entries are only left behind
+        }
+    }
+
     private Path getTargetPlatformCacheDirPath(CompilerBackend compilerBackend) {
         String targetPlatformCode = compilerBackend.targetPlatform().code();
         return packageCacheDirPath().resolve(targetPlatformCode);
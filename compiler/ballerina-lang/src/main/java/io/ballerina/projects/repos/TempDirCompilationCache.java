@@ -17,12 +17,14 @@
  */
 package io.ballerina.projects.repos;
 
+import io.ballerina.projects.CompilerBackend;
 import io.ballerina.projects.ModuleName;
 import io.ballerina.projects.Project;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
 
 /**
  * A {@code CompilationCache} instance that caches artifacts in a temp directory.
@@ -48,6 +50,12 @@ public class TempDirCompilationCache extends FileSystemCache {
         return EMPTY_BYTE_ARRAY;
     }
 
+    @Override
+    public Optional<Path> getPlatformSpecificLibraryPath(CompilerBackend compilerBackend, String libraryName) {
+        // The temp directory is not shared with later builds
+        return Optional.empty();
+    }
+
     private static Path createTempProjectRoot() {
         try {
             return Files.createTempDirectory("ballerina-compilation-cache" + System.nanoTime());
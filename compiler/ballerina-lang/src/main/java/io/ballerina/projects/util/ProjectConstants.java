@@ -88,6 +88,7 @@ public class ProjectConstants {
     public static final String REPO_BALO_DIR_NAME = TARGET_BALO_DIR_NAME;
     public static final String REPO_CACHE_DIR_NAME = "cache";
     public static final String REPO_BIR_CACHE_NAME = "bir";
+    public static final String REPO_MODULE_CACHE_NAME = "modules";
 
     //module name format : <org-name>/<pkg-name> | <org-name>/<pkg-name>:<version>
     //version format : 1, 1.*, 1.*.*
@@ -81,6 +81,7 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.INT_VALUE
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.JVM_INIT_METHOD;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.JVM_TO_STRING_METHOD;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.JVM_TO_UNSIGNED_INT_METHOD;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LONG_CACHE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LONG_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MAP_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.NUMBER;
@@ -1550,7 +1551,7 @@ public class JvmCastGen {
     private void generateCastToAny(MethodVisitor mv, BType sourceType) {
 
         if (TypeTags.isIntegerTypeTag(sourceType.tag)) {
-            mv.visitMethodInsn(INVOKESTATIC, LONG_VALUE, VALUE_OF_METHOD, String.format("(J)L%s;", LONG_VALUE), false);
+            mv.visitMethodInsn(INVOKESTATIC, LONG_CACHE, VALUE_OF_METHOD, String.format("(J)L%s;", LONG_VALUE), false);
             return;
         }
 
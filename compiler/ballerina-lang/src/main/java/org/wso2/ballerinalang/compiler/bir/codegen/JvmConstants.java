@@ -153,6 +153,7 @@ public class JvmConstants {
     public static final String TYPE_CHECKER = "io/ballerina/runtime/internal/TypeChecker";
     public static final String SCHEDULER = "io/ballerina/runtime/internal/scheduling/Scheduler";
     public static final String JSON_UTILS = "io/ballerina/runtime/internal/JsonUtils";
+    public static final String LONG_CACHE = "io/ballerina/runtime/internal/LongCache";
     public static final String STRAND_CLASS = "io/ballerina/runtime/internal/scheduling/Strand";
     public static final String STRAND_METADATA = "io/ballerina/runtime/api/async/StrandMetadata";
     public static final String BAL_ENV = "io/ballerina/runtime/api/Environment";
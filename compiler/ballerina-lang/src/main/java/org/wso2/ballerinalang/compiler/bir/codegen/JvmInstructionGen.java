@@ -39,12 +39,16 @@ import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SchedulerPolicy;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BObjectType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 import org.wso2.ballerinalang.util.Flags;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.objectweb.asm.Opcodes.AASTORE;
 import static org.objectweb.asm.Opcodes.ACONST_NULL;
@@ -65,6 +69,7 @@ import static org.objectweb.asm.Opcodes.DSUB;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.FLOAD;
 import static org.objectweb.asm.Opcodes.FSTORE;
+import static org.objectweb.asm.Opcodes.GETFIELD;
 import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.GOTO;
 import static org.objectweb.asm.Opcodes.I2B;
@@ -88,6 +93,7 @@ import static org.objectweb.asm.Opcodes.IF_ICMPLT;
 import static org.objectweb.asm.Opcodes.IF_ICMPNE;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INEG;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
@@ -113,6 +119,7 @@ import static org.objectweb.asm.Opcodes.LSUB;
 import static org.objectweb.asm.Opcodes.LUSHR;
 import static org.objectweb.asm.Opcodes.LXOR;
 import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
 import static org.objectweb.asm.Opcodes.PUTSTATIC;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCastGen.getTargetClass;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCodeGenUtil.toNameString;
@@ -187,6 +194,8 @@ public class JvmInstructionGen {
     private final JvmBStringConstantsGen stringConstantsGen;
     private final SymbolTable symbolTable;
     private final AsyncDataCollector asyncDataCollector;
+    // constant loaded by the previous instruction of the current basic block, if any
+    private BIRNonTerminator.ConstantLoad previousConstantLoad;
 
     public JvmInstructionGen(MethodVisitor mv, BIRVarToJVMIndexMap indexMap, PackageID currentPackage,
                              JvmPackageGen jvmPackageGen, JvmTypeGen jvmTypeGen, JvmCastGen jvmCastGen,
@@ -1192,9 +1201,14 @@ public class JvmInstructionGen {
     }
 
     void generateMapStoreIns(BIRNonTerminator.FieldAccess mapStoreIns) {
+        BType varRefType = mapStoreIns.lhsOp.variableDcl.type;
+        Label storedLabel = null;
+        if (!mapStoreIns.onInitialization) {
+            storedLabel = generateRecordFieldStore(mapStoreIns);
+        }
+
         // visit map_ref
         this.loadVar(mapStoreIns.lhsOp.variableDcl);
-        BType varRefType = mapStoreIns.lhsOp.variableDcl.type;
 
         // visit key_expr
         this.loadVar(mapStoreIns.keyOp.variableDcl);
@@ -1216,12 +1230,133 @@ public class JvmInstructionGen {
                                              MAP_VALUE, JvmConstants.B_STRING_VALUE, OBJECT);
             this.mv.visitMethodInsn(INVOKESTATIC, MAP_UTILS, "handleMapStore", signature, false);
         }
+
+        if (storedLabel != null) {
+            this.mv.visitLabel(storedLabel);
+        }
+    }
+
+    /**
+     * Generates a direct store to the field of the record value class, if the store is to a required, non-readonly
+     * field of a closed record of this module. Other values of the record type (e.g. frozen values, or values of a
+     * structurally equivalent record) are left to the generic store, which follows this.
+     *
+     * @param mapStoreIns map store instruction
+     * @return label to jump to after the generic store, or null if the direct store is not possible
+     */
+    private Label generateRecordFieldStore(BIRNonTerminator.FieldAccess mapStoreIns) {
+        BIRNode.BIRVariableDcl mapVar = mapStoreIns.lhsOp.variableDcl;
+        BField field = getRecordField(mapVar.type, mapStoreIns.keyOp);
+        if (field == null || Symbols.isFlagOn(field.symbol.flags, Flags.READONLY)) {
+            return null;
+        }
+
+        String className = jvmPackageGen.lookupValueClassName(mapVar.type);
+        Label genericStoreLabel = new Label();
+        Label storedLabel = new Label();
+        this.loadVar(mapVar);
+        this.mv.visitTypeInsn(INSTANCEOF, className);
+        this.mv.visitJumpInsn(IFEQ, genericStoreLabel);
+        this.loadVar(mapVar);
+        this.mv.visitMethodInsn(INVOKEINTERFACE, MAP_VALUE, "isFrozen", "()Z", true);
+        this.mv.visitJumpInsn(IFNE, genericStoreLabel);
+
+        this.loadVar(mapVar);
+        this.mv.visitTypeInsn(CHECKCAST, className);
+        BIRNode.BIRVariableDcl valueVar = mapStoreIns.rhsOp.variableDcl;
+        this.loadVar(valueVar);
+        this.generateFieldValueConversion(valueVar.type, field.type);
+        this.mv.visitFieldInsn(PUTFIELD, className, field.name.value, getTypeDesc(field.type));
+        this.mv.visitJumpInsn(GOTO, storedLabel);
+        this.mv.visitLabel(genericStoreLabel);
+        return storedLabel;
+    }
+
+    /**
+     * Generates a direct load from the field of the value class, if the load is from a required field of a closed
+     * record or a field of a class of this module. Values of other classes having the same type are left to the
+     * generic load, which follows this.
+     *
+     * @param fieldLoadIns map or object load instruction
+     * @param field        field to be loaded, or null if the field is not known
+     * @return label to jump to after the generic load, or null if the direct load is not possible
+     */
+    private Label generateFieldLoad(BIRNonTerminator.FieldAccess fieldLoadIns, BField field) {
+        if (field == null) {
+            return null;
+        }
+
+        BIRNode.BIRVariableDcl valueVar = fieldLoadIns.rhsOp.variableDcl;
+        String className = jvmPackageGen.lookupValueClassName(valueVar.type);
+        Label genericLoadLabel = new Label();
+        Label loadedLabel = new Label();
+        this.loadVar(valueVar);
+        this.mv.visitTypeInsn(INSTANCEOF, className);
+        this.mv.visitJumpInsn(IFEQ, genericLoadLabel);
+
+        this.loadVar(valueVar);
+        this.mv.visitTypeInsn(CHECKCAST, className);
+        this.mv.visitFieldInsn(GETFIELD, className, field.name.value, getTypeDesc(field.type));
+        this.generateFieldValueConversion(field.type, fieldLoadIns.lhsOp.variableDcl.type);
+        this.storeToVar(fieldLoadIns.lhsOp.variableDcl);
+        this.mv.visitJumpInsn(GOTO, loadedLabel);
+        this.mv.visitLabel(genericLoadLabel);
+        return loadedLabel;
+    }
+
+    private void generateFieldValueConversion(BType sourceType, BType targetType) {
+        // values are only boxed when the JVM types of the source and the target differ
+        if (!getTypeDesc(sourceType).equals(getTypeDesc(targetType))) {
+            jvmCastGen.addBoxInsn(this.mv, sourceType);
+            jvmCastGen.addUnboxInsn(this.mv, targetType);
+        }
+    }
+
+    private BField getRecordField(BType varRefType, BIROperand keyOp) {
+        if (varRefType.tag != TypeTags.RECORD || !((BRecordType) varRefType).sealed) {
+            return null;
+        }
+        BField field = getField(((BRecordType) varRefType).fields, varRefType, keyOp);
+        if (field == null || Symbols.isFlagOn(field.symbol.flags, Flags.OPTIONAL)) {
+            return null;
+        }
+        return field;
+    }
+
+    private BField getObjectField(BType varRefType, BIROperand keyOp) {
+        if (varRefType.tag != TypeTags.OBJECT) {
+            return null;
+        }
+        return getField(((BObjectType) varRefType).fields, varRefType, keyOp);
+    }
+
+    private BField getField(Map<String, BField> fields, BType varRefType, BIROperand keyOp) {
+        // field names are only known when the key is a constant loaded right before the access
+        BIRNonTerminator.ConstantLoad keyLoad = this.previousConstantLoad;
+        if (keyLoad == null || keyLoad.lhsOp.variableDcl != keyOp.variableDcl || !(keyLoad.value instanceof String) ||
+                jvmPackageGen.lookupValueClassName(varRefType) == null) {
+            return null;
+        }
+        // field names are encoded by now, hence they are matched with the key in the same way as in the generated
+        // get and put methods of the value class
+        String key = (String) keyLoad.value;
+        for (BField field : fields.values()) {
+            if (IdentifierUtils.decodeIdentifier(field.name.value).equals(key)) {
+                return field;
+            }
+        }
+        return null;
     }
 
     void generateMapLoadIns(BIRNonTerminator.FieldAccess mapLoadIns) {
+        BType varRefType = mapLoadIns.rhsOp.variableDcl.type;
+        Label loadedLabel = null;
+        if (!mapLoadIns.optionalFieldAccess && !mapLoadIns.fillingRead) {
+            loadedLabel = generateFieldLoad(mapLoadIns, getRecordField(varRefType, mapLoadIns.keyOp));
+        }
+
         // visit map_ref
         this.loadVar(mapLoadIns.rhsOp.variableDcl);
-        BType varRefType = mapLoadIns.rhsOp.variableDcl.type;
         jvmCastGen.addUnboxInsn(this.mv, varRefType);
 
         // visit key_expr
@@ -1253,9 +1388,16 @@ public class JvmInstructionGen {
         BType targetType = mapLoadIns.lhsOp.variableDcl.type;
         jvmCastGen.addUnboxInsn(this.mv, targetType);
         this.storeToVar(mapLoadIns.lhsOp.variableDcl);
+
+        if (loadedLabel != null) {
+            this.mv.visitLabel(loadedLabel);
+        }
     }
 
     void generateObjectLoadIns(BIRNonTerminator.FieldAccess objectLoadIns) {
+        BType varRefType = objectLoadIns.rhsOp.variableDcl.type;
+        Label loadedLabel = generateFieldLoad(objectLoadIns, getObjectField(varRefType, objectLoadIns.keyOp));
+
         // visit object_ref
         this.loadVar(objectLoadIns.rhsOp.variableDcl);
 
@@ -1270,6 +1412,10 @@ public class JvmInstructionGen {
 
         // store in the target reg
         this.storeToVar(objectLoadIns.lhsOp.variableDcl);
+
+        if (loadedLabel != null) {
+            this.mv.visitLabel(loadedLabel);
+        }
     }
 
     void generateObjectStoreIns(BIRNonTerminator.FieldAccess objectStoreIns) {
@@ -1881,7 +2027,20 @@ public class JvmInstructionGen {
         }
     }
 
+    /**
+     * Resets the state kept across the instructions of a basic block, before generating the instructions of a new one.
+     */
+    void startBasicBlock() {
+        this.previousConstantLoad = null;
+    }
+
     void generateInstructions(int localVarOffset, BIRInstruction inst) {
+        generateInstruction(localVarOffset, inst);
+        this.previousConstantLoad = inst.getKind() == InstructionKind.CONST_LOAD ?
+                (BIRNonTerminator.ConstantLoad) inst : null;
+    }
+
+    private void generateInstruction(int localVarOffset, BIRInstruction inst) {
         if (inst instanceof BIRNonTerminator.BinaryOp) {
             generateBinaryOpIns((BIRNonTerminator.BinaryOp) inst);
         } else {
@@ -48,6 +48,8 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.NewInstance;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarScope;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
@@ -67,12 +69,14 @@ import org.wso2.ballerinalang.util.Flags;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
@@ -82,9 +86,11 @@ import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 import static org.objectweb.asm.Opcodes.ACC_STATIC;
 import static org.objectweb.asm.Opcodes.ACC_SUPER;
 import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.PUTSTATIC;
 import static org.objectweb.asm.Opcodes.RETURN;
@@ -96,9 +102,11 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BALLERINA
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.CURRENT_MODULE_INIT;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.CURRENT_MODULE_VAR_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.ENCODED_DOT_CHARACTER;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.GLOBAL_LOCK_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.JVM_INIT_METHOD;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_STORE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_STORE_VAR_NAME;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE_INIT_CLASS_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE_STARTED;
@@ -133,6 +141,8 @@ public class JvmPackageGen {
     private final Map<String, String> externClassMap;
     private final Map<String, String> globalVarClassMap;
     private final Map<String, PackageID> dependentModules;
+    private final Map<BType, String> valueClassMap;
+    private final Set<BIRFunction> nonYieldingFunctions;
     private final BLangDiagnosticLog dlog;
 
     JvmPackageGen(SymbolTable symbolTable, PackageCache packageCache, BLangDiagnosticLog dlog) {
@@ -140,13 +150,15 @@ public class JvmPackageGen {
         globalVarClassMap = new HashMap<>();
         externClassMap = new HashMap<>();
         dependentModules = new LinkedHashMap<>();
+        valueClassMap = new HashMap<>();
+        nonYieldingFunctions = new HashSet<>();
         this.symbolTable = symbolTable;
         this.packageCache = packageCache;
         this.dlog = dlog;
         methodGen = new MethodGen(this);
         initMethodGen = new InitMethodGen(symbolTable);
         configMethodGen = new ConfigMethodGen();
-        frameClassGen = new FrameClassGen();
+        frameClassGen = new FrameClassGen(this);
         typeBuilder = new ResolvedTypeBuilder();
 
         JvmInstructionGen.anyType = symbolTable.anyType;
@@ -229,23 +241,31 @@ public class JvmPackageGen {
 
     }
 
-    private static void generateLockForVariable(ClassWriter cw) {
+    private static void generateLockForVariable(ClassWriter cw, Set<Integer> lockIds) {
 
         String lockStoreClass = "L" + LOCK_STORE + ";";
         FieldVisitor fv;
         fv = cw.visitField(ACC_PUBLIC + ACC_FINAL + ACC_STATIC, LOCK_STORE_VAR_NAME, lockStoreClass, null, null);
         fv.visitEnd();
+
+        String lockClass = "L" + LOCK_VALUE + ";";
+        for (Integer lockId : lockIds) {
+            fv = cw.visitField(ACC_PUBLIC + ACC_FINAL + ACC_STATIC, computeLockName(lockId), lockClass, null, null);
+            fv.visitEnd();
+        }
     }
 
     private static void generateStaticInitializer(ClassWriter cw, String className,
                                                   PackageID packageID, boolean isInitClass,
-                                                  boolean serviceEPAvailable, AsyncDataCollector asyncDataCollector) {
+                                                  boolean serviceEPAvailable, AsyncDataCollector asyncDataCollector,
+                                                  Set<Integer> lockIds) {
         if (!isInitClass && asyncDataCollector.getStrandMetadata().isEmpty()) {
             return;
         }
         MethodVisitor mv = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
         if (isInitClass) {
             setLockStoreField(mv, className);
+            setLockFields(mv, className, lockIds);
             setServiceEPAvailableField(cw, mv, serviceEPAvailable, className);
             setModuleStatusField(cw, mv, className);
             setCurrentModuleField(cw, mv, packageID, className);
@@ -264,6 +284,18 @@ public class JvmPackageGen {
         mv.visitFieldInsn(PUTSTATIC, className, LOCK_STORE_VAR_NAME, lockStoreClass);
     }
 
+    private static void setLockFields(MethodVisitor mv, String className, Set<Integer> lockIds) {
+        String lockStoreClass = "L" + LOCK_STORE + ";";
+        String lockClass = "L" + LOCK_VALUE + ";";
+        for (Integer lockId : lockIds) {
+            mv.visitFieldInsn(GETSTATIC, className, LOCK_STORE_VAR_NAME, lockStoreClass);
+            mv.visitLdcInsn(GLOBAL_LOCK_NAME + lockId);
+            mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_STORE, "getLockFromMap",
+                               String.format("(L%s;)L%s;", STRING_VALUE, LOCK_VALUE), false);
+            mv.visitFieldInsn(PUTSTATIC, className, computeLockName(lockId), lockClass);
+        }
+    }
+
     private static void setServiceEPAvailableField(ClassWriter cw, MethodVisitor mv, boolean serviceEPAvailable,
                                                    String initClass) {
         FieldVisitor fv = cw.visitField(ACC_PUBLIC + ACC_STATIC, SERVICE_EP_AVAILABLE, "Z", null, null);
@@ -313,6 +345,55 @@ public class JvmPackageGen {
         return "$lock" + varName;
     }
 
+    static String computeLockName(int lockId) {
+
+        return "$" + GLOBAL_LOCK_NAME + lockId;
+    }
+
+    /**
+     * Collects the ids of the locks inferred for the {@code lock} statements of the module, so that a static field
+     * can be generated for each of them in the module init class.
+     *
+     * @param module module to be scanned
+     * @return sorted set of lock ids
+     */
+    private static Set<Integer> getLockIds(BIRPackage module) {
+
+        Set<Integer> lockIds = new TreeSet<>();
+        for (BIRFunction func : module.functions) {
+            addLockIds(func, lockIds);
+        }
+        for (BIRTypeDefinition typeDef : module.typeDefs) {
+            if (typeDef.attachedFuncs == null) {
+                continue;
+            }
+            for (BIRFunction func : typeDef.attachedFuncs) {
+                addLockIds(func, lockIds);
+            }
+        }
+        return lockIds;
+    }
+
+    private static void addLockIds(BIRFunction func, Set<Integer> lockIds) {
+
+        if (func == null) {
+            return;
+        }
+        addLockIds(func.basicBlocks, lockIds);
+        for (List<BIRNode.BIRBasicBlock> paramBBs : func.parameters.values()) {
+            addLockIds(paramBBs, lockIds);
+        }
+    }
+
+    private static void addLockIds(List<BIRNode.BIRBasicBlock> basicBlocks, Set<Integer> lockIds) {
+
+        for (BIRNode.BIRBasicBlock basicBlock : basicBlocks) {
+            if (basicBlock.terminator != null && basicBlock.terminator.kind == InstructionKind.LOCK) {
+                lockIds.add(((BIRTerminator.Lock) basicBlock.terminator).lockId);
+            }
+        }
+    }
+
     public static String cleanupPackageName(String pkgName) {
 
         int index = pkgName.lastIndexOf("/");
@@ -389,11 +470,13 @@ public class JvmPackageGen {
         Set<PackageID> moduleImports = new LinkedHashSet<>();
         addBuiltinImports(module.packageID, moduleImports);
         boolean serviceEPAvailable = module.isListenerAvailable;
+        Set<BPackageSymbol> dependencySymbols = new LinkedHashSet<>();
         for (BIRNode.BIRImportModule importModule : module.importModules) {
 
             BPackageSymbol pkgSymbol = packageCache.getSymbol(
                     getBvmAlias(importModule.packageID.orgName.value, importModule.packageID.name.value));
             generateDependencyList(pkgSymbol);
+            addDependencySymbols(pkgSymbol, dependencySymbols);
             if (dlog.errorCount() > 0) {
                 return new CompiledJarFile(Collections.emptyMap());
             }
@@ -428,7 +511,17 @@ public class JvmPackageGen {
         // desugar the record init function
         rewriteRecordInits(module.typeDefs);
 
+        // find the functions, which do not need frames as they never yield
+        List<BIRPackage> dependencyModules = new ArrayList<>();
+        for (BPackageSymbol dependencySymbol : dependencySymbols) {
+            if (dependencySymbol.bir != null) {
+                dependencyModules.add(dependencySymbol.bir);
+            }
+        }
+        nonYieldingFunctions.addAll(YieldAnalyzer.getNonYieldingFunctions(module, dependencyModules));
+
         // generate object/record value classes
+        linkValueClasses(module);
         JvmValueGen valueGen = new JvmValueGen(module, this, methodGen);
         valueGen.generateValueClasses(jarEntries, stringConstantsGen);
 
@@ -450,6 +543,7 @@ public class JvmPackageGen {
                                        String moduleInitClass, JvmBStringConstantsGen stringConstantsGen,
                                        Map<String, JavaClass> jvmClassMapping, List<PackageID> moduleImports,
                                        boolean serviceEPAvailable) {
+        Set<Integer> lockIds = getLockIds(module);
         jvmClassMapping.entrySet().parallelStream().forEach(entry -> {
             String moduleClass = entry.getKey();
             JavaClass javaClass = entry.getValue();
@@ -487,7 +581,7 @@ public class JvmPackageGen {
                 }
                 initMethodGen.generateLambdaForPackageInits(cw, module, moduleClass, moduleImports, jvmCastGen);
 
-                generateLockForVariable(cw);
+                generateLockForVariable(cw, lockIds);
                 jvmTypeGen.generateCreateTypesMethod(cw, module.typeDefs, moduleInitClass, symbolTable);
                 initMethodGen.generateModuleInitializer(cw, module, moduleInitClass);
                 ModuleStopMethodGen moduleStopMethodGen = new ModuleStopMethodGen(symbolTable, jvmTypeGen);
@@ -511,7 +605,7 @@ public class JvmPackageGen {
             }
             JvmCodeGenUtil.visitStrandMetadataFields(cw, asyncDataCollector.getStrandMetadata());
             generateStaticInitializer(cw, moduleClass, module.packageID, isInitClass, serviceEPAvailable,
-                                      asyncDataCollector);
+                                      asyncDataCollector, lockIds);
             cw.visitEnd();
 
             byte[] bytes = getBytes(cw, moduleClass, module);
@@ -612,6 +706,38 @@ public class JvmPackageGen {
         }
     }
 
+    /**
+     * Maps the record and class types of the module to the value classes generated for them, so that field accesses
+     * on values of those classes can be done directly on the class fields.
+     *
+     * @param module module to be scanned
+     */
+    private void linkValueClasses(BIRPackage module) {
+
+        String pkgName = JvmCodeGenUtil.getPackageName(module.packageID);
+        for (BIRTypeDefinition typeDef : module.typeDefs) {
+            BType bType = typeDef.type;
+            if (bType.tag != TypeTags.RECORD &&
+                    (bType.tag != TypeTags.OBJECT || !Symbols.isFlagOn(bType.tsymbol.flags, Flags.CLASS))) {
+                continue;
+            }
+
+            // type-labels share the type of the original definition, whose class holds the values of the type
+            String typeName = toNameString(bType);
+            if (typeName.equals(typeDef.name.value)) {
+                valueClassMap.put(bType, JvmValueGen.getTypeValueClassName(pkgName, typeName));
+            }
+        }
+    }
+
+    String lookupValueClassName(BType bType) {
+        return valueClassMap.get(bType);
+    }
+
+    public boolean isNonYieldingFunction(BIRFunction func) {
+        return nonYieldingFunctions.contains(func);
+    }
+
     private void linkModuleFunction(PackageID packageID, String initClass, String funcName) {
         BInvokableType funcType = new BInvokableType(Collections.emptyList(), null, new BNilType(), null);
         BIRFunction moduleStopFunction = new BIRFunction(null, new Name(funcName), 0, funcType, new Name(""), 0,
@@ -743,6 +869,8 @@ public class JvmPackageGen {
         globalVarClassMap.clear();
         externClassMap.clear();
         dependentModules.clear();
+        valueClassMap.clear();
+        nonYieldingFunctions.clear();
     }
 
     public BIRFunctionWrapper lookupBIRFunctionWrapper(String lookupKey) {
@@ -805,6 +933,16 @@ public class JvmPackageGen {
         }
     }
 
+    private void addDependencySymbols(BPackageSymbol packageSymbol, Set<BPackageSymbol> dependencySymbols) {
+
+        if (packageSymbol == null || !dependencySymbols.add(packageSymbol)) {
+            return;
+        }
+        for (BPackageSymbol importPkgSymbol : packageSymbol.imports) {
+            addDependencySymbols(importPkgSymbol, dependencySymbols);
+        }
+    }
+
     private boolean listenerDeclarationFound(BPackageSymbol packageSymbol) {
         if (packageSymbol.bir != null && packageSymbol.bir.isListenerAvailable) {
             return true;
@@ -145,6 +145,7 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.WD_CHANNE
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.WORKER_DATA_CHANNEL;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.WORKER_UTILS;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmInstructionGen.addJUnboxInsn;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmPackageGen.computeLockName;
 import static org.wso2.ballerinalang.compiler.bir.codegen.interop.InteropMethodGen.genVarArg;
 
 /**
@@ -348,13 +349,7 @@ public class JvmTerminatorGen {
     private void genLockTerm(BIRTerminator.Lock lockIns, String funcName, int localVarOffset) {
 
         Label gotoLabel = this.labelGen.getLabel(funcName + lockIns.lockedBB.id.value);
-        String lockStore = "L" + LOCK_STORE + ";";
-        String initClassName = jvmPackageGen.lookupGlobalVarClassName(this.currentPackageName, LOCK_STORE_VAR_NAME);
-        String lockName = GLOBAL_LOCK_NAME + lockIns.lockId;
-        this.mv.visitFieldInsn(GETSTATIC, initClassName, LOCK_STORE_VAR_NAME, lockStore);
-        this.mv.visitLdcInsn(lockName);
-        this.mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_STORE, "getLockFromMap",
-                String.format("(L%s;)L%s;", STRING_VALUE, LOCK_VALUE), false);
+        genLoadLock(lockIns.lockId);
         this.mv.visitVarInsn(ALOAD, localVarOffset);
         this.mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_VALUE, "lock", String.format("(L%s;)Z", STRAND_CLASS), false);
         this.mv.visitInsn(POP);
@@ -367,18 +362,19 @@ public class JvmTerminatorGen {
         Label gotoLabel = this.labelGen.getLabel(funcName + unlockIns.unlockBB.id.value);
 
         // unlocked in the same order https://yarchive.net/comp/linux/lock_ordering.html
-        String lockStore = "L" + LOCK_STORE + ";";
-        String lockName = GLOBAL_LOCK_NAME + unlockIns.relatedLock.lockId;
-        String initClassName = jvmPackageGen.lookupGlobalVarClassName(this.currentPackageName, LOCK_STORE_VAR_NAME);
-        this.mv.visitFieldInsn(GETSTATIC, initClassName, LOCK_STORE_VAR_NAME, lockStore);
-        this.mv.visitLdcInsn(lockName);
-        this.mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_STORE, "getLockFromMap", String.format("(L%s;)L%s;",
-                STRING_VALUE, LOCK_VALUE), false);
+        genLoadLock(unlockIns.relatedLock.lockId);
         this.mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_VALUE, "unlock", "()V", false);
 
         this.mv.visitJumpInsn(GOTO, gotoLabel);
     }
 
+    private void genLoadLock(int lockId) {
+
+        // locks are resolved to the static fields of the module init class, instead of looking them up by name
+        String initClassName = jvmPackageGen.lookupGlobalVarClassName(this.currentPackageName, LOCK_STORE_VAR_NAME);
+        this.mv.visitFieldInsn(GETSTATIC, initClassName, computeLockName(lockId), "L" + LOCK_VALUE + ";");
+    }
+
     private void handleErrorRetInUnion(int returnVarRefIndex, List<BIRNode.ChannelDetails> channels, BUnionType bType) {
 
         if (channels.size() == 0) {
@@ -1150,7 +1146,8 @@ public class JvmTerminatorGen {
         if (!ins.isSameStrand) {
             this.mv.visitFieldInsn(GETFIELD, STRAND_CLASS, "parent", String.format("L%s;", STRAND_CLASS));
         }
-        this.mv.visitFieldInsn(GETFIELD, STRAND_CLASS, "wdChannels", String.format("L%s;", WD_CHANNELS));
+        this.mv.visitMethodInsn(INVOKEVIRTUAL, STRAND_CLASS, "getWDChannels", String.format("()L%s;", WD_CHANNELS),
+                                false);
         this.mv.visitLdcInsn(ins.channel.value);
         this.mv.visitMethodInsn(INVOKEVIRTUAL, WD_CHANNELS, "getWorkerDataChannel", String.format("(L%s;)L%s;",
                 STRING_VALUE, WORKER_DATA_CHANNEL), false);
@@ -1177,7 +1174,8 @@ public class JvmTerminatorGen {
         if (!ins.isSameStrand) {
             this.mv.visitFieldInsn(GETFIELD, STRAND_CLASS, "parent", String.format("L%s;", STRAND_CLASS));
         }
-        this.mv.visitFieldInsn(GETFIELD, STRAND_CLASS, "wdChannels", String.format("L%s;", WD_CHANNELS));
+        this.mv.visitMethodInsn(INVOKEVIRTUAL, STRAND_CLASS, "getWDChannels", String.format("()L%s;", WD_CHANNELS),
+                                false);
         this.mv.visitLdcInsn(ins.workerName.value);
         this.mv.visitMethodInsn(INVOKEVIRTUAL, WD_CHANNELS, "getWorkerDataChannel", String.format("(L%s;)L%s;",
                 STRING_VALUE, WORKER_DATA_CHANNEL), false);
@@ -0,0 +1,207 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import io.ballerina.runtime.api.utils.IdentifierUtils;
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interprocedural analysis of the functions of a module, which finds the functions that can never yield the strand
+ * running them.
+ * <p>
+ * A function may yield if it interacts with workers or futures, acquires a lock, starts a strand, or calls a function
+ * which is not known at compile time (function pointers and methods) or a Java method. A function calling a function
+ * of the module or of a dependency module compiled in the same build, which may yield, may yield as well. Functions
+ * of the other modules may yield, except for the lang library functions, which do not call back into Ballerina code.
+ * Methods generated for the remaining functions do not need to save and restore their frames.
+ *
+ * @since 2.0.0
+ */
+class YieldAnalyzer {
+
+    // lang library modules, whose functions only run Java code unless they are given a function to call
+    private static final Set<PackageID> NON_YIELDING_LANG_LIB_MODULES = Set.of(
+            PackageID.ARRAY, PackageID.BOOLEAN, PackageID.DECIMAL, PackageID.ERROR, PackageID.FLOAT, PackageID.INT,
+            PackageID.MAP, PackageID.STRING, PackageID.TABLE, PackageID.TYPEDESC, PackageID.VALUE, PackageID.XML);
+    // lang library functions of the above modules, which create objects
+    private static final Set<String> YIELDING_LANG_LIB_FUNCTIONS = Set.of("iterator", "toStream", "stackTrace");
+
+    private final Map<String, Map<String, BIRFunction>> moduleFunctions = new HashMap<>();
+    private final Map<BIRFunction, List<BIRFunction>> callers = new HashMap<>();
+
+    private YieldAnalyzer(List<BIRPackage> modules) {
+        for (BIRPackage module : modules) {
+            Map<String, BIRFunction> functions = moduleFunctions.computeIfAbsent(
+                    JvmCodeGenUtil.getPackageName(module.packageID), k -> new HashMap<>());
+            for (BIRFunction func : module.functions) {
+                functions.put(func.name.value, func);
+            }
+        }
+    }
+
+    /**
+     * Finds the functions of a module, which never yield.
+     *
+     * @param module       module whose functions are analyzed
+     * @param dependencies dependency modules compiled in the same build, whose functions are analyzed along with the
+     *                     functions of the module
+     * @return functions of the module, which never yield
+     */
+    static Set<BIRFunction> getNonYieldingFunctions(BIRPackage module, Collection<BIRPackage> dependencies) {
+        List<BIRPackage> modules = new ArrayList<>(dependencies);
+        modules.add(module);
+        List<BIRFunction> functions = new ArrayList<>();
+        for (BIRPackage birPackage : modules) {
+            functions.addAll(birPackage.functions);
+            for (BIRTypeDefinition typeDef : birPackage.typeDefs) {
+                if (typeDef.attachedFuncs != null) {
+                    functions.addAll(typeDef.attachedFuncs);
+                }
+            }
+        }
+
+        YieldAnalyzer analyzer = new YieldAnalyzer(modules);
+        Set<BIRFunction> yieldingFunctions = new HashSet<>();
+        Deque<BIRFunction> worklist = new ArrayDeque<>();
+        for (BIRFunction func : functions) {
+            if (analyzer.mayYield(func)) {
+                yieldingFunctions.add(func);
+                worklist.add(func);
+            }
+        }
+
+        // propagates yielding to the callers, until no more functions are found to be yielding
+        while (!worklist.isEmpty()) {
+            for (BIRFunction caller : analyzer.callers.getOrDefault(worklist.poll(), Collections.emptyList())) {
+                if (yieldingFunctions.add(caller)) {
+                    worklist.add(caller);
+                }
+            }
+        }
+
+        Set<BIRFunction> nonYieldingFunctions = new HashSet<>(module.functions);
+        for (BIRTypeDefinition typeDef : module.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                nonYieldingFunctions.addAll(typeDef.attachedFuncs);
+            }
+        }
+        nonYieldingFunctions.removeAll(yieldingFunctions);
+        return nonYieldingFunctions;
+    }
+
+    /**
+     * Checks whether the function may yield by itself, while recording the calls to the functions of the analyzed
+     * modules, whose yielding is decided later.
+     *
+     * @param func function to be checked
+     * @return whether the function may yield, irrespective of the module functions it calls
+     */
+    private boolean mayYield(BIRFunction func) {
+        if (JvmCodeGenUtil.isExternFunc(func) || func.workerChannels.length > 0) {
+            return true;
+        }
+
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            BIRTerminator terminator = bb.terminator;
+            if (terminator == null) {
+                continue;
+            }
+            switch (terminator.kind) {
+                case GOTO:
+                case BRANCH:
+                case RETURN:
+                case PANIC:
+                case UNLOCK:
+                    break;
+                case CALL:
+                    BIRTerminator.Call call = (BIRTerminator.Call) terminator;
+                    if (isNonYieldingLangLibCall(call)) {
+                        break;
+                    }
+                    BIRFunction callee = getModuleFunction(call);
+                    if (callee == null) {
+                        return true;
+                    }
+                    callers.computeIfAbsent(callee, k -> new ArrayList<>()).add(func);
+                    break;
+                default:
+                    // locks, worker interactions, async calls, waits, function pointer and Java calls
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private BIRFunction getModuleFunction(BIRTerminator.Call call) {
+        Map<String, BIRFunction> functions = moduleFunctions.get(JvmCodeGenUtil.getPackageName(call.calleePkg));
+        if (call.isVirtual || functions == null) {
+            return null;
+        }
+        // called functions are looked up the same way as in the generated static calls
+        return functions.get(IdentifierUtils.encodeFunctionIdentifier(call.name.value));
+    }
+
+    private static boolean isNonYieldingLangLibCall(BIRTerminator.Call call) {
+        if (call.isVirtual || !NON_YIELDING_LANG_LIB_MODULES.contains(call.calleePkg) ||
+                YIELDING_LANG_LIB_FUNCTIONS.contains(call.name.value)) {
+            return false;
+        }
+        // functions such as `map` and `forEach` call the functions given to them
+        for (BIROperand arg : call.args) {
+            if (arg == null || containsFunctionType(arg.variableDcl.type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsFunctionType(BType type) {
+        if (type.tag == TypeTags.INVOKABLE) {
+            return true;
+        }
+        if (type.tag == TypeTags.UNION) {
+            for (BType memberType : ((BUnionType) type).getMemberTypes()) {
+                if (containsFunctionType(memberType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
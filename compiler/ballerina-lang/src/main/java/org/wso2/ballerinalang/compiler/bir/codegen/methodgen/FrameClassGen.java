@@ -24,6 +24,7 @@ import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.Opcodes;
 import org.wso2.ballerinalang.compiler.bir.codegen.BallerinaClassWriter;
 import org.wso2.ballerinalang.compiler.bir.codegen.JvmCodeGenUtil;
+import org.wso2.ballerinalang.compiler.bir.codegen.JvmPackageGen;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
@@ -43,6 +44,12 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.OBJECT;
  */
 public class FrameClassGen {
 
+    private final JvmPackageGen jvmPackageGen;
+
+    public FrameClassGen(JvmPackageGen jvmPackageGen) {
+        this.jvmPackageGen = jvmPackageGen;
+    }
+
     public void generateFrameClasses(BIRNode.BIRPackage pkg, Map<String, byte[]> pkgEntries) {
         pkg.functions.parallelStream().forEach(
                 func -> generateFrameClassForFunction(pkg.packageID, func, pkgEntries, null));
@@ -69,6 +76,10 @@ public class FrameClassGen {
     private void generateFrameClassForFunction(PackageID packageID, BIRNode.BIRFunction func,
                                                Map<String, byte[]> pkgEntries,
                                                BType attachedType) {
+        if (jvmPackageGen.isNonYieldingFunction(func)) {
+            // frames are only saved when a function yields
+            return;
+        }
         String frameClassName = MethodGenUtils.getFrameClassName(JvmCodeGenUtil.getPackageName(packageID),
                                                                  func.name.value, attachedType);
         ClassWriter cw = new BallerinaClassWriter(COMPUTE_FRAMES);
@@ -64,7 +64,6 @@ import java.util.List;
 import java.util.Set;
 
 import static org.objectweb.asm.Opcodes.AALOAD;
-import static org.objectweb.asm.Opcodes.AASTORE;
 import static org.objectweb.asm.Opcodes.ACC_STATIC;
 import static org.objectweb.asm.Opcodes.ACONST_NULL;
 import static org.objectweb.asm.Opcodes.ALOAD;
@@ -82,7 +81,6 @@ import static org.objectweb.asm.Opcodes.FSTORE;
 import static org.objectweb.asm.Opcodes.GETFIELD;
 import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.GOTO;
-import static org.objectweb.asm.Opcodes.IADD;
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
 import static org.objectweb.asm.Opcodes.IFEQ;
@@ -135,6 +133,7 @@ public class MethodGen {
 
     private static final String STATE = "state";
     private static final String RESUME_INDEX = "resumeIndex";
+    private static final String PUSH_FRAME_METHOD = "pushFrame";
     private final JvmPackageGen jvmPackageGen;
     private final SymbolTable symbolTable;
 
@@ -196,12 +195,31 @@ public class MethodGen {
         genLocalVars(indexMap, mv, func.localVars);
 
         int returnVarRefIndex = getReturnVarRefIndex(func, indexMap, retType, mv);
+        LabelGenerator labelGen = new LabelGenerator();
+        JvmInstructionGen instGen = new JvmInstructionGen(mv, indexMap, module.packageID, jvmPackageGen, jvmTypeGen,
+                                                          jvmCastGen, stringConstantsGen, asyncDataCollector);
+        JvmErrorGen errorGen = new JvmErrorGen(mv, indexMap, instGen);
+        JvmTerminatorGen termGen = new JvmTerminatorGen(mv, indexMap, labelGen, errorGen, module.packageID, instGen,
+                                                        jvmPackageGen, jvmTypeGen, jvmCastGen, asyncDataCollector);
+
+        if (jvmPackageGen.isNonYieldingFunction(func)) {
+            // a function which never yields is never resumed either, hence the basic blocks are generated without
+            // the state tracking and the frame handling.
+            generateBasicBlocks(mv, labelGen, errorGen, instGen, termGen, jvmTypeGen, func, returnVarRefIndex, -1,
+                                localVarOffset, module, attachedType, moduleClassName);
+            Label methodEndLabel = new Label();
+            mv.visitLabel(methodEndLabel);
+            createLocalVariableTable(func, indexMap, localVarOffset, mv, methodStartLabel, labelGen, methodEndLabel);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            return;
+        }
+
         int stateVarIndex = getStateVarIndex(indexMap, mv);
 
         mv.visitVarInsn(ALOAD, localVarOffset);
         mv.visitFieldInsn(GETFIELD, STRAND_CLASS, RESUME_INDEX, "I");
 
-        LabelGenerator labelGen = new LabelGenerator();
         Label resumeLabel = labelGen.getLabel(funcName + "resume");
         mv.visitJumpInsn(IFGT, resumeLabel);
 
@@ -214,12 +232,6 @@ public class MethodGen {
 
         addCasesForBasicBlocks(func, funcName, labelGen, labels, states);
 
-        JvmInstructionGen instGen = new JvmInstructionGen(mv, indexMap, module.packageID, jvmPackageGen, jvmTypeGen,
-                                                          jvmCastGen, stringConstantsGen, asyncDataCollector);
-        JvmErrorGen errorGen = new JvmErrorGen(mv, indexMap, instGen);
-        JvmTerminatorGen termGen = new JvmTerminatorGen(mv, indexMap, labelGen, errorGen, module.packageID, instGen,
-                                                        jvmPackageGen, jvmTypeGen, jvmCastGen, asyncDataCollector);
-
         mv.visitVarInsn(ILOAD, stateVarIndex);
         Label yieldLable = labelGen.getLabel(funcName + "yield");
         mv.visitLookupSwitchInsn(yieldLable, toIntArray(states), labels.toArray(new Label[0]));
@@ -445,6 +457,7 @@ public class MethodGen {
                              BIRFunction func, int returnVarRefIndex, int stateVarIndex, int localVarOffset,
                              BIRPackage module, BType attachedType, String moduleClassName) {
 
+        // the state variable index is negative for the functions which never yield, as their states are not tracked
         String funcName = func.name.value;
         BirScope lastScope = null;
         Set<BirScope> visitedScopesSet = new HashSet<>();
@@ -455,7 +468,7 @@ public class MethodGen {
             // create jvm label
             Label bbLabel = labelGen.getLabel(funcName + bb.id.value);
             mv.visitLabel(bbLabel);
-            if (i == 0) {
+            if (i == 0 && stateVarIndex >= 0) {
                 pushShort(mv, stateVarIndex, caseIndex);
                 caseIndex += 1;
             }
@@ -469,8 +482,10 @@ public class MethodGen {
             mv.visitLabel(bbEndLabel);
 
             BIRTerminator terminator = bb.terminator;
-            pushShort(mv, stateVarIndex, caseIndex);
-            caseIndex += 1;
+            if (stateVarIndex >= 0) {
+                pushShort(mv, stateVarIndex, caseIndex);
+                caseIndex += 1;
+            }
 
             processTerminator(mv, func, module, funcName, terminator, jvmTypeGen, localVarOffset);
             termGen.genTerminator(terminator, moduleClassName, func, funcName, localVarOffset,
@@ -479,8 +494,13 @@ public class MethodGen {
             errorGen.generateTryCatch(func, funcName, bb, termGen, labelGen);
 
             BIRBasicBlock thenBB = terminator.thenBB;
-            if (thenBB != null) {
+            if (thenBB == null) {
+                continue;
+            }
+            if (stateVarIndex >= 0) {
                 JvmCodeGenUtil.genYieldCheck(mv, termGen.getLabelGenerator(), thenBB, funcName, localVarOffset);
+            } else {
+                mv.visitJumpInsn(GOTO, labelGen.getLabel(funcName + thenBB.id.value));
             }
         }
     }
@@ -903,16 +923,8 @@ public class MethodGen {
         int frameVarIndex = indexMap.addIfNotExists("frame", symbolTable.stringType);
         mv.visitVarInsn(ASTORE, frameVarIndex);
         mv.visitVarInsn(ALOAD, localVarOffset);
-        mv.visitFieldInsn(GETFIELD, STRAND_CLASS, MethodGenUtils.FRAMES, "[Ljava/lang/Object;");
-        mv.visitVarInsn(ALOAD, localVarOffset);
-        mv.visitInsn(DUP);
-        mv.visitFieldInsn(GETFIELD, STRAND_CLASS, RESUME_INDEX, "I");
-        mv.visitInsn(DUP_X1);
-        mv.visitInsn(ICONST_1);
-        mv.visitInsn(IADD);
-        mv.visitFieldInsn(PUTFIELD, STRAND_CLASS, RESUME_INDEX, "I");
         mv.visitVarInsn(ALOAD, frameVarIndex);
-        mv.visitInsn(AASTORE);
+        mv.visitMethodInsn(INVOKEVIRTUAL, STRAND_CLASS, PUSH_FRAME_METHOD, String.format("(L%s;)V", OBJECT), false);
     }
 
     private void createLocalVariableTable(BIRFunction func, BIRVarToJVMIndexMap indexMap, int localVarOffset,
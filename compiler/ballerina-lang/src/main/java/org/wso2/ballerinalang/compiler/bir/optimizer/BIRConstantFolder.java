@@ -0,0 +1,303 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Propagates constants through moves and folds the operations on constants to constant loads.
+ * <p>
+ * Constants are tracked within a basic block, as well as across basic blocks for temporary variables defined only
+ * once. Only the operations on {@code int}, {@code float}, {@code boolean} and {@code string} values, which cannot
+ * panic at run time, are folded. A branch on a constant condition is replaced with a goto, which leaves the other
+ * branch to be removed by the dead code elimination.
+ *
+ * @since 2.0.0
+ */
+class BIRConstantFolder extends BIROptimizerPass {
+
+    @Override
+    void optimizeFunction(BIRPackage pkg, BIRFunction func) {
+        Map<BIRVariableDcl, ConstantLoad> tempConstants = getTempConstants(func);
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            Map<BIRVariableDcl, ConstantLoad> constants = new HashMap<>(tempConstants);
+            List<BIRNonTerminator> instructions = bb.instructions;
+            for (int i = 0; i < instructions.size(); i++) {
+                BIRNonTerminator ins = instructions.get(i);
+                ConstantLoad constantLoad = fold(ins, constants);
+                if (constantLoad != null) {
+                    constantLoad.scope = ins.scope;
+                    instructions.set(i, constantLoad);
+                    ins = constantLoad;
+                }
+                if (ins.lhsOp == null) {
+                    continue;
+                }
+
+                BIRVariableDcl lhsVar = ins.lhsOp.variableDcl;
+                if (ins.kind == InstructionKind.CONST_LOAD && isLocalVar(lhsVar)) {
+                    constants.put(lhsVar, (ConstantLoad) ins);
+                } else {
+                    constants.remove(lhsVar);
+                }
+            }
+            foldBranch(bb, constants);
+        }
+    }
+
+    /**
+     * Finds the temporary variables, which are defined only once in the function by a constant load. Such a variable
+     * holds the same value wherever it is used.
+     *
+     * @param func function
+     * @return constant load of each temporary variable
+     */
+    private Map<BIRVariableDcl, ConstantLoad> getTempConstants(BIRFunction func) {
+        Map<BIRVariableDcl, ConstantLoad> tempConstants = new HashMap<>();
+        Set<BIRVariableDcl> definedVars = new HashSet<>();
+        List<BIRBasicBlock> basicBlocks = new ArrayList<>(func.basicBlocks);
+        func.parameters.values().forEach(basicBlocks::addAll);
+        for (BIRBasicBlock bb : basicBlocks) {
+            List<BIRAbstractInstruction> instructions = new ArrayList<>(bb.instructions);
+            instructions.add(bb.terminator);
+            for (BIRAbstractInstruction ins : instructions) {
+                if (ins == null || ins.lhsOp == null) {
+                    continue;
+                }
+                BIRVariableDcl lhsVar = ins.lhsOp.variableDcl;
+                if (!definedVars.add(lhsVar)) {
+                    tempConstants.remove(lhsVar);
+                } else if (ins.kind == InstructionKind.CONST_LOAD && lhsVar.kind == VarKind.TEMP) {
+                    tempConstants.put(lhsVar, (ConstantLoad) ins);
+                }
+            }
+        }
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            tempConstants.remove(errorEntry.errorOp.variableDcl);
+        }
+        return tempConstants;
+    }
+
+    private ConstantLoad fold(BIRNonTerminator ins, Map<BIRVariableDcl, ConstantLoad> constants) {
+        switch (ins.kind) {
+            case MOVE:
+                return foldMove((Move) ins, constants);
+            case ADD:
+            case SUB:
+            case MUL:
+            case DIV:
+            case MOD:
+            case EQUAL:
+            case NOT_EQUAL:
+            case GREATER_THAN:
+            case GREATER_EQUAL:
+            case LESS_THAN:
+            case LESS_EQUAL:
+                return foldBinaryOp((BinaryOp) ins, constants);
+            case NOT:
+            case NEGATE:
+                return foldUnaryOp((UnaryOP) ins, constants);
+            default:
+                return null;
+        }
+    }
+
+    private ConstantLoad foldMove(Move move, Map<BIRVariableDcl, ConstantLoad> constants) {
+        ConstantLoad constant = constants.get(move.rhsOp.variableDcl);
+        if (constant == null || constant.type.tag != move.lhsOp.variableDcl.type.tag) {
+            return null;
+        }
+        return new ConstantLoad(move.pos, constant.value, constant.type, move.lhsOp);
+    }
+
+    private ConstantLoad foldBinaryOp(BinaryOp binaryOp, Map<BIRVariableDcl, ConstantLoad> constants) {
+        Object lhsValue = getConstantValue(binaryOp.rhsOp1, constants);
+        Object rhsValue = getConstantValue(binaryOp.rhsOp2, constants);
+        if (lhsValue == null || rhsValue == null || lhsValue.getClass() != rhsValue.getClass()) {
+            return null;
+        }
+
+        Object result;
+        if (lhsValue instanceof Long) {
+            result = foldIntOp(binaryOp.kind, (long) lhsValue, (long) rhsValue);
+        } else if (lhsValue instanceof Double) {
+            result = foldFloatOp(binaryOp.kind, (double) lhsValue, (double) rhsValue);
+        } else if (lhsValue instanceof Boolean) {
+            result = foldBooleanOp(binaryOp.kind, (boolean) lhsValue, (boolean) rhsValue);
+        } else {
+            result = binaryOp.kind == InstructionKind.ADD ? (String) lhsValue + rhsValue : null;
+        }
+        return createConstantLoad(binaryOp, result);
+    }
+
+    private Object foldIntOp(InstructionKind kind, long lhsValue, long rhsValue) {
+        // divisions which panic at run time are not folded, and the arithmetic which overflows is left to wrap around
+        // at run time
+        try {
+            switch (kind) {
+                case ADD:
+                    return Math.addExact(lhsValue, rhsValue);
+                case SUB:
+                    return Math.subtractExact(lhsValue, rhsValue);
+                case MUL:
+                    return Math.multiplyExact(lhsValue, rhsValue);
+                case DIV:
+                    return rhsValue == 0 || rhsValue == -1 ? null : lhsValue / rhsValue;
+                case MOD:
+                    return rhsValue == 0 || rhsValue == -1 ? null : lhsValue % rhsValue;
+                case EQUAL:
+                    return lhsValue == rhsValue;
+                case NOT_EQUAL:
+                    return lhsValue != rhsValue;
+                case GREATER_THAN:
+                    return lhsValue > rhsValue;
+                case GREATER_EQUAL:
+                    return lhsValue >= rhsValue;
+                case LESS_THAN:
+                    return lhsValue < rhsValue;
+                case LESS_EQUAL:
+                    return lhsValue <= rhsValue;
+                default:
+                    return null;
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private Object foldFloatOp(InstructionKind kind, double lhsValue, double rhsValue) {
+        // comparisons are left to the runtime, which treats NaN and signed zeros differently from Java
+        switch (kind) {
+            case ADD:
+                return lhsValue + rhsValue;
+            case SUB:
+                return lhsValue - rhsValue;
+            case MUL:
+                return lhsValue * rhsValue;
+            case DIV:
+                return lhsValue / rhsValue;
+            default:
+                return null;
+        }
+    }
+
+    private Object foldBooleanOp(InstructionKind kind, boolean lhsValue, boolean rhsValue) {
+        switch (kind) {
+            case EQUAL:
+                return lhsValue == rhsValue;
+            case NOT_EQUAL:
+                return lhsValue != rhsValue;
+            default:
+                return null;
+        }
+    }
+
+    private ConstantLoad foldUnaryOp(UnaryOP unaryOp, Map<BIRVariableDcl, ConstantLoad> constants) {
+        Object value = getConstantValue(unaryOp.rhsOp, constants);
+        Object result = null;
+        if (unaryOp.kind == InstructionKind.NOT && value instanceof Boolean) {
+            result = !(boolean) value;
+        } else if (unaryOp.kind == InstructionKind.NEGATE && value instanceof Long && (long) value != Long.MIN_VALUE) {
+            result = -(long) value;
+        } else if (unaryOp.kind == InstructionKind.NEGATE && value instanceof Double) {
+            result = -(double) value;
+        }
+        return createConstantLoad(unaryOp, result);
+    }
+
+    private ConstantLoad createConstantLoad(BIRNonTerminator ins, Object value) {
+        if (value == null || getTypeTag(value) != ins.lhsOp.variableDcl.type.tag) {
+            return null;
+        }
+        return new ConstantLoad(ins.pos, value, ins.lhsOp.variableDcl.type, ins.lhsOp);
+    }
+
+    private void foldBranch(BIRBasicBlock bb, Map<BIRVariableDcl, ConstantLoad> constants) {
+        if (bb.terminator == null || bb.terminator.kind != InstructionKind.BRANCH) {
+            return;
+        }
+        BIRTerminator.Branch branch = (BIRTerminator.Branch) bb.terminator;
+        Object condition = getConstantValue(branch.op, constants);
+        if (!(condition instanceof Boolean)) {
+            return;
+        }
+        BIRTerminator.GOTO gotoIns = new BIRTerminator.GOTO(branch.pos, (boolean) condition ? branch.trueBB :
+                branch.falseBB);
+        gotoIns.scope = branch.scope;
+        bb.terminator = gotoIns;
+    }
+
+    /**
+     * Returns the constant value of the operand, if it is an {@code int}, {@code float}, {@code boolean} or
+     * {@code string} value of the type of the operand.
+     *
+     * @param operand   operand
+     * @param constants constant loads of the variables
+     * @return value of the operand, or null if it is not known
+     */
+    private Object getConstantValue(BIROperand operand, Map<BIRVariableDcl, ConstantLoad> constants) {
+        ConstantLoad constant = constants.get(operand.variableDcl);
+        if (constant == null || constant.value == null) {
+            return null;
+        }
+        int typeTag = getTypeTag(constant.value);
+        if (typeTag != constant.type.tag || typeTag != operand.variableDcl.type.tag) {
+            return null;
+        }
+        return constant.value;
+    }
+
+    private int getTypeTag(Object value) {
+        if (value instanceof Long) {
+            return TypeTags.INT;
+        }
+        if (value instanceof Double) {
+            return TypeTags.FLOAT;
+        }
+        if (value instanceof Boolean) {
+            return TypeTags.BOOLEAN;
+        }
+        if (value instanceof String) {
+            return TypeTags.STRING;
+        }
+        return TypeTags.NONE;
+    }
+}
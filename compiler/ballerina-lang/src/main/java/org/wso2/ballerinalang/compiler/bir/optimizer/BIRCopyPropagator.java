@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the uses of a variable copied by a move with the source of the move, within a basic block.
+ * <p>
+ * e.g., {@code _2 = move _1; _3 = add _2 _2} becomes {@code _2 = move _1; _3 = add _1 _1}, after which the move is
+ * removed by the dead code elimination if {@code _2} is not used anymore.
+ *
+ * @since 2.0.0
+ */
+class BIRCopyPropagator extends BIROptimizerPass {
+
+    @Override
+    void optimizeFunction(BIRPackage pkg, BIRFunction func) {
+        Map<BIROperand, Integer> occurrences = countOperandOccurrences(func);
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            // key - copy, value - source
+            Map<BIRVariableDcl, BIRVariableDcl> copies = new HashMap<>();
+            List<BIRAbstractInstruction> instructions = new ArrayList<>(bb.instructions);
+            instructions.add(bb.terminator);
+            for (BIRAbstractInstruction ins : instructions) {
+                if (ins == null) {
+                    continue;
+                }
+                for (BIROperand use : getUses(ins)) {
+                    BIRVariableDcl source = copies.get(use.variableDcl);
+                    if (source != null && occurrences.get(use) == 1) {
+                        use.variableDcl = source;
+                    }
+                }
+                if (ins.lhsOp == null) {
+                    continue;
+                }
+
+                BIRVariableDcl lhsVar = ins.lhsOp.variableDcl;
+                copies.entrySet().removeIf(copy -> copy.getKey().equals(lhsVar) || copy.getValue().equals(lhsVar));
+                if (ins.kind == InstructionKind.MOVE && isPropagatable(lhsVar, ((Move) ins).rhsOp.variableDcl)) {
+                    copies.put(lhsVar, ((Move) ins).rhsOp.variableDcl);
+                }
+            }
+        }
+    }
+
+    private boolean isPropagatable(BIRVariableDcl copy, BIRVariableDcl source) {
+        // global variables may be updated by other strands in between
+        return isLocalVar(copy) && isLocalVar(source) && !copy.equals(source) && isSameType(copy.type, source.type);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BirScope;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removes the basic blocks, which cannot be reached from the entry of the function, and the instructions without side
+ * effects, which define temporary variables that are never used.
+ * <p>
+ * The first instruction of each scope marks the start of the local variables declared in it, hence the last
+ * instruction of a scope is never removed.
+ *
+ * @since 2.0.0
+ */
+class BIRDeadCodeEliminator extends BIROptimizerPass {
+
+    @Override
+    void optimizeFunction(BIRPackage pkg, BIRFunction func) {
+        Map<BirScope, Integer> scopeCounts = countScopes(func);
+        removeUnreachableBlocks(func, scopeCounts);
+        removeDeadInstructions(func, scopeCounts);
+    }
+
+    private void removeUnreachableBlocks(BIRFunction func, Map<BirScope, Integer> scopeCounts) {
+        if (func.basicBlocks.isEmpty()) {
+            return;
+        }
+
+        Set<BIRBasicBlock> reachableBBs = new HashSet<>();
+        Deque<BIRBasicBlock> worklist = new ArrayDeque<>();
+        worklist.add(func.basicBlocks.get(0));
+        // error entries refer to the range of basic blocks they cover
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            worklist.add(errorEntry.trapBB);
+            worklist.add(errorEntry.endBB);
+            worklist.add(errorEntry.targetBB);
+        }
+        while (!worklist.isEmpty()) {
+            BIRBasicBlock bb = worklist.poll();
+            if (!reachableBBs.add(bb) || bb.terminator == null) {
+                continue;
+            }
+            for (BIRBasicBlock nextBB : bb.terminator.getNextBasicBlocks()) {
+                if (nextBB != null) {
+                    worklist.add(nextBB);
+                }
+            }
+        }
+
+        // unreachable basic blocks may jump to each other, hence are either removed or kept all together
+        List<BIRBasicBlock> basicBlocks = new ArrayList<>();
+        List<BIRAbstractInstruction> unreachableInstructions = new ArrayList<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (reachableBBs.contains(bb)) {
+                basicBlocks.add(bb);
+            } else {
+                unreachableInstructions.addAll(getInstructions(bb));
+            }
+        }
+        if (basicBlocks.size() < func.basicBlocks.size() && removeScopes(unreachableInstructions, scopeCounts)) {
+            func.basicBlocks = basicBlocks;
+        }
+    }
+
+    private void removeDeadInstructions(BIRFunction func, Map<BirScope, Integer> scopeCounts) {
+        Map<BIRVariableDcl, Integer> useCounts = countUses(func);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (BIRBasicBlock bb : func.basicBlocks) {
+                List<BIRNonTerminator> instructions = new ArrayList<>();
+                for (BIRNonTerminator ins : bb.instructions) {
+                    if (!isDead(ins, useCounts) || !removeScopes(List.of(ins), scopeCounts)) {
+                        instructions.add(ins);
+                        continue;
+                    }
+                    for (BIROperand use : getUses(ins)) {
+                        useCounts.merge(use.variableDcl, -1, Integer::sum);
+                    }
+                    changed = true;
+                }
+                bb.instructions = instructions;
+            }
+        }
+    }
+
+    private Map<BIRVariableDcl, Integer> countUses(BIRFunction func) {
+        Map<BIRVariableDcl, Integer> useCounts = new HashMap<>();
+        List<BIRBasicBlock> basicBlocks = new ArrayList<>(func.basicBlocks);
+        func.parameters.values().forEach(basicBlocks::addAll);
+        for (BIRBasicBlock bb : basicBlocks) {
+            for (BIRAbstractInstruction ins : getInstructions(bb)) {
+                for (BIROperand use : getUses(ins)) {
+                    useCounts.merge(use.variableDcl, 1, Integer::sum);
+                }
+                // the lhs of a store is the value stored into, rather than a variable defined by it
+                if (ins.lhsOp != null && !isPure(ins)) {
+                    useCounts.merge(ins.lhsOp.variableDcl, 1, Integer::sum);
+                }
+            }
+        }
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            useCounts.merge(errorEntry.errorOp.variableDcl, 1, Integer::sum);
+        }
+        return useCounts;
+    }
+
+    private boolean isDead(BIRNonTerminator ins, Map<BIRVariableDcl, Integer> useCounts) {
+        return ins.lhsOp != null && ins.lhsOp.variableDcl.kind == VarKind.TEMP && isPure(ins) &&
+                useCounts.getOrDefault(ins.lhsOp.variableDcl, 0) == 0;
+    }
+
+    /**
+     * Checks whether the instruction only defines its lhs, without any other side effect or a possibility of a panic.
+     *
+     * @param ins instruction
+     * @return whether the instruction can be removed if its lhs is not used
+     */
+    private boolean isPure(BIRAbstractInstruction ins) {
+        switch (ins.kind) {
+            case CONST_LOAD:
+            case MOVE:
+                return true;
+            case EQUAL:
+            case NOT_EQUAL:
+            case REF_EQUAL:
+            case REF_NOT_EQUAL:
+            case GREATER_THAN:
+            case GREATER_EQUAL:
+            case LESS_THAN:
+            case LESS_EQUAL:
+            case NOT:
+                return hasSimpleOperands(ins);
+            case ADD:
+            case SUB:
+            case MUL:
+            case DIV:
+            case NEGATE:
+                // integer arithmetic may overflow
+                return hasSimpleOperands(ins) && ins.lhsOp.variableDcl.type.tag == TypeTags.FLOAT;
+            default:
+                return false;
+        }
+    }
+
+    private boolean hasSimpleOperands(BIRAbstractInstruction ins) {
+        for (BIROperand operand : ins.getRhsOperands()) {
+            switch (operand.variableDcl.type.tag) {
+                case TypeTags.INT:
+                case TypeTags.BYTE:
+                case TypeTags.FLOAT:
+                case TypeTags.BOOLEAN:
+                case TypeTags.STRING:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<BirScope, Integer> countScopes(BIRFunction func) {
+        Map<BirScope, Integer> scopeCounts = new HashMap<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRAbstractInstruction ins : getInstructions(bb)) {
+                if (ins.scope != null && ins.pos != null) {
+                    scopeCounts.merge(ins.scope, 1, Integer::sum);
+                }
+            }
+        }
+        return scopeCounts;
+    }
+
+    /**
+     * Updates the number of instructions of each scope, for removing the given instructions, unless they contain
+     * the last instruction of a scope.
+     *
+     * @param instructions instructions to be removed
+     * @param scopeCounts  number of instructions of each scope
+     * @return whether the instructions can be removed
+     */
+    private boolean removeScopes(List<BIRAbstractInstruction> instructions,
+                                 Map<BirScope, Integer> scopeCounts) {
+        Map<BirScope, Integer> removedCounts = new HashMap<>();
+        for (BIRAbstractInstruction ins : instructions) {
+            if (ins.scope != null && ins.pos != null) {
+                removedCounts.merge(ins.scope, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<BirScope, Integer> removedCount : removedCounts.entrySet()) {
+            if (scopeCounts.get(removedCount.getKey()) <= removedCount.getValue()) {
+                return false;
+            }
+        }
+        removedCounts.forEach((scope, count) -> scopeCounts.merge(scope, -count, Integer::sum));
+        return true;
+    }
+
+    private List<BIRAbstractInstruction> getInstructions(BIRBasicBlock bb) {
+        List<BIRAbstractInstruction> instructions = new ArrayList<>(bb.instructions);
+        if (bb.terminator != null) {
+            instructions.add(bb.terminator);
+        }
+        return instructions;
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import io.ballerina.tools.diagnostics.Location;
+import org.wso2.ballerinalang.compiler.bir.model.ArgumentState;
+import org.wso2.ballerinalang.compiler.bir.model.BIRArgument;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunctionParameter;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeCast;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BirScope;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Inlines the calls to small functions of the same module, which are made of a straight-line sequence of simple
+ * instructions. Such functions neither call other functions nor yield, hence their instructions can be placed in the
+ * basic block of the call, which keeps them within the error entries covering the call. Functions with instructions
+ * which can panic are not inlined, so that the stack trace of a panic has the frame of the function which panicked.
+ * <p>
+ * The parameters and the variables of the called function are replaced with new variables of the caller, and the
+ * inlined instructions take the position of the call.
+ *
+ * @since 2.0.0
+ */
+class BIRFunctionInliner extends BIROptimizerPass {
+
+    private static final int MAX_INLINED_INSTRUCTIONS = 12;
+    private static final String INLINED_VAR_PREFIX = "%inl";
+
+    private final Map<String, BIRFunction> moduleFunctions = new HashMap<>();
+    // key - function, value - instructions to be inlined, or empty if the function cannot be inlined
+    private final Map<BIRFunction, Optional<List<BIRNonTerminator>>> inlinedBodies = new HashMap<>();
+    private int inlinedVarCount = 0;
+
+    @Override
+    void optimizePackage(BIRPackage pkg) {
+        for (BIRFunction func : pkg.functions) {
+            moduleFunctions.put(func.name.value, func);
+        }
+        super.optimizePackage(pkg);
+        moduleFunctions.clear();
+        inlinedBodies.clear();
+        inlinedVarCount = 0;
+    }
+
+    @Override
+    void optimizeFunction(BIRPackage pkg, BIRFunction func) {
+        Set<String> varNames = new HashSet<>();
+        func.localVars.forEach(var -> varNames.add(var.name.value));
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (bb.terminator == null || bb.terminator.kind != InstructionKind.CALL) {
+                continue;
+            }
+            BIRTerminator.Call call = (BIRTerminator.Call) bb.terminator;
+            BIRFunction callee = getInlinedFunction(pkg, func, call);
+            if (callee == null) {
+                continue;
+            }
+            List<BIRNonTerminator> body = inlinedBodies.computeIfAbsent(callee, this::getInlinedBody).orElse(null);
+            if (body != null) {
+                inline(func, bb, call, callee, body, varNames);
+            }
+        }
+    }
+
+    private BIRFunction getInlinedFunction(BIRPackage pkg, BIRFunction caller, BIRTerminator.Call call) {
+        if (call.isVirtual || call.transactional || !pkg.packageID.equals(call.calleePkg) ||
+                (call.calleeAnnotAttachments != null && !call.calleeAnnotAttachments.isEmpty())) {
+            return null;
+        }
+        BIRFunction callee = moduleFunctions.get(call.name.value);
+        if (callee == null || callee == caller || call.args.size() != callee.parameters.size()) {
+            return null;
+        }
+        for (BIRArgument arg : call.args) {
+            if (arg.argState != ArgumentState.PROVIDED) {
+                return null;
+            }
+        }
+        return callee;
+    }
+
+    /**
+     * Returns the instructions of the function to be inlined, if the basic blocks of the function are a chain of
+     * gotos ending with a return, and have a limited number of simple instructions on local variables.
+     *
+     * @param func function
+     * @return instructions of the function, or empty if the function cannot be inlined
+     */
+    private Optional<List<BIRNonTerminator>> getInlinedBody(BIRFunction func) {
+        if (func.basicBlocks.isEmpty() || func.receiver != null || func.restParam != null ||
+                func.workerChannels.length > 0 || !func.errorTable.isEmpty() ||
+                (func.annotAttachments != null && !func.annotAttachments.isEmpty())) {
+            return Optional.empty();
+        }
+        for (List<BIRBasicBlock> defaultValueBBs : func.parameters.values()) {
+            if (!defaultValueBBs.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+
+        List<BIRNonTerminator> body = new ArrayList<>();
+        Set<BIRBasicBlock> visitedBBs = new HashSet<>();
+        BIRBasicBlock bb = func.basicBlocks.get(0);
+        boolean definesReturnVar = false;
+        while (visitedBBs.add(bb)) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                if (!isInlinable(ins)) {
+                    return Optional.empty();
+                }
+                definesReturnVar |= ins.lhsOp.variableDcl.kind == VarKind.RETURN;
+                body.add(ins);
+            }
+            if (body.size() > MAX_INLINED_INSTRUCTIONS || bb.terminator == null) {
+                return Optional.empty();
+            }
+            if (bb.terminator.kind == InstructionKind.RETURN) {
+                return definesReturnVar ? Optional.of(body) : Optional.empty();
+            }
+            if (bb.terminator.kind != InstructionKind.GOTO) {
+                return Optional.empty();
+            }
+            bb = ((BIRTerminator.GOTO) bb.terminator).targetBB;
+        }
+        // a loop
+        return Optional.empty();
+    }
+
+    private boolean isInlinable(BIRNonTerminator ins) {
+        switch (ins.kind) {
+            case CONST_LOAD:
+            case MOVE:
+            case EQUAL:
+            case NOT_EQUAL:
+            case GREATER_THAN:
+            case GREATER_EQUAL:
+            case LESS_THAN:
+            case LESS_EQUAL:
+            case NOT:
+            case NEGATE:
+                break;
+            case TYPE_CAST:
+                // checked casts panic on values of other types
+                if (((TypeCast) ins).checkTypes) {
+                    return false;
+                }
+                break;
+            case ADD:
+            case SUB:
+            case MUL:
+                // int arithmetic wraps around on overflow, whereas decimal arithmetic panics
+                if (ins.lhsOp.variableDcl.type.tag == TypeTags.DECIMAL) {
+                    return false;
+                }
+                break;
+            case DIV:
+            case MOD:
+                // int and decimal divisions panic on zero divisors
+                if (ins.lhsOp.variableDcl.type.tag != TypeTags.FLOAT) {
+                    return false;
+                }
+                break;
+            default:
+                return false;
+        }
+        if (!isInlinableVar(ins.lhsOp.variableDcl)) {
+            return false;
+        }
+        for (BIROperand operand : ins.getRhsOperands()) {
+            if (!isInlinableVar(operand.variableDcl)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInlinableVar(BIRVariableDcl var) {
+        return isLocalVar(var) || var.kind == VarKind.RETURN;
+    }
+
+    private void inline(BIRFunction caller, BIRBasicBlock bb, BIRTerminator.Call call, BIRFunction callee,
+                        List<BIRNonTerminator> body, Set<String> varNames) {
+        // terminators do not have a scope, hence the inlined instructions take the scope of the instructions before
+        // the call
+        BirScope scope = getScope(caller, bb);
+        if (scope == null) {
+            return;
+        }
+
+        Map<BIRVariableDcl, BIRVariableDcl> inlinedVars = new HashMap<>();
+        List<BIRNonTerminator> instructions = new ArrayList<>();
+        int argIndex = 0;
+        for (BIRFunctionParameter param : callee.parameters.keySet()) {
+            BIRVariableDcl paramVar = getInlinedVar(caller, param, inlinedVars, varNames);
+            instructions.add(new Move(call.pos, new BIROperand(call.args.get(argIndex++).variableDcl),
+                                      new BIROperand(paramVar)));
+        }
+        for (BIRNonTerminator ins : body) {
+            instructions.add(copyInstruction(ins, call.pos, var -> getInlinedVar(caller, var, inlinedVars, varNames)));
+        }
+        if (call.lhsOp != null) {
+            BIRVariableDcl returnVar = getInlinedVar(caller, callee.returnVariable, inlinedVars, varNames);
+            instructions.add(new Move(call.pos, new BIROperand(returnVar), new BIROperand(call.lhsOp.variableDcl)));
+        }
+
+        for (BIRNonTerminator ins : instructions) {
+            ins.scope = scope;
+        }
+        bb.instructions.addAll(instructions);
+        bb.terminator = new BIRTerminator.GOTO(call.pos, call.thenBB);
+    }
+
+    private BirScope getScope(BIRFunction func, BIRBasicBlock bb) {
+        for (int i = bb.instructions.size() - 1; i >= 0; i--) {
+            BirScope scope = bb.instructions.get(i).scope;
+            if (scope != null) {
+                return scope;
+            }
+        }
+        // the outermost scope of the function
+        for (BIRBasicBlock funcBB : func.basicBlocks) {
+            for (BIRNonTerminator ins : funcBB.instructions) {
+                if (ins.scope == null) {
+                    continue;
+                }
+                BirScope scope = ins.scope;
+                while (scope.parent != null) {
+                    scope = scope.parent;
+                }
+                return scope;
+            }
+        }
+        return null;
+    }
+
+    private BIRNonTerminator copyInstruction(BIRNonTerminator ins, Location pos,
+                                             Function<BIRVariableDcl, BIRVariableDcl> varMapper) {
+        BIROperand lhsOp = new BIROperand(varMapper.apply(ins.lhsOp.variableDcl));
+        switch (ins.kind) {
+            case CONST_LOAD:
+                ConstantLoad constantLoad = (ConstantLoad) ins;
+                return new ConstantLoad(pos, constantLoad.value, constantLoad.type, lhsOp);
+            case MOVE:
+                return new Move(pos, copyOperand(((Move) ins).rhsOp, varMapper), lhsOp);
+            case TYPE_CAST:
+                TypeCast typeCast = (TypeCast) ins;
+                return new TypeCast(pos, lhsOp, copyOperand(typeCast.rhsOp, varMapper), typeCast.type,
+                                    typeCast.checkTypes);
+            case NOT:
+            case NEGATE:
+                return new UnaryOP(pos, ins.kind, lhsOp, copyOperand(((UnaryOP) ins).rhsOp, varMapper));
+            default:
+                BinaryOp binaryOp = (BinaryOp) ins;
+                return new BinaryOp(pos, ins.kind, lhsOp.variableDcl.type, lhsOp,
+                                    copyOperand(binaryOp.rhsOp1, varMapper), copyOperand(binaryOp.rhsOp2, varMapper));
+        }
+    }
+
+    private BIROperand copyOperand(BIROperand operand,
+                                   Function<BIRVariableDcl, BIRVariableDcl> varMapper) {
+        return new BIROperand(varMapper.apply(operand.variableDcl));
+    }
+
+    private BIRVariableDcl getInlinedVar(BIRFunction caller, BIRVariableDcl var,
+                                         Map<BIRVariableDcl, BIRVariableDcl> inlinedVars, Set<String> varNames) {
+        BIRVariableDcl inlinedVar = inlinedVars.get(var);
+        if (inlinedVar != null) {
+            return inlinedVar;
+        }
+
+        String name;
+        do {
+            name = INLINED_VAR_PREFIX + inlinedVarCount++;
+        } while (!varNames.add(name));
+        // parameters and local variables may be assigned more than once, hence are not reused as temporary variables
+        VarKind kind = var.kind == VarKind.TEMP ? VarKind.TEMP : VarKind.LOCAL;
+        inlinedVar = new BIRVariableDcl(var.type, new Name(name), VarScope.FUNCTION, kind);
+        caller.localVars.add(inlinedVar);
+        inlinedVars.put(var, inlinedVar);
+        return inlinedVar;
+    }
+}
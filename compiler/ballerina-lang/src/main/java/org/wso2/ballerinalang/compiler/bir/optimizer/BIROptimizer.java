@@ -18,6 +18,8 @@
 
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
+import org.ballerinalang.compiler.BLangCompilerException;
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRArgument;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
@@ -34,6 +36,7 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
 import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -50,10 +53,18 @@ import java.util.stream.Collectors;
 public class BIROptimizer {
 
     private static final CompilerContext.Key<BIROptimizer> BIR_OPTIMIZER = new CompilerContext.Key<>();
+    private static final int DEFAULT_OPTIMIZATION_LEVEL = 1;
+    private static final int SCALAR_OPTIMIZATION_LEVEL = 2;
+
     private final RHSTempVarOptimizer rhsTempVarOptimizer;
     private final LHSTempVarOptimizer lhsTempVarOptimizer;
     private final BIRLockOptimizer lockOptimizer;
     private final BirVariableOptimizer variableOptimizer;
+    private final CompilerOptions compilerOptions;
+    // passes run after removing the temp vars and before reusing them, in the given order
+    private final List<BIROptimizerPass> scalarPasses;
+    // the scalar passes run at the default level, which only replace instructions with cheaper ones in place
+    private final List<BIROptimizerPass> defaultScalarPasses;
 
     public static BIROptimizer getInstance(CompilerContext context) {
         BIROptimizer birGen = context.get(BIR_OPTIMIZER);
@@ -70,18 +81,53 @@ public class BIROptimizer {
         this.lhsTempVarOptimizer = new LHSTempVarOptimizer();
         this.lockOptimizer = new BIRLockOptimizer();
         this.variableOptimizer = new BirVariableOptimizer();
+        this.compilerOptions = CompilerOptions.getInstance(context);
+        BIRTypeSpecializer typeSpecializer = new BIRTypeSpecializer();
+        this.scalarPasses = List.of(new BIRFunctionInliner(), typeSpecializer, new BIRCopyPropagator(),
+                                    new BIRConstantFolder(), new BIRDeadCodeEliminator());
+        this.defaultScalarPasses = List.of(typeSpecializer);
+    }
+
+    private int getOptimizationLevel() {
+        String optimizationLevel = this.compilerOptions.get(CompilerOptionName.OPTIMIZATION_LEVEL);
+        if (optimizationLevel == null) {
+            return DEFAULT_OPTIMIZATION_LEVEL;
+        }
+        int level;
+        try {
+            level = Integer.parseInt(optimizationLevel);
+        } catch (NumberFormatException e) {
+            throw new BLangCompilerException("invalid BIR optimization level: " + optimizationLevel, e);
+        }
+        if (level < 0 || level > SCALAR_OPTIMIZATION_LEVEL) {
+            throw new BLangCompilerException("invalid BIR optimization level: " + optimizationLevel);
+        }
+        return level;
     }
 
     public void optimizePackage(BIRPackage pkg) {
-        // RHS temp var optimization
-        pkg.accept(this.rhsTempVarOptimizer);
+        int optimizationLevel = getOptimizationLevel();
+        if (optimizationLevel >= DEFAULT_OPTIMIZATION_LEVEL) {
+            // RHS temp var optimization
+            pkg.accept(this.rhsTempVarOptimizer);
 
-        // LHS temp var optimization
-        this.lhsTempVarOptimizer.optimizeNode(pkg, null);
+            // LHS temp var optimization
+            this.lhsTempVarOptimizer.optimizeNode(pkg, null);
+        }
+
+        if (optimizationLevel >= SCALAR_OPTIMIZATION_LEVEL) {
+            // Inlining, type specialization, copy propagation, constant folding and dead code elimination
+            this.scalarPasses.forEach(pass -> pass.optimizePackage(pkg));
+        } else if (optimizationLevel >= DEFAULT_OPTIMIZATION_LEVEL) {
+            // Type specialization, which replaces the repeated unboxing of a narrowed variable with a move
+            this.defaultScalarPasses.forEach(pass -> pass.optimizePackage(pkg));
+        }
 
         // Optimize lock statements
         this.lockOptimizer.optimizeNode(pkg);
-        variableOptimizer.optimizeNode(pkg);
+        if (optimizationLevel >= DEFAULT_OPTIMIZATION_LEVEL) {
+            variableOptimizer.optimizeNode(pkg);
+        }
     }
 
     /**
@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRArgument;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorKeyValueEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorSpreadFieldEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An optimization pass of the {@link BIROptimizer}, which is run on each of the functions of a module.
+ *
+ * @since 2.0.0
+ */
+abstract class BIROptimizerPass {
+
+    void optimizePackage(BIRPackage pkg) {
+        for (BIRTypeDefinition typeDef : pkg.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                typeDef.attachedFuncs.forEach(func -> optimizeFunction(pkg, func));
+            }
+        }
+        pkg.functions.forEach(func -> optimizeFunction(pkg, func));
+    }
+
+    abstract void optimizeFunction(BIRPackage pkg, BIRFunction func);
+
+    /**
+     * Returns the operands read by the instruction. Unlike {@link BIRAbstractInstruction#getRhsOperands()}, this
+     * includes the operands of the entries of a mapping constructor and the conditions of the arguments.
+     *
+     * @param ins instruction
+     * @return operands read by the instruction
+     */
+    static List<BIROperand> getUses(BIRAbstractInstruction ins) {
+        List<BIROperand> uses = new ArrayList<>();
+        Collections.addAll(uses, ins.getRhsOperands());
+        if (ins instanceof BIRNonTerminator.NewStructure) {
+            for (BIRMappingConstructorEntry entry : ((BIRNonTerminator.NewStructure) ins).initialValues) {
+                if (entry.isKeyValuePair()) {
+                    uses.add(((BIRMappingConstructorKeyValueEntry) entry).keyOp);
+                    uses.add(((BIRMappingConstructorKeyValueEntry) entry).valueOp);
+                } else {
+                    uses.add(((BIRMappingConstructorSpreadFieldEntry) entry).exprOp);
+                }
+            }
+        }
+        for (BIROperand use : ins.getRhsOperands()) {
+            if (use instanceof BIRArgument && ((BIRArgument) use).condition != null) {
+                uses.add(((BIRArgument) use).condition);
+            }
+        }
+        return uses;
+    }
+
+    /**
+     * Counts the occurrences of each operand object in the function. An operand may be shared by more than one
+     * instruction (e.g. as the lhs of an instruction and the rhs of the next), hence it can be modified in place only
+     * if it occurs once.
+     *
+     * @param func function
+     * @return number of occurrences of each operand
+     */
+    static Map<BIROperand, Integer> countOperandOccurrences(BIRFunction func) {
+        Map<BIROperand, Integer> occurrences = new IdentityHashMap<>();
+        List<BIRBasicBlock> basicBlocks = new ArrayList<>(func.basicBlocks);
+        func.parameters.values().forEach(basicBlocks::addAll);
+        for (BIRBasicBlock bb : basicBlocks) {
+            List<BIRAbstractInstruction> instructions = new ArrayList<>(bb.instructions);
+            if (bb.terminator != null) {
+                instructions.add(bb.terminator);
+            }
+            for (BIRAbstractInstruction ins : instructions) {
+                if (ins.lhsOp != null) {
+                    occurrences.merge(ins.lhsOp, 1, Integer::sum);
+                }
+                for (BIROperand use : getUses(ins)) {
+                    occurrences.merge(use, 1, Integer::sum);
+                }
+            }
+        }
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            occurrences.merge(errorEntry.errorOp, 1, Integer::sum);
+        }
+        return occurrences;
+    }
+
+    static boolean isLocalVar(BIRVariableDcl var) {
+        return var.kind == VarKind.TEMP || var.kind == VarKind.LOCAL || var.kind == VarKind.ARG;
+    }
+
+    /**
+     * Checks whether values of the given types have the same representation in the generated code, so that one can
+     * be used in place of the other.
+     *
+     * @param type1 first type
+     * @param type2 second type
+     * @return whether the types are the same
+     */
+    static boolean isSameType(BType type1, BType type2) {
+        if (type1 == type2) {
+            return true;
+        }
+        if (type1.tag != type2.tag) {
+            return false;
+        }
+        switch (type1.tag) {
+            case TypeTags.INT:
+            case TypeTags.BYTE:
+            case TypeTags.FLOAT:
+            case TypeTags.DECIMAL:
+            case TypeTags.STRING:
+            case TypeTags.BOOLEAN:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeCast;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps the unboxed value of a narrowed {@code any} or union typed variable in a primitive typed local variable.
+ * <p>
+ * Each read of a narrowed variable is a cast to the narrowed type, which unboxes the value at run time. A cast of a
+ * variable, which has already been cast to the same type on every path to it without the variable being assigned in
+ * between, is replaced with a move of the result of the earlier cast.
+ * <p>
+ * e.g., {@code _2 = <int> _1; ... _4 = <int> _1} becomes {@code _2 = <int> _1; ... _4 = move _2}, after which the
+ * copy propagation and the dead code elimination remove the move. Unlike the other scalar passes, this pass also runs
+ * at the default optimization level, where the move is kept, as it is still cheaper than unboxing the value again.
+ *
+ * @since 2.0.0
+ */
+class BIRTypeSpecializer extends BIROptimizerPass {
+
+    @Override
+    void optimizeFunction(BIRPackage pkg, BIRFunction func) {
+        if (func.basicBlocks.isEmpty()) {
+            return;
+        }
+
+        Map<BIRBasicBlock, List<BIRBasicBlock>> predecessors = getPredecessors(func);
+        // the target of an error entry may be reached from any instruction of the basic blocks it covers
+        Set<BIRBasicBlock> entryBBs = new HashSet<>();
+        entryBBs.add(func.basicBlocks.get(0));
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            entryBBs.add(errorEntry.targetBB);
+        }
+
+        // casts available at the end of each basic block, where a missing entry stands for all the casts
+        Map<BIRBasicBlock, Map<CastKey, BIRVariableDcl>> availableCasts = new HashMap<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (BIRBasicBlock bb : func.basicBlocks) {
+                Map<CastKey, BIRVariableDcl> inCasts = getInCasts(bb, predecessors, entryBBs, availableCasts);
+                if (inCasts == null) {
+                    continue;
+                }
+                Map<CastKey, BIRVariableDcl> outCasts = specialize(bb, inCasts, false);
+                if (!outCasts.equals(availableCasts.put(bb, outCasts))) {
+                    changed = true;
+                }
+            }
+        }
+
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            Map<CastKey, BIRVariableDcl> inCasts = getInCasts(bb, predecessors, entryBBs, availableCasts);
+            if (inCasts != null) {
+                specialize(bb, inCasts, true);
+            }
+        }
+    }
+
+    private Map<BIRBasicBlock, List<BIRBasicBlock>> getPredecessors(BIRFunction func) {
+        Map<BIRBasicBlock, List<BIRBasicBlock>> predecessors = new HashMap<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (bb.terminator == null) {
+                continue;
+            }
+            for (BIRBasicBlock nextBB : bb.terminator.getNextBasicBlocks()) {
+                if (nextBB != null) {
+                    predecessors.computeIfAbsent(nextBB, k -> new ArrayList<>()).add(bb);
+                }
+            }
+        }
+        return predecessors;
+    }
+
+    /**
+     * Returns the casts available at the start of the basic block, which are the casts available at the end of all
+     * of its predecessors with the same result variable.
+     *
+     * @param bb             basic block
+     * @param predecessors   predecessors of each basic block
+     * @param entryBBs       basic blocks with no casts available at the start
+     * @param availableCasts casts available at the end of each basic block
+     * @return result variable of each available cast, or null if the basic block is not reached yet
+     */
+    private Map<CastKey, BIRVariableDcl> getInCasts(BIRBasicBlock bb,
+                                                    Map<BIRBasicBlock, List<BIRBasicBlock>> predecessors,
+                                                    Set<BIRBasicBlock> entryBBs,
+                                                    Map<BIRBasicBlock, Map<CastKey, BIRVariableDcl>> availableCasts) {
+        if (entryBBs.contains(bb)) {
+            return new HashMap<>();
+        }
+        Map<CastKey, BIRVariableDcl> inCasts = null;
+        for (BIRBasicBlock predecessor : predecessors.getOrDefault(bb, List.of())) {
+            Map<CastKey, BIRVariableDcl> outCasts = availableCasts.get(predecessor);
+            if (outCasts == null) {
+                continue;
+            }
+            if (inCasts == null) {
+                inCasts = new HashMap<>(outCasts);
+            } else {
+                inCasts.entrySet().removeIf(cast -> !cast.getValue().equals(outCasts.get(cast.getKey())));
+            }
+        }
+        return inCasts;
+    }
+
+    private Map<CastKey, BIRVariableDcl> specialize(BIRBasicBlock bb, Map<CastKey, BIRVariableDcl> inCasts,
+                                                    boolean rewrite) {
+        Map<CastKey, BIRVariableDcl> casts = new HashMap<>(inCasts);
+        List<BIRNonTerminator> instructions = bb.instructions;
+        for (int i = 0; i < instructions.size(); i++) {
+            BIRNonTerminator ins = instructions.get(i);
+            if (ins.lhsOp == null) {
+                continue;
+            }
+
+            BIRVariableDcl lhsVar = ins.lhsOp.variableDcl;
+            CastKey key = ins.kind == InstructionKind.TYPE_CAST ? getCastKey((TypeCast) ins) : null;
+            BIRVariableDcl castVar = key == null ? null : casts.get(key);
+            if (rewrite && castVar != null && isSameType(castVar.type, lhsVar.type)) {
+                Move move = new Move(ins.pos, new BIROperand(castVar), ins.lhsOp);
+                move.scope = ins.scope;
+                instructions.set(i, move);
+            }
+
+            casts.entrySet().removeIf(cast -> cast.getKey().source.equals(lhsVar) || cast.getValue().equals(lhsVar));
+            if (key != null && castVar == null && isLocalVar(lhsVar) && !lhsVar.equals(key.source)) {
+                casts.put(key, lhsVar);
+            }
+        }
+        if (bb.terminator != null && bb.terminator.lhsOp != null) {
+            BIRVariableDcl lhsVar = bb.terminator.lhsOp.variableDcl;
+            casts.entrySet().removeIf(cast -> cast.getKey().source.equals(lhsVar) || cast.getValue().equals(lhsVar));
+        }
+        return casts;
+    }
+
+    /**
+     * Returns the key of a cast, which unboxes the value of a local variable of a type without a primitive
+     * representation.
+     *
+     * @param typeCast cast
+     * @return key of the cast, or null if the cast does not unbox a local variable
+     */
+    private CastKey getCastKey(TypeCast typeCast) {
+        BIRVariableDcl source = typeCast.rhsOp.variableDcl;
+        // global variables may be updated by other strands in between
+        if (!isLocalVar(source) || typeCast.type.tag != typeCast.lhsOp.variableDcl.type.tag) {
+            return null;
+        }
+        switch (typeCast.type.tag) {
+            case TypeTags.INT:
+            case TypeTags.BYTE:
+            case TypeTags.FLOAT:
+            case TypeTags.BOOLEAN:
+                break;
+            default:
+                return null;
+        }
+        switch (source.type.tag) {
+            case TypeTags.UNION:
+            case TypeTags.ANY:
+            case TypeTags.ANYDATA:
+            case TypeTags.JSON:
+            case TypeTags.READONLY:
+                // an unchecked cast converts the value rather than panicking, hence the two kinds are not mixed
+                return new CastKey(source, typeCast.type.tag, typeCast.checkTypes);
+            default:
+                return null;
+        }
+    }
+
+    private static class CastKey {
+
+        final BIRVariableDcl source;
+        final int typeTag;
+        final boolean checkTypes;
+
+        CastKey(BIRVariableDcl source, int typeTag, boolean checkTypes) {
+            this.source = source;
+            this.typeTag = typeTag;
+            this.checkTypes = checkTypes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CastKey)) {
+                return false;
+            }
+            CastKey castKey = (CastKey) o;
+            return typeTag == castKey.typeTag && checkTypes == castKey.checkTypes && source.equals(castKey.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, typeTag, checkTypes);
+        }
+    }
+}
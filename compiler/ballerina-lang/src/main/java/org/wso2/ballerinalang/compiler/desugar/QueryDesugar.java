@@ -21,6 +21,7 @@ import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.clauses.OrderKeyNode;
 import org.ballerinalang.model.tree.IdentifierNode;
 import org.ballerinalang.model.tree.NodeKind;
+import org.ballerinalang.model.tree.OperatorKind;
 import org.ballerinalang.model.tree.expressions.RecordLiteralNode;
 import org.ballerinalang.model.tree.statements.VariableDefinitionNode;
 import org.ballerinalang.model.tree.types.TypeNode;
@@ -34,11 +35,13 @@ import org.wso2.ballerinalang.compiler.semantics.model.symbols.BRecordTypeSymbol
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStreamType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStructureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTypedescType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
@@ -171,6 +174,7 @@ import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -189,6 +193,7 @@ import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
  */
 public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_CREATE_PIPELINE_FUNCTION = new Name("createPipeline");
+    private static final Name QUERY_LOOKUP_TABLE_FUNCTION = new Name("lookupTable");
     private static final Name QUERY_CREATE_INPUT_FUNCTION = new Name("createInputFunction");
     private static final Name QUERY_CREATE_NESTED_FROM_FUNCTION = new Name("createNestedFromFunction");
     private static final Name QUERY_CREATE_LET_FUNCTION = new Name("createLetFunction");
@@ -319,8 +324,12 @@ public class QueryDesugar extends BLangNodeVisitor {
     BLangVariableReference buildStream(List<BLangNode> clauses, BType resultType, SymbolEnv env, BLangBlockStmt block) {
         this.env = env;
         BLangFromClause initFromClause = (BLangFromClause) clauses.get(0);
+        BLangExpression initCollection = initFromClause.collection;
+        if (clauses.size() > 1 && clauses.get(1).getKind() == NodeKind.WHERE) {
+            initCollection = addTableLookup(initFromClause, (BLangWhereClause) clauses.get(1));
+        }
         final BLangVariableReference initPipeline = addPipeline(block, initFromClause.pos,
-                initFromClause.collection, resultType);
+                initCollection, resultType);
         BLangVariableReference initFrom = addInputFunction(block, initFromClause);
         addStreamFunction(block, initPipeline, initFrom);
         for (BLangNode clause : clauses.subList(1, clauses.size())) {
@@ -408,6 +417,145 @@ public class QueryDesugar extends BLangNodeVisitor {
                 Lists.of(valueVarRef, typedescExpr), pos);
     }
 
+    /**
+     * Narrow down the rows of a table to the ones found through an index of the table, when the where clause following
+     * the from clause compares a field of the row with a value, which does not change during the query.
+     * The where clause is still applied on the rows, since the lookup may find more rows than the matching ones.
+     * from var x in tbl where x.id == id ... => from var x in lookupTable(tbl, "id", "==", id) where x.id == id ...
+     *
+     * @param fromClause  from clause iterating the table.
+     * @param whereClause where clause following the from clause.
+     * @return the collection to be iterated by the query.
+     */
+    private BLangExpression addTableLookup(BLangFromClause fromClause, BLangWhereClause whereClause) {
+        BLangExpression collection = fromClause.collection;
+        BLangVariable variable = (BLangVariable) fromClause.variableDefinitionNode.getVariable();
+        if (collection.type.tag != TypeTags.TABLE || variable.getKind() != NodeKind.VARIABLE
+                || ((BTableType) collection.type).constraint.tag != TypeTags.RECORD) {
+            return collection;
+        }
+        BRecordType rowType = (BRecordType) ((BTableType) collection.type).constraint;
+        List<BLangExpression> lookupArgs = getTableLookupArgs(whereClause.expression, variable.symbol, rowType);
+        if (lookupArgs == null) {
+            return collection;
+        }
+        lookupArgs.add(0, collection);
+        BLangInvocation lookupInvocation = createQueryLibInvocation(QUERY_LOOKUP_TABLE_FUNCTION, lookupArgs,
+                whereClause.pos);
+        lookupInvocation.type = BUnionType.create(null, new BArrayType(((BTableType) collection.type).constraint),
+                collection.type);
+        return lookupInvocation;
+    }
+
+    // Finds a comparison of a field of the row with a value in a conjunction, and returns the arguments to look up
+    // the rows with the comparison.
+    private List<BLangExpression> getTableLookupArgs(BLangExpression expr, BVarSymbol rowSymbol,
+                                                     BRecordType rowType) {
+        if (expr.getKind() == NodeKind.GROUP_EXPR) {
+            return getTableLookupArgs(((BLangGroupExpr) expr).expression, rowSymbol, rowType);
+        }
+        if (expr.getKind() != NodeKind.BINARY_EXPR) {
+            return null;
+        }
+        BLangBinaryExpr binaryExpr = (BLangBinaryExpr) expr;
+        String operator;
+        String flippedOperator;
+        switch (binaryExpr.opKind) {
+            case AND:
+                List<BLangExpression> lookupArgs = getTableLookupArgs(binaryExpr.lhsExpr, rowSymbol, rowType);
+                return lookupArgs != null ? lookupArgs : getTableLookupArgs(binaryExpr.rhsExpr, rowSymbol, rowType);
+            case EQUAL:
+                operator = flippedOperator = OperatorKind.EQUAL.value();
+                break;
+            case LESS_THAN:
+                operator = OperatorKind.LESS_THAN.value();
+                flippedOperator = OperatorKind.GREATER_THAN.value();
+                break;
+            case LESS_EQUAL:
+                operator = OperatorKind.LESS_EQUAL.value();
+                flippedOperator = OperatorKind.GREATER_EQUAL.value();
+                break;
+            case GREATER_THAN:
+                operator = OperatorKind.GREATER_THAN.value();
+                flippedOperator = OperatorKind.LESS_THAN.value();
+                break;
+            case GREATER_EQUAL:
+                operator = OperatorKind.GREATER_EQUAL.value();
+                flippedOperator = OperatorKind.LESS_EQUAL.value();
+                break;
+            default:
+                return null;
+        }
+
+        String fieldName = getIndexableFieldName(binaryExpr.lhsExpr, rowSymbol, rowType);
+        BLangExpression value = binaryExpr.rhsExpr;
+        if (fieldName == null) {
+            fieldName = getIndexableFieldName(binaryExpr.rhsExpr, rowSymbol, rowType);
+            value = binaryExpr.lhsExpr;
+            operator = flippedOperator;
+        }
+        if (fieldName == null) {
+            return null;
+        }
+        BLangExpression lookupValue = getInvariantValue(value, rowSymbol);
+        if (lookupValue == null) {
+            return null;
+        }
+        Location pos = binaryExpr.pos;
+        List<BLangExpression> lookupArgs = new ArrayList<>();
+        lookupArgs.add(ASTBuilderUtil.createLiteral(pos, symTable.stringType, fieldName));
+        lookupArgs.add(ASTBuilderUtil.createLiteral(pos, symTable.stringType, operator));
+        lookupArgs.add(desugar.addConversionExprIfRequired(lookupValue, symTable.anydataType));
+        return lookupArgs;
+    }
+
+    // Returns the name of the field, if the expression accesses a required field of a simple basic type of the row.
+    // The field is resolved from the constraint of the table, as the type of the row variable may be a union or an
+    // intersection of it.
+    private String getIndexableFieldName(BLangExpression expr, BVarSymbol rowSymbol, BRecordType rowType) {
+        if (expr.getKind() != NodeKind.FIELD_BASED_ACCESS_EXPR) {
+            return null;
+        }
+        BLangFieldBasedAccess fieldAccess = (BLangFieldBasedAccess) expr;
+        if (fieldAccess.optionalFieldAccess || fieldAccess.expr.getKind() != NodeKind.SIMPLE_VARIABLE_REF
+                || ((BLangSimpleVarRef) fieldAccess.expr).symbol != rowSymbol) {
+            return null;
+        }
+        BField field = rowType.fields.get(fieldAccess.field.value);
+        if (field == null || Symbols.isOptional(field.symbol)) {
+            return null;
+        }
+        switch (field.type.tag) {
+            case TypeTags.INT:
+            case TypeTags.FLOAT:
+            case TypeTags.DECIMAL:
+            case TypeTags.STRING:
+            case TypeTags.BOOLEAN:
+                return fieldAccess.field.value;
+            default:
+                return null;
+        }
+    }
+
+    // Returns a copy of the expression to be evaluated before the query, if its value does not change during the query.
+    private BLangExpression getInvariantValue(BLangExpression expr, BVarSymbol rowSymbol) {
+        switch (expr.getKind()) {
+            case LITERAL:
+            case NUMERIC_LITERAL:
+                BLangLiteral literal = (BLangLiteral) expr;
+                return ASTBuilderUtil.createLiteral(literal.pos, literal.type, literal.value);
+            case SIMPLE_VARIABLE_REF:
+                BSymbol symbol = ((BLangSimpleVarRef) expr).symbol;
+                long invariantFlags = Flags.CONSTANT | Flags.FINAL | Flags.FUNCTION_FINAL;
+                if (symbol == rowSymbol || (symbol.flags & invariantFlags) == 0) {
+                    return null;
+                }
+                return ASTBuilderUtil.createVariableRef(expr.pos, symbol);
+            default:
+                return null;
+        }
+    }
+
     /**
      * Desugar inputClause to below and return a reference to created from _StreamFunction.
      * _StreamFunction xsFrom = createFromFunction(function(_Frame frame) returns _Frame|error? {
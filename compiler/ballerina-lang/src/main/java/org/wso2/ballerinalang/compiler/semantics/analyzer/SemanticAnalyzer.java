@@ -225,6 +225,7 @@ public class SemanticAnalyzer extends BLangNodeVisitor {
     private ConstantAnalyzer constantAnalyzer;
     private ConstantValueResolver constantValueResolver;
     private BLangAnonymousModelHelper anonModelHelper;
+    private TypeRelationCache typeRelationCache;
 
     private SymbolEnv env;
     private BType expType;
@@ -261,6 +262,7 @@ public class SemanticAnalyzer extends BLangNodeVisitor {
         this.constantAnalyzer = ConstantAnalyzer.getInstance(context);
         this.constantValueResolver = ConstantValueResolver.getInstance(context);
         this.anonModelHelper = BLangAnonymousModelHelper.getInstance(context);
+        this.typeRelationCache = TypeRelationCache.getInstance(context);
     }
 
     public BLangPackage analyze(BLangPackage pkgNode) {
@@ -642,6 +644,9 @@ public class SemanticAnalyzer extends BLangNodeVisitor {
         for (BLangSimpleVariable field : recordFields) {
             if (field.flagSet.contains(Flag.READONLY)) {
                 handleReadOnlyField(isRecordType, fields, field);
+                if (isRecordType) {
+                    typeRelationCache.invalidate(type);
+                }
             } else {
                 allReadOnlyFields = false;
             }
@@ -652,6 +657,7 @@ public class SemanticAnalyzer extends BLangNodeVisitor {
         if (isRecordType && allReadOnlyFields) {
             type.tsymbol.flags |= Flags.READONLY;
             type.flags |= Flags.READONLY;
+            typeRelationCache.invalidate(type);
         }
 
         validateOptionalNeverTypedField(recordTypeNode);
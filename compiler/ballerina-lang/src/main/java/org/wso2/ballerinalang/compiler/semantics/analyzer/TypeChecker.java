@@ -252,6 +252,7 @@ public class TypeChecker extends BLangNodeVisitor {
     private TypeNarrower typeNarrower;
     private TypeParamAnalyzer typeParamAnalyzer;
     private BLangAnonymousModelHelper anonymousModelHelper;
+    private TypeRelationCache typeRelationCache;
     private SemanticAnalyzer semanticAnalyzer;
     private ResolvedTypeBuilder typeBuilder;
     private boolean nonErrorLoggingCheck = false;
@@ -335,6 +336,7 @@ public class TypeChecker extends BLangNodeVisitor {
         this.anonymousModelHelper = BLangAnonymousModelHelper.getInstance(context);
         this.semanticAnalyzer = SemanticAnalyzer.getInstance(context);
         this.missingNodesHelper = BLangMissingNodesHelper.getInstance(context);
+        this.typeRelationCache = TypeRelationCache.getInstance(context);
         this.typeBuilder = new ResolvedTypeBuilder();
         this.selectClauses = new Stack<>();
         this.queryEnvs = new Stack<>();
@@ -1442,6 +1444,7 @@ public class TypeChecker extends BLangNodeVisitor {
         if (arrayType.state == BArrayState.INFERRED) {
             arrayType.size = listConstructor.exprs.size();
             arrayType.state = BArrayState.CLOSED;
+            typeRelationCache.invalidate(arrayType);
         } else if ((arrayType.state != BArrayState.OPEN) && (arrayType.size != listConstructor.exprs.size())) {
             if (arrayType.size < listConstructor.exprs.size()) {
                 dlog.error(listConstructor.pos,
@@ -7605,6 +7608,7 @@ public class TypeChecker extends BLangNodeVisitor {
     private void markTypeAsIsolated(BType actualType) {
         actualType.flags |= Flags.ISOLATED;
         actualType.tsymbol.flags |= Flags.ISOLATED;
+        typeRelationCache.invalidate(actualType);
     }
 
     private boolean isObjectConstructorExpr(BLangTypeInit cIExpr, BType actualType) {
@@ -7658,6 +7662,7 @@ public class TypeChecker extends BLangNodeVisitor {
 
         ImmutableTypeCloner.markFieldsAsImmutable(classDefForConstructor, env, actualObjectType, types,
                                                   anonymousModelHelper, symTable, names, cIExpr.pos);
+        typeRelationCache.invalidate(actualObjectType);
 
         semanticAnalyzer.analyzeNode(classDefForConstructor, env);
     }
@@ -0,0 +1,302 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.semantics.analyzer;
+
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BAttachedFunction;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BObjectTypeSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BErrorType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BFutureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BIntersectionType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BMapType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BParameterizedType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BStreamType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BStructureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTupleType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTypedescType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BXMLType;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Memoizes the relations between types computed by {@link Types}, i.e. whether a type is assignable to another type,
+ * whether two types are the same and whether a type is lax. Types are compared by identity.
+ * <p>
+ * Types are still being built while the symbols of a module are defined (e.g. the fields of a record or the members of
+ * a union are added one by one), and flags such as isolated are inferred for them after the type checking. Hence the
+ * cache is enabled only while a module is type checked, and is cleared when it is disabled. When an existing type is
+ * updated in place, only the relations of the types which contain it are dropped. Only the outermost checks are
+ * cached, as a relation found within a recursive check assumes that the pairs of types still being resolved are
+ * related.
+ *
+ * @since 2.0.0
+ */
+public class TypeRelationCache {
+
+    private static final CompilerContext.Key<TypeRelationCache> TYPE_RELATION_CACHE_KEY = new CompilerContext.Key<>();
+
+    // key - source type, value - whether the source type is related to each of the target types
+    private final Map<BType, Map<BType, Boolean>> assignableTypes = new IdentityHashMap<>();
+    private final Map<BType, Map<BType, Boolean>> sameTypes = new IdentityHashMap<>();
+    private final Map<BType, Boolean> laxTypes = new IdentityHashMap<>();
+    private boolean enabled;
+    private long hitCount;
+    private long missCount;
+
+    public static TypeRelationCache getInstance(CompilerContext context) {
+        TypeRelationCache typeRelationCache = context.get(TYPE_RELATION_CACHE_KEY);
+        if (typeRelationCache == null) {
+            typeRelationCache = new TypeRelationCache(context);
+        }
+
+        return typeRelationCache;
+    }
+
+    private TypeRelationCache(CompilerContext context) {
+        context.put(TYPE_RELATION_CACHE_KEY, this);
+    }
+
+    public void enable() {
+        enabled = true;
+    }
+
+    public void disable() {
+        enabled = false;
+        assignableTypes.clear();
+        sameTypes.clear();
+        laxTypes.clear();
+    }
+
+    /**
+     * Drops the cached relations of the types which contain the given type, when a type which may have been checked
+     * already is updated in place during the type checking (e.g. the type of an object constructor is inferred to be
+     * isolated). The relations of the other types do not depend on the updated type, and are kept.
+     *
+     * @param updatedType type which is updated in place
+     */
+    public void invalidate(BType updatedType) {
+        Map<BType, Boolean> containingTypes = new IdentityHashMap<>();
+        invalidate(assignableTypes, updatedType, containingTypes);
+        invalidate(sameTypes, updatedType, containingTypes);
+        laxTypes.keySet().removeIf(type -> contains(type, updatedType, containingTypes));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of checks answered from the cache, since the cache was created.
+     *
+     * @return number of cache hits
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of checks computed and added to the cache, since the cache was created.
+     *
+     * @return number of cache misses
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    boolean isAssignable(BType source, BType target, BiPredicate<BType, BType> relation) {
+        return test(assignableTypes, source, target, relation);
+    }
+
+    boolean isSameType(BType source, BType target, BiPredicate<BType, BType> relation) {
+        return test(sameTypes, source, target, relation);
+    }
+
+    boolean isLax(BType type, Predicate<BType> relation) {
+        if (!enabled) {
+            return relation.test(type);
+        }
+
+        Boolean isLax = laxTypes.get(type);
+        if (isLax != null) {
+            hitCount++;
+            return isLax;
+        }
+        missCount++;
+        isLax = relation.test(type);
+        laxTypes.put(type, isLax);
+        return isLax;
+    }
+
+    private boolean test(Map<BType, Map<BType, Boolean>> relatedTypes, BType source, BType target,
+                         BiPredicate<BType, BType> relation) {
+        if (!enabled) {
+            return relation.test(source, target);
+        }
+
+        Map<BType, Boolean> targetTypes = relatedTypes.computeIfAbsent(source, type -> new IdentityHashMap<>());
+        Boolean isRelated = targetTypes.get(target);
+        if (isRelated != null) {
+            hitCount++;
+            return isRelated;
+        }
+        missCount++;
+        // The relation may check other pairs of types, which only add to the cache
+        isRelated = relation.test(source, target);
+        targetTypes.put(target, isRelated);
+        return isRelated;
+    }
+
+    private void invalidate(Map<BType, Map<BType, Boolean>> relatedTypes, BType updatedType,
+                            Map<BType, Boolean> containingTypes) {
+        Iterator<Map.Entry<BType, Map<BType, Boolean>>> iterator = relatedTypes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<BType, Map<BType, Boolean>> entry = iterator.next();
+            if (contains(entry.getKey(), updatedType, containingTypes)) {
+                iterator.remove();
+                continue;
+            }
+            entry.getValue().keySet().removeIf(target -> contains(target, updatedType, containingTypes));
+        }
+    }
+
+    /**
+     * Checks whether a type is the updated type or refers to it through its member types, field types etc. The result
+     * is memoized for each type checked by a search which did not find the updated type, as the search has visited
+     * all the types reachable from the type.
+     */
+    private boolean contains(BType type, BType updatedType, Map<BType, Boolean> containingTypes) {
+        Boolean contains = containingTypes.get(type);
+        if (contains != null) {
+            return contains;
+        }
+
+        Set<BType> visitedTypes = Collections.newSetFromMap(new IdentityHashMap<>());
+        contains = reaches(type, updatedType, visitedTypes, containingTypes);
+        if (contains) {
+            containingTypes.put(type, true);
+        } else {
+            for (BType visitedType : visitedTypes) {
+                containingTypes.put(visitedType, false);
+            }
+        }
+        return contains;
+    }
+
+    private boolean reaches(BType type, BType updatedType, Set<BType> visitedTypes,
+                            Map<BType, Boolean> containingTypes) {
+        if (type == null) {
+            return false;
+        }
+        if (type == updatedType) {
+            return true;
+        }
+        Boolean contains = containingTypes.get(type);
+        if (contains != null) {
+            return contains;
+        }
+        if (!visitedTypes.add(type)) {
+            return false;
+        }
+
+        for (BType constituentType : getConstituentTypes(type)) {
+            if (reaches(constituentType, updatedType, visitedTypes, containingTypes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<BType> getConstituentTypes(BType type) {
+        List<BType> constituentTypes = new ArrayList<>();
+        if (type instanceof BUnionType) {
+            addTypes(constituentTypes, ((BUnionType) type).getMemberTypes());
+        } else if (type instanceof BIntersectionType) {
+            BIntersectionType intersectionType = (BIntersectionType) type;
+            constituentTypes.addAll(intersectionType.getConstituentTypes());
+            constituentTypes.add(intersectionType.effectiveType);
+        } else if (type instanceof BArrayType) {
+            constituentTypes.add(((BArrayType) type).eType);
+        } else if (type instanceof BTupleType) {
+            BTupleType tupleType = (BTupleType) type;
+            addTypes(constituentTypes, tupleType.tupleTypes);
+            constituentTypes.add(tupleType.restType);
+        } else if (type instanceof BStructureType) {
+            BStructureType structureType = (BStructureType) type;
+            for (BField field : structureType.fields.values()) {
+                constituentTypes.add(field.type);
+            }
+            constituentTypes.addAll(structureType.typeInclusions);
+            if (type instanceof BRecordType) {
+                constituentTypes.add(((BRecordType) type).restFieldType);
+            } else if (type.tsymbol instanceof BObjectTypeSymbol) {
+                for (BAttachedFunction attachedFunction : ((BObjectTypeSymbol) type.tsymbol).attachedFuncs) {
+                    constituentTypes.add(attachedFunction.type);
+                }
+            }
+        } else if (type instanceof BInvokableType) {
+            BInvokableType invokableType = (BInvokableType) type;
+            addTypes(constituentTypes, invokableType.paramTypes);
+            constituentTypes.add(invokableType.restType);
+            constituentTypes.add(invokableType.retType);
+        } else if (type instanceof BMapType) {
+            constituentTypes.add(((BMapType) type).constraint);
+        } else if (type instanceof BTableType) {
+            BTableType tableType = (BTableType) type;
+            constituentTypes.add(tableType.constraint);
+            constituentTypes.add(tableType.keyTypeConstraint);
+        } else if (type instanceof BStreamType) {
+            BStreamType streamType = (BStreamType) type;
+            constituentTypes.add(streamType.constraint);
+            constituentTypes.add(streamType.error);
+        } else if (type instanceof BFutureType) {
+            constituentTypes.add(((BFutureType) type).constraint);
+        } else if (type instanceof BTypedescType) {
+            constituentTypes.add(((BTypedescType) type).constraint);
+        } else if (type instanceof BXMLType) {
+            constituentTypes.add(((BXMLType) type).constraint);
+        } else if (type instanceof BErrorType) {
+            constituentTypes.add(((BErrorType) type).detailType);
+        } else if (type instanceof BParameterizedType) {
+            constituentTypes.add(((BParameterizedType) type).paramValueType);
+        }
+        return constituentTypes;
+    }
+
+    private void addTypes(List<BType> constituentTypes, Collection<BType> types) {
+        // The member types are not set yet for a type being defined
+        if (types != null) {
+            constituentTypes.addAll(types);
+        }
+    }
+}
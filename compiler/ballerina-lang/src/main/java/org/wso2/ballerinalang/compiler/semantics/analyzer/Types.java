@@ -143,6 +143,7 @@ public class Types {
     private int finiteTypeCount = 0;
     private BUnionType expandedXMLBuiltinSubtypes;
     private final BLangAnonymousModelHelper anonymousModelHelper;
+    private final TypeRelationCache typeRelationCache;
 
     public static Types getInstance(CompilerContext context) {
         Types types = context.get(TYPES_KEY);
@@ -165,6 +166,7 @@ public class Types {
                                                             symTable.xmlPIType, symTable.xmlTextType);
         this.typeBuilder = new ResolvedTypeBuilder();
         this.anonymousModelHelper = BLangAnonymousModelHelper.getInstance(context);
+        this.typeRelationCache = TypeRelationCache.getInstance(context);
     }
 
     public List<BType> checkTypes(BLangExpression node,
@@ -232,12 +234,7 @@ public class Types {
     }
 
     public boolean isLax(BType type) {
-        Set<BType> visited = new HashSet<>();
-        int result = isLaxType(type, visited);
-        if (result == 1) {
-            return true;
-        }
-        return false;
+        return typeRelationCache.isLax(type, laxType -> isLaxType(laxType, new HashSet<BType>()) == 1);
     }
 
     // TODO : clean
@@ -307,7 +304,7 @@ public class Types {
     }
 
     public boolean isSameType(BType source, BType target) {
-        return isSameType(source, target, new HashSet<>());
+        return typeRelationCache.isSameType(source, target, (s, t) -> isSameType(s, t, new HashSet<>()));
     }
 
     public boolean isPureType(BType type) {
@@ -586,7 +583,7 @@ public class Types {
      * @return true if source type is assignable to the target type.
      */
     public boolean isAssignable(BType source, BType target) {
-        return isAssignable(source, target, new HashSet<>());
+        return typeRelationCache.isAssignable(source, target, (s, t) -> isAssignable(s, t, new HashSet<>()));
     }
 
     boolean isStampingAllowed(BType source, BType target) {
@@ -88,3 +88,18 @@ public const annotation record {
 } display on source type, source class,
       source function, source return, source parameter, source field, source listener,
       source var, source const, source annotation;
+
+# Kinds of secondary indexes, which can be maintained by a table.
+public type TableIndexKind "hash"|"sorted";
+
+# Describes a secondary index maintained by a table.
+#
+# + kind - `hash` for an index supporting equality lookups, `sorted` for an index supporting range lookups as well
+public type TableIndexData record {|
+    TableIndexKind kind = "hash";
+|};
+
+# Denotes that tables of the annotated record type maintain a secondary index on the annotated field, which is used
+# by query expressions to find the rows matching a `where` clause on the field. The field should be a required
+# `readonly` field.
+public annotation TableIndexData tableIndex on record field;
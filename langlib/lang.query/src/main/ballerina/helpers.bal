@@ -24,6 +24,54 @@ function createPipeline(
     return new _StreamPipeline(collection, resType);
 }
 
+// Returns the rows of the table, which may satisfy `tbl[i][fieldName] operator value`, by using an index of the
+// table. The table itself is returned if it does not have such an index.
+function lookupTable(table<map<Type>> tbl, string fieldName, string operator, anydata value)
+        returns map<Type>[]|table<map<Type>> = @java:Method {
+    'class: "org.ballerinalang.langlib.query.TableLookup",
+    name: "lookupTable"
+} external;
+
+function createFrameMultiMap() returns handle = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "createFrameMultiMap"
+} external;
+
+function getFrames(handle frameMultiMap, any key) returns _Frame[]? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "getFrames"
+} external;
+
+function putFrames(handle frameMultiMap, any key, _Frame[] frames) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "putFrames"
+} external;
+
+function createFusedStages() returns handle = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStages",
+    name: "createFusedStages"
+} external;
+
+function addFusedStage(handle stages, int kind, any func) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStages",
+    name: "addStage"
+} external;
+
+function applyFusedStages(handle stages, _Frame frame) returns _Frame|boolean|error? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStages",
+    name: "applyStages"
+} external;
+
+function resetFusedStages(handle stages) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStages",
+    name: "resetStages"
+} external;
+
+function mergeFrames(_Frame frame, map<any|error> entries) returns _Frame = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FusedStages",
+    name: "mergeFrames"
+} external;
+
 function createInputFunction(function(_Frame _frame) returns _Frame|error? inputFunc)
         returns _StreamFunction {
     return new _InputFunction(inputFunc);
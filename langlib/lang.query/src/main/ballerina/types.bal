@@ -86,8 +86,20 @@ class _StreamPipeline {
 
     function addStreamFunction(_StreamFunction streamFunction) {
         _StreamFunction existingFunc = self.streamFunction;
-        streamFunction.prevFunc = existingFunc;
-        self.streamFunction = streamFunction;
+        _StreamFunction newFunc = streamFunction;
+        [int, any]? stage = getFusableStage(streamFunction);
+        if (stage is [int, any]) {
+            // consecutive per-frame stages are applied by a single stream function
+            if (existingFunc is _FusedFunction) {
+                existingFunc.addStage(stage[0], stage[1]);
+                return;
+            }
+            _FusedFunction fusedFunc = new;
+            fusedFunc.addStage(stage[0], stage[1]);
+            newFunc = fusedFunc;
+        }
+        newFunc.prevFunc = existingFunc;
+        self.streamFunction = newFunc;
     }
 
     public function getStream() returns stream <Type, error?> {
@@ -225,11 +237,7 @@ class _NestedFromFunction {
         if (cf is _Frame && itr is _Iterator) {
             record {|(any|error) value;|}|error? v = itr.next();
             if (v is record {|(any|error) value;|}) {
-                _Frame _frame = {...cf};
-                foreach var [k, val] in v.entries() {
-                    _frame[k] = val;
-                }
-                return _frame;
+                return mergeFrames(cf, v);
             } else if (v is error) {
                 return v;
             } else {
@@ -311,6 +319,7 @@ class _InnerJoinFunction {
     function (_Frame _frame) returns any rhsKeyFunction;
     _FrameMultiMap rhsFramesMap = new;
     _Frame[]? rhsCandidates;
+    int rhsCandidateIndex = 0;
     _Frame|error? lhsFrame;
 
     function init(
@@ -324,7 +333,7 @@ class _InnerJoinFunction {
         self.lhsFrame = ();
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            self.rhsFramesMap.put(rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -339,7 +348,6 @@ class _InnerJoinFunction {
          _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
         _Frame[]? rhsCandidates = self.rhsCandidates;
         _Frame|error? lhsFrame = self.lhsFrame;
-        string lhsKey = "";
 
         if (lhsFrame is ()) {
             lhsFrame = pf.process();
@@ -347,19 +355,16 @@ class _InnerJoinFunction {
         }
 
         if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
             if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
+                rhsCandidates = rhsFramesMap.get(lhsKF(lhsFrame));
                 self.rhsCandidates = rhsCandidates;
+                self.rhsCandidateIndex = 0;
             }
-            if (rhsCandidates is _Frame[] && rhsCandidates.length() > 0) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                self.rhsCandidates = rhsCandidates;
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
+            int rhsCandidateIndex = self.rhsCandidateIndex;
+            if (rhsCandidates is _Frame[] && rhsCandidateIndex < rhsCandidates.length()) {
+                _Frame rhsFrame = rhsCandidates[rhsCandidateIndex];
+                self.rhsCandidateIndex = rhsCandidateIndex + 1;
+                return mergeFrames(lhsFrame, rhsFrame);
             } else {
                 // Move to next lhs frame
                 self.lhsFrame = ();
@@ -374,6 +379,7 @@ class _InnerJoinFunction {
         // Reset the state of lhsFrame
         self.lhsFrame = ();
         self.rhsCandidates = ();
+        self.rhsCandidateIndex = 0;
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -387,6 +393,7 @@ class _OuterJoinFunction {
     function (_Frame _frame) returns any rhsKeyFunction;
     _FrameMultiMap rhsFramesMap = new;
     _Frame[]? rhsCandidates;
+    int rhsCandidateIndex = 0;
     _Frame|error? lhsFrame;
     _Frame nilFrame;
 
@@ -402,7 +409,7 @@ class _OuterJoinFunction {
         self.nilFrame = nilFrame;
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            self.rhsFramesMap.put(rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -418,7 +425,6 @@ class _OuterJoinFunction {
         _Frame[]? rhsCandidates = self.rhsCandidates;
         _Frame|error? lhsFrame = self.lhsFrame;
         _Frame nilFrame = self.nilFrame;
-        string lhsKey = "";
 
         if (lhsFrame is ()) {
             lhsFrame = pf.process();
@@ -426,34 +432,27 @@ class _OuterJoinFunction {
         }
 
         if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
             if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
+                rhsCandidates = rhsFramesMap.get(lhsKF(lhsFrame));
                 self.rhsCandidates = rhsCandidates;
+                self.rhsCandidateIndex = 0;
             }
 
             if (rhsCandidates is _Frame[]) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                if (rhsCandidates.length() > 0) {
+                _Frame rhsFrame = rhsCandidates[self.rhsCandidateIndex];
+                self.rhsCandidateIndex += 1;
+                if (self.rhsCandidateIndex < rhsCandidates.length()) {
                     self.rhsCandidates = rhsCandidates;
                 } else {
                     // Move to next lhs frame in next iteration.
                     self.rhsCandidates = ();
                     self.lhsFrame = ();
                 }
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
+                return mergeFrames(lhsFrame, rhsFrame);
             } else {
                 // rhsCandidates is nil, move to next lhs frame in next iteration.
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in nilFrame.entries() {
-                    joinedFrame[k] = val;
-                }
                 self.lhsFrame = ();
-                return joinedFrame;
+                return mergeFrames(lhsFrame, nilFrame);
             }
         }
         return lhsFrame;
@@ -463,6 +462,46 @@ class _OuterJoinFunction {
         // Reset the state of lhsFrame
         self.lhsFrame = ();
         self.rhsCandidates = ();
+        self.rhsCandidateIndex = 0;
+        _StreamFunction? pf = self.prevFunc;
+        if (pf is _StreamFunction) {
+            pf.reset();
+        }
+    }
+}
+
+# Applies consecutive per-frame stages of the pipeline (from, let, where, select, do and limit clauses) natively,
+# so that a frame goes through all of them in a single call instead of a chain of stream functions.
+class _FusedFunction {
+    *_StreamFunction;
+    handle stages;
+
+    function init() {
+        self.stages = createFusedStages();
+        self.prevFunc = ();
+    }
+
+    function addStage(int kind, any func) {
+        addFusedStage(self.stages, kind, func);
+    }
+
+    public function process() returns _Frame|error? {
+        _StreamFunction pf = <_StreamFunction>self.prevFunc;
+        handle stages = self.stages;
+        _Frame|error? pFrame = pf.process();
+        while (pFrame is _Frame) {
+            _Frame|boolean|error? cFrame = applyFusedStages(stages, pFrame);
+            if (!(cFrame is boolean)) {
+                return cFrame;
+            }
+            // the frame is dropped by a where clause
+            pFrame = pf.process();
+        }
+        return pFrame;
+    }
+
+    public function reset() {
+        resetFusedStages(self.stages);
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -662,36 +701,50 @@ class _LimitFunction {
 
 // ---- helper types ----
 
+// Kinds of the stages of a _FusedFunction, these should be in sync with the constants in FusedStages.java
+const int MAP_STAGE = 0;
+const int FILTER_STAGE = 1;
+const int DO_STAGE = 2;
+const int LIMIT_STAGE = 3;
+
+# Returns the kind and the function of a stream function, which can be applied by a _FusedFunction.
+function getFusableStage(_StreamFunction streamFunction) returns [int, any]? {
+    if (streamFunction is _InputFunction) {
+        return [MAP_STAGE, streamFunction.inputFunc];
+    } else if (streamFunction is _LetFunction) {
+        return [MAP_STAGE, streamFunction.letFunc];
+    } else if (streamFunction is _SelectFunction) {
+        return [MAP_STAGE, streamFunction.selectFunc];
+    } else if (streamFunction is _FilterFunction) {
+        return [FILTER_STAGE, streamFunction.filterFunc];
+    } else if (streamFunction is _DoFunction) {
+        return [DO_STAGE, streamFunction.doFunc];
+    } else if (streamFunction is _LimitFunction) {
+        return [LIMIT_STAGE, streamFunction.limitFunc];
+    }
+}
+
+# Multimap from join keys to frames, which matches the keys with `==` rather than with their string forms.
 class _FrameMultiMap {
-    map<_Frame[]> m;
+    handle m;
 
     function init() {
-        self.m = {};
+        self.m = createFrameMultiMap();
     }
 
-    function put(string k, _Frame v) {
-        _Frame[]? vals = self.m[k];
+    function put(any k, _Frame v) {
+        _Frame[]? vals = getFrames(self.m, k);
         if (vals is _Frame[]) {
             vals.push(v);
         } else {
-            self.m[k] = [v];
+            putFrames(self.m, k, [v]);
         }
     }
 
-    function get(string k) returns _Frame[]? {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            _Frame[] frames = [];
-            int l = vals.length();
-            int i = 0;
-            while (i < l) {
-                frames.push(vals[i]);
-                i += 1;
-            }
-            return frames;
-        }
+    # Returns the frames of the key, which should not be modified by the caller.
+    function get(any k) returns _Frame[]? {
+        return getFrames(self.m, k);
     }
-
 }
 
 class IterHelper {
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BHandle;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TypeChecker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash table used by the join functions of lang.query, which maps the join keys of the frames to be joined to
+ * the arrays of those frames. Keys are matched with the equality of Ballerina values.
+ *
+ * @since 2.0.0
+ */
+public class FrameMultiMap {
+
+    // Depth up to which the members of structured keys are hashed, which also stops hashing at cycles
+    private static final int MAX_HASH_DEPTH = 8;
+
+    private final Map<JoinKey, BArray> frames = new HashMap<>();
+
+    public static BHandle createFrameMultiMap() {
+        return ValueCreator.createHandleValue(new FrameMultiMap());
+    }
+
+    public static Object getFrames(BHandle frameMultiMap, Object key) {
+        return ((FrameMultiMap) frameMultiMap.getValue()).frames.get(new JoinKey(key));
+    }
+
+    public static void putFrames(BHandle frameMultiMap, Object key, BArray frames) {
+        ((FrameMultiMap) frameMultiMap.getValue()).frames.put(new JoinKey(key), frames);
+    }
+
+    /**
+     * Join key, which is equal to another key if the key values are equal with {@code ==}.
+     */
+    private static class JoinKey {
+
+        private final Object value;
+        private final int hash;
+
+        JoinKey(Object value) {
+            this.value = value;
+            this.hash = hash(value, 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof JoinKey)) {
+                return false;
+            }
+            JoinKey key = (JoinKey) o;
+            return hash == key.hash && TypeChecker.isEqual(value, key.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        // Hashes a value consistently with `==`: the entries of a mapping regardless of their order, and a decimal
+        // regardless of its scale. Values which are not simple, mappings or lists all have the same hash.
+        private static int hash(Object value, int depth) {
+            if (value == null || depth > MAX_HASH_DEPTH) {
+                return 0;
+            }
+            if (value instanceof BString) {
+                return ((BString) value).getValue().hashCode();
+            }
+            if (value instanceof BDecimal) {
+                return ((BDecimal) value).decimalValue().stripTrailingZeros().hashCode();
+            }
+            if (value instanceof BMap) {
+                int result = 0;
+                for (Map.Entry<?, ?> entry : ((BMap<?, ?>) value).entrySet()) {
+                    result += hash(entry.getKey(), depth + 1) ^ hash(entry.getValue(), depth + 1);
+                }
+                return result;
+            }
+            if (value instanceof BArray) {
+                BArray list = (BArray) value;
+                int result = 1;
+                for (int i = 0; i < list.size(); i++) {
+                    result = 31 * result + hash(list.get(i), depth + 1);
+                }
+                return result;
+            }
+            if (value instanceof BRefValue) {
+                return 0;
+            }
+            return value.hashCode();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BFunctionPointer;
+import io.ballerina.runtime.api.values.BHandle;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.Strand;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Consecutive per-frame stages of a query pipeline (from, let, where, select, do and limit clauses), which are
+ * applied to a frame in a single call rather than by a chain of stream functions.
+ * <p>
+ * Stages are invoked in the same way as the stream functions invoke them, hence a frame goes through the same
+ * functions in the same order. Functions of the from, let and select clauses update the frame in place and return it.
+ *
+ * @since 2.0.0
+ */
+public class FusedStages {
+
+    // Kinds of the stages, these should be in sync with the constants in types.bal
+    private static final int MAP_STAGE = 0;
+    private static final int FILTER_STAGE = 1;
+    private static final int DO_STAGE = 2;
+    private static final int LIMIT_STAGE = 3;
+
+    private int[] kinds = new int[4];
+    private BFunctionPointer<?, ?>[] functions = new BFunctionPointer<?, ?>[4];
+    private long[] limitCounts = new long[4];
+    private int size;
+
+    public static BHandle createFusedStages() {
+        return ValueCreator.createHandleValue(new FusedStages());
+    }
+
+    public static void addStage(BHandle fusedStages, long kind, Object function) {
+        FusedStages stages = (FusedStages) fusedStages.getValue();
+        if (stages.size == stages.kinds.length) {
+            int capacity = stages.size << 1;
+            stages.kinds = Arrays.copyOf(stages.kinds, capacity);
+            stages.functions = Arrays.copyOf(stages.functions, capacity);
+            stages.limitCounts = Arrays.copyOf(stages.limitCounts, capacity);
+        }
+        stages.kinds[stages.size] = (int) kind;
+        stages.functions[stages.size] = (BFunctionPointer<?, ?>) function;
+        stages.size++;
+    }
+
+    /**
+     * Applies the stages to a frame.
+     *
+     * @param fusedStages stages to be applied
+     * @param frame       frame produced by the previous stream function
+     * @return the resulting frame, an error or nil returned by a stage, or false if a where clause dropped the frame
+     */
+    public static Object applyStages(BHandle fusedStages, BMap<?, ?> frame) {
+        FusedStages stages = (FusedStages) fusedStages.getValue();
+        Strand strand = Scheduler.getStrand();
+        Object current = frame;
+        for (int i = 0; i < stages.size; i++) {
+            BFunctionPointer<?, ?> function = stages.functions[i];
+            switch (stages.kinds[i]) {
+                case MAP_STAGE:
+                    current = call(function, strand, current);
+                    if (!(current instanceof BMap)) {
+                        // an error or nil ends the pipeline
+                        return current;
+                    }
+                    break;
+                case FILTER_STAGE:
+                    if (!(Boolean) call(function, strand, current)) {
+                        return Boolean.FALSE;
+                    }
+                    break;
+                case DO_STAGE:
+                    call(function, strand, current);
+                    break;
+                case LIMIT_STAGE:
+                    long limit = (Long) call(function, strand, current);
+                    if (limit < 1) {
+                        throw ErrorCreator.createError(StringUtils.fromString("Invalid limit"),
+                                StringUtils.fromString("limit cannot be < 1."));
+                    }
+                    if (stages.limitCounts[i] >= limit) {
+                        return null;
+                    }
+                    stages.limitCounts[i]++;
+                    break;
+                default:
+                    throw new IllegalStateException("unknown query stage kind: " + stages.kinds[i]);
+            }
+        }
+        return current;
+    }
+
+    // Function pointers take the arguments of the function as an Object[], which is not captured by the type
+    // parameters of a BFunctionPointer passed from Ballerina.
+    @SuppressWarnings("unchecked")
+    private static Object call(BFunctionPointer<?, ?> function, Strand strand, Object frame) {
+        return ((BFunctionPointer<Object, Object>) function).call(new Object[]{strand, frame, true});
+    }
+
+    public static void resetStages(BHandle fusedStages) {
+        FusedStages stages = (FusedStages) fusedStages.getValue();
+        Arrays.fill(stages.limitCounts, 0);
+    }
+
+    /**
+     * Creates a frame with the entries of a frame followed by the given entries, without copying the values.
+     *
+     * @param frame   frame to be copied
+     * @param entries entries to be added to the copy
+     * @return the new frame
+     */
+    public static BMap<BString, Object> mergeFrames(BMap<BString, Object> frame, BMap<BString, Object> entries) {
+        BMap<BString, Object> mergedFrame = ValueCreator.createMapValue(frame.getType());
+        for (Map.Entry<BString, Object> entry : frame.entrySet()) {
+            mergedFrame.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<BString, Object> entry : entries.entrySet()) {
+            mergedFrame.put(entry.getKey(), entry.getValue());
+        }
+        return mergedFrame;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+
+import java.util.List;
+
+/**
+ * Implementation of lang.query:lookupTable(table, string, string, anydata), which narrows down the rows of a table
+ * iterated by a query expression with a secondary index of the table.
+ *
+ * @since 2.0.0
+ */
+public class TableLookup {
+
+    public static Object lookupTable(BTable tbl, BString fieldName, BString operator, Object value) {
+        List<?> rows = ((TableValueImpl<?, ?>) tbl).getIndexedRows(fieldName.getValue(), operator.getValue(), value);
+        if (rows == null) {
+            // there is no index for the lookup, hence the whole table is iterated
+            return tbl;
+        }
+        return ValueCreator.createArrayValue(rows.toArray(),
+                TypeCreator.createArrayType(((TableType) tbl.getType()).getConstrainedType()));
+    }
+}
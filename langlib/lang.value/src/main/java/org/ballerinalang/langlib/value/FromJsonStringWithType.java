@@ -18,6 +18,7 @@
 package org.ballerinalang.langlib.value;
 
 import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
@@ -40,10 +41,18 @@ public class FromJsonStringWithType {
         try {
             if (str.equals("null")) {
                 return FromJsonWithType.fromJsonWithType(null, t);
-            } else {
-                Object jsonFromString = JsonParser.parse(str);
-                return FromJsonWithType.fromJsonWithType(jsonFromString, t);
             }
+            Type describingType = t.getDescribingType();
+            if (JsonParser.isParsableToType(describingType)) {
+                // the typed value is created while parsing, rather than converting an intermediate json value
+                try {
+                    return JsonParser.parse(str, describingType);
+                } catch (BError e) {
+                    // the content is parsed again to report the same error as converting the json value
+                }
+            }
+            Object jsonFromString = JsonParser.parse(str);
+            return FromJsonWithType.fromJsonWithType(jsonFromString, t);
         } catch (BError e) {
             return ErrorCreator.createError(VALUE_LANG_LIB_CONVERSION_ERROR,
                                             StringUtils.fromString(e.getMessage()));
@@ -347,6 +347,7 @@ public class LangLibValueTest {
                 { "testFromJsonStringWithTypeStringArray" },
                 { "testFromJsonStringWithTypeArrayNegative" },
                 { "testFromJsonStringWithTypeIntArray" },
+                { "testFromJsonStringWithTypeErrors" },
         };
     }
 
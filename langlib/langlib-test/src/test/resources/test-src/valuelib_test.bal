@@ -944,6 +944,49 @@ function testFromJsonStringWithTypeIntArray() {
     assert(intArr[1], 2);
 }
 
+type ClosedStudent record {|
+    string name;
+    int age;
+|};
+
+type StudentMap map<Student2>;
+
+function testFromJsonStringWithTypeErrors() {
+    assertSameConversionResult("[1, 2]", StringArray);
+    assertSameConversionResult("[\"1\", 2.5]", IntArray);
+    assertSameConversionResult("{\"name\":\"Name\",\"age\":\"35\"}", Student2);
+    assertSameConversionResult("{\"name\":\"Name\"}", Student2);
+    assertSameConversionResult("{\"name\":\"Name\",\"age\":35,\"grade\":4}", ClosedStudent);
+    assertSameConversionResult("{\"first\":{\"name\":\"Name\",\"age\":35},\"second\":{\"name\":1}}",
+                               StudentMap);
+    assertSameConversionResult("{\"name\":\"Name\",\"age\":null}", Student3);
+    assertSameConversionResult("[\"hello\"", StringArray);
+    assertSameConversionResult("{\"name\":\"Name\",\"age\":\"35\"", Student2);
+}
+
+// Checks that parsing the string directly into the type gives the same value or error as converting the json value
+function assertSameConversionResult(string str, typedesc<anydata> t) {
+    anydata|error result = str.fromJsonStringWithType(t);
+    json|error j = str.fromJsonString();
+    if j is error {
+        // a syntax error is reported with a different reason by fromJsonString
+        assert(result is error, true);
+        error err = <error> result;
+        assert(<string> checkpanic err.detail()["message"], <string> checkpanic j.detail()["message"]);
+    } else {
+        anydata|error expected = j.fromJsonWithType(t);
+        if expected is error {
+            assert(result is error, true);
+            error err = <error> result;
+            assert(err.message(), expected.message());
+            assert(<string> checkpanic err.detail()["message"], <string> checkpanic expected.detail()["message"]);
+        } else {
+            assert(result is error, false);
+            assert(<anydata> checkpanic result, expected);
+        }
+    }
+}
+
 /////////////////////////// Tests for `toJson()` ///////////////////////////
 
 function testToJsonWithRecord1() {
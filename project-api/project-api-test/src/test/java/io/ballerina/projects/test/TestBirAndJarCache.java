@@ -17,6 +17,8 @@
  */
 package io.ballerina.projects.test;
 
+import io.ballerina.projects.BuildOptions;
+import io.ballerina.projects.BuildOptionsBuilder;
 import io.ballerina.projects.CompilationCache;
 import io.ballerina.projects.CompilationCacheFactory;
 import io.ballerina.projects.CompilerBackend;
@@ -97,6 +99,81 @@ public class TestBirAndJarCache {
         }
     }
 
+    @Test(description = "tests reusing the cached BIR and jar files of unchanged modules")
+    public void testIncrementalBuild() throws IOException {
+        Path projectPath = RESOURCE_DIRECTORY.resolve("balowriter").resolve("projectOne");
+        Path cacheDirPath = Files.createTempDirectory("test-compilation-cache" + System.nanoTime());
+        BuildOptions buildOptions = new BuildOptionsBuilder().skipTests(true).incrementalBuild(true).build();
+
+        // 1) The first build compiles all the modules and caches them by their hashes
+        TestCompilationCacheFactory testCompCacheFactory = new TestCompilationCacheFactory(cacheDirPath);
+        ProjectEnvironmentBuilder environmentBuilder = ProjectEnvironmentBuilder.getDefaultBuilder();
+        environmentBuilder.addCompilationCacheFactory(testCompCacheFactory);
+        BuildProject project = BuildProject.load(environmentBuilder, projectPath, buildOptions);
+        JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(project.currentPackage().getCompilation(),
+                JvmTarget.JAVA_11);
+        Assert.assertFalse(jBallerinaBackend.diagnosticResult().hasErrors());
+
+        int numOfModules = project.currentPackage().moduleIds().size();
+        TestCompilationCache testCompilationCache = testCompCacheFactory.compilationCache();
+        Assert.assertEquals(testCompilationCache.moduleBirCachedCount, numOfModules);
+
+        // 2) The second build loads all the modules from the cache
+        testCompCacheFactory = new TestCompilationCacheFactory(cacheDirPath);
+        environmentBuilder = ProjectEnvironmentBuilder.getDefaultBuilder();
+        environmentBuilder.addCompilationCacheFactory(testCompCacheFactory);
+        project = BuildProject.load(environmentBuilder, projectPath, buildOptions);
+        jBallerinaBackend = JBallerinaBackend.from(project.currentPackage().getCompilation(), JvmTarget.JAVA_11);
+        Assert.assertFalse(jBallerinaBackend.diagnosticResult().hasErrors());
+
+        testCompilationCache = testCompCacheFactory.compilationCache();
+        Assert.assertEquals(testCompilationCache.moduleBirCachedCount, 0);
+        Assert.assertEquals(testCompilationCache.jarCachedCount, 0);
+        Assert.assertFalse(jBallerinaBackend.jarResolver().getJarFilePathsRequiredForExecution().isEmpty());
+    }
+
+    @Test(description = "tests compiling the modules again when a platform library of the package changes")
+    public void testIncrementalBuildWithChangedPlatformLibrary() throws IOException {
+        Path projectPath = Files.createTempDirectory("test-platform-library" + System.nanoTime());
+        copyDirectory(RESOURCE_DIRECTORY.resolve("balowriter").resolve("projectOne"), projectPath);
+        Path cacheDirPath = Files.createTempDirectory("test-compilation-cache" + System.nanoTime());
+
+        TestCompilationCache testCompilationCache = buildIncrementally(projectPath, cacheDirPath);
+        int numOfModules = testCompilationCache.moduleBirCachedCount;
+        Assert.assertTrue(numOfModules > 0);
+        Assert.assertEquals(buildIncrementally(projectPath, cacheDirPath).moduleBirCachedCount, 0);
+
+        // the same path with a different content
+        Files.writeString(projectPath.resolve("libs").resolve("ballerina-io-1.0.0-java.txt"), "changed");
+        Assert.assertEquals(buildIncrementally(projectPath, cacheDirPath).moduleBirCachedCount, numOfModules);
+        Assert.assertEquals(buildIncrementally(projectPath, cacheDirPath).moduleBirCachedCount, 0);
+    }
+
+    private static TestCompilationCache buildIncrementally(Path projectPath, Path cacheDirPath) {
+        BuildOptions buildOptions = new BuildOptionsBuilder().skipTests(true).incrementalBuild(true).build();
+        TestCompilationCacheFactory testCompCacheFactory = new TestCompilationCacheFactory(cacheDirPath);
+        ProjectEnvironmentBuilder environmentBuilder = ProjectEnvironmentBuilder.getDefaultBuilder();
+        environmentBuilder.addCompilationCacheFactory(testCompCacheFactory);
+        BuildProject project = BuildProject.load(environmentBuilder, projectPath, buildOptions);
+        JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(project.currentPackage().getCompilation(),
+                JvmTarget.JAVA_11);
+        Assert.assertFalse(jBallerinaBackend.diagnosticResult().hasErrors());
+        return testCompCacheFactory.compilationCache();
+    }
+
+    private static void copyDirectory(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                Path targetPath = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(targetPath);
+                } else {
+                    Files.copy(path, targetPath);
+                }
+            }
+        }
+    }
+
     /**
      * An instance of {@code CompilationCacheFactory} used for testing purposes.
      */
@@ -125,6 +202,7 @@ public class TestBirAndJarCache {
     private static class TestCompilationCache extends FileSystemCache {
         public int birCachedCount;
         public int jarCachedCount;
+        public int moduleBirCachedCount;
 
         public TestCompilationCache(Project project, Path cacheDirPath) {
             super(project, cacheDirPath);
@@ -137,9 +215,15 @@ public class TestBirAndJarCache {
         }
 
         @Override
-        public void cachePlatformSpecificLibrary(CompilerBackend compilerBackend,
-                                                 String libraryName,
-                                                 ByteArrayOutputStream libraryContent) {
+        public synchronized void cacheBir(ModuleName moduleName, String moduleHash, ByteArrayOutputStream birContent) {
+            super.cacheBir(moduleName, moduleHash, birContent);
+            moduleBirCachedCount++;
+        }
+
+        @Override
+        public synchronized void cachePlatformSpecificLibrary(CompilerBackend compilerBackend,
+                                                              String libraryName,
+                                                              ByteArrayOutputStream libraryContent) {
             super.cachePlatformSpecificLibrary(compilerBackend, libraryName, libraryContent);
             jarCachedCount++;
         }
@@ -0,0 +1,248 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.projects.test;
+
+import io.ballerina.projects.EmitResult;
+import io.ballerina.projects.JBallerinaBackend;
+import io.ballerina.projects.JvmTarget;
+import io.ballerina.projects.ProjectEnvironmentBuilder;
+import io.ballerina.projects.directory.BuildProject;
+import io.ballerina.projects.repos.FileSystemCache;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Contains cases to test the executable jars, which are assembled from the jars of the root package modules and a
+ * jar merging the libraries of the dependencies, which is kept in the compilation cache.
+ *
+ * @since 2.0.0
+ */
+public class TestExecutableJar {
+    private static final String SERVICE_ENTRY = "META-INF/services/java.sql.Driver";
+    private static final String DEPENDENCIES_JAR = "executable-dependencies.jar";
+
+    private Path projectPath;
+    private Path cacheDirPath;
+    private Path libraryPath;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        projectPath = Files.createTempDirectory("test-executable-jar" + System.nanoTime());
+        cacheDirPath = Files.createTempDirectory("test-compilation-cache" + System.nanoTime());
+        Files.writeString(projectPath.resolve("Ballerina.toml"), "[package]\n" +
+                "org = \"foo\"\n" +
+                "name = \"app\"\n" +
+                "version = \"0.1.0\"\n\n" +
+                "[[platform.java11.dependency]]\n" +
+                "path = \"./libs/driver-1.0.0.jar\"\n" +
+                "groupId = \"foo\"\n" +
+                "artifactId = \"driver\"\n" +
+                "version = \"1.0.0\"\n");
+        Files.writeString(projectPath.resolve("main.bal"), "public function main() {\n}\n");
+        libraryPath = projectPath.resolve("libs").resolve("driver-1.0.0.jar");
+        Files.createDirectories(libraryPath.getParent());
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("foo/driver/Driver.class", new byte[]{(byte) 0xCA, (byte) 0xFE, 1, 2});
+        entries.put("META-INF/DRIVER.SF", "Signature-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+        // a service file without a line break at the end, with a non-ASCII comment
+        entries.put(SERVICE_ENTRY, "# pilote é\nfoo.driver.Driver".getBytes(StandardCharsets.UTF_8));
+        writeJar(libraryPath, entries);
+    }
+
+    @Test(description = "tests the entries of an executable jar built twice with the same dependencies")
+    public void testExecutableJarWithCachedDependencies() throws IOException {
+        Path firstExecutable = projectPath.resolve("first.jar");
+        Collection<Path> jarPaths = emitExecutable(firstExecutable);
+        assertExecutableJar(firstExecutable, jarPaths);
+        assertEntry(firstExecutable, SERVICE_ENTRY, "# pilote é\nfoo.driver.Driver\n");
+        assertNoEntry(firstExecutable, "META-INF/DRIVER.SF");
+
+        Path dependenciesJar = findDependenciesJar();
+        FileTime mergedTime = Files.getLastModifiedTime(dependenciesJar);
+
+        // the second build reuses the dependencies jar merged by the first build
+        Path secondExecutable = projectPath.resolve("second.jar");
+        jarPaths = emitExecutable(secondExecutable);
+        Assert.assertEquals(Files.getLastModifiedTime(dependenciesJar), mergedTime);
+        assertExecutableJar(secondExecutable, jarPaths);
+        Assert.assertEquals(getEntries(secondExecutable), getEntries(firstExecutable));
+    }
+
+    @Test(description = "tests the entries of an executable jar built after a dependency jar changes")
+    public void testExecutableJarWithChangedDependency() throws IOException {
+        Path firstExecutable = projectPath.resolve("first.jar");
+        emitExecutable(firstExecutable);
+        Path dependenciesJar = findDependenciesJar();
+        FileTime mergedTime = Files.getLastModifiedTime(dependenciesJar);
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("foo/driver/Driver.class", new byte[]{(byte) 0xCA, (byte) 0xFE, 3, 4});
+        entries.put("foo/driver/Connection.class", new byte[]{(byte) 0xCA, (byte) 0xFE, 5});
+        entries.put(SERVICE_ENTRY, "foo.driver.Driver\nfoo.driver.LegacyDriver\n".getBytes(StandardCharsets.UTF_8));
+        writeJar(libraryPath, entries);
+        Files.setLastModifiedTime(libraryPath, FileTime.fromMillis(mergedTime.toMillis() + 10000));
+
+        Path secondExecutable = projectPath.resolve("second.jar");
+        Collection<Path> jarPaths = emitExecutable(secondExecutable);
+        Assert.assertNotEquals(Files.getLastModifiedTime(dependenciesJar), mergedTime);
+        assertExecutableJar(secondExecutable, jarPaths);
+        assertEntry(secondExecutable, SERVICE_ENTRY, "foo.driver.Driver\nfoo.driver.LegacyDriver\n");
+        Assert.assertTrue(getEntries(secondExecutable).containsKey("foo/driver/Connection.class"));
+        Assert.assertFalse(getEntries(firstExecutable).containsKey("foo/driver/Connection.class"));
+    }
+
+    /**
+     * Builds the project and emits its executable jar.
+     *
+     * @param executablePath path of the executable jar
+     * @return paths of the jars required for the execution, as given by the jar resolver
+     */
+    private Collection<Path> emitExecutable(Path executablePath) {
+        ProjectEnvironmentBuilder environmentBuilder = ProjectEnvironmentBuilder.getDefaultBuilder();
+        environmentBuilder.addCompilationCacheFactory(project -> new FileSystemCache(project, cacheDirPath));
+        BuildProject project = BuildProject.load(environmentBuilder, projectPath);
+        JBallerinaBackend jBallerinaBackend = JBallerinaBackend.from(project.currentPackage().getCompilation(),
+                JvmTarget.JAVA_11);
+        Assert.assertFalse(jBallerinaBackend.diagnosticResult().hasErrors());
+        EmitResult emitResult = jBallerinaBackend.emit(JBallerinaBackend.OutputType.EXEC, executablePath);
+        Assert.assertTrue(emitResult.successful());
+        return jBallerinaBackend.jarResolver().getJarFilePathsRequiredForExecution();
+    }
+
+    private Path findDependenciesJar() throws IOException {
+        try (Stream<Path> paths = Files.walk(cacheDirPath)) {
+            List<Path> dependenciesJars = paths
+                    .filter(path -> path.getFileName().toString().equals(DEPENDENCIES_JAR))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(dependenciesJars.size(), 1);
+            return dependenciesJars.get(0);
+        }
+    }
+
+    /**
+     * Asserts that the executable jar has the entries, which the jars given by the jar resolver are merged into, i.e.
+     * the first entry of each name except the manifest and the signature files, and the service files of the same
+     * name concatenated in the order of the jars.
+     */
+    private static void assertExecutableJar(Path executablePath, Collection<Path> jarPaths) throws IOException {
+        Map<String, Long> expectedEntries = new LinkedHashMap<>();
+        Map<String, ByteArrayOutputStream> expectedServices = new LinkedHashMap<>();
+        for (Path jarPath : jarPaths) {
+            try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+                for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                    String name = entry.getName();
+                    if (name.equals(JarFile.MANIFEST_NAME) || name.endsWith(".SF") || name.endsWith(".DSA")) {
+                        continue;
+                    }
+                    if (name.startsWith("META-INF/services")) {
+                        byte[] service = readEntry(zipFile, entry);
+                        ByteArrayOutputStream mergedService =
+                                expectedServices.computeIfAbsent(name, key -> new ByteArrayOutputStream());
+                        mergedService.writeBytes(service);
+                        if (service.length > 0 && service[service.length - 1] != '\n') {
+                            mergedService.write('\n');
+                        }
+                        continue;
+                    }
+                    expectedEntries.putIfAbsent(name, entry.getCrc());
+                }
+            }
+        }
+        for (Map.Entry<String, ByteArrayOutputStream> service : expectedServices.entrySet()) {
+            CRC32 crc = new CRC32();
+            crc.update(service.getValue().toByteArray());
+            expectedEntries.put(service.getKey(), crc.getValue());
+        }
+
+        Map<String, Long> entries = getEntries(executablePath);
+        Assert.assertNotNull(entries.remove(JarFile.MANIFEST_NAME));
+        List<String> missingEntries = new ArrayList<>(expectedEntries.keySet());
+        missingEntries.removeAll(entries.keySet());
+        List<String> extraEntries = new ArrayList<>(entries.keySet());
+        extraEntries.removeAll(expectedEntries.keySet());
+        Assert.assertTrue(missingEntries.isEmpty(), "missing entries: " + missingEntries);
+        Assert.assertTrue(extraEntries.isEmpty(), "unexpected entries: " + extraEntries);
+        Assert.assertEquals(entries, expectedEntries);
+    }
+
+    private static Map<String, Long> getEntries(Path jarPath) throws IOException {
+        Map<String, Long> entries = new LinkedHashMap<>();
+        try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+            for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                // the entries of the same name are not added twice
+                Assert.assertNull(entries.put(entry.getName(), entry.getCrc()), entry.getName());
+            }
+        }
+        return entries;
+    }
+
+    private static void assertEntry(Path jarPath, String entryName, String content) throws IOException {
+        try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+            ZipEntry entry = zipFile.getEntry(entryName);
+            Assert.assertNotNull(entry, entryName);
+            Assert.assertEquals(new String(readEntry(zipFile, entry), StandardCharsets.UTF_8), content);
+        }
+    }
+
+    private static void assertNoEntry(Path jarPath, String entryName) throws IOException {
+        try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+            Assert.assertNull(zipFile.getEntry(entryName), entryName);
+        }
+    }
+
+    private static byte[] readEntry(ZipFile zipFile, ZipEntry entry) throws IOException {
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static void writeJar(Path jarPath, Map<String, byte[]> entries) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(jarPath);
+             ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zipOutputStream.putNextEntry(new ZipEntry(entry.getKey()));
+                zipOutputStream.write(entry.getValue());
+                zipOutputStream.closeEntry();
+            }
+        }
+    }
+}
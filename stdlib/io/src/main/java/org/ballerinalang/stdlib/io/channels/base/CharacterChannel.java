@@ -106,6 +106,15 @@ public class CharacterChannel implements IOChannel {
         return channel;
     }
 
+    /**
+     * Gets the charset used to encode and decode the characters.
+     *
+     * @return the charset of the channel.
+     */
+    public Charset getCharset() {
+        return byteEncoder.charset();
+    }
+
     /**
      * Gets number of characters left in the character buffer.
      *
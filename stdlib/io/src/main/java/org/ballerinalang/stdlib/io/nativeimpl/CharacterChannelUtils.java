@@ -21,6 +21,7 @@ package org.ballerinalang.stdlib.io.nativeimpl;
 import io.ballerina.runtime.api.utils.JsonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.XmlUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
@@ -38,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
 
 import static org.ballerinalang.stdlib.io.utils.IOConstants.CHARACTER_CHANNEL_NAME;
 
@@ -152,8 +154,14 @@ public class CharacterChannelUtils {
         try {
             CharacterChannel characterChannel = (CharacterChannel) characterChannelObj
                     .getNativeData(CHARACTER_CHANNEL_NAME);
-            IOUtils.writeFull(characterChannel, StringUtils.getJsonString(content));
-        } catch (BallerinaIOException e) {
+            if ((content instanceof BMap || content instanceof BArray) &&
+                    StandardCharsets.UTF_8.equals(characterChannel.getCharset())) {
+                // JSON objects and arrays are written as UTF-8 bytes, without creating a string for them
+                IOUtils.writeFull(characterChannel.getChannel(), JsonUtils.serializeToBytes(content), 0);
+            } else {
+                IOUtils.writeFull(characterChannel, StringUtils.getJsonString(content));
+            }
+        } catch (BallerinaIOException | IOException e) {
             return IOUtils.createError(e);
         }
         return null;
@@ -51,8 +51,14 @@ public class BCompileUtil {
 
     private static final Path testSourcesDirectory = Paths.get("src/test/resources").toAbsolutePath().normalize();
     private static final Path testBuildDirectory = Paths.get("build").toAbsolutePath().normalize();
+    // BIR optimization level of the compiled sources, if not the default
+    private static final String OPTIMIZATION_LEVEL_PROPERTY = "ballerina.bir.optimizationLevel";
 
     public static Project loadProject(String sourceFilePath) {
+        return loadProject(sourceFilePath, Integer.getInteger(OPTIMIZATION_LEVEL_PROPERTY));
+    }
+
+    public static Project loadProject(String sourceFilePath, Integer optimizationLevel) {
         Path sourcePath = Paths.get(sourceFilePath);
         String sourceFileName = sourcePath.getFileName().toString();
         Path sourceRoot = testSourcesDirectory.resolve(sourcePath.getParent());
@@ -60,12 +66,19 @@ public class BCompileUtil {
         Path projectPath = Paths.get(sourceRoot.toString(), sourceFileName);
 
         BuildOptionsBuilder buildOptionsBuilder = new BuildOptionsBuilder();
-        return ProjectLoader.loadProject(projectPath, buildOptionsBuilder.taintCheck(Boolean.TRUE).build());
+        return ProjectLoader.loadProject(projectPath, buildOptionsBuilder.taintCheck(Boolean.TRUE)
+                .optimizationLevel(optimizationLevel).build());
     }
 
     public static CompileResult compile(String sourceFilePath) {
-        Project project = loadProject(sourceFilePath);
+        return compile(loadProject(sourceFilePath));
+    }
+
+    public static CompileResult compile(String sourceFilePath, int optimizationLevel) {
+        return compile(loadProject(sourceFilePath, optimizationLevel));
+    }
 
+    private static CompileResult compile(Project project) {
         Package currentPackage = project.currentPackage();
         JBallerinaBackend jBallerinaBackend = jBallerinaBackend(currentPackage);
         if (jBallerinaBackend.diagnosticResult().hasErrors()) {
@@ -78,7 +91,14 @@ public class BCompileUtil {
     }
 
     public static BIRCompileResult generateBIR(String sourceFilePath) {
-        Project project = loadProject(sourceFilePath);
+        return generateBIR(loadProject(sourceFilePath));
+    }
+
+    public static BIRCompileResult generateBIR(String sourceFilePath, int optimizationLevel) {
+        return generateBIR(loadProject(sourceFilePath, optimizationLevel));
+    }
+
+    private static BIRCompileResult generateBIR(Project project) {
         NullBackend nullBackend = NullBackend.from(project.currentPackage().getCompilation());
         Package currentPackage = project.currentPackage();
         if (currentPackage.getCompilation().diagnosticResult().hasErrors() || nullBackend.hasErrors()) {
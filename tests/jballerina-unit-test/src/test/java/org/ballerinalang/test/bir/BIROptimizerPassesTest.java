@@ -0,0 +1,229 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.bir;
+
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test the constant folding, branch folding, dead code elimination, inlining, type specialization and copy
+ * propagation done by the BIR optimizer at optimization level 2, and the type specialization done at the default level.
+ *
+ * @since 2.0.0
+ */
+public class BIROptimizerPassesTest {
+
+    private static final String SOURCE_FILE = "test-src/bir/optimizer-passes.bal";
+
+    private BIRNode.BIRPackage optimizedBIR;
+    private BIRNode.BIRPackage defaultBIR;
+    private BIRNode.BIRPackage unoptimizedBIR;
+    private CompileResult optimizedResult;
+    private CompileResult unoptimizedResult;
+
+    @BeforeClass
+    public void setup() {
+        optimizedBIR = BCompileUtil.generateBIR(SOURCE_FILE, 2).getExpectedBIR();
+        defaultBIR = BCompileUtil.generateBIR(SOURCE_FILE, 1).getExpectedBIR();
+        unoptimizedBIR = BCompileUtil.generateBIR(SOURCE_FILE, 0).getExpectedBIR();
+        optimizedResult = BCompileUtil.compile(SOURCE_FILE, 2);
+        unoptimizedResult = BCompileUtil.compile(SOURCE_FILE, 0);
+        Assert.assertEquals(optimizedResult.getErrorCount(), 0);
+        Assert.assertEquals(unoptimizedResult.getErrorCount(), 0);
+    }
+
+    @Test(description = "Test folding int arithmetic on constants")
+    public void testConstantFolding() {
+        List<BIRAbstractInstruction> instructions = getInstructions(getFunction(optimizedBIR, "foldConstants"));
+        Assert.assertFalse(containsKind(instructions, InstructionKind.MUL));
+        Assert.assertFalse(containsKind(instructions, InstructionKind.ADD));
+        Assert.assertTrue(instructions.stream().anyMatch(ins -> ins.kind == InstructionKind.CONST_LOAD &&
+                Long.valueOf(205).equals(((BIRNonTerminator.ConstantLoad) ins).value)));
+    }
+
+    @Test(description = "Test that int arithmetic, which overflows or panics at run time, is not folded")
+    public void testConstantFoldingWithOverflow() {
+        Assert.assertTrue(containsKind(getInstructions(getFunction(optimizedBIR, "foldOverflowingAddition")),
+                                       InstructionKind.ADD));
+        Assert.assertTrue(containsKind(getInstructions(getFunction(optimizedBIR, "foldOverflowingMultiplication")),
+                                       InstructionKind.MUL));
+        Assert.assertTrue(containsKind(getInstructions(getFunction(optimizedBIR, "foldDivisionByZero")),
+                                       InstructionKind.DIV));
+    }
+
+    @Test(description = "Test replacing branches on constants with gotos and removing the unreachable blocks")
+    public void testBranchFolding() {
+        BIRNode.BIRFunction function = getFunction(optimizedBIR, "foldBranch");
+        Assert.assertFalse(containsKind(getInstructions(function), InstructionKind.BRANCH));
+        Assert.assertTrue(function.basicBlocks.size() < getFunction(defaultBIR, "foldBranch").basicBlocks.size());
+        assertBasicBlocks(function);
+    }
+
+    @Test(description = "Test removing unreachable blocks of functions with error entries")
+    public void testBranchFoldingWithErrorEntries() {
+        for (String name : new String[]{"foldBranchWithTrap", "foldBranchIntoTrap"}) {
+            BIRNode.BIRFunction function = getFunction(optimizedBIR, name);
+            Assert.assertEquals(function.errorTable.size(), getFunction(defaultBIR, name).errorTable.size());
+            assertBasicBlocks(function);
+        }
+    }
+
+    @Test(description = "Test inlining calls to small functions")
+    public void testInlining() {
+        for (String name : new String[]{"inlineSubtract", "inlineSwappedDifference", "inlineIntoArgument"}) {
+            List<BIRAbstractInstruction> instructions = getInstructions(getFunction(optimizedBIR, name));
+            Assert.assertFalse(containsKind(instructions, InstructionKind.CALL), name);
+            Assert.assertTrue(containsKind(getInstructions(getFunction(defaultBIR, name)), InstructionKind.CALL),
+                              name);
+        }
+    }
+
+    @Test(description = "Test that calls to functions, which can panic, are not inlined")
+    public void testNoInliningOfPanickingFunctions() {
+        for (String name : new String[]{"foldBranchWithTrap", "stackTraceOfPanicInCallee"}) {
+            Assert.assertTrue(containsKind(getInstructions(getFunction(optimizedBIR, name)), InstructionKind.CALL),
+                              name);
+        }
+    }
+
+    @Test(description = "Test reusing the unboxed value of a narrowed variable after a branch join")
+    public void testTypeSpecializationAfterJoin() {
+        Assert.assertTrue(countCasts(getFunction(optimizedBIR, "narrowAfterJoin")) <
+                                  countCasts(getFunction(unoptimizedBIR, "narrowAfterJoin")));
+    }
+
+    @Test(description = "Test that the type specialization runs at the default optimization level")
+    public void testTypeSpecializationByDefault() {
+        Assert.assertEquals(countCasts(getFunction(defaultBIR, "narrowAfterJoin")), 1);
+        Assert.assertTrue(countCasts(getFunction(defaultBIR, "narrowedReadInLoop")) <
+                                  countCasts(getFunction(unoptimizedBIR, "narrowedReadInLoop")));
+        // the other scalar passes only run at level 2
+        Assert.assertTrue(containsKind(getInstructions(getFunction(defaultBIR, "foldConstants")),
+                                       InstructionKind.MUL));
+    }
+
+    @Test(description = "Test reusing the unboxed value of a narrowed variable in a loop")
+    public void testTypeSpecializationInLoop() {
+        // the value unboxed before the loop is used in the loop
+        Assert.assertEquals(countCasts(getFunction(optimizedBIR, "narrowedReadInLoop"), "value"), 1);
+        // the value is assigned in the loop, hence its first read in each iteration is unboxed again
+        Assert.assertTrue(countCasts(getFunction(optimizedBIR, "narrowReassignedInLoop"), "value") >= 1);
+    }
+
+    @Test(description = "Test unboxing a narrowed variable again at the target of an error entry")
+    public void testTypeSpecializationAtErrorTarget() {
+        BIRNode.BIRFunction function = getFunction(optimizedBIR, "narrowAtTrapTarget");
+        Assert.assertFalse(function.errorTable.isEmpty());
+        // the reads before the trap and at its target
+        Assert.assertTrue(countCasts(function, "current") >= 2);
+    }
+
+    @Test(dataProvider = "optimizedFunctions")
+    public void testOptimizedFunctions(String function) {
+        BRunUtil.invoke(unoptimizedResult, function);
+        BRunUtil.invoke(optimizedResult, function);
+    }
+
+    @DataProvider(name = "optimizedFunctions")
+    public Object[][] optimizedFunctions() {
+        return new Object[][]{
+                {"testFoldConstants"},
+                {"testFoldOverflows"},
+                {"testFoldBranches"},
+                {"testInlining"},
+                {"testStackTraceOfPanicInCallee"},
+                {"testTypeSpecialization"},
+                {"testCopyPropagation"}
+        };
+    }
+
+    @AfterClass
+    public void tearDown() {
+        optimizedBIR = null;
+        defaultBIR = null;
+        unoptimizedBIR = null;
+        optimizedResult = null;
+        unoptimizedResult = null;
+    }
+
+    /**
+     * Asserts that the basic blocks referred to by the terminators and the error entries of the function are not
+     * removed.
+     *
+     * @param function function
+     */
+    private void assertBasicBlocks(BIRNode.BIRFunction function) {
+        for (BIRNode.BIRBasicBlock bb : function.basicBlocks) {
+            for (BIRNode.BIRBasicBlock nextBB : bb.terminator.getNextBasicBlocks()) {
+                Assert.assertTrue(nextBB == null || function.basicBlocks.contains(nextBB), nextBB + " is removed");
+            }
+        }
+        for (BIRNode.BIRErrorEntry errorEntry : function.errorTable) {
+            Assert.assertTrue(function.basicBlocks.contains(errorEntry.trapBB));
+            Assert.assertTrue(function.basicBlocks.contains(errorEntry.endBB));
+            Assert.assertTrue(function.basicBlocks.contains(errorEntry.targetBB));
+        }
+    }
+
+    private BIRNode.BIRFunction getFunction(BIRNode.BIRPackage birPackage, String name) {
+        for (BIRNode.BIRFunction function : birPackage.functions) {
+            if (function.name.value.equals(name)) {
+                return function;
+            }
+        }
+        throw new AssertionError("function not found: " + name);
+    }
+
+    private List<BIRAbstractInstruction> getInstructions(BIRNode.BIRFunction function) {
+        List<BIRAbstractInstruction> instructions = new ArrayList<>();
+        for (BIRNode.BIRBasicBlock bb : function.basicBlocks) {
+            instructions.addAll(bb.instructions);
+            instructions.add(bb.terminator);
+        }
+        return instructions;
+    }
+
+    private long countCasts(BIRNode.BIRFunction function) {
+        return getInstructions(function).stream().filter(ins -> ins.kind == InstructionKind.TYPE_CAST).count();
+    }
+
+    private long countCasts(BIRNode.BIRFunction function, String varName) {
+        return getInstructions(function).stream()
+                .filter(ins -> ins.kind == InstructionKind.TYPE_CAST &&
+                        varName.equals(((BIRNonTerminator.TypeCast) ins).rhsOp.variableDcl.metaVarName))
+                .count();
+    }
+
+    private boolean containsKind(List<BIRAbstractInstruction> instructions, InstructionKind kind) {
+        return instructions.stream().anyMatch(ins -> ins.kind == kind);
+    }
+}
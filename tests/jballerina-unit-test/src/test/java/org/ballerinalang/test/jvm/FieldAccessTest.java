@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for record and object field accesses, which are generated as accesses to the fields of the value
+ * classes when the value is of the class generated for its type.
+ *
+ * @since 2.0.0
+ */
+public class FieldAccessTest {
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/jvm/field-access.bal");
+        Assert.assertEquals(compileResult.getErrorCount(), 0);
+    }
+
+    @Test(dataProvider = "fieldAccessFunctions")
+    public void testFieldAccess(String function) {
+        BRunUtil.invoke(compileResult, function);
+    }
+
+    @DataProvider(name = "fieldAccessFunctions")
+    public Object[][] fieldAccessFunctions() {
+        return new Object[][]{
+                {"testRecordFieldAccess"},
+                {"testStructurallyEquivalentRecordFieldAccess"},
+                {"testFrozenRecordFieldStore"},
+                {"testOptionalRecordFieldAccess"},
+                {"testQuotedRecordFieldAccess"},
+                {"testObjectFieldAccess"}
+        };
+    }
+
+    @AfterClass
+    public void tearDown() {
+        compileResult = null;
+    }
+}
@@ -34,6 +34,8 @@ import org.testng.annotations.Test;
  */
 public class ModuleTest {
 
+    private static final String MODULE_PREFIX = "testorg.moduletest.1_0_0.";
+
     private CompileResult compileResult;
 
     @BeforeClass
@@ -49,6 +51,28 @@ public class ModuleTest {
         Assert.assertEquals(calculatedValue.intValue(), 12);
     }
 
+    @Test(description = "Test calls to a function of another module, which yields")
+    public void testCrossModuleYieldingCall() {
+        BValue[] result = BRunUtil.invoke(compileResult, "testCrossModuleYieldingCall",
+                                          new BValue[] { new BInteger(2) });
+        Assert.assertEquals(((BInteger) result[0]).intValue(), 26);
+    }
+
+    @Test(description = "Test mutually recursive functions, which yield in calls to another module")
+    public void testMutuallyRecursiveCrossModuleYieldingCalls() {
+        BValue[] result = BRunUtil.invoke(compileResult, "testMutuallyRecursiveCrossModuleYieldingCalls",
+                                          new BValue[] { new BInteger(10) });
+        Assert.assertEquals(((BInteger) result[0]).intValue(), 55);
+    }
+
+    @Test(description = "Test that calls to a function of another module make the caller yield only if it yields")
+    public void testCrossModuleFrameClasses() {
+        Assert.assertFalse(YieldingFunctionsTest.hasFrameClass(compileResult, MODULE_PREFIX + "testModuleFrame"));
+        Assert.assertTrue(YieldingFunctionsTest.hasFrameClass(compileResult,
+                                                              MODULE_PREFIX + "testCrossModuleYieldingCallFrame"));
+        Assert.assertTrue(YieldingFunctionsTest.hasFrameClass(compileResult, MODULE_PREFIX + "sumDownFrame"));
+    }
+
     @AfterClass
     public void tearDown() {
         compileResult = null;
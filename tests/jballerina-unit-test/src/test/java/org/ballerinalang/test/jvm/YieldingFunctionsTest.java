@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for functions which yield their strands, and for functions which never yield and hence are generated
+ * without saving and restoring their frames.
+ *
+ * @since 2.0.0
+ */
+public class YieldingFunctionsTest {
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/jvm/yielding-functions.bal");
+        Assert.assertEquals(compileResult.getErrorCount(), 0);
+    }
+
+    @Test(dataProvider = "yieldingFunctionTests")
+    public void testYieldingFunctions(String function) {
+        BRunUtil.invoke(compileResult, function);
+    }
+
+    @DataProvider(name = "yieldingFunctionTests")
+    public Object[][] yieldingFunctionTests() {
+        return new Object[][]{
+                {"testMutuallyRecursiveYieldingFunctions"},
+                {"testYieldingInLockBlocks"},
+                {"testYieldingInWorkers"},
+                {"testNonYieldingFunctions"},
+                {"testNonYieldingFunctionsInStrands"},
+                {"testLangLibCalls"}
+        };
+    }
+
+    @Test(description = "Test that frame classes are only generated for the functions which may yield")
+    public void testFrameClasses() {
+        Assert.assertTrue(hasFrameClass(compileResult, "isEvenFrame"));
+        Assert.assertTrue(hasFrameClass(compileResult, "addInLockViaCallFrame"));
+        Assert.assertTrue(hasFrameClass(compileResult, "sumInForEachFrame"));
+        Assert.assertFalse(hasFrameClass(compileResult, "fibonacciFrame"));
+        Assert.assertFalse(hasFrameClass(compileResult, "ackermannFrame"));
+        // lang library calls do not make the caller yielding
+        Assert.assertFalse(hasFrameClass(compileResult, "joinCodePointsFrame"));
+    }
+
+    static boolean hasFrameClass(CompileResult compileResult, String frameClassName) {
+        try {
+            Class.forName(frameClassName, false, compileResult.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @AfterClass
+    public void tearDown() {
+        compileResult = null;
+    }
+}
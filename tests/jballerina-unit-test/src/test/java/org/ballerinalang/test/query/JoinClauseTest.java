@@ -115,6 +115,30 @@ public class JoinClauseTest {
         Assert.assertTrue(((BBoolean) values[0]).booleanValue());
     }
 
+    @Test(description = "Test join clause with keys, which have the same string form but are of different types")
+    public void testJoinKeysOfDifferentTypes() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinKeysOfDifferentTypes");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test join clause with multiple rhs frames matching a lhs frame")
+    public void testJoinWithMultipleMatches() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinWithMultipleMatches");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test join clause with nil keys")
+    public void testJoinWithNilKeys() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinWithNilKeys");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test join clause with record, map and decimal keys")
+    public void testJoinWithStructuredKeys() {
+        BValue[] values = BRunUtil.invoke(result, "testJoinWithStructuredKeys");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
     @Test(groups = {"disableOnOldParser"}, description = "Test negative scenarios for query expr with join clause")
     public void testNegativeScenarios() {
         Assert.assertEquals(negativeResult.getErrorCount(), 32);
@@ -154,6 +154,18 @@ public class LimitClauseTest {
         Assert.assertTrue(((BBoolean) values[0]).booleanValue());
     }
 
+    @Test(description = "Test the order of clauses applied on each frame, when a limit clause follows where clauses")
+    public void testWhereLetLimitSelectOrder() {
+        BValue[] values = BRunUtil.invoke(result, "testWhereLetLimitSelectOrder");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test limit clause in a nested query, which is evaluated more than once")
+    public void testNestedQueryLimitIsReset() {
+        BValue[] values = BRunUtil.invoke(result, "testNestedQueryLimitIsReset");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
     @Test(description = "Test limit clause with incompatible types", groups = {"disableOnOldParser"})
     public void testNegativeScenarios() {
         negativeResult = BCompileUtil.compile("test-src/query/limit-clause-negative.bal");
@@ -0,0 +1,196 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.types.relationcache;
+
+import io.ballerina.projects.PackageCompilation;
+import io.ballerina.projects.Project;
+import org.ballerinalang.test.BAssertUtil;
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.semantics.analyzer.TypeRelationCache;
+import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.tree.BLangClassDefinition;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangTypeDefinition;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for the cache of type relations used while type checking, with types which are updated in place after
+ * they are defined (e.g. records inferred to be readonly, object constructors inferred to be isolated and arrays of
+ * inferred size).
+ *
+ * @since 2.0.0
+ */
+public class TypeRelationCacheTest {
+
+    private static final String SOURCE_FILE = "test-src/types/relationcache/type_relation_cache.bal";
+
+    private CompileResult result;
+    private CompileResult negativeResult;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile(SOURCE_FILE);
+        Assert.assertEquals(result.getErrorCount(), 0);
+        negativeResult = BCompileUtil.compile("test-src/types/relationcache/type_relation_cache_negative.bal");
+    }
+
+    @Test(dataProvider = "typeRelationCacheTests")
+    public void testTypeRelationCache(String function) {
+        BRunUtil.invoke(result, function);
+    }
+
+    @DataProvider(name = "typeRelationCacheTests")
+    public Object[][] typeRelationCacheTests() {
+        return new Object[][]{
+                {"testReadOnlyRecordDefinedAfterUse"},
+                {"testReadOnlyFields"},
+                {"testObjectConstructorMarkedIsolated"},
+                {"testInferredArraySize"}
+        };
+    }
+
+    @Test
+    public void testTypeRelationCacheNegative() {
+        int i = 0;
+        BAssertUtil.validateError(negativeResult, i++, "incompatible types: expected 'readonly', found 'Pair'", 19,
+                                  18);
+        BAssertUtil.validateError(negativeResult, i++, "incompatible types: expected 'isolated object { }', found " +
+                "'object { final int[] values; }'", 31, 37);
+        BAssertUtil.validateError(negativeResult, i++, "incompatible types: expected 'int[4]', found 'int[3]'", 36,
+                                  16);
+        BAssertUtil.validateError(negativeResult, i++, "incompatible types: expected 'int[2]', found 'int[3]'", 37,
+                                  16);
+        Assert.assertEquals(negativeResult.getErrorCount(), i);
+    }
+
+    @Test
+    public void testCachedRelationsMatchComputedRelations() {
+        Project project = BCompileUtil.loadProject(SOURCE_FILE);
+        CompilerContext context = project.projectEnvironmentContext().getService(CompilerContext.class);
+        TypeRelationCache typeRelationCache = TypeRelationCache.getInstance(context);
+        long hitCount = typeRelationCache.hitCount();
+        long missCount = typeRelationCache.missCount();
+
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        Assert.assertEquals(compilation.diagnosticResult().errorCount(), 0);
+        Assert.assertTrue(typeRelationCache.missCount() > missCount);
+        Assert.assertTrue(typeRelationCache.hitCount() > hitCount);
+        Assert.assertFalse(typeRelationCache.isEnabled());
+
+        BLangPackage bLangPackage = compilation.defaultModuleBLangPackage();
+        SymbolTable symTable = SymbolTable.getInstance(context);
+        List<BType> moduleTypes = new ArrayList<>();
+        moduleTypes.add(symTable.readonlyType);
+        moduleTypes.add(symTable.anydataType);
+        for (BLangTypeDefinition typeDefinition : bLangPackage.typeDefinitions) {
+            moduleTypes.add(typeDefinition.symbol.type);
+        }
+        for (BLangClassDefinition classDefinition : bLangPackage.classDefinitions) {
+            moduleTypes.add(classDefinition.symbol.type);
+        }
+
+        // Relations of the types as they are after the type checking, i.e. after they have been updated in place
+        Types types = Types.getInstance(context);
+        boolean[][] assignable = new boolean[moduleTypes.size()][moduleTypes.size()];
+        boolean[][] sameType = new boolean[moduleTypes.size()][moduleTypes.size()];
+        for (int i = 0; i < moduleTypes.size(); i++) {
+            for (int j = 0; j < moduleTypes.size(); j++) {
+                assignable[i][j] = types.isAssignable(moduleTypes.get(i), moduleTypes.get(j));
+                sameType[i][j] = types.isSameType(moduleTypes.get(i), moduleTypes.get(j));
+            }
+        }
+
+        typeRelationCache.enable();
+        try {
+            // Checked twice, so that the second check is answered from the cache
+            for (int k = 0; k < 2; k++) {
+                for (int i = 0; i < moduleTypes.size(); i++) {
+                    for (int j = 0; j < moduleTypes.size(); j++) {
+                        Assert.assertEquals(types.isAssignable(moduleTypes.get(i), moduleTypes.get(j)),
+                                            assignable[i][j]);
+                        Assert.assertEquals(types.isSameType(moduleTypes.get(i), moduleTypes.get(j)),
+                                            sameType[i][j]);
+                    }
+                }
+            }
+        } finally {
+            typeRelationCache.disable();
+        }
+    }
+
+    @Test
+    public void testInvalidateDropsRelationsOfContainingTypes() {
+        Project project = BCompileUtil.loadProject(SOURCE_FILE);
+        CompilerContext context = project.projectEnvironmentContext().getService(CompilerContext.class);
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        Assert.assertEquals(compilation.diagnosticResult().errorCount(), 0);
+
+        Map<String, BType> moduleTypes = new HashMap<>();
+        for (BLangTypeDefinition typeDefinition : compilation.defaultModuleBLangPackage().typeDefinitions) {
+            moduleTypes.put(typeDefinition.symbol.name.value, typeDefinition.symbol.type);
+        }
+        BType pointType = moduleTypes.get("Point");
+        BType segmentType = moduleTypes.get("Segment");
+        BType lineType = moduleTypes.get("Line");
+        BType anydataType = SymbolTable.getInstance(context).anydataType;
+
+        Types types = Types.getInstance(context);
+        TypeRelationCache typeRelationCache = TypeRelationCache.getInstance(context);
+        typeRelationCache.enable();
+        try {
+            for (BType type : List.of(pointType, segmentType, lineType)) {
+                Assert.assertTrue(types.isAssignable(type, anydataType));
+            }
+            typeRelationCache.invalidate(pointType);
+
+            // Line does not refer to Point, so its relation is still cached
+            long hitCount = typeRelationCache.hitCount();
+            Assert.assertTrue(types.isAssignable(lineType, anydataType));
+            Assert.assertEquals(typeRelationCache.hitCount(), hitCount + 1);
+
+            // Point and Segment, which has fields of type Point, are checked again
+            for (BType type : List.of(pointType, segmentType)) {
+                long missCount = typeRelationCache.missCount();
+                Assert.assertTrue(types.isAssignable(type, anydataType));
+                Assert.assertTrue(typeRelationCache.missCount() > missCount);
+            }
+        } finally {
+            typeRelationCache.disable();
+        }
+    }
+
+    @AfterClass
+    public void tearDown() {
+        result = null;
+        negativeResult = null;
+    }
+}
@@ -0,0 +1,231 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+function foldConstants() returns int {
+    int a = 10;
+    int b = 20;
+    return a * b + 5;
+}
+
+function foldOverflowingAddition() returns int {
+    int a = 9223372036854775807;
+    return a + 1;
+}
+
+function foldOverflowingMultiplication() returns int {
+    int a = 4611686018427387904;
+    return a * 2;
+}
+
+function foldDivisionByZero() returns int {
+    int a = 10;
+    int b = 0;
+    return a / b;
+}
+
+function foldBranch(int value) returns int {
+    boolean negate = false;
+    if (negate) {
+        return -value;
+    }
+    return value + 1;
+}
+
+function divide(int a, int b) returns int {
+    return a / b;
+}
+
+function foldBranchWithTrap(int value) returns int {
+    boolean enabled = false;
+    if (enabled) {
+        int|error result = trap divide(value, 0);
+        return result is int ? result : -1;
+    }
+    int|error result = trap divide(value, value - value);
+    return result is int ? result : -2;
+}
+
+function foldBranchIntoTrap(int value) returns int {
+    boolean enabled = true;
+    if (enabled) {
+        int|error result = trap divide(value, 0);
+        return result is int ? result : -1;
+    }
+    int|error result = trap divide(value, 1);
+    return result is int ? result : -2;
+}
+
+function subtract(int a, int b) returns int {
+    return a - b;
+}
+
+function swappedDifference(int a, int b) returns int {
+    int first = a;
+    int second = b;
+    int t = first;
+    first = second;
+    second = t;
+    return first - second;
+}
+
+function inlineSubtract(int x, int y) returns int {
+    return subtract(x, y) * 10 + subtract(y, x);
+}
+
+function inlineSwappedDifference(int x, int y) returns [int, int, int] {
+    int difference = swappedDifference(x, y);
+    return [x, y, difference];
+}
+
+function inlineIntoArgument(int x, int y) returns int {
+    int z = subtract(x, y);
+    z = subtract(z, z + y);
+    return z;
+}
+
+function stackTraceOfPanicInCallee(int value) returns [string, int] {
+    int|error result = trap divide(value, 0);
+    var element = (<error>result).stackTrace().callStack[0];
+    return [element.callableName, element.lineNumber];
+}
+
+function propagateCopies(int value) returns int {
+    int a = value;
+    int b = a;
+    a = a + 1;
+    return b * 100 + a;
+}
+
+function propagateCopiesOfReassignedVariable(int value) returns int {
+    int current = value;
+    int copy = current;
+    current = current * 2;
+    int other = copy;
+    copy = 3;
+    return other * 100 + current * 10 + copy;
+}
+
+function narrowAfterJoin(int|string value, boolean flag) returns int {
+    if (value is int) {
+        int result = value + 1;
+        if (flag) {
+            result += value;
+        } else {
+            result -= value;
+        }
+        return result * value;
+    }
+    return -1;
+}
+
+function narrowedReadInLoop(int|string value, int count) returns int {
+    if (value is int) {
+        int first = value;
+        int total = 0;
+        foreach int i in 0 ..< count {
+            total += value + i;
+        }
+        return total + first;
+    }
+    return -1;
+}
+
+function narrowReassignedInLoop(int count) returns int {
+    int|string value = 1;
+    int total = 0;
+    foreach int i in 0 ..< count {
+        if (value is int) {
+            total += value;
+            total += value;
+        }
+        value = i % 2 == 0 ? i * 10 : "skip";
+    }
+    return total;
+}
+
+function narrowAtTrapTarget(any value, int divisor) returns int {
+    any current = value;
+    int total = 0;
+    if (current is int) {
+        total = current;
+        int|error quotient = trap divide(current, divisor);
+        total += current;
+        if (quotient is int) {
+            total += quotient;
+        }
+    }
+    return total;
+}
+
+function testFoldConstants() {
+    assertEquality(205, foldConstants());
+}
+
+function testFoldOverflows() {
+    assertEquality(-9223372036854775807 - 1, foldOverflowingAddition());
+    assertEquality(-9223372036854775807 - 1, foldOverflowingMultiplication());
+
+    int|error result = trap foldDivisionByZero();
+    assertEquality("{ballerina}DivisionByZero", (<error>result).message());
+}
+
+function testFoldBranches() {
+    assertEquality(6, foldBranch(5));
+    assertEquality(-2, foldBranchWithTrap(5));
+    assertEquality(-1, foldBranchIntoTrap(5));
+}
+
+function testInlining() {
+    assertEquality(45, inlineSubtract(7, 2));
+    assertEquality(-45, inlineSubtract(2, 7));
+    assertEquality(<[int, int, int]> [7, 2, -5], inlineSwappedDifference(7, 2));
+    assertEquality(-2, inlineIntoArgument(7, 2));
+}
+
+function testStackTraceOfPanicInCallee() {
+    assertEquality(<[string, int]> ["divide", 48], stackTraceOfPanicInCallee(10));
+}
+
+function testCopyPropagation() {
+    assertEquality(506, propagateCopies(5));
+    assertEquality(603, propagateCopiesOfReassignedVariable(5));
+}
+
+function testTypeSpecialization() {
+    assertEquality(55, narrowAfterJoin(5, true));
+    assertEquality(6, narrowAfterJoin(6, false));
+    assertEquality(-1, narrowAfterJoin("5", true));
+    assertEquality(31, narrowedReadInLoop(5, 4));
+    assertEquality(5, narrowedReadInLoop(5, 0));
+    assertEquality(-1, narrowedReadInLoop("5", 4));
+    assertEquality(42, narrowReassignedInLoop(5));
+    assertEquality(25, narrowAtTrapTarget(10, 2));
+    assertEquality(20, narrowAtTrapTarget(10, 0));
+    assertEquality(0, narrowAtTrapTarget("10", 2));
+}
+
+type AssertionError distinct error;
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+
+function assertEquality(anydata expected, anydata actual) {
+    if expected == actual {
+        return;
+    }
+
+    panic error AssertionError(ASSERTION_ERROR_REASON,
+            message = "expected '" + expected.toString() + "', found '" + actual.toString() + "'");
+}
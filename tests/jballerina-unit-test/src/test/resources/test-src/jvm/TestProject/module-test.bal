@@ -20,3 +20,28 @@ public function testModule(int x) returns int {
    int sumValue = math:sum(x, x + 2);
    return math:multiply(sumValue, x);
 }
+
+public function testCrossModuleYieldingCall(int x) returns int {
+    int before = x * 10;
+    int sumValue = math:delayedSum(x, x + 2);
+    return before + sumValue;
+}
+
+function sumDown(int n) returns int {
+    if (n == 0) {
+        return 0;
+    }
+    int current = n;
+    return current + sumUp(n - 1);
+}
+
+function sumUp(int n) returns int {
+    if (n == 0) {
+        return 0;
+    }
+    return math:delayedSum(n, 0) + sumDown(n - 1);
+}
+
+public function testMutuallyRecursiveCrossModuleYieldingCalls(int n) returns int {
+    return sumDown(n);
+}
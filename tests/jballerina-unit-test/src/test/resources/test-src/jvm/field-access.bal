@@ -0,0 +1,236 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+type Person record {|
+    int age;
+    float height;
+    string name;
+    boolean employed;
+    byte level;
+    decimal salary;
+|};
+
+// structurally the same as `Person`, but its values are of another class
+type Employee record {|
+    int age;
+    float height;
+    string name;
+    boolean employed;
+    byte level;
+    decimal salary;
+|};
+
+type Detail record {|
+    readonly int id;
+    string name;
+    string nickName?;
+    int score?;
+|};
+
+type Quoted record {|
+    int 'type;
+    string 'first\-name;
+    float '\u{00E9}t\u{00E9};
+|};
+
+function getAge(Person p) returns int {
+    return p.age;
+}
+
+function getPerson(Person p) returns [int, float, string, boolean, byte, decimal] {
+    return [p.age, p.height, p.name, p.employed, p.level, p.salary];
+}
+
+function updatePerson(Person p, int age, string name) {
+    p.age = age;
+    p.name = name;
+    p.height = p.height + 1.5;
+    p.salary += 10;
+}
+
+function testRecordFieldAccess() {
+    Person p = {age: 30, height: 1.75, name: "Alex", employed: true, level: 3, salary: 1000.5};
+    assertEquality(30, getAge(p));
+    [int, float, string, boolean, byte, decimal] fields = getPerson(p);
+    assertEquality(<[int, float, string, boolean, byte, decimal]> [30, 1.75, "Alex", true, 3, 1000.5d], fields);
+
+    updatePerson(p, 31, "Alexander");
+    assertEquality(31, p.age);
+    assertEquality("Alexander", p.name);
+    assertEquality(3.25, p.height);
+    assertEquality(1010.5d, p.salary);
+
+    // loads into variables of other types
+    any age = p.age;
+    int|string name = p.name;
+    float|decimal salary = p.salary;
+    assertEquality(31, age);
+    assertEquality("Alexander", name);
+    assertEquality(1010.5d, salary);
+}
+
+function testStructurallyEquivalentRecordFieldAccess() {
+    Employee e = {age: 40, height: 1.8, name: "Ranjan", employed: false, level: 7, salary: 2000};
+    assertEquality(40, getAge(e));
+    [int, float, string, boolean, byte, decimal] fields = getPerson(e);
+    assertEquality(<[int, float, string, boolean, byte, decimal]> [40, 1.8, "Ranjan", false, 7, 2000d], fields);
+
+    updatePerson(e, 41, "Ranjan F");
+    assertEquality(41, e.age);
+    assertEquality("Ranjan F", e.name);
+    assertEquality(3.3, e.height);
+    assertEquality(2010d, e.salary);
+
+    map<anydata> m = {age: 50, height: 1.6, name: "John", employed: true, level: 1, salary: 10};
+    Person p = checkpanic m.cloneWithType(Person);
+    assertEquality(50, getAge(p));
+    updatePerson(p, 51, "John D");
+    assertEquality(<[int, float, string, boolean, byte, decimal]> [51, 3.1, "John D", true, 1, 20d], getPerson(p));
+}
+
+function testFrozenRecordFieldStore() {
+    Person p = {age: 30, height: 1.75, name: "Alex", employed: true, level: 3, salary: 1000.5};
+    Person frozen = p.cloneReadOnly();
+    assertEquality(30, getAge(frozen));
+
+    error? result = trap updatePerson(frozen, 31, "Alexander");
+    assertEquality(true, result is error);
+    assertEquality(30, frozen.age);
+    assertEquality("Alex", frozen.name);
+
+    Person & readonly immutable = {age: 20, height: 1.5, name: "Ann", employed: false, level: 2, salary: 1};
+    assertEquality(20, getAge(immutable));
+    result = trap updatePerson(immutable, 21, "Anne");
+    assertEquality(true, result is error);
+    assertEquality(20, immutable.age);
+
+    // the original value is still mutable
+    updatePerson(p, 31, "Alexander");
+    assertEquality(31, p.age);
+}
+
+function testOptionalRecordFieldAccess() {
+    Detail d = {id: 1, name: "Alex"};
+    assertEquality(1, d.id);
+    assertEquality((), d?.nickName);
+    assertEquality((), d?.score);
+    assertEquality(false, d.hasKey("nickName"));
+
+    d.nickName = "Al";
+    d.score = 10;
+    assertEquality("Al", d?.nickName);
+    assertEquality(10, d?.score);
+    assertEquality(true, d.hasKey("nickName"));
+    assertEquality(<string[]> ["id", "name", "nickName", "score"], d.keys());
+
+    var removed = d.remove("nickName");
+    assertEquality("Al", removed);
+    assertEquality((), d?.nickName);
+    assertEquality(false, d.hasKey("nickName"));
+    assertEquality(<string[]> ["id", "name", "score"], d.keys());
+
+    d.name = "Alexander";
+    assertEquality("Alexander", d.name);
+    assertEquality(<map<anydata>> {id: 1, name: "Alexander", score: 10}, d);
+}
+
+function testQuotedRecordFieldAccess() {
+    Quoted q = {'type: 1, 'first\-name: "Alex", '\u{00E9}t\u{00E9}: 2.5};
+    assertEquality(1, q.'type);
+    assertEquality("Alex", q.'first\-name);
+    assertEquality(2.5, q.'\u{00E9}t\u{00E9});
+
+    q.'type = 2;
+    q.'first\-name = "Ann";
+    q.'\u{00E9}t\u{00E9} = 3.5;
+    assertEquality(2, q.'type);
+    assertEquality("Ann", q.'first\-name);
+    assertEquality(3.5, q.'\u{00E9}t\u{00E9});
+    assertEquality(2, q["type"]);
+    assertEquality("Ann", q["first-name"]);
+    assertEquality(3.5, q["\u{00E9}t\u{00E9}"]);
+}
+
+class Counter {
+    int count = 0;
+    float ratio = 0.5;
+    string name;
+    boolean active = true;
+    decimal total = 0;
+    int 'limit = 10;
+
+    function init(string name) {
+        self.name = name;
+    }
+
+    function increment() {
+        self.count += 1;
+        self.total += 1.5;
+    }
+}
+
+// structurally the same as `Counter`, but its values are of another class
+class OtherCounter {
+    int count = 100;
+    float ratio = 1.5;
+    string name = "other";
+    boolean active = false;
+    decimal total = 10;
+    int 'limit = 20;
+
+    function increment() {
+        self.count += 2;
+    }
+}
+
+function getCounter(Counter c) returns [int, float, string, boolean, decimal, int] {
+    return [c.count, c.ratio, c.name, c.active, c.total, c.'limit];
+}
+
+function testObjectFieldAccess() {
+    Counter c = new ("first");
+    c.increment();
+    c.increment();
+    assertEquality(<[int, float, string, boolean, decimal, int]> [2, 0.5, "first", true, 3d, 10], getCounter(c));
+
+    c.count = 10;
+    c.name = "renamed";
+    c.'limit = 11;
+    any count = c.count;
+    assertEquality(10, count);
+    assertEquality(<[int, float, string, boolean, decimal, int]> [10, 0.5, "renamed", true, 3d, 11], getCounter(c));
+
+    Counter other = new OtherCounter();
+    other.increment();
+    assertEquality(<[int, float, string, boolean, decimal, int]> [102, 1.5, "other", false, 10d, 20], getCounter(other));
+}
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+
+function assertEquality(any|error expected, any|error actual) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+
+    if expected === actual {
+        return;
+    }
+
+    string expectedValAsString = expected is error ? expected.toString() : expected.toString();
+    string actualValAsString = actual is error ? actual.toString() : actual.toString();
+    panic error(ASSERTION_ERROR_REASON,
+                message = "expected '" + expectedValAsString + "', found '" + actualValAsString + "'");
+}
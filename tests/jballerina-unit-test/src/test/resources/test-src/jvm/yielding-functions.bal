@@ -0,0 +1,231 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime;
+
+int counter = 0;
+
+// `isEven` yields only since it calls `isOdd`, which sleeps
+function isEven(int n, int[] visited) returns boolean {
+    if (n == 0) {
+        return true;
+    }
+    int current = n;
+    boolean result = isOdd(n - 1, visited);
+    visited.push(current);
+    return result;
+}
+
+function isOdd(int n, int[] visited) returns boolean {
+    if (n == 0) {
+        return false;
+    }
+    string label = "odd";
+    runtime:sleep(0.001);
+    boolean result = isEven(n - 1, visited);
+    visited.push(label.length() * 100 + n);
+    return result;
+}
+
+function testMutuallyRecursiveYieldingFunctions() {
+    int[] visited = [];
+    assertEquality(true, isEven(6, visited));
+    assertEquality([301, 2, 303, 4, 305, 6], visited);
+
+    visited = [];
+    assertEquality(true, isOdd(3, visited));
+    assertEquality([301, 2, 303], visited);
+}
+
+function addInLock(int times) returns int {
+    int added = 0;
+    foreach int i in 0 ..< times {
+        lock {
+            int current = counter;
+            runtime:sleep(0.001);
+            counter = current + 1;
+        }
+        added += 1;
+    }
+    return added;
+}
+
+function addInLockViaCall(int times) returns int {
+    int offset = 1000;
+    return addInLock(times) + offset;
+}
+
+function testYieldingInLockBlocks() {
+    counter = 0;
+    future<int> f1 = start addInLock(10);
+    future<int> f2 = start addInLockViaCall(10);
+    int added = addInLock(10);
+
+    int r1 = wait f1;
+    int r2 = wait f2;
+    assertEquality(10, r1);
+    assertEquality(1010, r2);
+    assertEquality(10, added);
+    assertEquality(30, counter);
+}
+
+function sumOfSquares(int 'from, int to) returns int {
+    int total = 0;
+    foreach int i in 'from ... to {
+        total += square(i);
+    }
+    return total;
+}
+
+function square(int i) returns int {
+    return i * i;
+}
+
+function sumOfSquaresInWorkers(int n) returns int {
+    @strand{thread:"any"}
+    worker w1 returns int {
+        int total = sumOfSquares(1, n / 2);
+        total -> w2;
+        int other = <- w2;
+        return total + other;
+    }
+
+    @strand{thread:"any"}
+    worker w2 returns int {
+        int total = sumOfSquares(n / 2 + 1, n);
+        int other = <- w1;
+        total -> w1;
+        return total + other;
+    }
+
+    int r1 = wait w1;
+    int r2 = wait w2;
+    assertEquality(r1, r2);
+    return r1;
+}
+
+function testYieldingInWorkers() {
+    assertEquality(385, sumOfSquaresInWorkers(10));
+    assertEquality(338350, sumOfSquaresInWorkers(100));
+}
+
+// none of the following functions yield, hence they are run without saving frames
+function fibonacci(int n) returns int {
+    if (n < 2) {
+        return n;
+    }
+    return fibonacci(n - 1) + fibonacci(n - 2);
+}
+
+function ackermann(int m, int n) returns int {
+    if (m == 0) {
+        return n + 1;
+    }
+    if (n == 0) {
+        return ackermann(m - 1, 1);
+    }
+    return ackermann(m - 1, ackermann(m, n - 1));
+}
+
+function divide(int a, int b) returns int {
+    return a / b;
+}
+
+function divideAll(int[] values, int divisor) returns int|error {
+    int total = 0;
+    foreach int value in values {
+        total += check trap divide(value, divisor);
+    }
+    return total;
+}
+
+function depth(int n) returns int {
+    return n == 0 ? 0 : depth(n - 1) + 1;
+}
+
+function testNonYieldingFunctions() {
+    assertEquality(6765, fibonacci(20));
+    assertEquality(61, ackermann(3, 3));
+    assertEquality(10, checkpanic divideAll([10, 20, 30, 40], 10));
+    assertEquality(1000, depth(1000));
+
+    int|error result = divideAll([10, 20], 0);
+    assertEquality(true, result is error);
+    assertEquality("{ballerina}DivisionByZero", (<error>result).message());
+}
+
+// calls only lang library functions, which do not call back into Ballerina code, hence it never yields either
+function joinCodePoints(string[] words) returns string {
+    int[] codePoints = [];
+    int i = 0;
+    while (i < words.length()) {
+        codePoints.push(words[i].trim().toUpperAscii().getCodePoint(0));
+        i += 1;
+    }
+    string joined = "";
+    int[] reversed = codePoints.reverse();
+    i = 0;
+    while (i < reversed.length()) {
+        joined += reversed[i].toHexString();
+        i += 1;
+    }
+    return joined;
+}
+
+// yields in the function given to a lang library function
+function sumInForEach(int[] values) returns int {
+    int total = 0;
+    values.forEach(function (int value) {
+        runtime:sleep(0.001);
+        total += value;
+    });
+    return total;
+}
+
+function testLangLibCalls() {
+    assertEquality("434241", joinCodePoints([" apple", "banana ", "cherry"]));
+    future<string> f1 = start joinCodePoints(["x", "y"]);
+    future<int> f2 = start sumInForEach([1, 2, 3, 4]);
+    string r1 = wait f1;
+    int r2 = wait f2;
+    assertEquality("5958", r1);
+    assertEquality(10, r2);
+    assertEquality(6, sumInForEach([1, 2, 3]));
+}
+
+function testNonYieldingFunctionsInStrands() {
+    future<int> f1 = start fibonacci(15);
+    future<int> f2 = start ackermann(2, 3);
+    int r1 = wait f1;
+    int r2 = wait f2;
+    assertEquality(610, r1);
+    assertEquality(9, r2);
+    // a non-yielding function called from a yielding one
+    assertEquality(385, sumOfSquaresInWorkers(10) + square(0));
+}
+
+type AssertionError distinct error;
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+
+function assertEquality(anydata expected, anydata actual) {
+    if expected == actual {
+        return;
+    }
+
+    panic error AssertionError(ASSERTION_ERROR_REASON,
+            message = "expected '" + expected.toString() + "', found '" + actual.toString() + "'");
+}
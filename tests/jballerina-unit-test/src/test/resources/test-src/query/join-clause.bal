@@ -455,3 +455,143 @@ function getDeptName(int id) returns string {
         return "Operations";
     }
 }
+
+type KeyedName record {|
+    anydata key;
+    string name;
+|};
+
+function testJoinKeysOfDifferentTypes() returns boolean {
+    KeyedName[] lhsList = [{key: 1, name: "int"}, {key: "1", name: "string"}, {key: 1.0, name: "float"},
+                           {key: true, name: "boolean"}];
+    KeyedName[] rhsList = [{key: "1", name: "A"}, {key: 1, name: "B"}, {key: "true", name: "C"}];
+
+    // keys are matched with `==`, hence values with the same string form but of different types do not join
+    string[] joined =
+       from var lhs in lhsList
+       join var rhs in rhsList
+       on lhs.key equals rhs.key
+       select lhs.name + ":" + rhs.name;
+
+    string[] expected = ["int:B", "string:A"];
+    return joined == expected;
+}
+
+function testJoinWithMultipleMatches() returns boolean {
+    Person p1 = {id: 1, fname: "Alex", lname: "George"};
+    Person p2 = {id: 2, fname: "Ranjan", lname: "Fonseka"};
+    Person p3 = {id: 3, fname: "John", lname: "David"};
+
+    Department d1 = {id: 1, name: "HR"};
+    Department d2 = {id: 2, name: "Operations"};
+    Department d3 = {id: 1, name: "Finance"};
+    Department d4 = {id: 2, name: "Sales"};
+    Department d5 = {id: 2, name: "Marketing"};
+
+    Person[] personList = [p1, p2, p3];
+    Department[] deptList = [d1, d2, d3, d4, d5];
+
+    string[] joined =
+       from var person in personList
+       join Department dept in deptList
+       on person.id equals dept.id
+       select person.fname + ":" + dept.name;
+
+    DeptPerson[] outerJoined =
+       from var person in personList
+       outer join Department dept in deptList
+       on person.id equals dept.id
+       select {
+           fname : person.fname,
+           lname : person.lname,
+           dept : dept.name
+       };
+
+    // all matching rhs frames are returned for each lhs frame, in the order of the rhs
+    string[] expected = ["Alex:HR", "Alex:Finance", "Ranjan:Operations", "Ranjan:Sales", "Ranjan:Marketing"];
+    boolean testPassed = joined == expected;
+    testPassed = testPassed && outerJoined.length() == 6;
+    testPassed = testPassed && outerJoined[0].fname == "Alex" && outerJoined[0].dept == "HR";
+    testPassed = testPassed && outerJoined[1].fname == "Alex" && outerJoined[1].dept == "Finance";
+    testPassed = testPassed && outerJoined[2].fname == "Ranjan" && outerJoined[2].dept == "Operations";
+    testPassed = testPassed && outerJoined[3].fname == "Ranjan" && outerJoined[3].dept == "Sales";
+    testPassed = testPassed && outerJoined[4].fname == "Ranjan" && outerJoined[4].dept == "Marketing";
+    testPassed = testPassed && outerJoined[5].fname == "John" && outerJoined[5].dept == ();
+    return testPassed;
+}
+
+function testJoinWithNilKeys() returns boolean {
+    DeptPerson dp1 = {fname: "Alex", lname: "George", dept: "HR"};
+    DeptPerson dp2 = {fname: "Ranjan", lname: "Fonseka", dept: ()};
+    DeptPerson dp3 = {fname: "John", lname: "David", dept: ""};
+
+    record {| string? dept; string floor; |}[] floorList = [{dept: (), floor: "Ground"}, {dept: "HR", floor: "First"},
+                                                           {dept: (), floor: "Basement"}];
+
+    // nil keys are equal to each other, but not to an empty string
+    string[] joined =
+       from var person in [dp1, dp2, dp3]
+       join var {dept, floor} in floorList
+       on person.dept equals dept
+       select person.fname + ":" + floor;
+
+    string[] expected = ["Alex:First", "Ranjan:Ground", "Ranjan:Basement"];
+    return joined == expected;
+}
+
+type FullName record {|
+    string first;
+    string last;
+|};
+
+type Employee record {|
+    FullName name;
+    map<int> grades;
+    decimal salary;
+|};
+
+type Payment record {|
+    FullName payee;
+    map<int> grades;
+    decimal amount;
+    string ref;
+|};
+
+function testJoinWithStructuredKeys() returns boolean {
+    Employee e1 = {name: {first: "Alex", last: "George"}, grades: {a: 1, b: 2}, salary: 100.0};
+    Employee e2 = {name: {first: "Ranjan", last: "Fonseka"}, grades: {a: 2}, salary: 200.50};
+    Employee e3 = {name: {first: "Alex", last: "Fonseka"}, grades: {b: 1}, salary: 300};
+
+    // the grades are added in a different order, and the amounts have a different scale
+    Payment p1 = {payee: {first: "Alex", last: "George"}, grades: {b: 2, a: 1}, amount: 100.00, ref: "P1"};
+    Payment p2 = {payee: {first: "Ranjan", last: "Fonseka"}, grades: {a: 2}, amount: 200.5, ref: "P2"};
+    Payment p3 = {payee: {first: "Alex", last: "George"}, grades: {a: 1, b: 2}, amount: 100, ref: "P3"};
+    Payment p4 = {payee: {first: "George", last: "Alex"}, grades: {a: 1}, amount: 300, ref: "P4"};
+
+    Employee[] employees = [e1, e2, e3];
+    Payment[] payments = [p1, p2, p3, p4];
+
+    string[] joinedByRecord =
+       from var emp in employees
+       join var payment in payments
+       on emp.name equals payment.payee
+       select emp.name.first + ":" + payment.ref;
+
+    string[] joinedByMap =
+       from var emp in employees
+       join var payment in payments
+       on emp.grades equals payment.grades
+       select emp.name.first + ":" + payment.ref;
+
+    string[] joinedByDecimal =
+       from var emp in employees
+       join var payment in payments
+       on emp.salary equals payment.amount
+       select emp.name.first + ":" + payment.ref;
+
+    string[] expectedByRecord = ["Alex:P1", "Alex:P3", "Ranjan:P2"];
+    string[] expectedByMap = ["Alex:P1", "Alex:P3", "Ranjan:P2"];
+    string[] expectedByDecimal = ["Alex:P1", "Alex:P3", "Ranjan:P2", "Alex:P4"];
+    return joinedByRecord == expectedByRecord && joinedByMap == expectedByMap
+                && joinedByDecimal == expectedByDecimal;
+}
@@ -259,3 +259,61 @@ function testLetExpressionWithLimitClause() returns boolean {
     testPassed = testPassed && p.firstName == "John" && p.lastName == "David" && p.age == 34;
     return testPassed;
 }
+
+function testWhereLetLimitSelectOrder() returns boolean {
+    string[] trace = [];
+    int[] values = [1, 2, 3, 4, 5, 6, 7, 8];
+
+    int[] result =
+            from var v in values
+            where traceCondition(trace, "where", v, v % 2 == 0)
+            let int doubled = traceValue(trace, "let", v * 2)
+            where traceCondition(trace, "where2", v, doubled > 4)
+            limit 2
+            select traceValue(trace, "select", doubled);
+
+    // each frame goes through the clauses in order before the next frame is taken, and the frame which exceeds
+    // the limit ends the query without being selected
+    string[] expectedTrace = ["where:1", "where:2", "let:4", "where2:2", "where:3", "where:4", "let:8", "where2:4",
+                              "select:8", "where:5", "where:6", "let:12", "where2:6", "select:12", "where:7",
+                              "where:8", "let:16", "where2:8"];
+    int[] expectedResult = [8, 12];
+    return result == expectedResult && trace == expectedTrace;
+}
+
+function testNestedQueryLimitIsReset() returns boolean {
+    int[][] groups = [[1, 2, 3, 4], [5, 6, 7], [8]];
+
+    // the inner query is evaluated for each group, counting up to its limit from the start every time
+    int[][] limitedGroups =
+            from var g in groups
+            select firstTwoPositives(g);
+
+    int[] flattened =
+            from var g in groups
+            from var v in firstTwoPositives(g)
+            where v != 6
+            limit 4
+            select v;
+
+    int[][] expectedGroups = [[1, 2], [5, 6], [8]];
+    int[] expectedFlattened = [1, 2, 5, 8];
+    return limitedGroups == expectedGroups && flattened == expectedFlattened;
+}
+
+function firstTwoPositives(int[] values) returns int[] {
+    return from var v in values
+           where v > 0
+           limit 2
+           select v;
+}
+
+function traceCondition(string[] trace, string clause, int value, boolean condition) returns boolean {
+    trace.push(clause + ":" + value.toString());
+    return condition;
+}
+
+function traceValue(string[] trace, string clause, int value) returns int {
+    trace.push(clause + ":" + value.toString());
+    return value;
+}
@@ -0,0 +1,155 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+type Employee record {|
+    readonly int id;
+    @tableIndex {}
+    readonly string dept;
+    @tableIndex {kind: "sorted"}
+    readonly int age;
+    string name;
+|};
+
+type EmployeeTable table<Employee> key(id);
+
+function getEmployees() returns EmployeeTable {
+    return table [
+        {id: 1, dept: "HR", age: 45, name: "Alex"},
+        {id: 2, dept: "Engineering", age: 28, name: "Ranjan"},
+        {id: 3, dept: "HR", age: 30, name: "John"},
+        {id: 4, dept: "Engineering", age: 35, name: "Ann"},
+        {id: 5, dept: "Sales", age: 22, name: "Mary"}
+    ];
+}
+
+// The where clauses comparing `e.id + 0` or iterating `toArray()` are not eligible for an index lookup, hence the
+// whole table is scanned.
+
+function testLookupByKey() {
+    EmployeeTable employees = getEmployees();
+
+    Employee[] lookedUp = from var e in employees where e.id == 3 select e;
+    Employee[] scanned = from var e in employees where e.id + 0 == 3 select e;
+    assertEquality(1, lookedUp.length());
+    assertEquality("John", lookedUp[0].name);
+    assertEquality(scanned, lookedUp);
+
+    final int id = 4;
+    lookedUp = from var e in employees where id == e.id select e;
+    scanned = from var e in employees.toArray() where e.id == id select e;
+    assertEquality(1, lookedUp.length());
+    assertEquality("Ann", lookedUp[0].name);
+    assertEquality(scanned, lookedUp);
+}
+
+function testLookupByMissingKey() {
+    EmployeeTable employees = getEmployees();
+
+    Employee[] lookedUp = from var e in employees where e.id == 10 select e;
+    Employee[] scanned = from var e in employees where e.id + 0 == 10 select e;
+    assertEquality(0, lookedUp.length());
+    assertEquality(scanned, lookedUp);
+
+    _ = employees.remove(3);
+    lookedUp = from var e in employees where e.id == 3 select e;
+    assertEquality(0, lookedUp.length());
+}
+
+function testLookupByHashIndex() {
+    EmployeeTable employees = getEmployees();
+
+    string[] lookedUp = from var e in employees where e.dept == "HR" select e.name;
+    string[] scanned = from var e in employees.toArray() where e.dept == "HR" select e.name;
+    assertEquality(<string[]> ["Alex", "John"], lookedUp);
+    assertEquality(scanned, lookedUp);
+
+    lookedUp = from var e in employees where e.dept == "Finance" select e.name;
+    scanned = from var e in employees.toArray() where e.dept == "Finance" select e.name;
+    assertEquality(0, lookedUp.length());
+    assertEquality(scanned, lookedUp);
+
+    employees.add({id: 6, dept: "HR", age: 50, name: "Kate"});
+    lookedUp = from var e in employees where e.dept == "HR" && e.age > 40 select e.name;
+    scanned = from var e in employees.toArray() where e.dept == "HR" && e.age > 40 select e.name;
+    assertEquality(<string[]> ["Alex", "Kate"], lookedUp);
+    assertEquality(scanned, lookedUp);
+}
+
+function testLookupBySortedIndex() {
+    EmployeeTable employees = getEmployees();
+
+    int[] lookedUp = from var e in employees where e.age >= 30 select e.id;
+    int[] scanned = from var e in employees.toArray() where e.age >= 30 select e.id;
+    assertEquality(<int[]> [1, 3, 4], lookedUp);
+    assertEquality(scanned, lookedUp);
+
+    lookedUp = from var e in employees where 30 > e.age select e.id;
+    scanned = from var e in employees.toArray() where 30 > e.age select e.id;
+    assertEquality(<int[]> [2, 5], lookedUp);
+    assertEquality(scanned, lookedUp);
+
+    lookedUp = from var e in employees where e.age < 20 select e.id;
+    scanned = from var e in employees.toArray() where e.age < 20 select e.id;
+    assertEquality(0, lookedUp.length());
+    assertEquality(scanned, lookedUp);
+}
+
+function testLookupWithoutIndex() {
+    EmployeeTable employees = getEmployees();
+
+    int[] lookedUp = from var e in employees where e.name == "Mary" select e.id;
+    int[] scanned = from var e in employees.toArray() where e.name == "Mary" select e.id;
+    assertEquality(<int[]> [5], lookedUp);
+    assertEquality(scanned, lookedUp);
+
+    lookedUp = from var e in employees where e.name == "Bob" select e.id;
+    assertEquality(0, lookedUp.length());
+}
+
+type Manager record {|
+    readonly int id;
+    string dept;
+    int reports;
+|};
+
+function testLookupWithUnionVariable() {
+    EmployeeTable employees = getEmployees();
+
+    int[] lookedUp = from Employee|Manager e in employees where e.dept == "HR" select e.id;
+    int[] scanned = from Employee|Manager e in employees.toArray() where e.dept == "HR" select e.id;
+    assertEquality(<int[]> [1, 3], lookedUp);
+    assertEquality(scanned, lookedUp);
+
+    lookedUp = from Employee|Manager e in employees where e.id == 4 select e.id;
+    assertEquality(<int[]> [4], lookedUp);
+}
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+
+function assertEquality(any|error expected, any|error actual) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+
+    if expected === actual {
+        return;
+    }
+
+    string expectedValAsString = expected is error ? expected.toString() : expected.toString();
+    string actualValAsString = actual is error ? actual.toString() : actual.toString();
+    panic error(ASSERTION_ERROR_REASON,
+                            message = "expected '" + expectedValAsString + "', found '" + actualValAsString + "'");
+}
@@ -0,0 +1,89 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+function testReadOnlyRecordDefinedAfterUse() {
+    Point p = {x: 1, y: 2};
+    readonly r = p;
+    assertEquality(true, r is Point);
+    assertEquality(true, p.isReadOnly());
+}
+
+type Point record {|
+    readonly int x;
+    readonly int y;
+|};
+
+type Line record {|
+    readonly int[] 'start;
+    readonly int[] end;
+|};
+
+type Segment record {|
+    Point 'start;
+    Point end;
+|};
+
+function testReadOnlyFields() {
+    Line line = {'start: [1, 2], end: [3, 4]};
+    readonly r = line;
+    assertEquality(true, r is Line);
+    assertEquality(true, line.'start.isReadOnly());
+    assertEquality(2, line.'start[1]);
+}
+
+type Counter isolated object {
+    public function get() returns int;
+};
+
+function testObjectConstructorMarkedIsolated() {
+    var counter = object {
+        final int value = 5;
+        final int[] & readonly history = [1, 2];
+
+        public function get() returns int {
+            return self.value + self.history.length();
+        }
+    };
+    isolated object {} isolatedObject = counter;
+    Counter isolatedCounter = counter;
+    assertEquality(7, isolatedCounter.get());
+    assertEquality(true, <any> isolatedObject is isolated object {});
+}
+
+function testInferredArraySize() {
+    int[*] a = [1, 2, 3];
+    int[3] b = a;
+    int[] c = a;
+    assertEquality(3, b.length());
+    assertEquality(<int[]> [1, 2, 3], c);
+
+    string[*] d = ["x"];
+    string[1] e = d;
+    assertEquality("x", e[0]);
+}
+
+type AssertionError distinct error;
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+
+function assertEquality(anydata expected, anydata actual) {
+    if expected == actual {
+        return;
+    }
+
+    panic error AssertionError(ASSERTION_ERROR_REASON,
+            message = "expected '" + expected.toString() + "', found '" + actual.toString() + "'");
+}
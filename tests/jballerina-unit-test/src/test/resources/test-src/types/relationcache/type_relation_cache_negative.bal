@@ -0,0 +1,38 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+function testNonReadOnlyRecord() {
+    Pair p = {x: 1, y: 2};
+    readonly r = p;
+}
+
+type Pair record {|
+    readonly int x;
+    int y;
+|};
+
+function testNonIsolatedObjectConstructor() {
+    var ob = object {
+        final int[] values = [];
+    };
+    isolated object {} isolatedOb = ob;
+}
+
+function testInferredArraySizeMismatch() {
+    int[*] a = [1, 2, 3];
+    int[4] b = a;
+    int[2] c = a;
+}